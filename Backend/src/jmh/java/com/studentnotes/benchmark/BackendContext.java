@@ -0,0 +1,33 @@
+package com.studentnotes.benchmark;
+
+import com.studentnotes.BackendApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Boots the real application context against a private in-memory H2
+ * database, so DB-backed benchmarks measure the same JPA/Hibernate path the
+ * API serves. Caching is off: benchmarks measure the uncached cost.
+ */
+final class BackendContext {
+
+    private BackendContext() {
+    }
+
+    static ConfigurableApplicationContext start(String name) {
+        return new SpringApplicationBuilder(BackendApplication.class)
+                .web(WebApplicationType.NONE)
+                // Command-line style so they override the test application.properties
+                .run(
+                        "--spring.datasource.url=jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1;MODE=PostgreSQL;NON_KEYWORDS=YEAR",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.cache.type=none",
+                        "--spring.main.banner-mode=off",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.studentnotes=WARN");
+    }
+}
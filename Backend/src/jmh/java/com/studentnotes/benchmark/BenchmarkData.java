@@ -0,0 +1,184 @@
+package com.studentnotes.benchmark;
+
+import com.studentnotes.model.Note;
+import com.studentnotes.model.enums.NoteStatus;
+import com.studentnotes.util.FolderPaths;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+
+/**
+ * Deterministic synthetic corpus shared by the benchmarks.
+ * <p>
+ * Shape mirrors a real deployment: a handful of departments, four years,
+ * two or three sections, ~8 subjects per section, markdown bodies of a few KB.
+ * The same seed always yields the same data so runs are comparable.
+ * </p>
+ */
+final class BenchmarkData {
+
+    static final String[] DEPARTMENTS = { "it", "cs", "ece", "mech", "civil", "eee" };
+    static final String[] YEARS = { "year1", "year2", "year3", "year4" };
+    static final String[] SECTIONS = { "section-a", "section-b", "section-c" };
+    static final String[] SUBJECTS = { "networks", "dbms", "os", "compilers", "maths", "physics", "dsa", "ai" };
+
+    private static final long SEED = 42L;
+    private static final int JDBC_BATCH = 1000;
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * In-memory notes (ids assigned, not persisted).
+     */
+    static List<Note> notes(int count) {
+        Random random = new Random(SEED);
+        List<Note> notes = new ArrayList<>(count);
+        LocalDateTime base = LocalDateTime.of(2025, 1, 1, 0, 0);
+        for (int i = 0; i < count; i++) {
+            notes.add(Note.builder()
+                    .id((long) i + 1)
+                    .publicId(new UUID(SEED, i).toString())
+                    .title("Lecture " + i)
+                    .department(pick(DEPARTMENTS, random))
+                    .year(pick(YEARS, random))
+                    .section(pick(SECTIONS, random))
+                    .subject(pick(SUBJECTS, random))
+                    .content(markdown(i, 1 + random.nextInt(4)))
+                    .type("md")
+                    .currentVersion(1)
+                    .version(0L)
+                    .status(NoteStatus.PUBLISHED)
+                    .uploadedByUserId(1L + random.nextInt(50))
+                    .uploadedByEmail("teacher" + random.nextInt(50) + "@example.com")
+                    .uploadedByName("Teacher " + random.nextInt(50))
+                    .likes(random.nextInt(200))
+                    .dislikes(random.nextInt(20))
+                    .createdAt(base.plusMinutes(i))
+                    .publishedAt(base.plusMinutes(i))
+                    .build());
+        }
+        return notes;
+    }
+
+    /**
+     * Bulk-inserts {@code count} published notes with plain JDBC batches;
+     * going through JPA would dominate trial setup at 100k rows.
+     */
+    static void seedNotes(JdbcTemplate jdbc, int count) {
+        for (String department : DEPARTMENTS) {
+            jdbc.update("INSERT INTO departments (name, full_name) VALUES (?, ?)", department, department.toUpperCase());
+        }
+
+        List<Note> notes = notes(count);
+        Map<String, Integer> folderIds = seedFolders(jdbc, notes.stream().map(Note::getFolderPath).toList());
+        String sql = "INSERT INTO notes (public_id, title, department, year, section, subject, folder_id, content, "
+                + "type, current_version, version, status, uploaded_by_user_id, uploaded_by_email, uploaded_by_name, "
+                + "likes, dislikes, created_at, published_at) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        for (int from = 0; from < notes.size(); from += JDBC_BATCH) {
+            List<Object[]> rows = notes.subList(from, Math.min(from + JDBC_BATCH, notes.size())).stream()
+                    .map(n -> new Object[] {
+                            n.getPublicId(), n.getTitle(), n.getDepartment(), n.getYear(), n.getSection(),
+                            n.getSubject(), folderIds.get(n.getFolderPath()), n.getContent(), n.getType(),
+                            n.getCurrentVersion(), n.getVersion(), n.getStatus().name(), n.getUploadedByUserId(),
+                            n.getUploadedByEmail(), n.getUploadedByName(), n.getLikes(), n.getDislikes(),
+                            Timestamp.valueOf(n.getCreatedAt()), Timestamp.valueOf(n.getPublishedAt()) })
+                    .toList();
+            jdbc.batchUpdate(sql, rows);
+        }
+    }
+
+    /**
+     * Inserts {@code count} folder grants spread over 500 users, plus the
+     * grants for {@code probeUserId} that the permission benchmark checks.
+     */
+    static void seedFolderPermissions(JdbcTemplate jdbc, int count, long probeUserId) {
+        Random random = new Random(SEED);
+        List<String> paths = new ArrayList<>(count + 2);
+        for (int i = 0; i < count; i++) {
+            // Unique (userId, folderId): the index makes each path distinct per user
+            paths.add(pick(DEPARTMENTS, random) + "/" + pick(YEARS, random) + "/" + pick(SECTIONS, random)
+                    + "/" + pick(SUBJECTS, random) + "/topic-" + i);
+        }
+        paths.add("it/year2");
+        paths.add("cs/year1/section-a");
+        Map<String, Integer> folderIds = seedFolders(jdbc, paths);
+
+        String sql = "INSERT INTO folder_permissions (user_id, folder_path, folder_id, can_read, can_write, "
+                + "can_delete, can_manage, granted_by_user_id, granted_at, expires_at, is_active) "
+                + "VALUES (?, ?, ?, true, ?, false, false, 1, ?, ?, true)";
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        Timestamp future = Timestamp.valueOf(LocalDateTime.now().plusYears(1));
+
+        List<Object[]> rows = new ArrayList<>(JDBC_BATCH);
+        for (int i = 0; i < count; i++) {
+            String path = paths.get(i);
+            rows.add(new Object[] { 1000L + (i % 500), path, folderIds.get(path), random.nextBoolean(), now, future });
+            if (rows.size() == JDBC_BATCH) {
+                jdbc.batchUpdate(sql, rows);
+                rows.clear();
+            }
+        }
+        rows.add(new Object[] { probeUserId, "it/year2", folderIds.get("it/year2"), true, now, future });
+        rows.add(new Object[] { probeUserId, "cs/year1/section-a", folderIds.get("cs/year1/section-a"), false, now,
+                future });
+        jdbc.batchUpdate(sql, rows);
+    }
+
+    /**
+     * Inserts the folders at {@code paths} and all their ancestors, and
+     * returns every folder id by path. Plain JDBC for the same reason as the
+     * notes: {@code FolderService} would create 100k topic folders one by one.
+     */
+    private static Map<String, Integer> seedFolders(JdbcTemplate jdbc, Collection<String> paths) {
+        Set<String> all = new TreeSet<>();
+        paths.forEach(path -> all.addAll(FolderPaths.selfAndAncestors(path)));
+        List<Object[]> rows = all.stream()
+                .map(path -> new Object[] {
+                        FolderPaths.selfAndAncestors(path).size(), path.substring(path.lastIndexOf('/') + 1), path })
+                .toList();
+        for (int from = 0; from < rows.size(); from += JDBC_BATCH) {
+            jdbc.batchUpdate("INSERT INTO folders (depth, name, path) VALUES (?, ?, ?)",
+                    rows.subList(from, Math.min(from + JDBC_BATCH, rows.size())));
+        }
+
+        Map<String, Integer> ids = new HashMap<>();
+        jdbc.query("SELECT id, path FROM folders", rs -> {
+            ids.put(rs.getString("path"), rs.getInt("id"));
+        });
+        List<Object[]> parents = new ArrayList<>();
+        ids.forEach((path, id) -> {
+            int slash = path.lastIndexOf('/');
+            if (slash > 0) {
+                parents.add(new Object[] { ids.get(path.substring(0, slash)), id });
+            }
+        });
+        jdbc.batchUpdate("UPDATE folders SET parent_id = ? WHERE id = ?", parents);
+        return ids;
+    }
+
+    static String markdown(int index, int paragraphs) {
+        StringBuilder content = new StringBuilder("# Lecture ").append(index).append("\n\n");
+        for (int p = 0; p < paragraphs; p++) {
+            content.append("## Section ").append(p + 1).append("\n\n")
+                    .append("Lorem ipsum dolor sit amet, consectetur adipiscing elit. ".repeat(12))
+                    .append("\n\n- point one\n- point two\n- `code sample`\n\n");
+        }
+        return content.toString();
+    }
+
+    private static String pick(String[] values, Random random) {
+        return values[random.nextInt(values.length)];
+    }
+}
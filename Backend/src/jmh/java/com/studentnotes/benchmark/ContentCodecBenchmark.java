@@ -0,0 +1,98 @@
+package com.studentnotes.benchmark;
+
+import com.studentnotes.util.ContentCodec;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read/write cost of compressed version bodies ({@link ContentCodec})
+ * against storing plain UTF-8, per body size. The space saved for each
+ * size is printed once per trial, next to the timings.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+public class ContentCodecBenchmark {
+
+    private static final String[] WORDS = { "the", "router", "forwards", "packets", "using", "a", "routing",
+            "table", "which", "is", "built", "by", "protocols", "such", "as", "OSPF", "and", "BGP", "each",
+            "entry", "maps", "prefix", "to", "next", "hop", "interface", "metric", "when", "link", "fails",
+            "converges", "after", "timeout", "process", "scheduler", "queue", "transaction", "index", "query" };
+
+    @Param({ "1", "8", "64" })
+    int sizeKb;
+
+    private String content;
+    private byte[] plain;
+    private byte[] encoded;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        content = lectureNote(sizeKb * 1024, new Random(42));
+        plain = content.getBytes(StandardCharsets.UTF_8);
+        encoded = ContentCodec.encode(content);
+        System.out.printf("%n%d KB body: %d bytes plain, %d bytes stored (%.0f%% saved)%n",
+                sizeKb, plain.length, encoded.length, 100.0 * (plain.length - encoded.length) / plain.length);
+    }
+
+    @Benchmark
+    public byte[] writeCompressed() {
+        return ContentCodec.encode(content);
+    }
+
+    @Benchmark
+    public String readCompressed() {
+        return ContentCodec.decode(encoded);
+    }
+
+    /**
+     * Baseline: what the TEXT column cost the driver.
+     */
+    @Benchmark
+    public byte[] writePlain() {
+        return content.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public String readPlain() {
+        return new String(plain, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Markdown with varied prose, unlike {@link BenchmarkData#markdown}, whose
+     * repeated filler would overstate the compression ratio.
+     */
+    private static String lectureNote(int bytes, Random random) {
+        StringBuilder markdown = new StringBuilder("# Lecture notes\n\n");
+        int section = 1;
+        while (markdown.length() < bytes) {
+            markdown.append("## ").append(section++).append(". ").append(sentence(random, 4)).append("\n\n");
+            for (int p = 0; p < 3; p++) {
+                markdown.append(sentence(random, 12 + random.nextInt(20))).append(". ")
+                        .append(sentence(random, 8 + random.nextInt(10))).append(".\n\n");
+            }
+            markdown.append("- **").append(sentence(random, 2)).append(":** ").append(sentence(random, 6))
+                    .append("\n- ").append(sentence(random, 7)).append("\n\n");
+            if (random.nextInt(3) == 0) {
+                markdown.append("```c\nfor (int i = 0; i < ").append(random.nextInt(100))
+                        .append("; i++) { table[i] = lookup(prefix[i]); }\n```\n\n");
+            }
+        }
+        return markdown.substring(0, bytes);
+    }
+
+    private static String sentence(Random random, int words) {
+        StringBuilder sentence = new StringBuilder();
+        for (int w = 0; w < words; w++) {
+            if (w > 0) {
+                sentence.append(' ');
+            }
+            sentence.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return sentence.toString();
+    }
+}
@@ -0,0 +1,48 @@
+package com.studentnotes.benchmark;
+
+import com.studentnotes.dto.response.NoteResponse;
+import com.studentnotes.model.Note;
+import com.studentnotes.service.NoteService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity-to-DTO mapping ({@link NoteService#toResponse}); pure CPU, no context.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+public class NoteResponseBenchmark {
+
+    private static final int PAGE_SIZE = 50;
+
+    @Param({ "1000", "10000", "100000" })
+    int noteCount;
+
+    private final NoteService noteService = new NoteService();
+    private List<Note> notes;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        notes = BenchmarkData.notes(noteCount);
+    }
+
+    @Benchmark
+    public NoteResponse single() {
+        cursor = (cursor + 1) % notes.size();
+        return noteService.toResponse(notes.get(cursor));
+    }
+
+    /**
+     * One list page, as returned by the paged teacher/admin endpoints.
+     */
+    @Benchmark
+    public List<NoteResponse> page() {
+        cursor = (cursor + PAGE_SIZE) % (notes.size() - PAGE_SIZE);
+        return notes.subList(cursor, cursor + PAGE_SIZE).stream().map(noteService::toResponse).toList();
+    }
+}
@@ -0,0 +1,61 @@
+package com.studentnotes.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.studentnotes.dto.response.PublicNoteTree;
+import com.studentnotes.service.NoteService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The public note tree for the whole published corpus:
+ * <ul>
+ * <li>{@code publicNoteTree}: uncached {@link NoteService#buildPublicNoteTree()},
+ * i.e. query, entity hydration and tree assembly</li>
+ * <li>{@code publicNoteTreeJson}: writing the cached tree as JSON, which is
+ * what every {@code /api/public/tree} request pays, each body inflated from
+ * its ContentCodec form on the way out</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = { "-Xms2g", "-Xmx2g" })
+public class NoteTreeBenchmark {
+
+    @Param({ "1000", "10000", "100000" })
+    int noteCount;
+
+    private ConfigurableApplicationContext context;
+    private NoteService noteService;
+    private ObjectMapper objectMapper;
+    private PublicNoteTree tree;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BackendContext.start("tree" + noteCount);
+        BenchmarkData.seedNotes(context.getBean(JdbcTemplate.class), noteCount);
+        noteService = context.getBean(NoteService.class);
+        objectMapper = context.getBean(ObjectMapper.class);
+        tree = noteService.buildPublicNoteTree();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public PublicNoteTree publicNoteTree() {
+        return noteService.buildPublicNoteTree();
+    }
+
+    @Benchmark
+    public void publicNoteTreeJson() throws IOException {
+        objectMapper.writeValue(OutputStream.nullOutputStream(), tree);
+    }
+}
@@ -0,0 +1,66 @@
+package com.studentnotes.benchmark;
+
+import com.studentnotes.model.User;
+import com.studentnotes.model.enums.Role;
+import com.studentnotes.service.PermissionService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Folder permission checks ({@link PermissionService#hasWritePermission})
+ * against a grant table of growing size. The probe user holds a handful of
+ * grants; the rest belong to other users, as in production.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+public class PermissionBenchmark {
+
+    private static final long PROBE_USER_ID = 42L;
+
+    @Param({ "1000", "10000", "100000" })
+    int grantCount;
+
+    private ConfigurableApplicationContext context;
+    private PermissionService permissionService;
+    private User teacher;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BackendContext.start("perm" + grantCount);
+        BenchmarkData.seedFolderPermissions(context.getBean(JdbcTemplate.class), grantCount, PROBE_USER_ID);
+        permissionService = context.getBean(PermissionService.class);
+        teacher = User.builder()
+                .id(PROBE_USER_ID)
+                .email("probe@example.com")
+                .role(Role.ROLE_TEACHER.getValue())
+                .assignedDepartments(List.of("it", "cs"))
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    /**
+     * Granted through an ancestor ("it/year2").
+     */
+    @Benchmark
+    public boolean writeGrantedViaAncestor() {
+        return permissionService.hasWritePermission(teacher, "it/year2/section-a/networks");
+    }
+
+    /**
+     * Covering grant exists but is read-only: full lookup, then denied.
+     */
+    @Benchmark
+    public boolean writeDenied() {
+        return permissionService.hasWritePermission(teacher, "cs/year1/section-a/dbms");
+    }
+}
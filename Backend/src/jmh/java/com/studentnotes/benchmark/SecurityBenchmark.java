@@ -0,0 +1,53 @@
+package com.studentnotes.benchmark;
+
+import com.studentnotes.config.RateLimiter;
+import com.studentnotes.util.JwtUtil;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request security overhead: JWT validation and the rate limiter.
+ * The user count sizes the rate limiter's bucket map.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+public class SecurityBenchmark {
+
+    @Param({ "1000", "10000", "100000" })
+    int userCount;
+
+    private final JwtUtil jwtUtil = new JwtUtil();
+    private RateLimiter rateLimiter;
+    private String[] userIds;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        token = jwtUtil.generateToken("teacher@example.com");
+        rateLimiter = new RateLimiter();
+        userIds = new String[userCount];
+        for (int i = 0; i < userCount; i++) {
+            userIds[i] = "user-" + i;
+            rateLimiter.isAllowed(userIds[i], false);
+        }
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtUtil.validateToken(token, "teacher@example.com");
+    }
+
+    /**
+     * Random users across all request threads, so buckets are contended as
+     * they would be under load.
+     */
+    @Benchmark
+    @Threads(4)
+    public boolean rateLimiterIsAllowed() {
+        return rateLimiter.isAllowed(userIds[ThreadLocalRandom.current().nextInt(userCount)], false);
+    }
+}
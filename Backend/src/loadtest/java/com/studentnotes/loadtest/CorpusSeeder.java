@@ -0,0 +1,176 @@
+package com.studentnotes.loadtest;
+
+import com.studentnotes.model.Department;
+import com.studentnotes.model.FolderPermission;
+import com.studentnotes.model.Note;
+import com.studentnotes.model.User;
+import com.studentnotes.model.enums.Role;
+import com.studentnotes.repository.DepartmentRepository;
+import com.studentnotes.repository.FolderPermissionRepository;
+import com.studentnotes.repository.UserRepository;
+import com.studentnotes.service.FolderService;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Seeds an exam-week sized corpus: departments, teachers with write grants on
+ * their department, admins, and published notes owned by the teachers.
+ * Deterministic for a given config, so runs are comparable.
+ */
+final class CorpusSeeder {
+
+    static final String PASSWORD = "loadtest-password";
+
+    private static final String[] DEPARTMENTS = { "it", "cs", "ece", "mech", "civil", "eee" };
+    private static final String[] YEARS = { "year1", "year2", "year3", "year4" };
+    private static final String[] SECTIONS = { "section-a", "section-b", "section-c" };
+    private static final String[] SUBJECTS = { "networks", "dbms", "os", "compilers", "maths", "physics", "dsa", "ai" };
+    private static final int JDBC_BATCH = 1000;
+
+    /**
+     * A seeded account and, for teachers, the notes it owns.
+     */
+    record Account(String email, String department, List<String> ownedNotes) {
+    }
+
+    record Corpus(List<Account> teachers, List<Account> admins, long minNoteId, long maxNoteId) {
+    }
+
+    private CorpusSeeder() {
+    }
+
+    static Corpus seed(ApplicationContext context, LoadTestConfig config) {
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        FolderPermissionRepository permissionRepository = context.getBean(FolderPermissionRepository.class);
+        DepartmentRepository departmentRepository = context.getBean(DepartmentRepository.class);
+        FolderService folderService = context.getBean(FolderService.class);
+
+        for (String name : DEPARTMENTS) {
+            Department department = new Department();
+            department.setName(name);
+            department.setFullName(name.toUpperCase());
+            departmentRepository.save(department);
+        }
+
+        // BCrypt is deliberately slow: hash once, share it
+        String passwordHash = context.getBean(PasswordEncoder.class).encode(PASSWORD);
+
+        List<User> teachers = new ArrayList<>();
+        for (int i = 0; i < config.teachers(); i++) {
+            teachers.add(User.builder()
+                    .email("teacher" + i + "@loadtest.local")
+                    .password(passwordHash)
+                    .name("Teacher " + i)
+                    .role(Role.ROLE_TEACHER.getValue())
+                    .assignedDepartments(List.of(DEPARTMENTS[i % DEPARTMENTS.length]))
+                    .build());
+        }
+        List<User> savedTeachers = userRepository.saveAll(teachers);
+
+        List<User> admins = new ArrayList<>();
+        for (int i = 0; i < config.admins(); i++) {
+            admins.add(User.builder()
+                    .email("admin" + i + "@loadtest.local")
+                    .password(passwordHash)
+                    .name("Admin " + i)
+                    .role(Role.ROLE_ADMIN.getValue())
+                    .build());
+        }
+        List<User> savedAdmins = userRepository.saveAll(admins);
+
+        long grantedBy = savedAdmins.isEmpty() ? 0L : savedAdmins.get(0).getId();
+        permissionRepository.saveAll(savedTeachers.stream()
+                .map(teacher -> FolderPermission.builder()
+                        .userId(teacher.getId())
+                        .folderPath(teacher.getAssignedDepartments().get(0))
+                        .folderId(folderService.resolve(teacher.getAssignedDepartments().get(0)).getId())
+                        .canWrite(true)
+                        .grantedByUserId(grantedBy)
+                        .build())
+                .toList());
+
+        List<List<String>> owned = seedNotes(jdbc, folderService, savedTeachers, config.notes());
+
+        List<Account> teacherAccounts = new ArrayList<>();
+        for (int i = 0; i < savedTeachers.size(); i++) {
+            User teacher = savedTeachers.get(i);
+            teacherAccounts.add(new Account(teacher.getEmail(), teacher.getAssignedDepartments().get(0), owned.get(i)));
+        }
+        List<Account> adminAccounts = savedAdmins.stream()
+                .map(admin -> new Account(admin.getEmail(), null, List.of()))
+                .toList();
+
+        Long minId = jdbc.queryForObject("SELECT MIN(id) FROM notes", Long.class);
+        Long maxId = jdbc.queryForObject("SELECT MAX(id) FROM notes", Long.class);
+        return new Corpus(teacherAccounts, adminAccounts, minId != null ? minId : 0, maxId != null ? maxId : 0);
+    }
+
+    /**
+     * Bulk-inserts published notes round-robin across teachers, in each
+     * teacher's department. Returns the owned note ids per teacher.
+     */
+    private static List<List<String>> seedNotes(JdbcTemplate jdbc, FolderService folderService, List<User> teachers,
+            int count) {
+        Random random = new Random(42L);
+        List<List<String>> owned = new ArrayList<>();
+        teachers.forEach(t -> owned.add(new ArrayList<>()));
+
+        String sql = "INSERT INTO notes (public_id, title, department, year, section, subject, folder_id, content, "
+                + "type, current_version, version, status, uploaded_by_user_id, uploaded_by_email, uploaded_by_name, "
+                + "likes, dislikes, created_at, published_at) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, 'md', 1, 0, 'PUBLISHED', ?, ?, ?, 0, 0, ?, ?)";
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        List<Object[]> rows = new ArrayList<>(JDBC_BATCH);
+        for (int i = 0; i < count; i++) {
+            int owner = i % teachers.size();
+            User teacher = teachers.get(owner);
+            String publicId = new UUID(42L, i).toString();
+            owned.get(owner).add(publicId);
+            String department = teacher.getAssignedDepartments().get(0);
+            String year = YEARS[random.nextInt(YEARS.length)];
+            String section = SECTIONS[random.nextInt(SECTIONS.length)];
+            String subject = SUBJECTS[random.nextInt(SUBJECTS.length)];
+            // A few hundred distinct folders, each created once and then cached
+            Integer folderId = folderService.resolve(Note.folderPathOf(department, year, section, subject)).getId();
+            rows.add(new Object[] {
+                    publicId,
+                    "Lecture " + i,
+                    department,
+                    year,
+                    section,
+                    subject,
+                    folderId,
+                    markdown(i, 1 + random.nextInt(4)),
+                    teacher.getId(), teacher.getEmail(), teacher.getName(),
+                    now, now });
+            if (rows.size() == JDBC_BATCH) {
+                jdbc.batchUpdate(sql, rows);
+                rows.clear();
+            }
+        }
+        if (!rows.isEmpty()) {
+            jdbc.batchUpdate(sql, rows);
+        }
+        return owned;
+    }
+
+    static String markdown(int index, int paragraphs) {
+        StringBuilder content = new StringBuilder("# Lecture ").append(index).append("\n\n");
+        for (int p = 0; p < paragraphs; p++) {
+            content.append("## Section ").append(p + 1).append("\n\n")
+                    .append("Lorem ipsum dolor sit amet, consectetur adipiscing elit. ".repeat(12))
+                    .append("\n\n- point one\n- point two\n- `code sample`\n\n");
+        }
+        return content.toString();
+    }
+}
@@ -0,0 +1,40 @@
+package com.studentnotes.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histogram and outcome counters for one endpoint.
+ * Latencies are in microseconds, measured from the operation's intended
+ * start so queueing delay is not hidden (no coordinated omission).
+ */
+final class EndpointStats {
+
+    private static final long HIGHEST_MICROS = TimeUnit.MINUTES.toMicros(5);
+
+    final Histogram latency = new ConcurrentHistogram(HIGHEST_MICROS, 3);
+    final LongAdder ok = new LongAdder();
+    final LongAdder rateLimited = new LongAdder();
+    final LongAdder conflicts = new LongAdder();
+    final LongAdder errors = new LongAdder();
+
+    void record(long latencyNanos, int status) {
+        latency.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), HIGHEST_MICROS));
+        if (status >= 200 && status < 300) {
+            ok.increment();
+        } else if (status == 429) {
+            rateLimited.increment();
+        } else if (status == 409 || status == 412) {
+            conflicts.increment();
+        } else {
+            errors.increment();
+        }
+    }
+
+    long count() {
+        return latency.getTotalCount();
+    }
+}
@@ -0,0 +1,342 @@
+package com.studentnotes.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.studentnotes.BackendApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.core.Ordered;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+
+/**
+ * Exam-week load simulation.
+ * <p>
+ * Boots the application on a random port against in-memory H2, seeds a
+ * realistic corpus, then replays a weighted mix of operations through the
+ * real HTTP surface (public, teacher and admin controllers). Arrivals follow
+ * an open model at a fixed rate, so a slow server builds a queue instead of
+ * slowing the load down, and latency is measured from each operation's
+ * intended start.
+ * </p>
+ * <p>
+ * Operations: {@code tree}, {@code vote}, {@code upload}, {@code edit}
+ * (GET + conditional PUT), {@code requestDelete}, {@code adminQueue} (list
+ * pending + approve/reject one) and {@code audit}. Write endpoints are rate
+ * limited per user, so 429s in the report mean the account pools are too
+ * small for the chosen rate and mix.
+ * </p>
+ * Extra program arguments are passed to Spring, e.g.
+ * {@code --spring.datasource.hikari.maximum-pool-size=20}.
+ */
+public class ExamWeekSimulation {
+
+    private static final List<String> OPERATIONS =
+            List.of("tree", "vote", "upload", "edit", "requestDelete", "adminQueue", "audit");
+
+    private final LoadTestConfig config;
+    private final CorpusSeeder.Corpus corpus;
+    private final String baseUrl;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final HttpClient http;
+    private final Map<String, String> tokens = new ConcurrentHashMap<>();
+    private final Map<String, Queue<String>> deletableNotes = new ConcurrentHashMap<>();
+
+    private final String[] weightedOperations;
+
+    ExamWeekSimulation(LoadTestConfig config, CorpusSeeder.Corpus corpus, String baseUrl) {
+        this.config = config;
+        this.corpus = corpus;
+        this.baseUrl = baseUrl;
+        this.http = HttpClient.newBuilder()
+                .executor(executor)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+
+        List<String> weighted = new ArrayList<>();
+        config.mix().forEach((operation, weight) -> {
+            if (!OPERATIONS.contains(operation)) {
+                throw new IllegalArgumentException("Unknown operation '" + operation + "', expected one of " + OPERATIONS);
+            }
+            for (int i = 0; i < weight; i++) {
+                weighted.add(operation);
+            }
+        });
+        this.weightedOperations = weighted.toArray(String[]::new);
+
+        // First half of each teacher's notes is edited, second half feeds deletion requests
+        for (CorpusSeeder.Account teacher : corpus.teachers()) {
+            List<String> notes = teacher.ownedNotes();
+            deletableNotes.put(teacher.email(), new ConcurrentLinkedQueue<>(notes.subList(notes.size() / 2, notes.size())));
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+        ConfigurableApplicationContext context = start(args);
+        try {
+            int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            System.out.printf("Seeding %d notes, %d teachers, %d admins...%n",
+                    config.notes(), config.teachers(), config.admins());
+            CorpusSeeder.Corpus corpus = CorpusSeeder.seed(context, config);
+
+            ExamWeekSimulation simulation = new ExamWeekSimulation(config, corpus, "http://localhost:" + port);
+            simulation.login();
+
+            System.out.printf("Warming up for %ds...%n", config.warmup().toSeconds());
+            simulation.run(config.warmup());
+            StatementCounter.reset();
+
+            System.out.printf("Measuring for %ds at %d ops/s...%n", config.duration().toSeconds(), config.rate());
+            LoadReport report = simulation.run(config.duration());
+            report.print(System.out);
+            report.write(Path.of(config.reportFile()));
+            System.out.println("Report written to " + config.reportFile());
+        } finally {
+            context.close();
+        }
+    }
+
+    private static ConfigurableApplicationContext start(String[] args) {
+        // Command-line style so they override the test application.properties
+        String[] defaults = {
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1;MODE=PostgreSQL;NON_KEYWORDS=YEAR",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                        + StatementCounter.class.getName(),
+                // Production caching, as in application.properties
+                "--spring.cache.type=simple",
+                "--spring.cache.cache-names=adminOverview",
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=WARN",
+                "--logging.level.com.studentnotes=WARN"
+        };
+        return new SpringApplicationBuilder(BackendApplication.class)
+                .initializers(context -> ((GenericApplicationContext) context).registerBean(
+                        "statementCountingFilter", FilterRegistrationBean.class, () -> {
+                            FilterRegistrationBean<StatementCounter.RequestFilter> registration =
+                                    new FilterRegistrationBean<>(new StatementCounter.RequestFilter());
+                            registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+                            return registration;
+                        }))
+                .run(Stream.concat(Stream.of(defaults), Stream.of(args)).toArray(String[]::new));
+    }
+
+    // ==================== Driver ====================
+
+    private void login() throws InterruptedException {
+        List<CorpusSeeder.Account> accounts = new ArrayList<>(corpus.teachers());
+        accounts.addAll(corpus.admins());
+        try (ExecutorService logins = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors())) {
+            for (CorpusSeeder.Account account : accounts) {
+                logins.submit(() -> {
+                    String body = json(Map.of("email", account.email(), "password", CorpusSeeder.PASSWORD));
+                    HttpResponse<String> response = send(request("/api/auth/login", null)
+                            .POST(HttpRequest.BodyPublishers.ofString(body)));
+                    tokens.put(account.email(), objectMapper.readTree(response.body()).get("token").asText());
+                    return null;
+                });
+            }
+        }
+        if (tokens.size() != accounts.size()) {
+            throw new IllegalStateException("Only " + tokens.size() + " of " + accounts.size() + " accounts logged in");
+        }
+    }
+
+    /**
+     * Issues operations at the configured rate for {@code length}, then waits
+     * for in-flight operations to finish.
+     */
+    private LoadReport run(Duration length) {
+        Map<String, EndpointStats> stats = new ConcurrentHashMap<>();
+        long periodNanos = 1_000_000_000L / config.rate();
+        long start = System.nanoTime();
+        long end = start + length.toNanos();
+
+        List<Future<?>> inFlight = new ArrayList<>();
+        for (long i = 0;; i++) {
+            long intendedStart = start + i * periodNanos;
+            if (intendedStart >= end) {
+                break;
+            }
+            long wait = intendedStart - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            String operation = weightedOperations[ThreadLocalRandom.current().nextInt(weightedOperations.length)];
+            inFlight.add(executor.submit(() -> execute(operation, intendedStart, stats)));
+        }
+        for (Future<?> future : inFlight) {
+            try {
+                future.get();
+            } catch (Exception e) {
+                // Already counted as an error by execute()
+            }
+        }
+        return LoadReport.of(config, Duration.ofNanos(System.nanoTime() - start), stats);
+    }
+
+    // ==================== Operations ====================
+
+    private void execute(String operation, long intendedStart, Map<String, EndpointStats> stats) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        switch (operation) {
+            case "tree" -> call(stats, "GET /api/public/tree", intendedStart,
+                    request("/api/public/tree", null).GET());
+            case "vote" -> {
+                long noteId = random.nextLong(corpus.minNoteId(), corpus.maxNoteId() + 1);
+                call(stats, "POST /api/public/notes/{id}/like", intendedStart,
+                        request("/api/public/notes/" + noteId + "/like", null).POST(HttpRequest.BodyPublishers.noBody()));
+            }
+            case "upload" -> {
+                CorpusSeeder.Account teacher = pick(corpus.teachers());
+                String body = json(Map.of(
+                        "title", "Revision sheet " + random.nextInt(1_000_000),
+                        "department", teacher.department(),
+                        "year", "year" + (1 + random.nextInt(4)),
+                        "section", "section-a",
+                        "subject", "revision",
+                        "content", CorpusSeeder.markdown(random.nextInt(), 2),
+                        "publishImmediately", true));
+                call(stats, "POST /api/teacher/notes", intendedStart,
+                        request("/api/teacher/notes", teacher).POST(HttpRequest.BodyPublishers.ofString(body)));
+            }
+            case "edit" -> {
+                CorpusSeeder.Account teacher = pick(corpus.teachers());
+                List<String> notes = teacher.ownedNotes();
+                if (notes.size() < 2) {
+                    return;
+                }
+                String publicId = notes.get(random.nextInt(notes.size() / 2));
+                HttpResponse<String> current = call(stats, "GET /api/teacher/notes/{publicId}", intendedStart,
+                        request("/api/teacher/notes/" + publicId, teacher).GET());
+                if (current == null || current.statusCode() != 200) {
+                    return;
+                }
+                String body = json(Map.of(
+                        "content", CorpusSeeder.markdown(random.nextInt(), 3),
+                        "changeSummary", "Exam-week corrections"));
+                HttpRequest.Builder put = request("/api/teacher/notes/" + publicId, teacher)
+                        .PUT(HttpRequest.BodyPublishers.ofString(body));
+                current.headers().firstValue("ETag").ifPresent(eTag -> put.header("If-Match", eTag));
+                call(stats, "PUT /api/teacher/notes/{publicId}", System.nanoTime(), put);
+            }
+            case "requestDelete" -> {
+                CorpusSeeder.Account teacher = pick(corpus.teachers());
+                String publicId = deletableNotes.get(teacher.email()).poll();
+                if (publicId == null) {
+                    return;
+                }
+                String body = json(Map.of("reason", "Superseded by the revised syllabus notes"));
+                call(stats, "POST /api/teacher/notes/{publicId}/request-delete", intendedStart,
+                        request("/api/teacher/notes/" + publicId + "/request-delete", teacher)
+                                .POST(HttpRequest.BodyPublishers.ofString(body)));
+            }
+            case "adminQueue" -> {
+                CorpusSeeder.Account admin = pick(corpus.admins());
+                HttpResponse<String> page = call(stats, "GET /api/admin/deletion-requests", intendedStart,
+                        request("/api/admin/deletion-requests?status=PENDING&size=20", admin).GET());
+                String requestId = pickPendingRequest(page);
+                if (requestId == null) {
+                    return;
+                }
+                if (random.nextInt(5) == 0) {
+                    String body = json(Map.of("reason", "Still needed for the current exam cycle"));
+                    call(stats, "POST /api/admin/deletion-requests/{publicId}/reject", System.nanoTime(),
+                            request("/api/admin/deletion-requests/" + requestId + "/reject", admin)
+                                    .POST(HttpRequest.BodyPublishers.ofString(body)));
+                } else {
+                    call(stats, "POST /api/admin/deletion-requests/{publicId}/approve", System.nanoTime(),
+                            request("/api/admin/deletion-requests/" + requestId + "/approve", admin)
+                                    .POST(HttpRequest.BodyPublishers.noBody()));
+                }
+            }
+            case "audit" -> {
+                CorpusSeeder.Account admin = pick(corpus.admins());
+                call(stats, "GET /api/admin/audit-logs", intendedStart,
+                        request("/api/admin/audit-logs?size=50&page=" + random.nextInt(5), admin).GET());
+            }
+            default -> throw new IllegalStateException("Unknown operation " + operation);
+        }
+    }
+
+    // ==================== HTTP helpers ====================
+
+    private HttpResponse<String> call(Map<String, EndpointStats> stats, String endpoint, long startNanos,
+            HttpRequest.Builder request) {
+        EndpointStats endpointStats = stats.computeIfAbsent(endpoint, k -> new EndpointStats());
+        try {
+            HttpResponse<String> response = send(request);
+            endpointStats.record(System.nanoTime() - startNanos, response.statusCode());
+            return response;
+        } catch (Exception e) {
+            endpointStats.record(System.nanoTime() - startNanos, -1);
+            return null;
+        }
+    }
+
+    private HttpResponse<String> send(HttpRequest.Builder request) throws Exception {
+        return http.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpRequest.Builder request(String path, CorpusSeeder.Account account) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json");
+        if (account != null) {
+            builder.header("Authorization", "Bearer " + tokens.get(account.email()));
+        }
+        return builder;
+    }
+
+    private String pickPendingRequest(HttpResponse<String> page) {
+        if (page == null || page.statusCode() != 200) {
+            return null;
+        }
+        try {
+            JsonNode content = objectMapper.readTree(page.body()).path("data").path("content");
+            if (!content.isArray() || content.isEmpty()) {
+                return null;
+            }
+            return content.get(ThreadLocalRandom.current().nextInt(content.size())).path("publicId").asText(null);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private String json(Map<String, Object> body) {
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static <T> T pick(List<T> values) {
+        return values.get(ThreadLocalRandom.current().nextInt(values.size()));
+    }
+}
@@ -0,0 +1,95 @@
+package com.studentnotes.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-endpoint summary of a measured run, printed as a table and written as
+ * JSON for comparison between runs.
+ */
+record LoadReport(LoadTestConfig config, Duration elapsed, List<Row> rows) {
+
+    record Row(
+            String endpoint,
+            long count,
+            double throughputPerSecond,
+            double p50Millis,
+            double p90Millis,
+            double p99Millis,
+            double p999Millis,
+            double maxMillis,
+            long ok,
+            long rateLimited,
+            long conflicts,
+            long errors,
+            double statementsPerRequest) {
+    }
+
+    static LoadReport of(LoadTestConfig config, Duration elapsed, Map<String, EndpointStats> stats) {
+        double seconds = elapsed.toNanos() / 1e9;
+        List<Row> rows = stats.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .map(e -> {
+                    EndpointStats s = e.getValue();
+                    return new Row(
+                            e.getKey(),
+                            s.count(),
+                            s.count() / seconds,
+                            millis(s.latency.getValueAtPercentile(50)),
+                            millis(s.latency.getValueAtPercentile(90)),
+                            millis(s.latency.getValueAtPercentile(99)),
+                            millis(s.latency.getValueAtPercentile(99.9)),
+                            millis(s.latency.getMaxValue()),
+                            s.ok.sum(),
+                            s.rateLimited.sum(),
+                            s.conflicts.sum(),
+                            s.errors.sum(),
+                            StatementCounter.averageFor(e.getKey()));
+                })
+                .toList();
+        return new LoadReport(config, elapsed, rows);
+    }
+
+    void print(PrintStream out) {
+        out.printf("%nExam-week simulation: %d ops/s target, %ds measured, %d notes%n",
+                config.rate(), elapsed.toSeconds(), config.notes());
+        out.printf("%-58s %8s %8s %8s %8s %8s %8s %8s %6s %6s %6s %7s%n",
+                "endpoint", "count", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9", "max ms",
+                "429", "409/12", "err", "stmts");
+        for (Row row : rows) {
+            out.printf("%-58s %8d %8.1f %8.2f %8.2f %8.2f %8.2f %8.2f %6d %6d %6d %7.1f%n",
+                    row.endpoint(), row.count(), row.throughputPerSecond(), row.p50Millis(), row.p90Millis(),
+                    row.p99Millis(), row.p999Millis(), row.maxMillis(), row.rateLimited(), row.conflicts(),
+                    row.errors(), row.statementsPerRequest());
+        }
+    }
+
+    void write(Path file) throws IOException {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("targetRate", config.rate());
+        json.put("measuredSeconds", elapsed.toMillis() / 1000.0);
+        json.put("notes", config.notes());
+        json.put("teachers", config.teachers());
+        json.put("admins", config.admins());
+        json.put("mix", config.mix());
+        json.put("endpoints", rows);
+
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), json);
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
@@ -0,0 +1,64 @@
+package com.studentnotes.loadtest;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Simulation settings, read from {@code loadtest.*} system properties.
+ *
+ * @param rate      target arrival rate (operations per second, open model)
+ * @param warmup    warmup period; results are discarded
+ * @param duration  measured period
+ * @param notes     corpus size (published notes)
+ * @param teachers  teacher accounts; each is rate limited on writes
+ * @param admins    admin accounts
+ * @param mix       operation weights by name
+ * @param reportFile JSON report path
+ */
+record LoadTestConfig(
+        int rate,
+        Duration warmup,
+        Duration duration,
+        int notes,
+        int teachers,
+        int admins,
+        Map<String, Integer> mix,
+        String reportFile) {
+
+    static final String DEFAULT_MIX = "tree:45,vote:20,upload:4,edit:8,requestDelete:3,adminQueue:5,audit:15";
+
+    static LoadTestConfig fromSystemProperties() {
+        return new LoadTestConfig(
+                Integer.getInteger("loadtest.rate", 100),
+                Duration.ofSeconds(Long.getLong("loadtest.warmupSeconds", 15L)),
+                Duration.ofSeconds(Long.getLong("loadtest.durationSeconds", 60L)),
+                Integer.getInteger("loadtest.notes", 20_000),
+                Integer.getInteger("loadtest.teachers", 300),
+                Integer.getInteger("loadtest.admins", 40),
+                parseMix(System.getProperty("loadtest.mix", DEFAULT_MIX)),
+                System.getProperty("loadtest.reportFile", "target/loadtest-report.json"));
+    }
+
+    /**
+     * Parses "name:weight,name:weight"; unknown names are rejected by the
+     * simulation so typos fail fast.
+     */
+    static Map<String, Integer> parseMix(String spec) {
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        for (String part : spec.split(",")) {
+            String[] entry = part.trim().split(":");
+            if (entry.length != 2) {
+                throw new IllegalArgumentException("Bad mix entry '" + part + "', expected name:weight");
+            }
+            int weight = Integer.parseInt(entry[1].trim());
+            if (weight > 0) {
+                mix.put(entry[0].trim(), weight);
+            }
+        }
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("Operation mix is empty");
+        }
+        return mix;
+    }
+}
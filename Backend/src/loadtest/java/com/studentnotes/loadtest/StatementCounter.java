@@ -0,0 +1,81 @@
+package com.studentnotes.loadtest;
+
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts SQL statements per endpoint.
+ * <p>
+ * Hibernate calls the inspector for every statement it prepares; the filter
+ * brackets each request on its servlet thread and files the count under the
+ * matched route ("GET /api/public/tree"), the same key the client reports
+ * latency under. Statements issued on other threads (e.g. async audit
+ * writes) are not attributed to any endpoint.
+ * </p>
+ */
+public class StatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<int[]> CURRENT = new ThreadLocal<>();
+    private static final Map<String, LongAdder> STATEMENTS = new ConcurrentHashMap<>();
+    private static final Map<String, LongAdder> REQUESTS = new ConcurrentHashMap<>();
+
+    @Override
+    public String inspect(String sql) {
+        int[] counter = CURRENT.get();
+        if (counter != null) {
+            counter[0]++;
+        }
+        return sql;
+    }
+
+    static void reset() {
+        STATEMENTS.clear();
+        REQUESTS.clear();
+    }
+
+    /**
+     * Average statements per request, or -1 if the endpoint was never hit.
+     */
+    static double averageFor(String endpoint) {
+        LongAdder requests = REQUESTS.get(endpoint);
+        LongAdder statements = STATEMENTS.get(endpoint);
+        if (requests == null || requests.sum() == 0) {
+            return -1;
+        }
+        return (double) statements.sum() / requests.sum();
+    }
+
+    /**
+     * Servlet filter that scopes counting to one request.
+     */
+    static class RequestFilter implements Filter {
+
+        @Override
+        public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+                throws IOException, ServletException {
+            int[] counter = new int[1];
+            CURRENT.set(counter);
+            try {
+                chain.doFilter(request, response);
+            } finally {
+                CURRENT.remove();
+                HttpServletRequest http = (HttpServletRequest) request;
+                Object pattern = http.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                String key = http.getMethod() + " " + (pattern != null ? pattern : http.getRequestURI());
+                STATEMENTS.computeIfAbsent(key, k -> new LongAdder()).add(counter[0]);
+                REQUESTS.computeIfAbsent(key, k -> new LongAdder()).increment();
+            }
+        }
+    }
+}
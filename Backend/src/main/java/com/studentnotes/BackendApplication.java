@@ -1,9 +1,13 @@
 package com.studentnotes;
 
+import com.studentnotes.config.NativeRuntimeHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.ImportRuntimeHints;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Student Notes Platform Backend Application.
@@ -14,14 +18,26 @@ import org.springframework.scheduling.annotation.EnableAsync;
  * - Role-based Authorization
  * - Audit Logging
  * - Caching for Dashboard Metrics
+ * - Live note-tree change feed (SSE)
+ * - Startup timeline (/actuator/startup)
+ * - GraalVM native image (-Pnative)
  */
 @SpringBootApplication
 @EnableCaching
 @EnableAsync
+@EnableScheduling
+@ImportRuntimeHints(NativeRuntimeHints.class)
 public class BackendApplication {
 
+	/**
+	 * Startup steps kept for the boot timeline; enough for a full boot.
+	 */
+	private static final int STARTUP_STEP_CAPACITY = 4096;
+
 	public static void main(String[] args) {
-		SpringApplication.run(BackendApplication.class, args);
+		SpringApplication application = new SpringApplication(BackendApplication.class);
+		application.setApplicationStartup(new BufferingApplicationStartup(STARTUP_STEP_CAPACITY));
+		application.run(args);
 	}
 
 }
@@ -0,0 +1,26 @@
+package com.studentnotes.config;
+
+/**
+ * Names of the caches kept per instance, as used by {@code @Cacheable} and
+ * by {@link com.studentnotes.service.CacheInvalidationService}. Spring cache
+ * names must also be listed in {@code spring.cache.cache-names}; the others
+ * register an invalidation handler.
+ */
+public final class CacheNames {
+
+    /**
+     * The public note tree. Not a Spring cache; see NoteService.
+     */
+    public static final String PUBLIC_NOTE_TREE = "publicNoteTree";
+
+    public static final String ADMIN_OVERVIEW = "adminOverview";
+
+    /**
+     * Department ZIP archives on local disk, keyed by department. Not a Spring
+     * cache; see NoteArchiveService.
+     */
+    public static final String DEPARTMENT_ARCHIVES = "departmentArchives";
+
+    private CacheNames() {
+    }
+}
@@ -3,52 +3,62 @@ package com.studentnotes.config;
 import com.studentnotes.model.User;
 import com.studentnotes.model.enums.UserStatus;
 import com.studentnotes.repository.UserRepository;
-import org.springframework.boot.CommandLineRunner;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 import org.springframework.security.crypto.password.PasswordEncoder;
 import java.util.List;
+import java.util.concurrent.Executor;
 
 @Configuration
 public class DataInitializer {
 
+    /**
+     * Runs once the application is ready, on a background thread: the BCrypt
+     * hashing below is deliberately slow and should not delay startup.
+     */
     @Bean
-    public CommandLineRunner initData(UserRepository userRepository, PasswordEncoder passwordEncoder) {
-        return args -> {
-            // Check if teacher exists
-            if (userRepository.findByEmail("teacher@test.com").isEmpty()) {
-                User teacher = new User();
-                teacher.setEmail("teacher@test.com");
-                teacher.setPassword(passwordEncoder.encode("password"));
-                teacher.setName("Test Teacher");
-                teacher.setRole("ROLE_TEACHER");
-                teacher.setAssignedDepartments(List.of("it"));
-                teacher.setStatus(UserStatus.ACTIVE); // Use status enum
-                userRepository.save(teacher);
-                System.out.println("Created test teacher: teacher@test.com");
-            }
+    public ApplicationListener<ApplicationReadyEvent> initData(UserRepository userRepository,
+            PasswordEncoder passwordEncoder, @Qualifier("applicationTaskExecutor") Executor executor) {
+        return event -> executor.execute(() -> ensureDefaultUsers(userRepository, passwordEncoder));
+    }
+
+    private void ensureDefaultUsers(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+        // Check if teacher exists
+        if (userRepository.findByEmail("teacher@test.com").isEmpty()) {
+            User teacher = new User();
+            teacher.setEmail("teacher@test.com");
+            teacher.setPassword(passwordEncoder.encode("password"));
+            teacher.setName("Test Teacher");
+            teacher.setRole("ROLE_TEACHER");
+            teacher.setAssignedDepartments(List.of("it"));
+            teacher.setStatus(UserStatus.ACTIVE); // Use status enum
+            userRepository.save(teacher);
+            System.out.println("Created test teacher: teacher@test.com");
+        }
 
-            // Ensure admin exists AND has a known password
-            userRepository.findByEmail("shankar").ifPresentOrElse(
-                    admin -> {
-                        admin.setPassword(passwordEncoder.encode("Shankar2000"));
-                        admin.setName("Shankar");
-                        admin.setRole("ROLE_ADMIN");
-                        admin.setStatus(UserStatus.ACTIVE); // Use status enum
-                        userRepository.save(admin);
-                        System.out.println("🔄 Admin password reset for user: shankar");
-                    },
-                    () -> {
-                        User admin = new User();
-                        admin.setEmail("shankar"); // Using 'shankar' as username
-                        admin.setPassword(passwordEncoder.encode("Shankar2000"));
-                        admin.setName("Shankar");
-                        admin.setRole("ROLE_ADMIN");
-                        admin.setStatus(UserStatus.ACTIVE); // Use status enum
-                        userRepository.save(admin);
-                        System.out.println("✨ Created Super Admin: shankar");
-                    });
-        };
+        // Ensure admin exists AND has a known password
+        userRepository.findByEmail("shankar").ifPresentOrElse(
+                admin -> {
+                    admin.setPassword(passwordEncoder.encode("Shankar2000"));
+                    admin.setName("Shankar");
+                    admin.setRole("ROLE_ADMIN");
+                    admin.setStatus(UserStatus.ACTIVE); // Use status enum
+                    userRepository.save(admin);
+                    System.out.println("🔄 Admin password reset for user: shankar");
+                },
+                () -> {
+                    User admin = new User();
+                    admin.setEmail("shankar"); // Using 'shankar' as username
+                    admin.setPassword(passwordEncoder.encode("Shankar2000"));
+                    admin.setName("Shankar");
+                    admin.setRole("ROLE_ADMIN");
+                    admin.setStatus(UserStatus.ACTIVE); // Use status enum
+                    userRepository.save(admin);
+                    System.out.println("✨ Created Super Admin: shankar");
+                });
     }
 }
@@ -0,0 +1,36 @@
+package com.studentnotes.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Flyway migration switch.
+ * <p>
+ * Migrations normally run at boot. The AppCDS training run in the Docker
+ * build boots without a database, so it sets
+ * {@code app.flyway.migrate-on-startup=false}. This is a runtime check
+ * rather than {@code spring.flyway.enabled} because, under Spring AOT, bean
+ * conditions are fixed at build time.
+ * </p>
+ */
+@Configuration
+public class FlywayConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(FlywayConfig.class);
+
+    @Bean
+    public FlywayMigrationStrategy flywayMigrationStrategy(
+            @Value("${app.flyway.migrate-on-startup:true}") boolean migrateOnStartup) {
+        return flyway -> {
+            if (migrateOnStartup) {
+                flyway.migrate();
+            } else {
+                log.warn("Skipping Flyway migrations (app.flyway.migrate-on-startup=false)");
+            }
+        };
+    }
+}
@@ -89,7 +89,7 @@ public class GlobalExceptionHandler {
             ConcurrentModificationException ex, HttpServletRequest request) {
         log.warn("Concurrent modification: {} - Path: {}", ex.getMessage(), request.getRequestURI());
         return ResponseEntity
-                .status(HttpStatus.CONFLICT)
+                .status(HttpStatus.PRECONDITION_FAILED)
                 .body(ApiResponse.error(ex.getMessage(), ex.getErrorCode(), getCorrelationId()));
     }
 
@@ -0,0 +1,231 @@
+package com.studentnotes.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.studentnotes.dto.response.ApiResponse;
+import com.studentnotes.service.IdempotencyService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Honours the {@code Idempotency-Key} header on teacher and admin writes.
+ * <p>
+ * A request carrying the header claims the key (scoped to the caller) before
+ * it reaches the controller. A retry with the same key and request gets the
+ * original 2xx response back (status, body and the headers in
+ * {@link #STORED_HEADERS}), marked with {@value #REPLAYED_HEADER}, and
+ * nothing runs again. A retry while the original is still running gets 409;
+ * reusing a key for a different request gets 422. Non-2xx responses are not
+ * stored, so a failed write can be retried with the same key. Requests
+ * without the header are untouched.
+ * </p>
+ * Runs after the security filter chain (default order), so the caller is
+ * known.
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 100;
+    private static final Set<String> WRITE_METHODS = Set.of("POST", "PUT", "PATCH", "DELETE");
+
+    /**
+     * Response headers a client may act on, stored and replayed with the body.
+     */
+    static final List<String> STORED_HEADERS = List.of(
+            HttpHeaders.ETAG, HttpHeaders.LOCATION, HttpHeaders.CACHE_CONTROL, HttpHeaders.CONTENT_DISPOSITION);
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return request.getHeader(IDEMPOTENCY_KEY_HEADER) == null
+                || !WRITE_METHODS.contains(request.getMethod())
+                || !(path.startsWith("/api/teacher/") || path.startsWith("/api/admin/"));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String key = request.getHeader(IDEMPOTENCY_KEY_HEADER).trim();
+        if (key.isEmpty() || key.length() > MAX_KEY_LENGTH) {
+            writeError(response, 400, "Idempotency-Key must be 1 to " + MAX_KEY_LENGTH + " characters",
+                    "VALIDATION_ERROR");
+            return;
+        }
+
+        CachedBodyRequest cachedRequest = new CachedBodyRequest(request);
+        String requestHash = IdempotencyService.fingerprint(request.getMethod(), request.getRequestURI(),
+                request.getQueryString(), cachedRequest.body);
+        IdempotencyService.Claim claim = idempotencyService.claim(authentication.getName(), key, requestHash);
+
+        switch (claim.outcome()) {
+            case REPLAY -> replay(response, claim.response());
+            case IN_PROGRESS -> writeError(response, 409,
+                    "A request with this Idempotency-Key is still being processed", "IDEMPOTENCY_KEY_IN_PROGRESS");
+            case MISMATCH -> writeError(response, 422,
+                    "Idempotency-Key was already used for a different request", "IDEMPOTENCY_KEY_REUSED");
+            case ACQUIRED -> execute(cachedRequest, response, filterChain, claim);
+        }
+    }
+
+    private void execute(CachedBodyRequest request, HttpServletResponse response, FilterChain filterChain,
+            IdempotencyService.Claim claim) throws ServletException, IOException {
+        ContentCachingResponseWrapper cachingResponse = new ContentCachingResponseWrapper(response);
+        boolean stored = false;
+        try {
+            filterChain.doFilter(request, cachingResponse);
+            int status = cachingResponse.getStatus();
+            if (status >= 200 && status < 300) {
+                idempotencyService.complete(claim, new IdempotencyService.StoredResponse(status,
+                        cachingResponse.getContentType(), storedHeaders(cachingResponse),
+                        cachingResponse.getContentAsByteArray()));
+                stored = true;
+            }
+        } finally {
+            if (!stored) {
+                idempotencyService.abandon(claim);
+            }
+            cachingResponse.copyBodyToResponse();
+        }
+    }
+
+    private void replay(HttpServletResponse response, IdempotencyService.StoredResponse stored) throws IOException {
+        response.setStatus(stored.status());
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        stored.headers().forEach(response::setHeader);
+        response.setHeader(REPLAYED_HEADER, "true");
+        if (stored.body() != null) {
+            response.setContentLength(stored.body().length);
+            response.getOutputStream().write(stored.body());
+        }
+    }
+
+    private static Map<String, String> storedHeaders(HttpServletResponse response) {
+        Map<String, String> headers = new LinkedHashMap<>();
+        for (String name : STORED_HEADERS) {
+            Collection<String> values = response.getHeaders(name);
+            if (!values.isEmpty()) {
+                headers.put(name, String.join(", ", values));
+            }
+        }
+        return headers;
+    }
+
+    private void writeError(HttpServletResponse response, int status, String message, String code)
+            throws IOException {
+        response.setStatus(status);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(),
+                ApiResponse.error(message, code, CorrelationIdFilter.getCurrentCorrelationId()));
+    }
+
+    /**
+     * Request whose body has been read up front, for fingerprinting, and can
+     * still be read by the controller.
+     */
+    private static class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request) throws IOException {
+            super(request);
+            this.body = request.getInputStream().readAllBytes();
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                /**
+                 * The body is already in memory, so the listener is told at
+                 * once that it is available and then fully read.
+                 */
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    if (!isAsyncStarted()) {
+                        throw new IllegalStateException("A read listener needs an asynchronous request");
+                    }
+                    try {
+                        if (!isFinished()) {
+                            listener.onDataAvailable();
+                        }
+                        listener.onAllDataRead();
+                    } catch (IOException e) {
+                        listener.onError(e);
+                    }
+                }
+
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(),
+                    encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8));
+        }
+    }
+}
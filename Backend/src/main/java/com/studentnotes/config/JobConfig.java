@@ -0,0 +1,74 @@
+package com.studentnotes.config;
+
+import com.studentnotes.service.AuditArchiveService;
+import com.studentnotes.service.DeletionRequestNotificationService;
+import com.studentnotes.service.FolderPermissionExpiryService;
+import com.studentnotes.service.IdempotencyService;
+import com.studentnotes.service.NoteViewService;
+import com.studentnotes.service.PopularNotesService;
+import com.studentnotes.service.ScheduledJob;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Background maintenance jobs, run by JobService.
+ * <p>
+ * Cluster jobs change shared rows and run on one instance per interval.
+ * Instance jobs drain or refresh per-instance memory, so every instance runs
+ * its own. SSE heartbeats stay on {@code @Scheduled}: they are connection
+ * keep-alives, not maintenance, and are not worth a history row each.
+ * </p>
+ */
+@Configuration
+public class JobConfig {
+
+    @Bean
+    public ScheduledJob folderPermissionExpiryJob(FolderPermissionExpiryService expiryService,
+            @Value("${app.permissions.expiry-sweep-interval-ms:300000}") long intervalMs,
+            @Value("${app.permissions.expiry-sweep-initial-delay-ms:60000}") long initialDelayMs) {
+        return ScheduledJob.cluster("folder-permission-expiry", Duration.ofMillis(intervalMs),
+                        Duration.ofMinutes(10), expiryService::sweepExpired)
+                .withInitialDelay(Duration.ofMillis(initialDelayMs));
+    }
+
+    @Bean
+    public ScheduledJob noteViewFlushJob(NoteViewService noteViewService,
+            @Value("${app.views.flush-interval-ms:60000}") long intervalMs) {
+        return ScheduledJob.instance("note-view-flush", Duration.ofMillis(intervalMs), noteViewService::flush);
+    }
+
+    @Bean
+    public ScheduledJob popularNotesRebuildJob(PopularNotesService popularNotesService,
+            @Value("${app.popular.resync-interval-ms:900000}") long intervalMs) {
+        return ScheduledJob.instance("popular-notes-rebuild", Duration.ofMillis(intervalMs),
+                popularNotesService::rebuild);
+    }
+
+    @Bean
+    public ScheduledJob deletionCountResyncJob(DeletionRequestNotificationService notificationService,
+            @Value("${app.jobs.deletion-count-resync-interval-ms:300000}") long intervalMs) {
+        return ScheduledJob.instance("deletion-count-resync", Duration.ofMillis(intervalMs),
+                notificationService::resyncPendingCount);
+    }
+
+    @Bean
+    public ScheduledJob rateLimiterCleanupJob(RateLimiter rateLimiter,
+            @Value("${app.jobs.rate-limiter-cleanup-interval-ms:300000}") long intervalMs) {
+        return ScheduledJob.instance("rate-limiter-cleanup", Duration.ofMillis(intervalMs), rateLimiter::cleanup);
+    }
+
+    @Bean
+    public ScheduledJob idempotencyKeyExpiryJob(IdempotencyService idempotencyService) {
+        return ScheduledJob.cluster("idempotency-key-expiry", Duration.ofHours(1), Duration.ofMinutes(10),
+                idempotencyService::purgeExpired);
+    }
+
+    @Bean
+    public ScheduledJob auditPartitionJob(AuditArchiveService auditArchiveService) {
+        return ScheduledJob.cluster("audit-partition-maintenance", Duration.ofDays(1), Duration.ofHours(2),
+                auditArchiveService::maintain);
+    }
+}
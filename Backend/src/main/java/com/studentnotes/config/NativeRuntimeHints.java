@@ -0,0 +1,101 @@
+package com.studentnotes.config;
+
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.util.ClassUtils;
+
+import java.util.List;
+
+/**
+ * Reflection hints for the GraalVM native image ({@code ./mvnw -Pnative native:compile}).
+ * <p>
+ * Spring AOT already covers beans, JPA entities, Flyway scripts and the
+ * {@code @RequestBody}/{@code @ResponseBody} types it can see. What it cannot
+ * see is registered here:
+ * <ul>
+ * <li>jjwt: {@code Jwts} and {@code Keys} load their implementations by class
+ * name, so every class the API looks up reflectively needs its constructors.</li>
+ * <li>Jackson payloads: responses are wrapped in the generic {@code ApiResponse},
+ * so the DTOs (and entities and events serialized inside them) are only known
+ * at runtime. Their Lombok-generated accessors and constructors are registered
+ * for binding.</li>
+ * <li>Compression dictionaries: read with {@code getResourceAsStream}, which
+ * AOT does not trace.</li>
+ * </ul>
+ * Runs at build time only; nothing here executes in the native binary.
+ * </p>
+ */
+public class NativeRuntimeHints implements RuntimeHintsRegistrar {
+
+    /**
+     * jjwt implementation classes instantiated through
+     * {@code io.jsonwebtoken.lang.Classes.newInstance(String)}.
+     */
+    static final List<String> JJWT_REFLECTIVE_TYPES = List.of(
+            "io.jsonwebtoken.impl.DefaultJwtBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtParserBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtParser",
+            "io.jsonwebtoken.impl.DefaultClaims",
+            "io.jsonwebtoken.impl.DefaultHeader",
+            "io.jsonwebtoken.impl.DefaultJwsHeader",
+            "io.jsonwebtoken.impl.crypto.MacProvider",
+            "io.jsonwebtoken.impl.crypto.RsaProvider",
+            "io.jsonwebtoken.impl.crypto.EllipticCurveProvider",
+            "io.jsonwebtoken.impl.compression.DeflateCompressionCodec",
+            "io.jsonwebtoken.impl.compression.GzipCompressionCodec",
+            "io.jsonwebtoken.jackson.io.JacksonSerializer",
+            "io.jsonwebtoken.jackson.io.JacksonDeserializer");
+
+    /**
+     * Packages whose classes travel through Jackson.
+     */
+    static final List<String> BINDING_PACKAGES = List.of(
+            "com.studentnotes.dto.request",
+            "com.studentnotes.dto.response",
+            "com.studentnotes.event",
+            "com.studentnotes.model");
+
+    /**
+     * Classpath resources loaded by name at runtime.
+     */
+    static final List<String> RESOURCE_PATTERNS = List.of("compression/*.dict");
+
+    private final BindingReflectionHintsRegistrar bindingRegistrar = new BindingReflectionHintsRegistrar();
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        registerJjwtHints(hints);
+        registerBindingHints(hints, classLoader);
+        RESOURCE_PATTERNS.forEach(pattern -> hints.resources().registerPattern(pattern));
+    }
+
+    // ==================== jjwt ====================
+
+    private void registerJjwtHints(RuntimeHints hints) {
+        for (String type : JJWT_REFLECTIVE_TYPES) {
+            hints.reflection().registerType(TypeReference.of(type),
+                    MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS,
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                    MemberCategory.INVOKE_PUBLIC_METHODS);
+        }
+    }
+
+    // ==================== Jackson Payloads ====================
+
+    private void registerBindingHints(RuntimeHints hints, ClassLoader classLoader) {
+        ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false);
+        scanner.addIncludeFilter((metadataReader, metadataReaderFactory) -> true);
+
+        for (String basePackage : BINDING_PACKAGES) {
+            for (BeanDefinition candidate : scanner.findCandidateComponents(basePackage)) {
+                Class<?> type = ClassUtils.resolveClassName(candidate.getBeanClassName(), classLoader);
+                bindingRegistrar.registerReflectionHints(hints.reflection(), type);
+            }
+        }
+    }
+}
@@ -54,11 +54,16 @@ public class RateLimiter {
     }
 
     /**
-     * Cleans up expired buckets (should be called periodically).
+     * Cleans up expired buckets. Runs as the {@code rate-limiter-cleanup} job
+     * on every instance.
+     *
+     * @return number of buckets removed
      */
-    public void cleanup() {
+    public int cleanup() {
         long now = System.currentTimeMillis();
+        int before = buckets.size();
         buckets.entrySet().removeIf(entry -> now - entry.getValue().windowStart > WINDOW_SIZE_MS * 2);
+        return Math.max(0, before - buckets.size());
     }
 
     /**
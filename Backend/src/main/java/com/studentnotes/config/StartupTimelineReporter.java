@@ -0,0 +1,63 @@
+package com.studentnotes.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Comparator;
+
+/**
+ * Logs where boot time went once the application is ready.
+ * <p>
+ * Reads the timeline buffered by {@link BufferingApplicationStartup} (set up in
+ * {@code BackendApplication.main}) without draining it, so the full timeline
+ * stays available at {@code /actuator/startup}. Bean instantiation steps are
+ * nested, so their durations overlap; the list is a pointer to the expensive
+ * beans, not a breakdown that sums to the total.
+ * </p>
+ */
+@Component
+public class StartupTimelineReporter {
+
+    private static final Logger log = LoggerFactory.getLogger(StartupTimelineReporter.class);
+
+    private static final int SLOWEST_STEPS = 10;
+
+    @EventListener
+    public void onReady(ApplicationReadyEvent event) {
+        ApplicationStartup startup = event.getApplicationContext().getApplicationStartup();
+        if (!(startup instanceof BufferingApplicationStartup buffering)) {
+            return;
+        }
+        StartupTimeline timeline = buffering.getBufferedTimeline();
+
+        log.info("Application ready in {} ms ({} startup steps recorded)",
+                event.getTimeTaken() != null ? event.getTimeTaken().toMillis() : -1,
+                timeline.getEvents().size());
+
+        timeline.getEvents().stream()
+                .sorted(Comparator.comparing(StartupTimeline.TimelineEvent::getDuration).reversed())
+                .limit(SLOWEST_STEPS)
+                .forEach(step -> log.info("  {} ms  {} {}",
+                        step.getDuration().toMillis(),
+                        step.getStartupStep().getName(),
+                        describe(step)));
+    }
+
+    private String describe(StartupTimeline.TimelineEvent step) {
+        StringBuilder tags = new StringBuilder();
+        step.getStartupStep().getTags().forEach(tag -> {
+            if (tags.length() > 0) {
+                tags.append(", ");
+            }
+            tags.append(tag.getKey()).append('=').append(tag.getValue());
+        });
+        return tags.length() > 0 ? "[" + tags + "]" : "";
+    }
+}
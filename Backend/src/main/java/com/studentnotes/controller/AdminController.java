@@ -11,6 +11,7 @@ import com.studentnotes.model.enums.AuditAction;
 import com.studentnotes.model.enums.DeletionRequestStatus;
 import com.studentnotes.model.enums.UserStatus;
 import com.studentnotes.service.*;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -19,12 +20,20 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.List;
 
 /**
  * Admin Dashboard API Controller.
@@ -56,6 +65,21 @@ public class AdminController {
     @Autowired
     private AuditService auditService;
 
+    @Autowired
+    private DeletionRequestNotificationService deletionRequestNotificationService;
+
+    @Autowired
+    private BulkNoteService bulkNoteService;
+
+    @Autowired
+    private AuditExportService auditExportService;
+
+    @Autowired
+    private ContentCompactionService contentCompactionService;
+
+    @Autowired
+    private JobService jobService;
+
     @Autowired
     private RateLimiter rateLimiter;
 
@@ -105,6 +129,19 @@ public class AdminController {
         return ResponseEntity.ok(ApiResponse.success(responsePage, ApiResponse.PageInfo.from(responsePage)));
     }
 
+    /**
+     * GET /api/admin/deletion-requests/stream
+     * 
+     * SSE stream of the live pending count plus a summary of each new or
+     * resolved request. Replaces polling the pending count.
+     */
+    @GetMapping(value = "/deletion-requests/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamDeletionRequests(@AuthenticationPrincipal UserDetails userDetails) {
+        User admin = getCurrentUser(userDetails);
+        checkRateLimit(admin, false);
+        return deletionRequestNotificationService.subscribe();
+    }
+
     /**
      * POST /api/admin/deletion-requests/{publicId}/approve
      * 
@@ -145,6 +182,44 @@ public class AdminController {
         return ResponseEntity.ok(ApiResponse.success(response));
     }
 
+    /**
+     * POST /api/admin/deletion-requests/bulk-resolve
+     * 
+     * Approves or rejects up to 500 deletion requests in one transaction.
+     * Per-request idempotency matches the single approve/reject endpoints.
+     */
+    @PostMapping("/deletion-requests/bulk-resolve")
+    public ResponseEntity<ApiResponse<BulkResolutionResponse>> bulkResolveDeletionRequests(
+            @Valid @RequestBody BulkResolveDeletionRequest request,
+            @AuthenticationPrincipal UserDetails userDetails) {
+
+        User admin = getCurrentUser(userDetails);
+        checkRateLimit(admin, true);
+
+        BulkResolutionResponse response = deletionRequestService.resolveRequests(admin, request);
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+
+    // ==================== BULK NOTE OPERATIONS ====================
+
+    /**
+     * POST /api/admin/notes/bulk
+     * 
+     * Publishes, archives, moves or restores up to 100 notes in one
+     * transaction (e.g. archiving a finished semester).
+     */
+    @PostMapping("/notes/bulk")
+    public ResponseEntity<ApiResponse<BulkOperationResponse>> bulkNotes(
+            @Valid @RequestBody BulkNoteRequest request,
+            @AuthenticationPrincipal UserDetails userDetails) {
+
+        User admin = getCurrentUser(userDetails);
+        checkRateLimit(admin, true);
+
+        BulkOperationResponse response = bulkNoteService.apply(admin, request);
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+
     // ==================== USER & PERMISSION MANAGEMENT ====================
 
     /**
@@ -293,6 +368,103 @@ public class AdminController {
         return ResponseEntity.ok(ApiResponse.success(responsePage, ApiResponse.PageInfo.from(responsePage)));
     }
 
+    /**
+     * GET /api/admin/audit-logs/export?format=csv|ndjson
+     *
+     * Streams every audit log matching the same filters as the listing,
+     * oldest first, straight to the response. No paging and no size cap;
+     * memory use does not depend on the date range.
+     */
+    @GetMapping("/audit-logs/export")
+    public void exportAuditLogs(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @RequestParam(required = false) Long actorId,
+            @RequestParam(required = false) AuditAction action,
+            @RequestParam(required = false) String targetType,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fromDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime toDate,
+            @RequestParam(defaultValue = "csv") String format,
+            HttpServletResponse response) throws IOException {
+
+        User admin = getCurrentUser(userDetails);
+        checkRateLimit(admin, true);
+        AuditExportService.Format exportFormat = AuditExportService.Format.fromParam(format);
+
+        response.setContentType(exportFormat.getContentType());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename("audit-logs-" + LocalDate.now() + "." + exportFormat.getExtension())
+                .build()
+                .toString());
+
+        auditExportService.export(admin, actorId, action, targetType, fromDate, toDate, exportFormat,
+                response.getOutputStream());
+    }
+
+    // ==================== MAINTENANCE ====================
+
+    /**
+     * POST /api/admin/maintenance/compact-versions
+     *
+     * Compresses version bodies stored before compression at rest was
+     * enabled. Safe to rerun; reports the space saved.
+     */
+    @PostMapping("/maintenance/compact-versions")
+    public ResponseEntity<ApiResponse<CompactionReportResponse>> compactVersions(
+            @AuthenticationPrincipal UserDetails userDetails) {
+
+        User admin = getCurrentUser(userDetails);
+        checkRateLimit(admin, true);
+
+        CompactionReportResponse report = contentCompactionService.compactVersions(admin);
+        return ResponseEntity.ok(ApiResponse.success(report));
+    }
+
+    // ==================== JOBS ====================
+
+    /**
+     * GET /api/admin/jobs
+     *
+     * Lists the scheduled jobs with their latest run on any instance.
+     */
+    @GetMapping("/jobs")
+    public ResponseEntity<ApiResponse<List<JobResponse>>> getJobs() {
+        return ResponseEntity.ok(ApiResponse.success(jobService.getJobs()));
+    }
+
+    /**
+     * GET /api/admin/jobs/{name}/runs
+     *
+     * Run history of one job, newest first.
+     */
+    @GetMapping("/jobs/{name}/runs")
+    public ResponseEntity<ApiResponse<Page<JobRunResponse>>> getJobRuns(
+            @PathVariable String name,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+
+        Pageable pageable = createPageable(page, size, "startedAt", "desc");
+        Page<JobRunResponse> runs = jobService.getRuns(name, pageable);
+        return ResponseEntity.ok(ApiResponse.success(runs, ApiResponse.PageInfo.from(runs)));
+    }
+
+    /**
+     * POST /api/admin/jobs/{name}/run
+     *
+     * Runs a job now on the instance handling the request and returns the
+     * recorded run. Returns 409 if the job is already running.
+     */
+    @PostMapping("/jobs/{name}/run")
+    public ResponseEntity<ApiResponse<JobRunResponse>> runJob(
+            @PathVariable String name,
+            @AuthenticationPrincipal UserDetails userDetails) {
+
+        User admin = getCurrentUser(userDetails);
+        checkRateLimit(admin, true);
+
+        return ResponseEntity.ok(ApiResponse.success(jobService.runNow(name, admin)));
+    }
+
     // ==================== HELPER METHODS ====================
 
     private User getCurrentUser(UserDetails userDetails) {
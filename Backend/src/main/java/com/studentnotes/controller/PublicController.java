@@ -1,12 +1,30 @@
 package com.studentnotes.controller;
 
 import com.studentnotes.model.Note;
-import com.studentnotes.repository.NoteRepository;
+import com.studentnotes.service.NoteArchiveService;
+import com.studentnotes.dto.response.PopularNoteResponse;
+import com.studentnotes.dto.response.PublicNoteTree;
+import com.studentnotes.dto.response.RenderedNoteResponse;
+import com.studentnotes.service.NoteChangeFeedService;
+import com.studentnotes.service.NoteRenderService;
+import com.studentnotes.service.NoteViewService;
+import com.studentnotes.service.PopularNotesService;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
 import java.util.*;
 
 @RestController
@@ -18,10 +36,22 @@ public class PublicController {
     private com.studentnotes.service.NoteService noteService;
 
     @Autowired
-    private NoteRepository noteRepository;
+    private com.studentnotes.repository.DepartmentRepository departmentRepository;
 
     @Autowired
-    private com.studentnotes.repository.DepartmentRepository departmentRepository;
+    private NoteChangeFeedService noteChangeFeedService;
+
+    @Autowired
+    private NoteArchiveService noteArchiveService;
+
+    @Autowired
+    private NoteRenderService noteRenderService;
+
+    @Autowired
+    private PopularNotesService popularNotesService;
+
+    @Autowired
+    private NoteViewService noteViewService;
 
     @GetMapping("/health")
     public ResponseEntity<String> healthCheck() {
@@ -34,25 +64,112 @@ public class PublicController {
     }
 
     @GetMapping("/tree")
-    public Map<String, Object> getNotesTree() {
+    public PublicNoteTree getNotesTree() {
         return noteService.getPublicNoteTree();
     }
 
+    /**
+     * SSE stream of incremental tree changes. Resumes after the sequence in the
+     * standard {@code Last-Event-ID} header, or in {@code since} for clients that
+     * cannot set headers.
+     */
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+            @RequestParam(required = false) Long since) {
+        return noteChangeFeedService.subscribe(since != null ? since : parseSequence(lastEventId));
+    }
+
+    /**
+     * A single note in tree-leaf form, for applying ADDED / UPDATED changes.
+     */
+    @GetMapping("/notes/{publicId}")
+    public PublicNoteTree.Leaf getNote(@org.springframework.web.bind.annotation.PathVariable String publicId) {
+        PublicNoteTree.Leaf note = noteService.getPublicNote(publicId);
+        noteViewService.recordView(publicId);
+        return note;
+    }
+
+    /**
+     * Server-rendered HTML and heading outline for a note's current content.
+     * The content hash is the ETag, so unchanged notes revalidate with a 304.
+     */
+    @GetMapping("/notes/{publicId}/rendered")
+    public ResponseEntity<RenderedNoteResponse> getRenderedNote(
+            @org.springframework.web.bind.annotation.PathVariable String publicId, WebRequest request) {
+        RenderedNoteResponse rendered = noteRenderService.getRenderedNote(publicId);
+        noteViewService.recordView(publicId);
+        String etag = "\"" + rendered.getContentHash() + "\"";
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .body(rendered);
+    }
+
+    /**
+     * ZIP of the published notes under a department or any folder below it
+     * ({@code /export/it}, {@code /export/it/year2/section-a/networks}),
+     * streamed as it is built. Whole-department archives are cached.
+     */
+    @GetMapping("/export/{*folderPath}")
+    public void exportFolder(@org.springframework.web.bind.annotation.PathVariable String folderPath,
+            HttpServletResponse response) throws IOException {
+        String path = noteArchiveService.resolveFolder(folderPath);
+
+        response.setContentType("application/zip");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename(path.replace('/', '_') + ".zip", java.nio.charset.StandardCharsets.UTF_8)
+                .build()
+                .toString());
+
+        noteArchiveService.export(path, response.getOutputStream());
+    }
+
+    /**
+     * Reports that a note was opened by a client that reads content from
+     * {@code /tree}. Counted in memory; unknown ids are dropped when views
+     * are flushed, so this never queries the database.
+     */
+    @org.springframework.web.bind.annotation.PostMapping("/notes/{publicId}/view")
+    public ResponseEntity<Void> recordView(@org.springframework.web.bind.annotation.PathVariable String publicId) {
+        noteViewService.recordView(publicId);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Most-liked notes overall, in a department, or in one subject of a
+     * department. Served from memory; never sorts the notes table.
+     */
+    @GetMapping("/popular")
+    public List<PopularNoteResponse> getPopularNotes(
+            @RequestParam(required = false) String department,
+            @RequestParam(required = false) String subject,
+            @RequestParam(defaultValue = "10") int limit) {
+        return popularNotesService.getPopular(department, subject, limit);
+    }
+
     @org.springframework.web.bind.annotation.PostMapping("/notes/{id}/like")
     public ResponseEntity<?> likeNote(@org.springframework.web.bind.annotation.PathVariable Long id) {
-        return noteRepository.findById(id).map(n -> {
-            n.setLikes(n.getLikes() + 1);
-            noteRepository.save(n);
-            return ResponseEntity.ok(Map.of("likes", n.getLikes()));
-        }).orElse(ResponseEntity.notFound().build());
+        return ResponseEntity.ok(Map.of("likes", noteService.recordVote(id, true)));
     }
 
     @org.springframework.web.bind.annotation.PostMapping("/notes/{id}/dislike")
     public ResponseEntity<?> dislikeNote(@org.springframework.web.bind.annotation.PathVariable Long id) {
-        return noteRepository.findById(id).map(n -> {
-            n.setDislikes(n.getDislikes() + 1);
-            noteRepository.save(n);
-            return ResponseEntity.ok(Map.of("dislikes", n.getDislikes()));
-        }).orElse(ResponseEntity.notFound().build());
+        return ResponseEntity.ok(Map.of("dislikes", noteService.recordVote(id, false)));
+    }
+
+    private Long parseSequence(String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(lastEventId.trim());
+        } catch (NumberFormatException e) {
+            // Unknown id: treat as too old so the client re-syncs
+            return -1L;
+        }
     }
-}
\ No newline at end of file
+}
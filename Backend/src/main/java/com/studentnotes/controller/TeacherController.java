@@ -1,11 +1,13 @@
 package com.studentnotes.controller;
 
 import com.studentnotes.config.RateLimiter;
+import com.studentnotes.dto.request.BulkNoteRequest;
 import com.studentnotes.dto.request.CreateDeletionRequest;
 import com.studentnotes.dto.request.CreateNoteRequest;
 import com.studentnotes.dto.request.UpdateNoteRequest;
 import com.studentnotes.dto.response.*;
 import com.studentnotes.exception.AccessDeniedException;
+import com.studentnotes.exception.ConcurrentModificationException;
 import com.studentnotes.exception.RateLimitExceededException;
 import com.studentnotes.model.DeletionRequest;
 import com.studentnotes.model.Note;
@@ -13,6 +15,7 @@ import com.studentnotes.model.NoteVersion;
 import com.studentnotes.model.User;
 import com.studentnotes.model.enums.NoteStatus;
 import com.studentnotes.service.*;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -25,6 +28,8 @@ import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 /**
@@ -50,6 +55,12 @@ public class TeacherController {
     @Autowired
     private NoteService noteService;
 
+    @Autowired
+    private BulkNoteService bulkNoteService;
+
+    @Autowired
+    private NoteDiffService noteDiffService;
+
     @Autowired
     private DeletionRequestService deletionRequestService;
 
@@ -110,6 +121,7 @@ public class TeacherController {
      * 
      * Gets a single note's details.
      * Only owner can access.
+     * The ETag header carries the note's version for a later conditional PUT.
      */
     @GetMapping("/notes/{publicId}")
     public ResponseEntity<ApiResponse<NoteResponse>> getNote(
@@ -125,7 +137,7 @@ public class TeacherController {
         }
 
         NoteResponse response = noteService.toResponse(note);
-        return ResponseEntity.ok(ApiResponse.success(response));
+        return ResponseEntity.ok().eTag(eTagOf(note)).body(ApiResponse.success(response));
     }
 
     /**
@@ -153,11 +165,14 @@ public class TeacherController {
      * 
      * Updates a note, creating a new version.
      * Old versions remain immutable.
+     * With {@code If-Match}, the update only applies if the note is unchanged
+     * since that ETag was issued; otherwise 412 Precondition Failed.
      */
     @PutMapping("/notes/{publicId}")
     public ResponseEntity<ApiResponse<NoteResponse>> updateNote(
             @PathVariable String publicId,
             @Valid @RequestBody UpdateNoteRequest request,
+            @RequestHeader(value = "If-Match", required = false) String ifMatch,
             @AuthenticationPrincipal UserDetails userDetails) {
 
         User teacher = getCurrentUser(userDetails);
@@ -169,9 +184,28 @@ public class TeacherController {
             throw AccessDeniedException.notResourceOwner();
         }
 
-        Note updatedNote = noteService.updateNote(teacher, publicId, request);
+        Note updatedNote = noteService.updateNote(teacher, publicId, request, parseIfMatch(ifMatch));
         NoteResponse response = noteService.toResponse(updatedNote);
 
+        return ResponseEntity.ok().eTag(eTagOf(updatedNote)).body(ApiResponse.success(response));
+    }
+
+    /**
+     * POST /api/teacher/notes/bulk
+     * 
+     * Applies one action to up to 100 notes in one transaction. Owners may
+     * publish or move their notes; archiving needs MANAGE on the folder and
+     * restore is admin-only. Notes that fail a check are reported, not applied.
+     */
+    @PostMapping("/notes/bulk")
+    public ResponseEntity<ApiResponse<BulkOperationResponse>> bulkNotes(
+            @Valid @RequestBody BulkNoteRequest request,
+            @AuthenticationPrincipal UserDetails userDetails) {
+
+        User teacher = getCurrentUser(userDetails);
+        checkRateLimit(teacher, true);
+
+        BulkOperationResponse response = bulkNoteService.apply(teacher, request);
         return ResponseEntity.ok(ApiResponse.success(response));
     }
 
@@ -233,6 +267,48 @@ public class TeacherController {
         return ResponseEntity.ok(ApiResponse.success(response));
     }
 
+    /**
+     * GET /api/teacher/notes/{publicId}/versions/{from}/diff/{to}?context=3
+     *
+     * Line diff between two versions, with word-level segments for changed lines.
+     * Only changed hunks are returned.
+     */
+    @GetMapping("/notes/{publicId}/versions/{from}/diff/{to}")
+    public ResponseEntity<ApiResponse<VersionDiffResponse>> getVersionDiff(
+            @PathVariable String publicId,
+            @PathVariable int from,
+            @PathVariable int to,
+            @RequestParam(defaultValue = "3") int context,
+            @AuthenticationPrincipal UserDetails userDetails) {
+
+        Note note = findOwnedNote(userDetails, publicId);
+        VersionDiffResponse response = noteDiffService.diff(note, from, to, context);
+
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+
+    /**
+     * GET /api/teacher/notes/{publicId}/versions/{from}/diff/{to}?format=unified
+     *
+     * Same diff as a plain-text unified diff, streamed to the response.
+     */
+    @GetMapping(value = "/notes/{publicId}/versions/{from}/diff/{to}", params = "format=unified")
+    public void getVersionDiffUnified(
+            @PathVariable String publicId,
+            @PathVariable int from,
+            @PathVariable int to,
+            @RequestParam(defaultValue = "3") int context,
+            @AuthenticationPrincipal UserDetails userDetails,
+            HttpServletResponse response) throws IOException {
+
+        Note note = findOwnedNote(userDetails, publicId);
+        VersionDiffResponse diff = noteDiffService.diff(note, from, to, context);
+
+        response.setContentType("text/x-diff");
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        noteDiffService.writeUnified(diff, response.getOutputStream());
+    }
+
     // ==================== DELETION REQUESTS ====================
 
     /**
@@ -288,11 +364,45 @@ public class TeacherController {
         return userService.findByEmail(userDetails.getUsername());
     }
 
+    private Note findOwnedNote(UserDetails userDetails, String publicId) {
+        User teacher = getCurrentUser(userDetails);
+        Note note = noteService.findByPublicId(publicId);
+        if (!isOwner(teacher, note)) {
+            throw AccessDeniedException.notResourceOwner();
+        }
+        return note;
+    }
+
     private boolean isOwner(User teacher, Note note) {
         return note.getUploadedByUserId() != null &&
                 note.getUploadedByUserId().equals(teacher.getId());
     }
 
+    private String eTagOf(Note note) {
+        return "\"" + (note.getVersion() != null ? note.getVersion() : 0L) + "\"";
+    }
+
+    /**
+     * Extracts the expected version from an If-Match header.
+     * Returns null for a missing header or "*" (unconditional update).
+     */
+    private Long parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.startsWith("W/")) {
+            tag = tag.substring(2);
+        }
+        tag = tag.replace("\"", "");
+        try {
+            return Long.parseLong(tag);
+        } catch (NumberFormatException e) {
+            // An ETag we never issued can never match
+            throw ConcurrentModificationException.preconditionFailed("Note");
+        }
+    }
+
     private void checkRateLimit(User user, boolean isWriteOperation) {
         if (!rateLimiter.isAllowed(user.getPublicId(), isWriteOperation)) {
             int retryAfter = rateLimiter.getRetryAfterSeconds(user.getPublicId(), isWriteOperation);
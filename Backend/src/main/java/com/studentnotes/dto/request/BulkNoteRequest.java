@@ -0,0 +1,41 @@
+package com.studentnotes.dto.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Request DTO for applying one action to many notes at once.
+ * Target folder fields are only used (and required) for {@code MOVE}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkNoteRequest {
+
+    public static final int MAX_NOTES = 100;
+
+    public enum Action {
+        PUBLISH, ARCHIVE, MOVE, RESTORE
+    }
+
+    @NotNull(message = "Action is required")
+    private Action action;
+
+    @NotEmpty(message = "At least one note id is required")
+    @Size(max = MAX_NOTES, message = "At most " + MAX_NOTES + " notes per request")
+    private List<String> noteIds;
+
+    // Target folder (MOVE only)
+    private String targetDepartment;
+    private String targetYear;
+    private String targetSection;
+    private String targetSubject;
+}
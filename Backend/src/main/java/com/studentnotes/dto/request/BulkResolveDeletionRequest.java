@@ -0,0 +1,38 @@
+package com.studentnotes.dto.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Request DTO for approving or rejecting many deletion requests at once.
+ * {@code reason} is required when rejecting.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkResolveDeletionRequest {
+
+    public static final int MAX_REQUESTS = 500;
+
+    public enum Decision {
+        APPROVE, REJECT
+    }
+
+    @NotNull(message = "Decision is required")
+    private Decision decision;
+
+    @NotEmpty(message = "At least one request id is required")
+    @Size(max = MAX_REQUESTS, message = "At most " + MAX_REQUESTS + " requests per call")
+    private List<String> requestIds;
+
+    @Size(min = 10, max = 1000, message = "Rejection reason must be between 10 and 1000 characters")
+    private String reason;
+}
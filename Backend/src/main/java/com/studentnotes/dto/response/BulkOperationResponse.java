@@ -0,0 +1,35 @@
+package com.studentnotes.dto.response;
+
+import com.studentnotes.dto.request.BulkNoteRequest;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for the outcome of a bulk note operation.
+ * Successful notes were applied in a single transaction; failed notes were
+ * left untouched and list the reason.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkOperationResponse {
+
+    private BulkNoteRequest.Action action;
+    private int requested;
+    private List<String> succeeded;
+    private List<FailureDto> failed;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class FailureDto {
+        private String publicId;
+        private String reason;
+    }
+}
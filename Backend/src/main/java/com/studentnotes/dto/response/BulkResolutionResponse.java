@@ -0,0 +1,26 @@
+package com.studentnotes.dto.response;
+
+import com.studentnotes.dto.request.BulkResolveDeletionRequest;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for the outcome of a bulk deletion-request resolution.
+ * {@code succeeded} includes requests this caller had already resolved with
+ * the same idempotency key (safe retries).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkResolutionResponse {
+
+    private BulkResolveDeletionRequest.Decision decision;
+    private int requested;
+    private List<String> succeeded;
+    private List<BulkOperationResponse.FailureDto> failed;
+}
@@ -0,0 +1,23 @@
+package com.studentnotes.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for one run of the version storage compaction.
+ * Byte counts cover only the rows that were rewritten.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CompactionReportResponse {
+
+    private long rowsScanned;
+    private long rowsCompressed;
+    private long bytesBefore;
+    private long bytesAfter;
+    private long durationMs;
+}
@@ -0,0 +1,28 @@
+package com.studentnotes.dto.response;
+
+import com.studentnotes.event.DeletionRequestChangedEvent;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO pushed to admin dashboards on the deletion request stream.
+ * {@code change} and {@code request} are null for the initial snapshot.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeletionRequestNotificationResponse {
+
+    private long pendingCount;
+
+    private DeletionRequestChangedEvent.ChangeType change;
+
+    private DeletionRequestResponse request;
+
+    private LocalDateTime sentAt;
+}
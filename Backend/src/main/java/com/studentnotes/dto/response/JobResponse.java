@@ -0,0 +1,26 @@
+package com.studentnotes.dto.response;
+
+import com.studentnotes.model.enums.JobScope;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for a registered scheduled job and its most recent run on any instance.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobResponse {
+
+    private String name;
+    private JobScope scope;
+    private long intervalMs;
+
+    // Whether the instance answering the request is running it right now
+    private boolean runningHere;
+
+    private JobRunResponse lastRun;
+}
@@ -0,0 +1,32 @@
+package com.studentnotes.dto.response;
+
+import com.studentnotes.model.enums.JobRunStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO for one run of a scheduled job.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobRunResponse {
+
+    private String jobName;
+    private String instanceId;
+
+    // Admin email for manual runs; null for scheduled ones
+    private String triggeredBy;
+
+    private JobRunStatus status;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private long durationMs;
+    private int itemsProcessed;
+    private String error;
+}
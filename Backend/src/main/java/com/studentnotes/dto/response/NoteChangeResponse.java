@@ -0,0 +1,39 @@
+package com.studentnotes.dto.response;
+
+import com.studentnotes.event.NoteChangedEvent;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO for a single entry of the public note change feed.
+ * Carries the note's current location in the tree, never its content;
+ * clients fetch the body from {@code GET /api/public/notes/{publicId}}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NoteChangeResponse {
+
+    /**
+     * Monotonic sequence number; also sent as the SSE event id.
+     */
+    private long sequence;
+
+    private NoteChangedEvent.ChangeType type;
+
+    private String publicId;
+    private String title;
+
+    // Folder hierarchy (current location)
+    private String department;
+    private String year;
+    private String section;
+    private String subject;
+
+    private LocalDateTime changedAt;
+}
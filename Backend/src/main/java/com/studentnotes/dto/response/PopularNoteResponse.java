@@ -0,0 +1,32 @@
+package com.studentnotes.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for one entry of the popular-notes leaderboard.
+ * Like the change feed, it never carries content; clients fetch the body
+ * from {@code GET /api/public/notes/{publicId}}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PopularNoteResponse {
+
+    private int rank;
+
+    private String publicId;
+    private String title;
+
+    // Folder hierarchy
+    private String department;
+    private String year;
+    private String section;
+    private String subject;
+
+    private int likes;
+    private int dislikes;
+}
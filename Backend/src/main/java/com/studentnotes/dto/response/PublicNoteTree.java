@@ -0,0 +1,286 @@
+package com.studentnotes.dto.response;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.studentnotes.util.ContentCodec;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * The public note tree: department → year → section → subject → notes.
+ * <p>
+ * <strong>Footprint:</strong> the tree is cached for as long as no note
+ * changes, with every body in it, so it is held compactly. Folders are
+ * immutable records over array-backed lists, names repeated across folders
+ * (every department has a {@code year1}) and uploader names and emails are
+ * shared instances, and each note is one flat object with primitive
+ * counters, its UUID as two longs and its body in {@link ContentCodec} form.
+ * The structure takes several times less heap than nested maps; the bodies,
+ * which dominate, roughly two to three times less on real notes. In return
+ * every body is inflated each time the tree is written out, which
+ * {@code NoteTreeBenchmark.publicNoteTreeJson} measures per request.
+ * </p>
+ * <p>
+ * <strong>JSON:</strong> written as the nested objects the frontend has
+ * always read, with each subject an array of {@link Leaf notes}.
+ * </p>
+ */
+@JsonSerialize(using = PublicNoteTree.Serializer.class)
+public final class PublicNoteTree {
+
+    private static final String NOTE_TYPE = "md";
+    private static final int NOTE_ORDER = 999;
+
+    private final List<Department> departments;
+
+    private PublicNoteTree(List<Department> departments) {
+        this.departments = departments;
+    }
+
+    public List<Department> departments() {
+        return departments;
+    }
+
+    public record Department(String name, List<Year> years) {
+    }
+
+    public record Year(String name, List<Section> sections) {
+    }
+
+    public record Section(String name, List<Subject> subjects) {
+    }
+
+    public record Subject(String name, List<Leaf> notes) {
+    }
+
+    // ==================== Notes ====================
+
+    /**
+     * One note as a leaf of the tree; also served on its own to change-feed
+     * clients.
+     */
+    @JsonSerialize(using = LeafSerializer.class)
+    public static final class Leaf {
+
+        private static final long NO_TIMESTAMP = Long.MIN_VALUE;
+
+        // Public ids are UUIDs and kept as their two halves; anything else as is
+        private final String id;
+        private final long idHigh;
+        private final long idLow;
+        private final String title;
+        private final String uploadedBy;
+        private final String uploadedByEmail;
+        private final byte[] content;
+        private final int likes;
+        private final int dislikes;
+        private final long createdAtSecond;
+        private final int createdAtNano;
+
+        public Leaf(String id, String title, String content, int likes, int dislikes,
+                String uploadedBy, String uploadedByEmail, LocalDateTime createdAt) {
+            UUID uuid = canonicalUuid(id);
+            this.id = uuid == null ? id : null;
+            this.idHigh = uuid == null ? 0 : uuid.getMostSignificantBits();
+            this.idLow = uuid == null ? 0 : uuid.getLeastSignificantBits();
+            this.title = title;
+            this.uploadedBy = uploadedBy;
+            this.uploadedByEmail = uploadedByEmail;
+            this.content = ContentCodec.encode(content);
+            this.likes = likes;
+            this.dislikes = dislikes;
+            this.createdAtSecond = createdAt != null ? createdAt.toEpochSecond(ZoneOffset.UTC) : NO_TIMESTAMP;
+            this.createdAtNano = createdAt != null ? createdAt.getNano() : 0;
+        }
+
+        public String id() {
+            return id != null ? id : new UUID(idHigh, idLow).toString();
+        }
+
+        public String title() {
+            return title;
+        }
+
+        /**
+         * The markdown body, decoded on every call.
+         */
+        public String content() {
+            return ContentCodec.decode(content);
+        }
+
+        public int likes() {
+            return likes;
+        }
+
+        public int dislikes() {
+            return dislikes;
+        }
+
+        public String uploadedBy() {
+            return uploadedBy;
+        }
+
+        public String uploadedByEmail() {
+            return uploadedByEmail;
+        }
+
+        public LocalDateTime createdAt() {
+            return createdAtSecond == NO_TIMESTAMP
+                    ? null
+                    : LocalDateTime.ofEpochSecond(createdAtSecond, createdAtNano, ZoneOffset.UTC);
+        }
+
+        // Only ids that print back identically, so id() returns what was stored
+        private static UUID canonicalUuid(String id) {
+            if (id == null || id.length() != 36) {
+                return null;
+            }
+            try {
+                UUID uuid = UUID.fromString(id);
+                return uuid.toString().equals(id) ? uuid : null;
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+        }
+    }
+
+    // ==================== Building ====================
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Collects notes in any order. Folders keep the order they were first
+     * seen in; {@link #intern} makes equal strings one instance.
+     */
+    public static final class Builder {
+
+        private final Map<String, String> strings = new HashMap<>();
+        private final Map<String, Map<String, Map<String, Map<String, List<Leaf>>>>> folders = new LinkedHashMap<>();
+
+        private Builder() {
+        }
+
+        /**
+         * The shared instance equal to {@code value}.
+         */
+        public String intern(String value) {
+            return value == null ? null : strings.computeIfAbsent(value, v -> v);
+        }
+
+        /**
+         * Adds a department, listed even if it has no notes.
+         */
+        public Builder department(String name) {
+            folders.computeIfAbsent(intern(name), k -> new LinkedHashMap<>());
+            return this;
+        }
+
+        public Builder note(String department, String year, String section, String subject, Leaf note) {
+            folders.computeIfAbsent(intern(department), k -> new LinkedHashMap<>())
+                    .computeIfAbsent(intern(year), k -> new LinkedHashMap<>())
+                    .computeIfAbsent(intern(section), k -> new LinkedHashMap<>())
+                    .computeIfAbsent(intern(subject), k -> new ArrayList<>())
+                    .add(note);
+            return this;
+        }
+
+        public PublicNoteTree build() {
+            List<Department> departments = new ArrayList<>(folders.size());
+            folders.forEach((department, years) -> {
+                List<Year> yearNodes = new ArrayList<>(years.size());
+                years.forEach((year, sections) -> {
+                    List<Section> sectionNodes = new ArrayList<>(sections.size());
+                    sections.forEach((section, subjects) -> {
+                        List<Subject> subjectNodes = new ArrayList<>(subjects.size());
+                        subjects.forEach((subject, notes) -> subjectNodes.add(new Subject(subject, List.copyOf(notes))));
+                        sectionNodes.add(new Section(section, List.copyOf(subjectNodes)));
+                    });
+                    yearNodes.add(new Year(year, List.copyOf(sectionNodes)));
+                });
+                departments.add(new Department(department, List.copyOf(yearNodes)));
+            });
+            return new PublicNoteTree(List.copyOf(departments));
+        }
+    }
+
+    // ==================== JSON ====================
+
+    static final class Serializer extends StdSerializer<PublicNoteTree> {
+
+        Serializer() {
+            super(PublicNoteTree.class);
+        }
+
+        @Override
+        public void serialize(PublicNoteTree tree, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject();
+            for (Department department : tree.departments) {
+                gen.writeObjectFieldStart(fieldName(department.name()));
+                for (Year year : department.years()) {
+                    gen.writeObjectFieldStart(fieldName(year.name()));
+                    for (Section section : year.sections()) {
+                        gen.writeObjectFieldStart(fieldName(section.name()));
+                        for (Subject subject : section.subjects()) {
+                            gen.writeArrayFieldStart(fieldName(subject.name()));
+                            for (Leaf note : subject.notes()) {
+                                writeLeaf(note, gen, provider);
+                            }
+                            gen.writeEndArray();
+                        }
+                        gen.writeEndObject();
+                    }
+                    gen.writeEndObject();
+                }
+                gen.writeEndObject();
+            }
+            gen.writeEndObject();
+        }
+
+        // Section is optional; notes without one are grouped under ""
+        private static String fieldName(String name) {
+            return name != null ? name : "";
+        }
+    }
+
+    static final class LeafSerializer extends StdSerializer<Leaf> {
+
+        LeafSerializer() {
+            super(Leaf.class);
+        }
+
+        @Override
+        public void serialize(Leaf note, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            writeLeaf(note, gen, provider);
+        }
+    }
+
+    private static void writeLeaf(Leaf note, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject();
+        gen.writeStringField("id", note.id());
+        gen.writeStringField("type", NOTE_TYPE);
+        gen.writeStringField("content", note.content());
+        gen.writeObjectFieldStart("meta");
+        gen.writeStringField("title", note.title);
+        gen.writeNumberField("order", NOTE_ORDER);
+        gen.writeNumberField("likes", note.likes);
+        gen.writeNumberField("dislikes", note.dislikes);
+        gen.writeStringField("uploadedBy", note.uploadedBy);
+        gen.writeStringField("uploadedByEmail", note.uploadedByEmail);
+        // Through the provider, so timestamps follow the application's date settings
+        provider.defaultSerializeField("createdAt", note.createdAt(), gen);
+        gen.writeEndObject();
+        gen.writeEndObject();
+    }
+}
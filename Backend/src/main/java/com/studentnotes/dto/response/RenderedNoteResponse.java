@@ -0,0 +1,41 @@
+package com.studentnotes.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * DTO for a note rendered to HTML on the server.
+ * The content hash doubles as the ETag: it changes exactly when the HTML does.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RenderedNoteResponse {
+
+    private String publicId;
+    private String title;
+    private Integer currentVersion;
+    private String contentHash;
+
+    // Sanitized HTML; headings carry the ids used by the outline
+    private String html;
+    private List<OutlineEntryDto> outline;
+
+    private LocalDateTime renderedAt;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class OutlineEntryDto {
+        private int level;
+        private String text;
+        private String id;
+    }
+}
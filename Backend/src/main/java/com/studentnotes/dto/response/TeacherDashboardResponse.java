@@ -29,6 +29,9 @@ public class TeacherDashboardResponse {
     // Active deletion requests
     private List<DeletionRequestResponse> deletionRequests;
 
+    // Reader reach across all of the teacher's notes
+    private Reach reach;
+
     @Data
     @Builder
     @NoArgsConstructor
@@ -41,4 +44,28 @@ public class TeacherDashboardResponse {
         private long deletedNotes;
         private long pendingDeletionRequests;
     }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Reach {
+        private long totalViews;
+        // Estimated (HyperLogLog); a reader of several notes counts once
+        private long uniqueViewers;
+        // Highest decayed view counts first
+        private List<NoteReach> trending;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class NoteReach {
+        private String publicId;
+        private String title;
+        private long views;
+        private long uniqueViewers;
+        private double trendingScore;
+    }
 }
@@ -0,0 +1,72 @@
+package com.studentnotes.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for the line diff between two versions of a note.
+ * Only changed hunks are included, each with a few lines of context.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class VersionDiffResponse {
+
+    private String notePublicId;
+    private Integer fromVersion;
+    private Integer toVersion;
+    private String fromContentHash;
+    private String toContentHash;
+
+    private int linesAdded;
+    private int linesRemoved;
+
+    private List<HunkDto> hunks;
+
+    public enum LineType {
+        CONTEXT, ADDED, REMOVED
+    }
+
+    /**
+     * Starts are 1-based line numbers, as in a unified diff header.
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class HunkDto {
+        private int oldStart;
+        private int oldLines;
+        private int newStart;
+        private int newLines;
+        private List<LineDto> lines;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class LineDto {
+        private LineType type;
+        private String text;
+
+        // Word-level breakdown of a changed line paired with its counterpart; null otherwise
+        private List<SegmentDto> segments;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class SegmentDto {
+        private boolean changed;
+        private String text;
+    }
+}
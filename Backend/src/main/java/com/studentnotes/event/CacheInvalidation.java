@@ -0,0 +1,14 @@
+package com.studentnotes.event;
+
+/**
+ * Message sent to other instances when a per-instance cache entry goes stale.
+ *
+ * @param origin  instance that sent it; instances ignore their own messages
+ * @param version per-origin sequence number, assigned after the change
+ *                committed. A message older than one already applied to the
+ *                same cache and key is redundant and dropped.
+ * @param cache   cache name (see CacheNames)
+ * @param key     entry to drop, or null for the whole cache
+ */
+public record CacheInvalidation(String origin, long version, String cache, String key) {
+}
@@ -0,0 +1,32 @@
+package com.studentnotes.event;
+
+import com.studentnotes.dto.response.DeletionRequestResponse;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Domain event raised when a deletion request enters or leaves the PENDING
+ * queue.
+ * <p>
+ * Carries a response snapshot built inside the business transaction, so
+ * after-commit listeners never touch lazy associations.
+ * </p>
+ */
+@Getter
+@AllArgsConstructor
+public class DeletionRequestChangedEvent {
+
+    public enum ChangeType {
+        CREATED, APPROVED, REJECTED;
+
+        /**
+         * Effect of this change on the number of pending requests.
+         */
+        public int pendingDelta() {
+            return this == CREATED ? 1 : -1;
+        }
+    }
+
+    private final ChangeType type;
+    private final DeletionRequestResponse request;
+}
@@ -0,0 +1,77 @@
+package com.studentnotes.event;
+
+import com.studentnotes.model.Note;
+import com.studentnotes.model.enums.NoteStatus;
+import lombok.Getter;
+
+/**
+ * Domain event raised when a note is added to, changed in, or removed from the
+ * public note tree.
+ * <p>
+ * Published inside the business transaction; listeners use
+ * {@code @TransactionalEventListener} so they only observe committed changes.
+ * The event carries a snapshot of the fields the tree cares about rather than
+ * the entity itself, so listeners never touch a detached entity.
+ * </p>
+ */
+@Getter
+public class NoteChangedEvent {
+
+    public enum ChangeType {
+        ADDED, UPDATED, REMOVED
+    }
+
+    private final ChangeType type;
+    private final Long noteId;
+    private final String publicId;
+    private final String title;
+    private final String department;
+    private final String year;
+    private final String section;
+    private final String subject;
+    private final NoteStatus status;
+
+    /**
+     * Department the note was in before this change, when it moved out of it;
+     * null otherwise. Per-department caches must drop both departments.
+     */
+    private final String previousDepartment;
+
+    private NoteChangedEvent(ChangeType type, Note note) {
+        this(type, note, null);
+    }
+
+    private NoteChangedEvent(ChangeType type, Note note, String previousDepartment) {
+        this.type = type;
+        this.noteId = note.getId();
+        this.publicId = note.getPublicId();
+        this.title = note.getTitle();
+        this.department = note.getDepartment();
+        this.year = note.getYear();
+        this.section = note.getSection();
+        this.subject = note.getSubject();
+        this.status = note.getStatus();
+        this.previousDepartment = previousDepartment != null && !previousDepartment.equals(note.getDepartment())
+                ? previousDepartment
+                : null;
+    }
+
+    public static NoteChangedEvent added(Note note) {
+        return new NoteChangedEvent(ChangeType.ADDED, note);
+    }
+
+    public static NoteChangedEvent updated(Note note) {
+        return new NoteChangedEvent(ChangeType.UPDATED, note);
+    }
+
+    /**
+     * An update that may have moved the note out of {@code previousDepartment}.
+     */
+    public static NoteChangedEvent updated(Note note, String previousDepartment) {
+        return new NoteChangedEvent(ChangeType.UPDATED, note, previousDepartment);
+    }
+
+    public static NoteChangedEvent removed(Note note) {
+        return new NoteChangedEvent(ChangeType.REMOVED, note);
+    }
+}
@@ -0,0 +1,22 @@
+package com.studentnotes.event;
+
+import com.studentnotes.repository.NoteVoteSnapshot;
+import lombok.Getter;
+
+/**
+ * Domain event raised when a student likes or dislikes a note.
+ * <p>
+ * Published inside the vote transaction with the counts read back right
+ * after the increment; listeners use {@code @TransactionalEventListener} so
+ * they only observe committed votes.
+ * </p>
+ */
+@Getter
+public class NoteVotedEvent {
+
+    private final NoteVoteSnapshot snapshot;
+
+    public NoteVotedEvent(NoteVoteSnapshot snapshot) {
+        this.snapshot = snapshot;
+    }
+}
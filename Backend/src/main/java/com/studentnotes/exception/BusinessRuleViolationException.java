@@ -38,4 +38,10 @@ public class BusinessRuleViolationException extends ApplicationException {
                 "You cannot disable your own account",
                 "CANNOT_DISABLE_SELF");
     }
+
+    public static BusinessRuleViolationException operationInProgress(String operation) {
+        return new BusinessRuleViolationException(
+                String.format("%s is already running", operation),
+                "OPERATION_IN_PROGRESS");
+    }
 }
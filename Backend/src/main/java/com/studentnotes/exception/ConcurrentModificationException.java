@@ -2,15 +2,22 @@ package com.studentnotes.exception;
 
 /**
  * Exception thrown for concurrent modification conflicts.
+ * Maps to 412 Precondition Failed: the client's copy (ETag) is stale.
  */
 public class ConcurrentModificationException extends ApplicationException {
 
     public ConcurrentModificationException(String message) {
-        super(message, "CONCURRENT_MODIFICATION", 409);
+        super(message, "CONCURRENT_MODIFICATION", 412);
     }
 
     public static ConcurrentModificationException optimisticLock(String resourceType) {
         return new ConcurrentModificationException(
                 String.format("%s was modified by another request. Please refresh and try again.", resourceType));
     }
+
+    public static ConcurrentModificationException preconditionFailed(String resourceType) {
+        return new ConcurrentModificationException(
+                String.format("%s has changed since it was fetched (If-Match mismatch). Please refresh and try again.",
+                        resourceType));
+    }
 }
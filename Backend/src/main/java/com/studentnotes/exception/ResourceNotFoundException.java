@@ -28,6 +28,14 @@ public class ResourceNotFoundException extends ApplicationException {
         return new ResourceNotFoundException("DeletionRequest", publicId);
     }
 
+    public static ResourceNotFoundException folder(String folderPath) {
+        return new ResourceNotFoundException("Folder", folderPath);
+    }
+
+    public static ResourceNotFoundException job(String name) {
+        return new ResourceNotFoundException("Job", name);
+    }
+
     public static ResourceNotFoundException forId(String resourceType, Long id) {
         return new ResourceNotFoundException(resourceType, id);
     }
@@ -13,7 +13,9 @@ import java.util.UUID;
 /**
  * Immutable audit log entry.
  * Every significant action in the system creates an entry here.
- * Append-only - entries are never modified or deleted.
+ * Append-only - entries are never modified or deleted. The table is
+ * partitioned by month on timestamp (V9); old months move to segment files
+ * (see AuditArchiveService) and are read from there.
  */
 @Entity
 @Data
@@ -0,0 +1,57 @@
+package com.studentnotes.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * One month of audit logs moved out of the database into a compressed
+ * segment file by AuditArchiveService. The row is written in the same
+ * transaction that drops the month's partition, so every entry is either
+ * in audit_logs or in exactly one segment. Entries that arrive for the month
+ * later are merged into a new file, which replaces this row's file name.
+ */
+@Entity
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "audit_log_segments")
+public class AuditLogSegment {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * First day of the month the segment holds.
+     */
+    @Column(nullable = false, unique = true)
+    private LocalDate periodStart;
+
+    /**
+     * File name within app.audit.archive-dir.
+     */
+    @Column(nullable = false)
+    private String fileName;
+
+    @Column(nullable = false)
+    private long rowCount;
+
+    @Column(nullable = false)
+    private long sizeBytes;
+
+    @Column(nullable = false)
+    private LocalDateTime archivedAt;
+
+    /**
+     * Instance that wrote the file (see LeaseService#getInstanceId).
+     */
+    @Column(nullable = false, length = 100)
+    private String instanceId;
+}
@@ -0,0 +1,27 @@
+package com.studentnotes.model;
+
+import com.studentnotes.util.ContentCodec;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Stores a text attribute in a binary column through {@link ContentCodec},
+ * so entities and services keep working with plain strings.
+ * <p>
+ * Only for columns that are never filtered or searched in SQL: the
+ * database sees opaque bytes.
+ * </p>
+ */
+@Converter
+public class CompressedTextConverter implements AttributeConverter<String, byte[]> {
+
+    @Override
+    public byte[] convertToDatabaseColumn(String attribute) {
+        return ContentCodec.encode(attribute);
+    }
+
+    @Override
+    public String convertToEntityAttribute(byte[] dbData) {
+        return ContentCodec.decode(dbData);
+    }
+}
@@ -0,0 +1,60 @@
+package com.studentnotes.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Immutable;
+
+/**
+ * One folder of the note hierarchy ("it", "it/year2", ...,
+ * "it/year2/section-a/networks"), keyed by a compact integer id.
+ * <p>
+ * Notes and folder permissions reference folders by id, so hierarchy and
+ * permission lookups compare integers, and each path string exists once,
+ * here. Folders are created on first use together with their ancestors and
+ * never change or go away afterwards; a note that moves just points at
+ * another folder.
+ * </p>
+ */
+@Entity
+@Immutable
+@BatchSize(size = 100)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "folders", indexes = {
+        @Index(name = "idx_folder_parent", columnList = "parentId")
+})
+public class Folder {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    /**
+     * The enclosing folder; null for a department.
+     */
+    private Integer parentId;
+
+    /**
+     * 1 for a department, 2 for a year, and so on.
+     */
+    @Column(nullable = false)
+    private int depth;
+
+    /**
+     * Last path segment (e.g. "networks").
+     */
+    @Column(nullable = false)
+    private String name;
+
+    /**
+     * Normalized full path (see {@link com.studentnotes.util.FolderPaths#normalize}).
+     */
+    @Column(nullable = false, unique = true, length = 500)
+    private String path;
+}
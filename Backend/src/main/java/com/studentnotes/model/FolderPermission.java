@@ -1,5 +1,6 @@
 package com.studentnotes.model;
 
+import com.studentnotes.util.FolderPaths;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -18,7 +19,9 @@ import lombok.NoArgsConstructor;
 @Table(name = "folder_permissions", uniqueConstraints = @UniqueConstraint(columnNames = { "userId",
         "folderPath" }), indexes = {
                 @Index(name = "idx_folder_perm_user", columnList = "userId"),
-                @Index(name = "idx_folder_perm_path", columnList = "folderPath")
+                @Index(name = "idx_folder_perm_path", columnList = "folderPath"),
+                @Index(name = "uk_folder_perm_user_folder", columnList = "userId, folderId", unique = true),
+                @Index(name = "idx_folder_perm_expiry", columnList = "isActive, expiresAt")
         })
 public class FolderPermission {
 
@@ -35,10 +38,19 @@ public class FolderPermission {
     /**
      * The folder path (e.g., "it/year2/section-a", "cs/year1").
      * Permissions are hierarchical - "it" grants access to all under "it/*".
+     * Stored normalized (see {@link FolderPaths#normalize}) so ancestor lookups
+     * can match it exactly.
      */
     @Column(nullable = false, length = 500)
     private String folderPath;
 
+    /**
+     * Id of the {@link Folder} at {@link #folderPath}; coverage checks match
+     * on this.
+     */
+    @Column(nullable = false)
+    private Integer folderId;
+
     /**
      * Can the user read notes in this folder?
      */
@@ -103,9 +115,7 @@ public class FolderPermission {
      * A permission on "it" covers "it/year2/section-a/networks".
      */
     public boolean coversPath(String targetPath) {
-        if (targetPath == null)
-            return false;
-        return targetPath.equals(folderPath) || targetPath.startsWith(folderPath + "/");
+        return FolderPaths.covers(folderPath, targetPath);
     }
 
     /**
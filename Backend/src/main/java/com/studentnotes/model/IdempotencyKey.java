@@ -0,0 +1,68 @@
+package com.studentnotes.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.Length;
+
+import java.time.LocalDateTime;
+
+/**
+ * A client-supplied {@code Idempotency-Key} and the response of the write it
+ * guarded. Claimed (status null) before the write runs and completed with the
+ * response afterwards; a retry with the same key gets the stored response
+ * back instead of running the write again. Rows past {@link #expiresAt} are
+ * purged by a job.
+ */
+@Entity
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "idempotency_keys", indexes = {
+        @Index(name = "idx_idempotency_expires", columnList = "expiresAt")
+})
+public class IdempotencyKey {
+
+    /**
+     * SHA-256 of the caller and the key, so keys are scoped per user.
+     */
+    @Id
+    @Column(length = 64)
+    private String id;
+
+    /**
+     * SHA-256 of method, path and body. A retry must match it.
+     */
+    @Column(nullable = false, length = 64)
+    private String requestHash;
+
+    /**
+     * HTTP status of the stored response; null while the write is running.
+     */
+    private Integer responseStatus;
+
+    @Column(length = 100)
+    private String responseContentType;
+
+    /**
+     * Replayed response headers, one {@code Name: value} line each.
+     */
+    @Column(columnDefinition = "TEXT")
+    private String responseHeaders;
+
+    @Column(length = Length.LONG32)
+    private byte[] responseBody;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+
+    public boolean isCompleted() {
+        return responseStatus != null;
+    }
+}
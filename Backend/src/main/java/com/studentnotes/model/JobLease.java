@@ -0,0 +1,45 @@
+package com.studentnotes.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A time-bounded lease on a named background job.
+ * Only the instance holding an unexpired lease runs the job, which keeps
+ * scheduled work single-instance in a multi-node deployment without a
+ * separate coordination service.
+ */
+@Entity
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "job_leases")
+public class JobLease {
+
+    /**
+     * Job name (e.g. "folder-permission-expiry").
+     */
+    @Id
+    @Column(length = 100)
+    private String name;
+
+    /**
+     * Instance id of the current (or last) holder.
+     */
+    @Column(nullable = false, length = 100)
+    private String owner;
+
+    /**
+     * The lease is free once this time has passed.
+     */
+    @Column(nullable = false)
+    private LocalDateTime leasedUntil;
+
+    private LocalDateTime acquiredAt;
+}
@@ -0,0 +1,70 @@
+package com.studentnotes.model;
+
+import com.studentnotes.model.enums.JobRunStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One completed run of a scheduled job, written by JobService when the run
+ * ends. Runs skipped because another instance held the lease leave no row.
+ * Rows older than the retention period are pruned by a job of their own.
+ */
+@Entity
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "job_runs", indexes = {
+        @Index(name = "idx_job_runs_job_started", columnList = "jobName, startedAt"),
+        @Index(name = "idx_job_runs_started", columnList = "startedAt")
+})
+public class JobRun {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 100)
+    private String jobName;
+
+    /**
+     * Instance that ran the job (see LeaseService#getInstanceId).
+     */
+    @Column(nullable = false, length = 100)
+    private String instanceId;
+
+    /**
+     * Email of the admin who started the run; null for scheduled runs.
+     */
+    private String triggeredBy;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private JobRunStatus status;
+
+    @Column(nullable = false)
+    private LocalDateTime startedAt;
+
+    @Column(nullable = false)
+    private LocalDateTime finishedAt;
+
+    @Column(nullable = false)
+    private long durationMs;
+
+    /**
+     * What the job reported having processed (rows, notes, buckets...).
+     */
+    @Column(nullable = false)
+    private int itemsProcessed;
+
+    /**
+     * Exception summary of a failed run.
+     */
+    @Column(length = 1000)
+    private String error;
+}
@@ -24,7 +24,7 @@ import java.util.UUID;
         @Index(name = "idx_note_status", columnList = "status"),
         @Index(name = "idx_note_uploader", columnList = "uploadedByUserId"),
         @Index(name = "idx_note_department", columnList = "department"),
-        @Index(name = "idx_note_folder", columnList = "department, year, section, subject"),
+        @Index(name = "idx_note_folder_id", columnList = "folder_id"),
         @Index(name = "idx_note_created", columnList = "createdAt")
 })
 public class Note {
@@ -55,6 +55,15 @@ public class Note {
     @Column(nullable = false)
     private String subject; // 'networks'
 
+    /**
+     * The folder the hierarchy fields above name. Queries and permission
+     * checks go through its id; the fields are kept in step with it (see
+     * {@code FolderService#placeNote}) for display and existing readers.
+     */
+    @ManyToOne(fetch = FetchType.EAGER)
+    @JoinColumn(name = "folder_id", nullable = false)
+    private Folder folder;
+
     @Column(columnDefinition = "TEXT")
     private String content; // Markdown content (current version)
 
@@ -68,6 +77,15 @@ public class Note {
     @Builder.Default
     private Integer currentVersion = 1;
 
+    /**
+     * Optimistic lock version (JPA-managed, exposed as the ETag).
+     * Left null on new entities so Spring Data persists rather than merges;
+     * the column default covers rows that predate the column.
+     */
+    @Version
+    @Column(columnDefinition = "bigint default 0")
+    private Long version;
+
     /**
      * Explicit state machine - replaces boolean 'enabled' flag.
      */
@@ -125,9 +143,17 @@ public class Note {
 
     /**
      * Returns the folder path for this note.
-     * Used for permission checking.
+     * Used for permission checking. Built from the hierarchy fields only for
+     * notes not yet placed in a folder.
      */
     public String getFolderPath() {
+        return folder != null ? folder.getPath() : folderPathOf(department, year, section, subject);
+    }
+
+    /**
+     * Builds a folder path from hierarchy fields; null levels are skipped.
+     */
+    public static String folderPathOf(String department, String year, String section, String subject) {
         StringBuilder path = new StringBuilder(department);
         if (year != null) {
             path.append("/").append(year);
@@ -173,10 +199,10 @@ public class Note {
     /**
      * Legacy compatibility - maps to status check.
      * 
-     * @deprecated Use status field instead
+     * @deprecated Use {@link NoteStatus#isInPublicTree()} instead
      */
     @Deprecated
     public boolean isEnabled() {
-        return status != NoteStatus.DELETED && status != NoteStatus.ARCHIVED;
+        return status != null && status.isInPublicTree();
     }
 }
\ No newline at end of file
@@ -5,6 +5,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.Length;
 
 import java.time.LocalDateTime;
 
@@ -18,9 +19,10 @@ import java.time.LocalDateTime;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "note_versions", indexes = {
-        @Index(name = "idx_note_version_note", columnList = "noteId"),
-        @Index(name = "idx_note_version_number", columnList = "noteId, versionNumber")
+@Table(name = "note_versions", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_note_version_number", columnNames = { "noteId", "versionNumber" })
+}, indexes = {
+        @Index(name = "idx_note_version_note", columnList = "noteId")
 })
 public class NoteVersion {
 
@@ -48,8 +50,10 @@ public class NoteVersion {
 
     /**
      * Content (markdown) at this version.
+     * Stored compressed above a size threshold; see {@link CompressedTextConverter}.
      */
-    @Column(columnDefinition = "TEXT", nullable = false)
+    @Convert(converter = CompressedTextConverter.class)
+    @Column(nullable = false, length = Length.LONG32)
     private String content;
 
     /**
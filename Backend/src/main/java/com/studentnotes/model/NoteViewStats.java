@@ -0,0 +1,48 @@
+package com.studentnotes.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.Length;
+
+import java.time.LocalDateTime;
+
+/**
+ * Aggregated reader statistics for one note.
+ * Written only by NoteViewService's periodic flush, which folds in the views
+ * each instance collected in memory; there is no row per page view.
+ */
+@Entity
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "note_view_stats")
+public class NoteViewStats {
+
+    @Id
+    private Long noteId;
+
+    @Column(nullable = false)
+    private long totalViews;
+
+    /**
+     * Serialized HyperLogLog sketch of the hashed viewers.
+     */
+    @Column(nullable = false, length = Length.LONG32)
+    private byte[] uniqueViewers;
+
+    /**
+     * Exponentially decayed view count as of {@link #trendingAt}.
+     */
+    @Column(nullable = false)
+    private double trendingScore;
+
+    @Column(nullable = false)
+    private LocalDateTime trendingAt;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+}
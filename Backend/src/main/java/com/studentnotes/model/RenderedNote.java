@@ -0,0 +1,54 @@
+package com.studentnotes.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Server-side rendering of a note's markdown: sanitized HTML plus the
+ * heading outline.
+ * Keyed by the content hash rather than the note or version, so identical
+ * content (e.g. a restored version) is rendered once and a version's
+ * rendering never goes stale. Rows from an older renderer are re-rendered
+ * on read.
+ */
+@Entity
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "rendered_notes")
+public class RenderedNote {
+
+    /**
+     * SHA-256 of the markdown (same as {@link NoteVersion#getContentHash()}).
+     */
+    @Id
+    @Column(length = 64)
+    private String contentHash;
+
+    /**
+     * Renderer revision that produced this row.
+     */
+    @Column(nullable = false)
+    private Integer rendererVersion;
+
+    /**
+     * Sanitized HTML: raw HTML in the markdown is escaped, unsafe URLs dropped.
+     */
+    @Column(columnDefinition = "TEXT", nullable = false)
+    private String html;
+
+    /**
+     * Heading outline as a JSON array of {level, text, id}.
+     */
+    @Column(columnDefinition = "TEXT", nullable = false)
+    private String outline;
+
+    @Column(nullable = false)
+    private LocalDateTime renderedAt;
+}
@@ -12,6 +12,7 @@ public enum AuditAction {
     NOTE_ARCHIVED("Note was archived"),
     NOTE_DELETED("Note was soft-deleted"),
     NOTE_RESTORED("Note was restored from deleted state"),
+    NOTE_MOVED("Note was moved to another folder"),
 
     // Deletion request actions
     DELETION_REQUESTED("Deletion was requested"),
@@ -29,11 +30,18 @@ public enum AuditAction {
     USER_LOGOUT("User logged out"),
     USER_LOGIN_FAILED("Login attempt failed"),
 
+    // Compliance actions
+    AUDIT_LOGS_EXPORTED("Audit logs were exported"),
+
+    // Maintenance actions
+    NOTE_VERSIONS_COMPACTED("Stored note versions were compressed"),
+
     // Department/Folder actions
     DEPARTMENT_CREATED("Department was created"),
     DEPARTMENT_DELETED("Department was deleted"),
     FOLDER_PERMISSION_GRANTED("Folder permission was granted"),
-    FOLDER_PERMISSION_REVOKED("Folder permission was revoked");
+    FOLDER_PERMISSION_REVOKED("Folder permission was revoked"),
+    FOLDER_PERMISSION_EXPIRED("Folder permission expired");
 
     private final String description;
 
@@ -0,0 +1,19 @@
+package com.studentnotes.model.enums;
+
+/**
+ * Outcome of one run of a scheduled job.
+ */
+public enum JobRunStatus {
+    SUCCEEDED("Job completed"),
+    FAILED("Job threw an exception");
+
+    private final String description;
+
+    JobRunStatus(String description) {
+        this.description = description;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+}
@@ -0,0 +1,19 @@
+package com.studentnotes.model.enums;
+
+/**
+ * Where a scheduled job runs in a multi-instance deployment.
+ */
+public enum JobScope {
+    CLUSTER("Works on shared data: one instance at a time, under a lease"),
+    INSTANCE("Works on the instance's own memory: every instance runs it");
+
+    private final String description;
+
+    JobScope(String description) {
+        this.description = description;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+}
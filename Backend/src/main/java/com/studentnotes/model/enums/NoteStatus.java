@@ -9,6 +9,7 @@ package com.studentnotes.model.enums;
  * PUBLISHED -> DELETE_PENDING (teacher requests deletion)
  * DELETE_PENDING -> DELETED (admin approves)
  * DELETE_PENDING -> PUBLISHED (admin rejects deletion)
+ * DELETED -> PUBLISHED (admin restores)
  * Any state -> ARCHIVED (admin archives)
  */
 public enum NoteStatus {
@@ -28,6 +29,15 @@ public enum NoteStatus {
         return description;
     }
 
+    /**
+     * Whether notes in this state appear in the public note tree. Deletion
+     * requests do not hide a note; only deleting or archiving it does.
+     * The repository queries spell the same rule as NOT IN ('DELETED', 'ARCHIVED').
+     */
+    public boolean isInPublicTree() {
+        return this != DELETED && this != ARCHIVED;
+    }
+
     /**
      * Validates if a state transition is allowed
      */
@@ -36,7 +46,7 @@ public enum NoteStatus {
             case DRAFT -> targetStatus == PUBLISHED || targetStatus == ARCHIVED;
             case PUBLISHED -> targetStatus == DELETE_PENDING || targetStatus == ARCHIVED;
             case DELETE_PENDING -> targetStatus == DELETED || targetStatus == PUBLISHED;
-            case DELETED -> targetStatus == ARCHIVED; // Can only archive deleted notes
+            case DELETED -> targetStatus == PUBLISHED || targetStatus == ARCHIVED; // Restore or archive
             case ARCHIVED -> false; // Terminal state
         };
     }
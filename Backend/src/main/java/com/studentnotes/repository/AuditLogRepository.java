@@ -2,21 +2,34 @@ package com.studentnotes.repository;
 
 import com.studentnotes.model.AuditLog;
 import com.studentnotes.model.enums.AuditAction;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {
 
     // AuditLog is append-only - no update or delete methods should be used!
 
+    /**
+     * Bounds standing in for an open date range. audit_logs is partitioned by
+     * month on timestamp, and PostgreSQL only prunes partitions on plain
+     * comparisons with the partition key, not on "(:from IS NULL OR ...)",
+     * so filter queries always compare against both bounds.
+     */
+    LocalDateTime OPEN_FROM = LocalDateTime.of(1970, 1, 1, 0, 0);
+    LocalDateTime OPEN_TO = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
     // ==================== Correlation ID queries ====================
 
     List<AuditLog> findByCorrelationId(String correlationId);
@@ -50,14 +63,19 @@ public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {
 
     // ==================== Combined filter queries ====================
 
+    default Page<AuditLog> findByFilters(Long actorId, AuditAction action, String targetType,
+            LocalDateTime fromDate, LocalDateTime toDate, Pageable pageable) {
+        return findByFiltersBetween(actorId, action, targetType, fromDate != null ? fromDate : OPEN_FROM,
+                toDate != null ? toDate : OPEN_TO, pageable);
+    }
+
     @Query("SELECT al FROM AuditLog al WHERE " +
             "(:actorId IS NULL OR al.actorId = :actorId) AND " +
             "(:action IS NULL OR al.action = :action) AND " +
             "(:targetType IS NULL OR al.targetType = :targetType) AND " +
-            "(:fromDate IS NULL OR al.timestamp >= :fromDate) AND " +
-            "(:toDate IS NULL OR al.timestamp <= :toDate) " +
+            "al.timestamp >= :fromDate AND al.timestamp <= :toDate " +
             "ORDER BY al.timestamp DESC")
-    Page<AuditLog> findByFilters(
+    Page<AuditLog> findByFiltersBetween(
             @Param("actorId") Long actorId,
             @Param("action") AuditAction action,
             @Param("targetType") String targetType,
@@ -65,6 +83,50 @@ public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {
             @Param("toDate") LocalDateTime toDate,
             Pageable pageable);
 
+    /**
+     * Same filters as {@link #findByFilters}, oldest first, as a forward-only
+     * cursor for exports (500 rows per round trip). Must be consumed inside a
+     * transaction (PostgreSQL only honours the fetch size with autocommit off)
+     * and closed afterwards.
+     */
+    default Stream<AuditLog> streamByFilters(Long actorId, AuditAction action, String targetType,
+            LocalDateTime fromDate, LocalDateTime toDate) {
+        return streamByFiltersBetween(actorId, action, targetType, fromDate != null ? fromDate : OPEN_FROM,
+                toDate != null ? toDate : OPEN_TO);
+    }
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT al FROM AuditLog al WHERE " +
+            "(:actorId IS NULL OR al.actorId = :actorId) AND " +
+            "(:action IS NULL OR al.action = :action) AND " +
+            "(:targetType IS NULL OR al.targetType = :targetType) AND " +
+            "al.timestamp >= :fromDate AND al.timestamp <= :toDate " +
+            "ORDER BY al.timestamp ASC, al.id ASC")
+    Stream<AuditLog> streamByFiltersBetween(
+            @Param("actorId") Long actorId,
+            @Param("action") AuditAction action,
+            @Param("targetType") String targetType,
+            @Param("fromDate") LocalDateTime fromDate,
+            @Param("toDate") LocalDateTime toDate);
+
+    /**
+     * Every entry with {@code from <= timestamp < to}, oldest first, as a
+     * forward-only cursor; same transaction rules as {@link #streamByFilters}.
+     * Used to copy a month out before its partition is dropped.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT al FROM AuditLog al WHERE al.timestamp >= :from AND al.timestamp < :to " +
+            "ORDER BY al.timestamp ASC, al.id ASC")
+    Stream<AuditLog> streamPeriod(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
     // ==================== Recent activity queries ====================
 
     @Query("SELECT al FROM AuditLog al ORDER BY al.timestamp DESC")
@@ -0,0 +1,21 @@
+package com.studentnotes.repository;
+
+import com.studentnotes.model.AuditLogSegment;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface AuditLogSegmentRepository extends JpaRepository<AuditLogSegment, Long> {
+
+    Optional<AuditLogSegment> findFirstByOrderByPeriodStartDesc();
+
+    List<AuditLogSegment> findByPeriodStartBetweenOrderByPeriodStartDesc(LocalDate from, LocalDate to);
+
+    List<AuditLogSegment> findByPeriodStartBetweenOrderByPeriodStartAsc(LocalDate from, LocalDate to);
+
+    Optional<AuditLogSegment> findByPeriodStart(LocalDate periodStart);
+}
@@ -5,11 +5,13 @@ import com.studentnotes.model.enums.DeletionRequestStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,6 +22,32 @@ public interface DeletionRequestRepository extends JpaRepository<DeletionRequest
 
     Optional<DeletionRequest> findByPublicId(String publicId);
 
+    /**
+     * Loads requests with note, teacher and resolver in one query (no N+1).
+     */
+    @Query("SELECT dr FROM DeletionRequest dr JOIN FETCH dr.note JOIN FETCH dr.teacher " +
+            "LEFT JOIN FETCH dr.resolvedBy WHERE dr.publicId IN :publicIds")
+    List<DeletionRequest> findWithDetailsByPublicIdIn(@Param("publicIds") Collection<String> publicIds);
+
+    // ==================== Set-based resolution ====================
+
+    /**
+     * Resolves the given requests in one statement. The PENDING guard makes a
+     * concurrent resolution visible as a lower update count.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE DeletionRequest dr SET dr.status = :status, dr.resolvedBy = :resolvedBy, " +
+            "dr.resolvedAt = :resolvedAt, dr.rejectionReason = :rejectionReason, " +
+            "dr.resolutionIdempotencyKey = :idempotencyKey, dr.version = dr.version + 1 " +
+            "WHERE dr.id IN :ids AND dr.status = 'PENDING'")
+    int resolvePending(
+            @Param("ids") Collection<Long> ids,
+            @Param("status") DeletionRequestStatus status,
+            @Param("resolvedBy") com.studentnotes.model.User resolvedBy,
+            @Param("resolvedAt") LocalDateTime resolvedAt,
+            @Param("rejectionReason") String rejectionReason,
+            @Param("idempotencyKey") String idempotencyKey);
+
     // ==================== Status-based queries ====================
 
     List<DeletionRequest> findByStatus(DeletionRequestStatus status);
@@ -1,12 +1,17 @@
 package com.studentnotes.repository;
 
 import com.studentnotes.model.FolderPermission;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -25,29 +30,67 @@ public interface FolderPermissionRepository extends JpaRepository<FolderPermissi
 
     // ==================== Permission checking ====================
 
+    // A grant covers a target if its folder is the target's folder or one of
+    // its ancestors. The ancestor ids are resolved in Java (FolderService,
+    // from memory), so each lookup is an integer IN over the active
+    // (userId, folderId) index: at most one seek per path segment, regardless
+    // of how many grants exist.
+
+    /**
+     * Active, unexpired grants on any of {@code folderIds}.
+     */
+    default List<FolderPermission> findCoveringPermissions(Long userId, Collection<Integer> folderIds,
+            LocalDateTime now) {
+        return folderIds.isEmpty() ? List.of() : findActiveByUserIdAndFolderIdIn(userId, folderIds, now);
+    }
+
+    /**
+     * Whether an active, unexpired grant with write access is on any of
+     * {@code folderIds}.
+     */
+    default boolean hasWritePermission(Long userId, Collection<Integer> folderIds, LocalDateTime now) {
+        return !folderIds.isEmpty() && existsActiveWriteGrant(userId, folderIds, now);
+    }
+
     @Query("SELECT fp FROM FolderPermission fp WHERE " +
             "fp.userId = :userId AND " +
+            "fp.folderId IN :folderIds AND " +
             "fp.isActive = true AND " +
-            "(fp.expiresAt IS NULL OR fp.expiresAt > :now) AND " +
-            ":targetPath LIKE CONCAT(fp.folderPath, '%')")
-    List<FolderPermission> findCoveringPermissions(
+            "(fp.expiresAt IS NULL OR fp.expiresAt > :now)")
+    List<FolderPermission> findActiveByUserIdAndFolderIdIn(
             @Param("userId") Long userId,
-            @Param("targetPath") String targetPath,
+            @Param("folderIds") Collection<Integer> folderIds,
             @Param("now") LocalDateTime now);
 
     @Query("SELECT COUNT(fp) > 0 FROM FolderPermission fp WHERE " +
             "fp.userId = :userId AND " +
+            "fp.folderId IN :folderIds AND " +
             "fp.isActive = true AND " +
             "(fp.expiresAt IS NULL OR fp.expiresAt > :now) AND " +
-            "fp.canWrite = true AND " +
-            ":targetPath LIKE CONCAT(fp.folderPath, '%')")
-    boolean hasWritePermission(
+            "fp.canWrite = true")
+    boolean existsActiveWriteGrant(
             @Param("userId") Long userId,
-            @Param("targetPath") String targetPath,
+            @Param("folderIds") Collection<Integer> folderIds,
             @Param("now") LocalDateTime now);
 
     // ==================== Cleanup queries ====================
 
-    @Query("SELECT fp FROM FolderPermission fp WHERE fp.expiresAt IS NOT NULL AND fp.expiresAt <= :now")
-    List<FolderPermission> findExpired(@Param("now") LocalDateTime now);
+    /**
+     * Still-active grants whose expiry has passed, oldest id first. Served by
+     * the (isActive, expiresAt) index; callers page through with page 0 since
+     * each chunk is deactivated before the next is read. Rows are locked so a
+     * concurrent revoke cannot slip in between the read and the deactivate.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT fp FROM FolderPermission fp WHERE fp.isActive = true " +
+            "AND fp.expiresAt IS NOT NULL AND fp.expiresAt <= :now ORDER BY fp.id")
+    List<FolderPermission> findExpired(@Param("now") LocalDateTime now, Pageable pageable);
+
+    /**
+     * Deactivates the given grants. Guarded on isActive so a concurrent
+     * revoke is not counted (or audited) twice.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE FolderPermission fp SET fp.isActive = false WHERE fp.id IN :ids AND fp.isActive = true")
+    int deactivate(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,29 @@
+package com.studentnotes.repository;
+
+import com.studentnotes.model.Folder;
+import com.studentnotes.util.FolderPaths;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface FolderRepository extends JpaRepository<Folder, Integer> {
+
+    List<Folder> findByPathIn(Collection<String> paths);
+
+    /**
+     * Ids of the folder at the normalized {@code path} and of every folder
+     * below it, on segment boundaries ("it" does not match "itx").
+     */
+    default List<Integer> findSubtreeIds(String path) {
+        String escaped = path.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+        return findIdsByPathOrPrefix(path, escaped + FolderPaths.SEPARATOR + "%");
+    }
+
+    @Query("SELECT f.id FROM Folder f WHERE f.path = :path OR f.path LIKE :prefix ESCAPE '\\'")
+    List<Integer> findIdsByPathOrPrefix(@Param("path") String path, @Param("prefix") String prefix);
+}
@@ -0,0 +1,34 @@
+package com.studentnotes.repository;
+
+import com.studentnotes.model.JobLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface JobLeaseRepository extends JpaRepository<JobLease, String> {
+
+    /**
+     * Takes the lease if it is free or already ours. A single conditional
+     * UPDATE, so two instances can never both see 1.
+     */
+    @Modifying
+    @Query("UPDATE JobLease l SET l.owner = :owner, l.leasedUntil = :until, l.acquiredAt = :now " +
+            "WHERE l.name = :name AND (l.leasedUntil < :now OR l.owner = :owner)")
+    int tryAcquire(
+            @Param("name") String name,
+            @Param("owner") String owner,
+            @Param("now") LocalDateTime now,
+            @Param("until") LocalDateTime until);
+
+    /**
+     * Moves the end of a lease we hold; a time already past frees it.
+     */
+    @Modifying
+    @Query("UPDATE JobLease l SET l.leasedUntil = :until WHERE l.name = :name AND l.owner = :owner")
+    int holdUntil(@Param("name") String name, @Param("owner") String owner, @Param("until") LocalDateTime until);
+}
@@ -0,0 +1,25 @@
+package com.studentnotes.repository;
+
+import com.studentnotes.model.JobRun;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface JobRunRepository extends JpaRepository<JobRun, Long> {
+
+    Page<JobRun> findByJobName(String jobName, Pageable pageable);
+
+    Optional<JobRun> findFirstByJobNameOrderByStartedAtDesc(String jobName);
+
+    @Modifying
+    @Query("DELETE FROM JobRun r WHERE r.startedAt < :cutoff")
+    int deleteStartedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
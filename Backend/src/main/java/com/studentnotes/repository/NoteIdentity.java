@@ -0,0 +1,8 @@
+package com.studentnotes.repository;
+
+/**
+ * Internal and public id of a note, for resolving public ids in bulk
+ * without loading the entities.
+ */
+public record NoteIdentity(Long id, String publicId) {
+}
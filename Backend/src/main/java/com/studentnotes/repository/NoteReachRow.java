@@ -0,0 +1,15 @@
+package com.studentnotes.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * A note's stored view statistics joined with its public id and title.
+ */
+public record NoteReachRow(
+        String publicId,
+        String title,
+        long totalViews,
+        byte[] uniqueViewers,
+        double trendingScore,
+        LocalDateTime trendingAt) {
+}
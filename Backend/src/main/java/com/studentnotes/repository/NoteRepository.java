@@ -2,16 +2,22 @@ package com.studentnotes.repository;
 
 import com.studentnotes.model.Note;
 import com.studentnotes.model.enums.NoteStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface NoteRepository extends JpaRepository<Note, Long> {
@@ -20,6 +26,61 @@ public interface NoteRepository extends JpaRepository<Note, Long> {
 
     Optional<Note> findByPublicId(String publicId);
 
+    List<Note> findByPublicIdIn(Collection<String> publicIds);
+
+    // ==================== Set-based status transitions ====================
+    // Used by bulk deletion resolution. Mirror Note.transitionTo's timestamp
+    // updates and bump @Version so open editors see the change.
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Note n SET n.status = 'DELETED', n.deletedAt = :now, n.updatedAt = :now, " +
+            "n.version = n.version + 1 WHERE n.id IN :ids AND n.status = 'DELETE_PENDING'")
+    int markDeletedFromPending(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Note n SET n.status = 'PUBLISHED', n.publishedAt = :now, n.updatedAt = :now, " +
+            "n.version = n.version + 1 WHERE n.id IN :ids AND n.status = 'DELETE_PENDING'")
+    int republishFromPending(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    // ==================== Votes ====================
+    // Atomic in-database increments: no read-modify-write race, and bulk JPQL
+    // updates do not bump @Version, so votes never invalidate editors' ETags.
+
+    @Modifying
+    @Query("UPDATE Note n SET n.likes = n.likes + 1 WHERE n.id = :id")
+    int incrementLikes(@Param("id") Long id);
+
+    @Modifying
+    @Query("UPDATE Note n SET n.dislikes = n.dislikes + 1 WHERE n.id = :id")
+    int incrementDislikes(@Param("id") Long id);
+
+    /**
+     * Counts and tree location read back after a vote, in the same transaction.
+     */
+    @Query("SELECT new com.studentnotes.repository.NoteVoteSnapshot(n.id, n.publicId, n.title, n.department, " +
+            "n.year, n.section, n.subject, n.status, n.likes, n.dislikes) FROM Note n WHERE n.id = :id")
+    Optional<NoteVoteSnapshot> findVoteSnapshot(@Param("id") Long id);
+
+    /**
+     * Vote counts of every publicly visible note, unordered, as a forward-only
+     * cursor for seeding the popular-notes leaderboard. Must be consumed inside
+     * a transaction and closed afterwards.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT new com.studentnotes.repository.NoteVoteSnapshot(n.id, n.publicId, n.title, n.department, " +
+            "n.year, n.section, n.subject, n.status, n.likes, n.dislikes) FROM Note n " +
+            "WHERE n.status NOT IN ('DELETED', 'ARCHIVED')")
+    Stream<NoteVoteSnapshot> streamVoteSnapshots();
+
+    // ==================== View tracking ====================
+
+    @Query("SELECT new com.studentnotes.repository.NoteIdentity(n.id, n.publicId) FROM Note n " +
+            "WHERE n.publicId IN :publicIds AND n.status NOT IN ('DELETED', 'ARCHIVED')")
+    List<NoteIdentity> findVisibleIdentities(@Param("publicIds") Collection<String> publicIds);
+
     // ==================== Status-based queries ====================
 
     List<Note> findByStatus(NoteStatus status);
@@ -43,29 +104,33 @@ public interface NoteRepository extends JpaRepository<Note, Long> {
     Page<Note> findByUploadedByUserIdOrderByUpdatedAtDesc(@Param("userId") Long userId, Pageable pageable);
 
     // ==================== Folder/hierarchy queries ====================
+    // Folders are matched by id; FolderService.subtreeIds turns a path into
+    // the ids of the folder and everything below it.
 
-    List<Note> findByDepartmentAndYearAndSubject(String department, String year, String subject);
-
-    @Query("SELECT n FROM Note n WHERE n.department = :dept AND n.status = :status")
-    Page<Note> findByDepartmentAndStatus(
-            @Param("dept") String department,
+    @Query("SELECT n FROM Note n WHERE n.folder.id IN :folderIds AND " +
+            "(:status IS NULL OR n.status = :status)")
+    Page<Note> findInFolders(
+            @Param("folderIds") Collection<Integer> folderIds,
             @Param("status") NoteStatus status,
             Pageable pageable);
 
-    @Query("SELECT n FROM Note n WHERE " +
-            "(:department IS NULL OR n.department = :department) AND " +
-            "(:year IS NULL OR n.year = :year) AND " +
-            "(:section IS NULL OR n.section = :section) AND " +
-            "(:subject IS NULL OR n.subject = :subject) AND " +
-            "(:status IS NULL OR n.status = :status)")
-    Page<Note> findByFolderPath(
-            @Param("department") String department,
-            @Param("year") String year,
-            @Param("section") String section,
-            @Param("subject") String subject,
+    // ==================== Archive export ====================
+    // Keyset pagination (id > last seen) so every chunk is an index range
+    // scan, however deep into the department the export is.
+
+    @Query("SELECT n FROM Note n WHERE n.folder.id IN :folderIds AND " +
+            "n.status = :status AND n.id > :afterId ORDER BY n.id")
+    List<Note> findExportChunk(
+            @Param("folderIds") Collection<Integer> folderIds,
             @Param("status") NoteStatus status,
+            @Param("afterId") Long afterId,
             Pageable pageable);
 
+    @Query("SELECT COUNT(n) > 0 FROM Note n WHERE n.folder.id IN :folderIds AND n.status = :status")
+    boolean existsInFolders(
+            @Param("folderIds") Collection<Integer> folderIds,
+            @Param("status") NoteStatus status);
+
     // ==================== Count queries for dashboard ====================
 
     long countByStatus(NoteStatus status);
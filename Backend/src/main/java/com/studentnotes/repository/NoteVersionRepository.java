@@ -25,6 +25,12 @@ public interface NoteVersionRepository extends JpaRepository<NoteVersion, Long>
 
     Optional<NoteVersion> findByNoteIdAndIsCurrentVersionTrue(Long noteId);
 
+    @Query("SELECT nv.contentHash FROM NoteVersion nv WHERE nv.noteId = :noteId AND nv.isCurrentVersion = true")
+    Optional<String> findCurrentContentHash(@Param("noteId") Long noteId);
+
+    @Query("SELECT nv.contentHash FROM NoteVersion nv WHERE nv.noteId = :noteId AND nv.versionNumber = :versionNumber")
+    Optional<String> findContentHash(@Param("noteId") Long noteId, @Param("versionNumber") Integer versionNumber);
+
     // ==================== Version number management ====================
 
     @Query("SELECT MAX(nv.versionNumber) FROM NoteVersion nv WHERE nv.noteId = :noteId")
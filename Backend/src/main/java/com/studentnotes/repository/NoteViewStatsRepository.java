@@ -0,0 +1,29 @@
+package com.studentnotes.repository;
+
+import com.studentnotes.model.NoteViewStats;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface NoteViewStatsRepository extends JpaRepository<NoteViewStats, Long> {
+
+    /**
+     * Locks the rows so that concurrent flushes from other instances merge
+     * their sketches one after the other instead of overwriting each other.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM NoteViewStats s WHERE s.noteId IN :noteIds ORDER BY s.noteId")
+    List<NoteViewStats> findAllForUpdate(@Param("noteIds") Collection<Long> noteIds);
+
+    @Query("SELECT new com.studentnotes.repository.NoteReachRow(n.publicId, n.title, s.totalViews, " +
+            "s.uniqueViewers, s.trendingScore, s.trendingAt) " +
+            "FROM NoteViewStats s JOIN Note n ON n.id = s.noteId WHERE n.uploadedByUserId = :teacherId")
+    List<NoteReachRow> findReachByTeacher(@Param("teacherId") Long teacherId);
+}
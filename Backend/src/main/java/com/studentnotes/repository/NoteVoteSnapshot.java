@@ -0,0 +1,25 @@
+package com.studentnotes.repository;
+
+import com.studentnotes.model.enums.NoteStatus;
+
+/**
+ * Read-only projection of a note's vote counts and tree location, without
+ * the content. Selected with a JPQL constructor expression so that vote
+ * bookkeeping never loads the entity.
+ */
+public record NoteVoteSnapshot(
+        Long id,
+        String publicId,
+        String title,
+        String department,
+        String year,
+        String section,
+        String subject,
+        NoteStatus status,
+        int likes,
+        int dislikes) {
+
+    public boolean isPubliclyVisible() {
+        return status != null && status.isInPublicTree();
+    }
+}
@@ -0,0 +1,9 @@
+package com.studentnotes.repository;
+
+import com.studentnotes.model.RenderedNote;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface RenderedNoteRepository extends JpaRepository<RenderedNote, String> {
+}
@@ -1,5 +1,6 @@
 package com.studentnotes.service;
 
+import com.studentnotes.config.CacheNames;
 import com.studentnotes.dto.response.AdminOverviewResponse;
 import com.studentnotes.model.enums.DeletionRequestStatus;
 import com.studentnotes.model.enums.NoteStatus;
@@ -35,12 +36,15 @@ public class AdminDashboardService {
     @Autowired
     private DeletionRequestRepository deletionRequestRepository;
 
+    @Autowired
+    private DeletionRequestNotificationService deletionRequestNotificationService;
+
     /**
      * Gets comprehensive overview metrics for the admin dashboard.
      * Designed for graceful degradation - if a metric fails, others still load.
      */
     @Transactional(readOnly = true)
-    @Cacheable(value = "adminOverview", key = "'overview'", unless = "#result == null")
+    @Cacheable(value = CacheNames.ADMIN_OVERVIEW, key = "'overview'", unless = "#result == null")
     public AdminOverviewResponse getOverview() {
         LocalDateTime now = LocalDateTime.now();
         LocalDateTime last24h = now.minusHours(24);
@@ -113,10 +117,17 @@ public class AdminDashboardService {
     }
 
     /**
-     * Gets just the pending counts (fast endpoint for polling).
+     * Gets just the pending count. Served from the in-memory counter kept by
+     * {@link DeletionRequestNotificationService}; falls back to the database
+     * until that counter has been seeded. Dashboards should subscribe to the
+     * push stream rather than poll this.
      */
     @Transactional(readOnly = true)
     public long getPendingDeletionRequestCount() {
+        java.util.OptionalLong cached = deletionRequestNotificationService.getPendingCount();
+        if (cached.isPresent()) {
+            return cached.getAsLong();
+        }
         try {
             return deletionRequestRepository.countByStatus(DeletionRequestStatus.PENDING);
         } catch (Exception e) {
@@ -0,0 +1,604 @@
+package com.studentnotes.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.studentnotes.model.AuditLog;
+import com.studentnotes.model.AuditLogSegment;
+import com.studentnotes.model.enums.AuditAction;
+import com.studentnotes.repository.AuditLogRepository;
+import com.studentnotes.repository.AuditLogSegmentRepository;
+import com.studentnotes.util.LruCache;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Keeps the monthly partitions of audit_logs (see V9) and moves old months
+ * out of the database into compressed segment files.
+ * <p>
+ * <strong>Partitions:</strong> {@link #maintain} creates the partitions for
+ * the next {@code app.audit.partitions-ahead} months, so new entries never
+ * land in the default partition, and archives every month older than
+ * {@code app.audit.hot-months}: its rows are written oldest first as gzipped
+ * NDJSON to {@code app.audit.archive-dir}, then the partition is detached and
+ * dropped in the transaction that records the {@link AuditLogSegment}. The
+ * detach briefly locks audit_logs, which is why it runs as a daily job.
+ * </p>
+ * <p>
+ * <strong>Late entries:</strong> rows for a month without a partition
+ * (back-dated past the oldest partition, into an archived month, or dated
+ * beyond the months created ahead) land in the default partition. Until the
+ * next {@link #maintain} they are served from there and can show out of
+ * place next to archived months. {@code maintain} first moves them into a
+ * partition of their own month, which would otherwise conflict with them when
+ * created. Months that are due for archiving are then archived as usual; for a
+ * month already archived, the new rows are merged with its segment into a new
+ * file.
+ * </p>
+ * <p>
+ * <strong>Cold reads:</strong> archived months stay visible through
+ * AuditService and the export. They are all older than anything left in the
+ * database, so a listing is the database page followed, once that runs out,
+ * by entries decoded from the segments, newest first. That path reads whole
+ * files: match counts per segment file and filter are cached (a file never
+ * changes; merging late entries writes a new one), and months with no filter but the date range count from the
+ * segment row, so later pages skip segments they do not need.
+ * </p>
+ * <p>
+ * Segment files are local: with several instances, the archive directory must
+ * be storage they all mount.
+ * </p>
+ */
+@Service
+public class AuditArchiveService {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditArchiveService.class);
+
+    static final String PARTITION_PREFIX = "audit_logs_p";
+    static final String DEFAULT_PARTITION = "audit_logs_default";
+
+    static final String DEFAULT_MONTHS_QUERY = "SELECT DISTINCT to_char(timestamp, 'YYYYMM') FROM "
+            + DEFAULT_PARTITION;
+
+    // Segment files and streamPeriod are both in this order
+    private static final Comparator<AuditLog> FILE_ORDER = Comparator.comparing(AuditLog::getTimestamp)
+            .thenComparing(AuditLog::getId);
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private static final int IO_BUFFER_BYTES = 64 * 1024;
+    private static final int COUNT_CACHE_SIZE = 1024;
+
+    @Autowired
+    private AuditLogRepository auditLogRepository;
+
+    @Autowired
+    private AuditLogSegmentRepository segmentRepository;
+
+    @Autowired
+    private LeaseService leaseService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.audit.hot-months:12}")
+    private int hotMonths = 12;
+
+    @Value("${app.audit.partitions-ahead:2}")
+    private int partitionsAhead = 2;
+
+    @Value("${app.audit.archive-dir:audit-archive}")
+    private String archiveDir;
+
+    private final LruCache<CountKey, Long> matchCounts = new LruCache<>(COUNT_CACHE_SIZE);
+
+    /**
+     * What to read from the archive; null fields do not filter. Dates are
+     * inclusive, as in the database queries.
+     */
+    public record Filter(Long actorId, AuditAction action, String targetType, Long targetId,
+            LocalDateTime from, LocalDateTime to) {
+
+        public static final Filter ALL = new Filter(null, null, null, null, null, null);
+
+        boolean matches(AuditLog entry) {
+            return (actorId == null || actorId.equals(entry.getActorId()))
+                    && (action == null || action == entry.getAction())
+                    && (targetType == null || targetType.equals(entry.getTargetType()))
+                    && (targetId == null || targetId.equals(entry.getTargetId()))
+                    && (from == null || !entry.getTimestamp().isBefore(from))
+                    && (to == null || !entry.getTimestamp().isAfter(to));
+        }
+
+        /**
+         * This filter as it applies to one month: date bounds the whole month
+         * satisfies are dropped, so equal questions share a cache entry.
+         */
+        Filter within(LocalDate periodStart) {
+            LocalDateTime start = periodStart.atStartOfDay();
+            LocalDateTime end = periodStart.plusMonths(1).atStartOfDay();
+            return new Filter(actorId, action, targetType, targetId,
+                    from != null && from.isAfter(start) ? from : null,
+                    to != null && to.isBefore(end) ? to : null);
+        }
+    }
+
+    record CountKey(String fileName, Filter filter) {
+    }
+
+    // ==================== Maintenance ====================
+
+    /**
+     * Moves late entries out of the default partition, creates upcoming
+     * partitions and archives expired months. Run daily by JobService on one
+     * instance.
+     *
+     * @return partitions created plus months archived
+     */
+    public int maintain() {
+        return adoptDefaultRows() + createUpcomingPartitions() + archiveExpired();
+    }
+
+    /**
+     * Gives every month with rows in the default partition a partition of its
+     * own, moving the rows there.
+     *
+     * @return partitions created
+     */
+    int adoptDefaultRows() {
+        List<String> months = jdbcTemplate.queryForList(DEFAULT_MONTHS_QUERY, String.class);
+        for (String month : months) {
+            createPartition(YearMonth.parse(month, PARTITION_SUFFIX));
+        }
+        return months.size();
+    }
+
+    int createUpcomingPartitions() {
+        TreeSet<YearMonth> existing = partitions();
+        YearMonth current = YearMonth.now();
+        int created = 0;
+        for (int ahead = 0; ahead <= partitionsAhead; ahead++) {
+            YearMonth month = current.plusMonths(ahead);
+            if (!existing.contains(month)) {
+                createPartition(month);
+                created++;
+            }
+        }
+        return created;
+    }
+
+    /**
+     * Creates the partition of {@code month} and moves into it any rows of
+     * that month held by the default partition. Attaching a table, rather
+     * than CREATE ... PARTITION OF, lets the rows move in the same
+     * transaction; the attach checks the default partition no longer holds
+     * any.
+     */
+    private void createPartition(YearMonth month) {
+        String partition = partitionName(month);
+        LocalDate from = month.atDay(1);
+        LocalDate to = month.plusMonths(1).atDay(1);
+        Integer moved = new TransactionTemplate(transactionManager).execute(status -> {
+            jdbcTemplate.execute("CREATE TABLE " + partition + " (LIKE audit_logs INCLUDING DEFAULTS)");
+            int rows = jdbcTemplate.update(String.format(
+                    "WITH moved AS (DELETE FROM %s WHERE timestamp >= '%s' AND timestamp < '%s' RETURNING *) "
+                            + "INSERT INTO %s SELECT * FROM moved",
+                    DEFAULT_PARTITION, from, to, partition));
+            jdbcTemplate.execute(String.format(
+                    "ALTER TABLE audit_logs ATTACH PARTITION %s FOR VALUES FROM ('%s') TO ('%s')", partition, from, to));
+            return rows;
+        });
+        log.info("Created audit log partition {} ({} rows moved from {})", partition, moved, DEFAULT_PARTITION);
+    }
+
+    int archiveExpired() {
+        YearMonth cutoff = YearMonth.now().minusMonths(hotMonths);
+        int archived = 0;
+        for (YearMonth month : partitions().headSet(cutoff)) {
+            archive(month);
+            archived++;
+        }
+        return archived;
+    }
+
+    /**
+     * Writes one month to its segment file and drops its partition. A month
+     * archived before gets a new file holding both its segment and the
+     * partition's rows.
+     */
+    void archive(YearMonth month) {
+        String partition = partitionName(month);
+        AuditLogSegment previous = segmentRepository.findByPeriodStart(month.atDay(1)).orElse(null);
+        String previousFile = previous != null ? previous.getFileName() : null;
+        String fileName = previous == null
+                ? "audit-" + month + ".ndjson.gz"
+                : "audit-" + month + "-" + System.currentTimeMillis() + ".ndjson.gz";
+        long started = System.currentTimeMillis();
+
+        Path dir = Path.of(archiveDir);
+        Path file;
+        long rows;
+        try {
+            Files.createDirectories(dir);
+            Path temp = Files.createTempFile(dir, "audit-" + month + "-", ".tmp");
+            try {
+                rows = writeSegment(month, previous, temp);
+                file = Files.move(temp, dir.resolve(fileName), StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException | RuntimeException e) {
+                deleteQuietly(temp);
+                throw e;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write audit segment for " + month, e);
+        }
+
+        long sizeBytes = size(file);
+        long previousRows = previous != null ? previous.getRowCount() : 0;
+        AuditLogSegment segment = previous != null
+                ? previous
+                : AuditLogSegment.builder().periodStart(month.atDay(1)).build();
+        segment.setFileName(fileName);
+        segment.setRowCount(previousRows + rows);
+        segment.setSizeBytes(sizeBytes);
+        segment.setArchivedAt(LocalDateTime.now());
+        segment.setInstanceId(leaseService.getInstanceId());
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                segmentRepository.save(segment);
+                jdbcTemplate.execute("ALTER TABLE audit_logs DETACH PARTITION " + partition);
+                // Detached, the table takes no more writes: it must hold exactly what was written
+                Long remaining = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + partition, Long.class);
+                if (remaining == null || remaining != rows) {
+                    throw new IllegalStateException(String.format(
+                            "Audit partition %s holds %s rows but %d were archived", partition, remaining, rows));
+                }
+                jdbcTemplate.execute("DROP TABLE " + partition);
+            });
+        } catch (RuntimeException e) {
+            // Not recorded, so nothing will read it; a merge keeps the previous file in use
+            deleteQuietly(file);
+            throw e;
+        }
+        if (previousFile != null) {
+            deleteQuietly(dir.resolve(previousFile));
+        }
+
+        log.info("Archived audit logs for {} ({} rows, {} more in the previous segment, {} bytes) in {} ms",
+                month, rows, previousRows, sizeBytes, System.currentTimeMillis() - started);
+    }
+
+    // ==================== Reads ====================
+
+    /**
+     * Completes a page of database results with archived entries matching
+     * {@code filter}, for listings ordered newest first.
+     */
+    public Page<AuditLog> withArchived(Page<AuditLog> hot, Filter filter, Pageable pageable) {
+        List<AuditLogSegment> segments = segments(filter, true);
+        if (segments.isEmpty()) {
+            return hot;
+        }
+        long hotTotal = hot.getTotalElements();
+        long offset = pageable.isPaged() ? pageable.getOffset() : 0;
+        int wanted = (pageable.isPaged() ? pageable.getPageSize() : Integer.MAX_VALUE) - hot.getNumberOfElements();
+
+        List<AuditLog> content = new ArrayList<>(hot.getContent());
+        long coldTotal = readNewestFirst(segments, filter, Math.max(0, offset - hotTotal), wanted, content);
+        return new PageImpl<>(content, pageable, hotTotal + coldTotal);
+    }
+
+    /**
+     * Archived entries matching {@code filter}, oldest first, one segment
+     * open at a time. Close the stream when done.
+     */
+    public Stream<AuditLog> streamArchived(Filter filter) {
+        SegmentCursor cursor = new SegmentCursor(segments(filter, false).iterator(), filter);
+        return StreamSupport.stream(cursor, false).onClose(cursor::close);
+    }
+
+    /**
+     * Adds the matches at newest-first positions {@code [skip, skip + limit)}
+     * across {@code segments} (newest first) to {@code rows}.
+     *
+     * @return the number of matches in all segments
+     */
+    private long readNewestFirst(List<AuditLogSegment> segments, Filter filter, long skip, int limit,
+            List<AuditLog> rows) {
+        int target = rows.size() + limit;
+        long end = skip + limit;
+        long before = 0;
+        for (AuditLogSegment segment : segments) {
+            Filter monthFilter = filter.within(segment.getPeriodStart());
+            CountKey key = new CountKey(segment.getFileName(), monthFilter);
+            Long known = monthFilter.equals(Filter.ALL) ? Long.valueOf(segment.getRowCount()) : matchCounts.get(key);
+            boolean overlaps = rows.size() < target && before < end && (known == null || before + known > skip);
+            if (!overlaps && known != null) {
+                before += known;
+                continue;
+            }
+            long localSkip = Math.max(0, skip - before);
+            int want = overlaps ? target - rows.size() : 0;
+            long matches = readSegment(segment, monthFilter, localSkip, want, rows);
+            matchCounts.put(key, matches);
+            before += matches;
+        }
+        return before;
+    }
+
+    /**
+     * Reads one segment, adding its matches at newest-first positions
+     * {@code [skip, skip + want)} to {@code rows}. The file is oldest first,
+     * so only the last {@code skip + want} matches are kept while reading.
+     */
+    private long readSegment(AuditLogSegment segment, Filter filter, long skip, int want, List<AuditLog> rows) {
+        long keep = want > 0 ? skip + want : 0;
+        ArrayDeque<AuditLog> tail = new ArrayDeque<>();
+        long matches = 0;
+        try (Stream<AuditLog> entries = read(segment)) {
+            for (Iterator<AuditLog> it = entries.iterator(); it.hasNext();) {
+                AuditLog entry = it.next();
+                if (!filter.matches(entry)) {
+                    continue;
+                }
+                matches++;
+                if (keep > 0) {
+                    if (tail.size() == keep) {
+                        tail.pollFirst();
+                    }
+                    tail.addLast(entry);
+                }
+            }
+        }
+        Iterator<AuditLog> newestFirst = tail.descendingIterator();
+        for (long position = 0; newestFirst.hasNext() && position < skip + want; position++) {
+            AuditLog entry = newestFirst.next();
+            if (position >= skip) {
+                rows.add(entry);
+            }
+        }
+        return matches;
+    }
+
+    private List<AuditLogSegment> segments(Filter filter, boolean newestFirst) {
+        LocalDate from = (filter.from() != null ? filter.from() : AuditLogRepository.OPEN_FROM).toLocalDate()
+                .withDayOfMonth(1);
+        LocalDate to = (filter.to() != null ? filter.to() : AuditLogRepository.OPEN_TO).toLocalDate();
+        if (to.isBefore(from)) {
+            return List.of();
+        }
+        return newestFirst
+                ? segmentRepository.findByPeriodStartBetweenOrderByPeriodStartDesc(from, to)
+                : segmentRepository.findByPeriodStartBetweenOrderByPeriodStartAsc(from, to);
+    }
+
+    // ==================== Segment Files ====================
+
+    /**
+     * Writes the month's rows, merged in order with {@code previous} if the
+     * month was archived before, to {@code file}.
+     *
+     * @return number of rows written from the database
+     */
+    private long writeSegment(YearMonth month, AuditLogSegment previous, Path file) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(AuditLog.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+
+        Long rows = transaction.execute(status -> {
+            try (Stream<AuditLog> entries = auditLogRepository.streamPeriod(month.atDay(1).atStartOfDay(),
+                    month.plusMonths(1).atDay(1).atStartOfDay());
+                    Stream<AuditLog> archived = previous != null ? read(previous) : Stream.empty();
+                    FileOutputStream out = new FileOutputStream(file.toFile())) {
+                GZIPOutputStream gzip = new GZIPOutputStream(new BufferedOutputStream(out, IO_BUFFER_BYTES),
+                        IO_BUFFER_BYTES);
+                long written = 0;
+                try (JsonGenerator json = objectMapper.getFactory().createGenerator(gzip)) {
+                    json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                    json.setPrettyPrinter(new MinimalPrettyPrinter("\n"));
+                    Iterator<AuditLog> fromDatabase = entries.iterator();
+                    Iterator<AuditLog> fromArchive = archived.iterator();
+                    AuditLog nextDatabase = fromDatabase.hasNext() ? fromDatabase.next() : null;
+                    AuditLog nextArchived = fromArchive.hasNext() ? fromArchive.next() : null;
+                    while (nextDatabase != null || nextArchived != null) {
+                        if (nextArchived == null
+                                || (nextDatabase != null && FILE_ORDER.compare(nextDatabase, nextArchived) < 0)) {
+                            writer.writeValue(json, nextDatabase);
+                            entityManager.detach(nextDatabase);
+                            written++;
+                            nextDatabase = fromDatabase.hasNext() ? fromDatabase.next() : null;
+                        } else {
+                            writer.writeValue(json, nextArchived);
+                            nextArchived = fromArchive.hasNext() ? fromArchive.next() : null;
+                        }
+                    }
+                }
+                gzip.finish();
+                gzip.flush();
+                // On disk before the partition it replaces is dropped
+                out.getFD().sync();
+                return written;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return rows != null ? rows : 0;
+    }
+
+    private Stream<AuditLog> read(AuditLogSegment segment) {
+        Path file = Path.of(archiveDir, segment.getFileName());
+        if (!Files.isRegularFile(file)) {
+            throw new IllegalStateException(String.format(
+                    "Audit segment %s for %s not found; is %s shared by every instance?",
+                    segment.getFileName(), YearMonth.from(segment.getPeriodStart()), archiveDir));
+        }
+        ObjectReader reader = objectMapper.readerFor(AuditLog.class);
+        try {
+            BufferedReader lines = new BufferedReader(new InputStreamReader(
+                    new GZIPInputStream(Files.newInputStream(file), IO_BUFFER_BYTES), StandardCharsets.UTF_8));
+            return lines.lines()
+                    .filter(line -> !line.isEmpty())
+                    .map(line -> parse(reader, line))
+                    .onClose(() -> closeQuietly(lines));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open audit segment " + file, e);
+        }
+    }
+
+    private static AuditLog parse(ObjectReader reader, String line) {
+        try {
+            return reader.readValue(line);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Corrupt audit segment entry: " + e.getOriginalMessage(), e);
+        }
+    }
+
+    /**
+     * Walks segments oldest first, opening each only when the previous one is
+     * used up.
+     */
+    private final class SegmentCursor extends Spliterators.AbstractSpliterator<AuditLog> {
+
+        private final Iterator<AuditLogSegment> segments;
+        private final Filter filter;
+        private Stream<AuditLog> open;
+        private Iterator<AuditLog> entries = Collections.emptyIterator();
+
+        SegmentCursor(Iterator<AuditLogSegment> segments, Filter filter) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+            this.segments = segments;
+            this.filter = filter;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super AuditLog> action) {
+            while (true) {
+                while (entries.hasNext()) {
+                    AuditLog entry = entries.next();
+                    if (filter.matches(entry)) {
+                        action.accept(entry);
+                        return true;
+                    }
+                }
+                close();
+                if (!segments.hasNext()) {
+                    return false;
+                }
+                open = read(segments.next());
+                entries = open.iterator();
+            }
+        }
+
+        void close() {
+            if (open != null) {
+                open.close();
+                open = null;
+                entries = Collections.emptyIterator();
+            }
+        }
+    }
+
+    // ==================== Helper Methods ====================
+
+    /**
+     * Months that currently have a partition of their own.
+     */
+    private TreeSet<YearMonth> partitions() {
+        List<String> names = jdbcTemplate.queryForList(
+                "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid "
+                        + "WHERE i.inhparent = 'audit_logs'::regclass",
+                String.class);
+        TreeSet<YearMonth> months = new TreeSet<>();
+        for (String name : names) {
+            if (name.startsWith(PARTITION_PREFIX)) {
+                try {
+                    months.add(YearMonth.parse(name.substring(PARTITION_PREFIX.length()), PARTITION_SUFFIX));
+                } catch (DateTimeParseException e) {
+                    log.warn("Ignoring audit log partition {}", name);
+                }
+            }
+        }
+        return months;
+    }
+
+    static String partitionName(YearMonth month) {
+        return PARTITION_PREFIX + month.format(PARTITION_SUFFIX);
+    }
+
+    private static long size(Path file) {
+        try {
+            return Files.size(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void closeQuietly(BufferedReader reader) {
+        try {
+            reader.close();
+        } catch (IOException e) {
+            log.warn("Could not close audit segment: {}", e.getMessage());
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete audit segment {}: {}", file, e.getMessage());
+        }
+    }
+}
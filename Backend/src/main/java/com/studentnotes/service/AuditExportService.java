@@ -0,0 +1,244 @@
+package com.studentnotes.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.studentnotes.exception.ValidationException;
+import com.studentnotes.model.AuditLog;
+import com.studentnotes.model.User;
+import com.studentnotes.model.enums.AuditAction;
+import com.studentnotes.repository.AuditLogRepository;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+/**
+ * Streams audit history to a response body for compliance exports.
+ * <p>
+ * Rows come from a forward-only database cursor and are written as they
+ * arrive, each entity detached once written, so memory stays flat whether
+ * the export covers a day or a year. Unlike the paged listing there is no
+ * count query and no offset scan. Archived months come first, streamed from
+ * their segment files one at a time (see AuditArchiveService).
+ * </p>
+ */
+@Service
+public class AuditExportService {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditExportService.class);
+
+    /**
+     * Rows written between explicit flushes, so the client sees steady progress.
+     */
+    private static final int FLUSH_EVERY_ROWS = 1000;
+
+    /**
+     * Leading characters that make spreadsheet applications evaluate a cell.
+     */
+    private static final String FORMULA_TRIGGERS = "=+-@\t\r";
+
+    static final String[] COLUMNS = {
+            "id", "timestamp", "correlationId", "actorId", "actorEmail", "actorRole", "action",
+            "targetType", "targetId", "description", "previousState", "newState", "ipAddress" };
+
+    /**
+     * Supported export encodings.
+     */
+    public enum Format {
+        CSV("text/csv", "csv"),
+        NDJSON("application/x-ndjson", "ndjson");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public static Format fromParam(String value) {
+            try {
+                return Format.valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw ValidationException.invalidFormat("format", "csv or ndjson");
+            }
+        }
+    }
+
+    @Autowired
+    private AuditLogRepository auditLogRepository;
+
+    @Autowired
+    private AuditService auditService;
+
+    @Autowired
+    private AuditArchiveService auditArchiveService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    /**
+     * Writes every audit log matching the filters to {@code out}, oldest first,
+     * then records the export itself in the audit trail.
+     *
+     * @return number of rows written
+     */
+    public long export(User admin, Long actorId, AuditAction action, String targetType,
+            LocalDateTime fromDate, LocalDateTime toDate, Format format, OutputStream out) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+
+        Long rows = transaction.execute(status -> {
+            // Archived months are all older than what is left in the database
+            try (Stream<AuditLog> logs = Stream.concat(
+                    auditArchiveService.streamArchived(
+                            new AuditArchiveService.Filter(actorId, action, targetType, null, fromDate, toDate)),
+                    auditLogRepository.streamByFilters(actorId, action, targetType, fromDate, toDate))) {
+                return write(logs, format, out);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        String description = String.format(
+                "Exported %d audit logs as %s (actorId=%s, action=%s, targetType=%s, from=%s, to=%s)",
+                rows, format, actorId, action, targetType, fromDate, toDate);
+        auditService.logAction(AuditAction.AUDIT_LOGS_EXPORTED, admin, "AuditLog", AuditService.NO_TARGET_ID,
+                description);
+        log.info(description);
+
+        return rows;
+    }
+
+    // ==================== Writers ====================
+
+    long write(Stream<AuditLog> logs, Format format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        long rows = format == Format.CSV ? writeCsv(logs, writer) : writeNdjson(logs, writer);
+        writer.flush();
+        return rows;
+    }
+
+    private long writeCsv(Stream<AuditLog> logs, Writer writer) throws IOException {
+        writer.write(String.join(",", COLUMNS));
+        writer.write("\r\n");
+
+        long rows = 0;
+        for (AuditLog entry : (Iterable<AuditLog>) logs::iterator) {
+            Object[] values = values(entry);
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writer.write(csvField(values[i]));
+            }
+            writer.write("\r\n");
+            rows = afterRow(entry, writer, rows);
+        }
+        return rows;
+    }
+
+    private long writeNdjson(Stream<AuditLog> logs, Writer writer) throws IOException {
+        long rows = 0;
+        try (JsonGenerator json = objectMapper.getFactory().createGenerator(writer)) {
+            json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            json.setPrettyPrinter(new MinimalPrettyPrinter("\n"));
+
+            for (AuditLog entry : (Iterable<AuditLog>) logs::iterator) {
+                Object[] values = values(entry);
+                json.writeStartObject();
+                for (int i = 0; i < COLUMNS.length; i++) {
+                    json.writeFieldName(COLUMNS[i]);
+                    if (values[i] == null) {
+                        json.writeNull();
+                    } else if (values[i] instanceof Long number) {
+                        json.writeNumber(number);
+                    } else {
+                        json.writeString(values[i].toString());
+                    }
+                }
+                json.writeEndObject();
+                rows = afterRow(entry, json, rows);
+            }
+            json.flush();
+        }
+        if (rows > 0) {
+            writer.write('\n');
+        }
+        return rows;
+    }
+
+    /**
+     * Detaches the written entity so the persistence context does not grow
+     * with the export, and flushes periodically.
+     */
+    private long afterRow(AuditLog entry, Flushable output, long rows) throws IOException {
+        entityManager.detach(entry);
+        rows++;
+        if (rows % FLUSH_EVERY_ROWS == 0) {
+            output.flush();
+        }
+        return rows;
+    }
+
+    // ==================== Helper Methods ====================
+
+    private static Object[] values(AuditLog entry) {
+        return new Object[] {
+                entry.getId(), entry.getTimestamp(), entry.getCorrelationId(), entry.getActorId(),
+                entry.getActorEmail(), entry.getActorRole(), entry.getAction(), entry.getTargetType(),
+                entry.getTargetId(), entry.getDescription(), entry.getPreviousState(), entry.getNewState(),
+                entry.getIpAddress() };
+    }
+
+    /**
+     * RFC 4180 quoting: fields containing a comma, quote or line break are
+     * wrapped in quotes with embedded quotes doubled. Text that a spreadsheet
+     * would read as a formula (a leading {@code = + - @}, tab or carriage
+     * return) is prefixed with {@code '} first; descriptions and states carry
+     * user input, so an export must not execute it when opened.
+     */
+    static String csvField(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (value instanceof CharSequence && !text.isEmpty() && FORMULA_TRIGGERS.indexOf(text.charAt(0)) >= 0) {
+            text = "'" + text;
+        }
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
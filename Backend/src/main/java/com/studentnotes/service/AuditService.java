@@ -19,19 +19,32 @@ import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 /**
  * Service for creating and querying audit logs.
- * Audit logs are append-only and never modified or deleted.
+ * Audit logs are append-only and never modified or deleted. Months older
+ * than app.audit.hot-months move to segment files (see AuditArchiveService);
+ * the queries here read them too, more slowly.
  */
 @Service
 public class AuditService {
 
     private static final Logger log = LoggerFactory.getLogger(AuditService.class);
 
+    /**
+     * Target id for actions over a whole collection rather than one row, such
+     * as an export or a bulk compaction. Identity columns start at 1, so it
+     * never names a real entity; the description records the scope.
+     */
+    public static final long NO_TARGET_ID = 0L;
+
     @Autowired
     private AuditLogRepository auditLogRepository;
 
+    @Autowired
+    private AuditArchiveService auditArchiveService;
+
     /**
      * Logs an action synchronously within a nested independent transaction.
      * <p>
@@ -46,7 +59,8 @@ public class AuditService {
      * @param action      The specific domain action being captured.
      * @param actor       The authenticated user performing the action.
      * @param targetType  The string literal for the entity type (e.g., "Note").
-     * @param targetId    The database ID of the subject entity.
+     * @param targetId    The database ID of the subject entity, or
+     *                    {@link #NO_TARGET_ID} for collection-wide actions.
      * @param description A human-readable summary of the event.
      * @return The saved AuditLog entry.
      */
@@ -72,30 +86,61 @@ public class AuditService {
             String previousState,
             String newState) {
 
+        AuditLog auditLog = buildEntry(action, actor, targetType,
+                new BatchEntry(targetId, description, previousState, newState),
+                CorrelationIdFilter.getCurrentCorrelationId(), getClientIpAddress(), getUserAgent());
+
+        AuditLog saved = auditLogRepository.save(auditLog);
+
+        log.info("Audit: {} by {} on {}:{} - {}",
+                action, actor.getEmail(), targetType, targetId, description);
+
+        return saved;
+    }
+
+    /**
+     * One target of a batched audit write.
+     */
+    public record BatchEntry(Long targetId, String description, String previousState, String newState) {
+    }
+
+    /**
+     * Synthetic actor for entries written by background jobs, which have no
+     * authenticated user but still need the NOT NULL actor columns filled.
+     */
+    public static User systemActor() {
+        return User.builder()
+                .id(0L)
+                .email("system")
+                .name("System")
+                .role("SYSTEM")
+                .build();
+    }
+
+    /**
+     * Logs the same action against many targets in one transaction and one
+     * {@code saveAll}, instead of one REQUIRES_NEW transaction per entry.
+     * Same reliability guarantee as {@link #logAction}: entries survive a
+     * rollback of the calling transaction.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public List<AuditLog> logActions(AuditAction action, User actor, String targetType, List<BatchEntry> entries) {
+        if (entries.isEmpty()) {
+            return List.of();
+        }
+
+        // Request context is the same for every entry - resolve it once
         String correlationId = CorrelationIdFilter.getCurrentCorrelationId();
         String ipAddress = getClientIpAddress();
         String userAgent = getUserAgent();
 
-        AuditLog auditLog = AuditLog.builder()
-                .correlationId(correlationId)
-                .actorId(actor.getId())
-                .actorEmail(actor.getEmail())
-                .actorRole(actor.getRole())
-                .action(action)
-                .targetType(targetType)
-                .targetId(targetId)
-                .description(description)
-                .previousState(previousState)
-                .newState(newState)
-                .ipAddress(ipAddress)
-                .userAgent(userAgent)
-                .timestamp(LocalDateTime.now())
-                .build();
+        List<AuditLog> auditLogs = entries.stream()
+                .map(entry -> buildEntry(action, actor, targetType, entry, correlationId, ipAddress, userAgent))
+                .toList();
 
-        AuditLog saved = auditLogRepository.save(auditLog);
+        List<AuditLog> saved = auditLogRepository.saveAll(auditLogs);
 
-        log.info("Audit: {} by {} on {}:{} - {}",
-                action, actor.getEmail(), targetType, targetId, description);
+        log.info("Audit: {} x{} by {} on {}", action, saved.size(), actor.getEmail(), targetType);
 
         return saved;
     }
@@ -131,7 +176,9 @@ public class AuditService {
             LocalDateTime fromDate,
             LocalDateTime toDate,
             Pageable pageable) {
-        return auditLogRepository.findByFilters(actorId, action, targetType, fromDate, toDate, pageable);
+        return auditArchiveService.withArchived(
+                auditLogRepository.findByFilters(actorId, action, targetType, fromDate, toDate, pageable),
+                new AuditArchiveService.Filter(actorId, action, targetType, null, fromDate, toDate), pageable);
     }
 
     /**
@@ -139,7 +186,8 @@ public class AuditService {
      */
     @Transactional(readOnly = true)
     public Page<AuditLog> findRecent(Pageable pageable) {
-        return auditLogRepository.findRecent(pageable);
+        return auditArchiveService.withArchived(auditLogRepository.findRecent(pageable),
+                AuditArchiveService.Filter.ALL, pageable);
     }
 
     /**
@@ -147,7 +195,8 @@ public class AuditService {
      */
     @Transactional(readOnly = true)
     public Page<AuditLog> findByTarget(String targetType, Long targetId, Pageable pageable) {
-        return auditLogRepository.findByTarget(targetType, targetId, pageable);
+        return auditArchiveService.withArchived(auditLogRepository.findByTarget(targetType, targetId, pageable),
+                new AuditArchiveService.Filter(null, null, targetType, targetId, null, null), pageable);
     }
 
     /**
@@ -155,11 +204,31 @@ public class AuditService {
      */
     @Transactional(readOnly = true)
     public Page<AuditLog> findByActor(Long actorId, Pageable pageable) {
-        return auditLogRepository.findByActorId(actorId, pageable);
+        return auditArchiveService.withArchived(auditLogRepository.findByActorId(actorId, pageable),
+                new AuditArchiveService.Filter(actorId, null, null, null, null, null), pageable);
     }
 
     // ==================== Helper Methods ====================
 
+    private AuditLog buildEntry(AuditAction action, User actor, String targetType, BatchEntry entry,
+            String correlationId, String ipAddress, String userAgent) {
+        return AuditLog.builder()
+                .correlationId(correlationId)
+                .actorId(actor.getId())
+                .actorEmail(actor.getEmail())
+                .actorRole(actor.getRole())
+                .action(action)
+                .targetType(targetType)
+                .targetId(entry.targetId())
+                .description(entry.description())
+                .previousState(entry.previousState())
+                .newState(entry.newState())
+                .ipAddress(ipAddress)
+                .userAgent(userAgent)
+                .timestamp(LocalDateTime.now())
+                .build();
+    }
+
     private String getClientIpAddress() {
         try {
             ServletRequestAttributes attrs = (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
@@ -0,0 +1,226 @@
+package com.studentnotes.service;
+
+import com.studentnotes.dto.request.BulkNoteRequest;
+import com.studentnotes.dto.response.BulkOperationResponse;
+import com.studentnotes.event.NoteChangedEvent;
+import com.studentnotes.exception.AccessDeniedException;
+import com.studentnotes.exception.ConcurrentModificationException;
+import com.studentnotes.exception.ValidationException;
+import com.studentnotes.model.Note;
+import com.studentnotes.model.User;
+import com.studentnotes.model.enums.AuditAction;
+import com.studentnotes.model.enums.NoteStatus;
+import com.studentnotes.repository.NoteRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Applies one action (publish, archive, move, restore) to many notes at once.
+ * <p>
+ * <strong>Cost model:</strong> compared to N single-note calls, a bulk call
+ * does one SELECT for all notes, one permission check per distinct folder,
+ * JDBC-batched UPDATEs, one audit transaction, and one tree-cache eviction.
+ * </p>
+ * <p>
+ * <strong>Partial success:</strong> notes that are missing, not permitted, or
+ * in the wrong state are reported in {@code failed} and left untouched; all
+ * other notes are applied together in a single transaction.
+ * </p>
+ */
+@Service
+public class BulkNoteService {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkNoteService.class);
+
+    @Autowired
+    private NoteRepository noteRepository;
+
+    @Autowired
+    private PermissionService permissionService;
+
+    @Autowired
+    private AuditService auditService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private CacheInvalidationService cacheInvalidationService;
+
+    @Autowired
+    private FolderService folderService;
+
+    @Transactional
+    public BulkOperationResponse apply(User user, BulkNoteRequest request) {
+        BulkNoteRequest.Action action = request.getAction();
+        Set<String> publicIds = new LinkedHashSet<>(request.getNoteIds());
+        if (publicIds.size() > BulkNoteRequest.MAX_NOTES) {
+            throw new ValidationException(
+                    "At most " + BulkNoteRequest.MAX_NOTES + " notes per request", "TOO_MANY_NOTES");
+        }
+        if (action == BulkNoteRequest.Action.RESTORE && !user.isAdmin()) {
+            throw AccessDeniedException.insufficientRole("ADMIN");
+        }
+
+        String targetPath = null;
+        if (action == BulkNoteRequest.Action.MOVE) {
+            if (request.getTargetDepartment() == null || request.getTargetYear() == null
+                    || request.getTargetSubject() == null) {
+                throw ValidationException.requiredField("targetDepartment, targetYear and targetSubject");
+            }
+            targetPath = Note.folderPathOf(request.getTargetDepartment(), request.getTargetYear(),
+                    request.getTargetSection(), request.getTargetSubject());
+            permissionService.assertPermission(user, targetPath, PermissionService.PermissionType.WRITE);
+        }
+
+        Map<String, Note> notesById = noteRepository.findByPublicIdIn(publicIds).stream()
+                .collect(Collectors.toMap(Note::getPublicId, Function.identity()));
+
+        // Permission results memoized per folder for the duration of this call
+        Map<String, Boolean> manageByFolder = new HashMap<>();
+
+        List<Note> changed = new ArrayList<>();
+        List<AuditService.BatchEntry> auditEntries = new ArrayList<>();
+        List<NoteChangedEvent> events = new ArrayList<>();
+        List<BulkOperationResponse.FailureDto> failed = new ArrayList<>();
+
+        for (String publicId : publicIds) {
+            Note note = notesById.get(publicId);
+            if (note == null) {
+                failed.add(failure(publicId, "Note not found"));
+                continue;
+            }
+
+            // Owners may publish or move their own notes (as with single-note
+            // publish/update); everything else needs MANAGE on the folder
+            String sourcePath = note.getFolderPath();
+            boolean ownerAllowed = action == BulkNoteRequest.Action.PUBLISH || action == BulkNoteRequest.Action.MOVE;
+            boolean permitted = (ownerAllowed && isOwner(user, note)) || manageByFolder.computeIfAbsent(sourcePath,
+                    path -> permissionService.hasManagePermission(user, path));
+            if (!permitted) {
+                failed.add(failure(publicId, "No permission for folder: " + sourcePath));
+                continue;
+            }
+
+            String previousState = note.getStatus().name();
+            switch (action) {
+                case PUBLISH -> {
+                    if (note.getStatus() != NoteStatus.DRAFT) {
+                        failed.add(failure(publicId, "Only draft notes can be published. Current status: "
+                                + note.getStatus()));
+                        continue;
+                    }
+                    note.transitionTo(NoteStatus.PUBLISHED);
+                    events.add(NoteChangedEvent.updated(note));
+                }
+                case ARCHIVE, RESTORE -> {
+                    NoteStatus target = action == BulkNoteRequest.Action.ARCHIVE
+                            ? NoteStatus.ARCHIVED
+                            : NoteStatus.PUBLISHED;
+                    if (action == BulkNoteRequest.Action.RESTORE && note.getStatus() != NoteStatus.DELETED) {
+                        failed.add(failure(publicId, "Only deleted notes can be restored. Current status: "
+                                + note.getStatus()));
+                        continue;
+                    }
+                    if (!note.getStatus().canTransitionTo(target)) {
+                        failed.add(failure(publicId, String.format("Cannot transition note from %s to %s",
+                                note.getStatus(), target)));
+                        continue;
+                    }
+                    boolean wasInTree = note.getStatus().isInPublicTree();
+                    note.transitionTo(target);
+                    if (target == NoteStatus.ARCHIVED) {
+                        if (wasInTree) {
+                            events.add(NoteChangedEvent.removed(note));
+                        }
+                    } else {
+                        note.setDeletedAt(null);
+                        events.add(NoteChangedEvent.added(note));
+                    }
+                }
+                case MOVE -> {
+                    if (sourcePath.equals(targetPath)) {
+                        failed.add(failure(publicId, "Note is already in " + targetPath));
+                        continue;
+                    }
+                    String previousDepartment = note.getDepartment();
+                    note.setDepartment(request.getTargetDepartment());
+                    note.setYear(request.getTargetYear());
+                    note.setSection(request.getTargetSection());
+                    note.setSubject(request.getTargetSubject());
+                    folderService.placeNote(note);
+                    previousState = sourcePath;
+                    if (note.getStatus().isInPublicTree()) {
+                        events.add(NoteChangedEvent.updated(note, previousDepartment));
+                    }
+                }
+            }
+
+            note.setUpdatedAt(LocalDateTime.now());
+            changed.add(note);
+            auditEntries.add(new AuditService.BatchEntry(note.getId(),
+                    String.format("Bulk %s of note '%s'", action.name().toLowerCase(), note.getTitle()),
+                    previousState,
+                    action == BulkNoteRequest.Action.MOVE ? targetPath : note.getStatus().name()));
+        }
+
+        if (!changed.isEmpty()) {
+            try {
+                noteRepository.saveAllAndFlush(changed);
+            } catch (ObjectOptimisticLockingFailureException e) {
+                log.warn("Concurrent update detected during bulk {} by {}", action, user.getEmail());
+                throw ConcurrentModificationException.optimisticLock("Note");
+            }
+            auditService.logActions(toAuditAction(action), user, "Note", auditEntries);
+            events.forEach(eventPublisher::publishEvent);
+            cacheInvalidationService.invalidateNoteTree();
+        }
+
+        log.info("Bulk {} by {}: {} applied, {} failed", action, user.getEmail(), changed.size(), failed.size());
+
+        return BulkOperationResponse.builder()
+                .action(action)
+                .requested(publicIds.size())
+                .succeeded(changed.stream().map(Note::getPublicId).toList())
+                .failed(failed)
+                .build();
+    }
+
+    // ==================== Private Helper Methods ====================
+
+    private AuditAction toAuditAction(BulkNoteRequest.Action action) {
+        return switch (action) {
+            case PUBLISH -> AuditAction.NOTE_PUBLISHED;
+            case ARCHIVE -> AuditAction.NOTE_ARCHIVED;
+            case MOVE -> AuditAction.NOTE_MOVED;
+            case RESTORE -> AuditAction.NOTE_RESTORED;
+        };
+    }
+
+    private boolean isOwner(User user, Note note) {
+        return note.getUploadedByUserId() != null &&
+                note.getUploadedByUserId().equals(user.getId());
+    }
+
+    private BulkOperationResponse.FailureDto failure(String publicId, String reason) {
+        return BulkOperationResponse.FailureDto.builder()
+                .publicId(publicId)
+                .reason(reason)
+                .build();
+    }
+}
@@ -0,0 +1,32 @@
+package com.studentnotes.service;
+
+import com.studentnotes.event.CacheInvalidation;
+
+/**
+ * Transport for {@link CacheInvalidation}s between instances. Selected by
+ * {@code app.cache.invalidation-bus}: {@code postgres} (LISTEN/NOTIFY) or
+ * {@code loopback} (in-JVM, for tests and single-instance runs).
+ * <p>
+ * Delivery is best effort: a message can be lost, e.g. while a listener
+ * reconnects, but the bus must then call {@link Listener#onMessagesLost()}.
+ * </p>
+ */
+public interface CacheInvalidationBus {
+
+    /**
+     * Sends to every subscribed instance, possibly including the sender.
+     */
+    void publish(CacheInvalidation invalidation);
+
+    void subscribe(Listener listener);
+
+    interface Listener {
+
+        void onInvalidation(CacheInvalidation invalidation);
+
+        /**
+         * Invalidations may have been missed; everything cached is suspect.
+         */
+        void onMessagesLost();
+    }
+}
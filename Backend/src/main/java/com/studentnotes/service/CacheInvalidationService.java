@@ -0,0 +1,206 @@
+package com.studentnotes.service;
+
+import com.studentnotes.config.CacheNames;
+import com.studentnotes.event.CacheInvalidation;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Keeps per-instance caches consistent across instances.
+ * <p>
+ * {@link #invalidate} drops an entry here and on every peer, once the
+ * current transaction has committed: evicting earlier would let a
+ * concurrent reader cache the pre-commit state again. Invalidations made in
+ * one transaction are coalesced, so a bulk operation sends one message per
+ * cache entry, not one per note.
+ * </p>
+ * <p>
+ * Incoming messages are applied to Spring caches through the
+ * {@link CacheManager}, or to caches that registered a handler (see
+ * {@link #registerHandler}). Each carries a version from its sender; one
+ * that arrives after a newer message for the same entry is ignored. When the
+ * bus reports lost messages, every cache is cleared.
+ * </p>
+ */
+@Service
+public class CacheInvalidationService implements CacheInvalidationBus.Listener {
+
+    private static final Logger log = LoggerFactory.getLogger(CacheInvalidationService.class);
+
+    /**
+     * A cache entry to drop; a null key means the whole cache.
+     */
+    record Target(String cache, String key) {
+    }
+
+    @Autowired
+    private CacheInvalidationBus bus;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private final String origin = UUID.randomUUID().toString();
+    private final AtomicLong versions = new AtomicLong();
+
+    // Highest version applied per origin, cache and key
+    private final Map<String, Long> applied = new ConcurrentHashMap<>();
+
+    private final Map<String, Consumer<String>> handlers = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void subscribe() {
+        bus.subscribe(this);
+    }
+
+    /**
+     * Routes invalidations of a cache that is not a Spring cache to
+     * {@code handler}, which receives the key, or null for everything.
+     */
+    public void registerHandler(String cacheName, Consumer<String> handler) {
+        handlers.put(cacheName, handler);
+    }
+
+    // ==================== Sending ====================
+
+    /**
+     * A note entered, left, moved within or changed in the public tree. The
+     * admin overview counts notes by status, so it goes too.
+     */
+    public void invalidateNoteTree() {
+        invalidate(CacheNames.PUBLIC_NOTE_TREE);
+        invalidate(CacheNames.ADMIN_OVERVIEW);
+    }
+
+    /**
+     * Drops the whole cache here and on every peer after commit.
+     */
+    public void invalidate(String cacheName) {
+        invalidate(cacheName, null);
+    }
+
+    /**
+     * Drops one entry (null: the whole cache) here and on every peer, after
+     * the current transaction commits, or now if there is none. Nothing is
+     * sent if the transaction rolls back.
+     */
+    public void invalidate(String cacheName, String key) {
+        Target target = new Target(cacheName, key);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evictLocally(target);
+            broadcast(target);
+            return;
+        }
+        pendingInvalidations().targets.add(target);
+    }
+
+    /**
+     * Tells peers to drop an entry that this instance has already dropped,
+     * e.g. from a committed-event listener. Sent immediately.
+     */
+    public void broadcast(String cacheName, String key) {
+        broadcast(new Target(cacheName, key));
+    }
+
+    private void broadcast(Target target) {
+        CacheInvalidation invalidation = new CacheInvalidation(origin, versions.incrementAndGet(), target.cache(),
+                target.key());
+        try {
+            bus.publish(invalidation);
+        } catch (Exception e) {
+            // Peers keep the stale entry until their next local change or reconnect
+            log.error("Failed to publish {}: {}", invalidation, e.getMessage());
+        }
+    }
+
+    private PendingInvalidations pendingInvalidations() {
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof PendingInvalidations pending && pending.owner() == this) {
+                return pending;
+            }
+        }
+        PendingInvalidations pending = new PendingInvalidations();
+        TransactionSynchronizationManager.registerSynchronization(pending);
+        return pending;
+    }
+
+    /**
+     * Invalidations collected during one transaction.
+     */
+    private final class PendingInvalidations implements TransactionSynchronization {
+
+        private final Set<Target> targets = new LinkedHashSet<>();
+
+        CacheInvalidationService owner() {
+            return CacheInvalidationService.this;
+        }
+
+        @Override
+        public void afterCommit() {
+            targets.forEach(CacheInvalidationService.this::evictLocally);
+            targets.forEach(CacheInvalidationService.this::broadcast);
+        }
+    }
+
+    // ==================== Receiving ====================
+
+    @Override
+    public void onInvalidation(CacheInvalidation invalidation) {
+        if (origin.equals(invalidation.origin())) {
+            return;
+        }
+        String entry = invalidation.origin() + "|" + invalidation.cache() + "|"
+                + (invalidation.key() != null ? invalidation.key() : "*");
+        AtomicBoolean newer = new AtomicBoolean();
+        applied.compute(entry, (k, previous) -> {
+            if (previous != null && previous >= invalidation.version()) {
+                return previous;
+            }
+            newer.set(true);
+            return invalidation.version();
+        });
+        if (!newer.get()) {
+            log.debug("Ignoring late {}", invalidation);
+            return;
+        }
+        evictLocally(new Target(invalidation.cache(), invalidation.key()));
+    }
+
+    @Override
+    public void onMessagesLost() {
+        cacheManager.getCacheNames().forEach(name -> evictLocally(new Target(name, null)));
+        handlers.keySet().forEach(name -> evictLocally(new Target(name, null)));
+    }
+
+    private void evictLocally(Target target) {
+        Consumer<String> handler = handlers.get(target.cache());
+        if (handler != null) {
+            handler.accept(target.key());
+            return;
+        }
+        Cache cache = cacheManager.getCache(target.cache());
+        if (cache == null) {
+            return;
+        }
+        if (target.key() == null) {
+            cache.clear();
+        } else {
+            cache.evict(target.key());
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.studentnotes.service;
+
+import com.studentnotes.dto.response.CompactionReportResponse;
+import com.studentnotes.exception.BusinessRuleViolationException;
+import com.studentnotes.model.User;
+import com.studentnotes.model.enums.AuditAction;
+import com.studentnotes.util.ContentCodec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Compresses version bodies stored before compression was introduced.
+ * <p>
+ * New versions are compressed on write by the entity converter; rows
+ * migrated from the old TEXT column keep the plain tag until this runs.
+ * Rows are read in id-ordered keyset chunks as raw bytes (the entity
+ * converter would decode them, and an unchanged string is never written
+ * back), re-encoded, and written in one batch per chunk. Versions are
+ * immutable, so there is nothing to race with and a rerun is a no-op for
+ * rows already done.
+ * </p>
+ */
+@Service
+public class ContentCompactionService {
+
+    private static final Logger log = LoggerFactory.getLogger(ContentCompactionService.class);
+
+    private static final String SELECT_CHUNK = "SELECT id, content FROM note_versions "
+            + "WHERE id > ? AND octet_length(content) > ? ORDER BY id LIMIT ?";
+
+    private static final String UPDATE_CONTENT = "UPDATE note_versions SET content = ? WHERE id = ?";
+
+    record StoredBody(long id, byte[] content) {
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private AuditService auditService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.compaction.chunk-size:500}")
+    private int chunkSize = 500;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    /**
+     * Compresses every plain version body above the codec threshold.
+     *
+     * @throws BusinessRuleViolationException if a compaction is already running here
+     */
+    public CompactionReportResponse compactVersions(User admin) {
+        if (!running.compareAndSet(false, true)) {
+            throw BusinessRuleViolationException.operationInProgress("Version compaction");
+        }
+        try {
+            CompactionReportResponse report = compact();
+            String description = String.format("Compressed %d of %d note versions: %d -> %d bytes in %d ms",
+                    report.getRowsCompressed(), report.getRowsScanned(), report.getBytesBefore(),
+                    report.getBytesAfter(), report.getDurationMs());
+            auditService.logAction(AuditAction.NOTE_VERSIONS_COMPACTED, admin, "NoteVersion", AuditService.NO_TARGET_ID,
+                    description);
+            log.info(description);
+            return report;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private CompactionReportResponse compact() {
+        long started = System.currentTimeMillis();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        CompactionReportResponse report = new CompactionReportResponse();
+        long afterId = 0;
+
+        while (true) {
+            long cursor = afterId;
+            List<StoredBody> chunk = transaction.execute(status -> {
+                List<StoredBody> rows = jdbcTemplate.query(SELECT_CHUNK,
+                        (rs, rowNum) -> new StoredBody(rs.getLong("id"), rs.getBytes("content")),
+                        cursor, ContentCodec.COMPRESSION_THRESHOLD, chunkSize);
+                compressChunk(rows, report);
+                return rows;
+            });
+            if (chunk == null || chunk.isEmpty()) {
+                break;
+            }
+            report.setRowsScanned(report.getRowsScanned() + chunk.size());
+            afterId = chunk.get(chunk.size() - 1).id();
+            if (chunk.size() < chunkSize) {
+                break;
+            }
+        }
+
+        report.setDurationMs(System.currentTimeMillis() - started);
+        return report;
+    }
+
+    private void compressChunk(List<StoredBody> rows, CompactionReportResponse report) {
+        List<Object[]> updates = new ArrayList<>();
+        for (StoredBody row : rows) {
+            if (!ContentCodec.isCompressible(row.content())) {
+                continue;
+            }
+            byte[] encoded = ContentCodec.encode(ContentCodec.decode(row.content()));
+            if (encoded[0] == ContentCodec.TAG_PLAIN) {
+                // Did not shrink; leave as is
+                continue;
+            }
+            updates.add(new Object[] { encoded, row.id() });
+            report.setRowsCompressed(report.getRowsCompressed() + 1);
+            report.setBytesBefore(report.getBytesBefore() + row.content().length);
+            report.setBytesAfter(report.getBytesAfter() + encoded.length);
+        }
+        if (!updates.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE_CONTENT, updates);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.studentnotes.service;
+
+import com.studentnotes.dto.response.DeletionRequestNotificationResponse;
+import com.studentnotes.event.DeletionRequestChangedEvent;
+import com.studentnotes.model.enums.DeletionRequestStatus;
+import com.studentnotes.repository.DeletionRequestRepository;
+import com.studentnotes.util.SseBroadcaster;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Push channel for the admin deletion-request queue.
+ * <p>
+ * <strong>Pending count:</strong> kept in memory. Seeded from the database at
+ * startup, adjusted by committed {@link DeletionRequestChangedEvent}s, and
+ * re-synced periodically to heal drift (e.g. changes made by another instance
+ * or directly in the database). Idle admin dashboards therefore cost one count
+ * query per resync interval in total, not one per open tab per poll.
+ * </p>
+ */
+@Service
+public class DeletionRequestNotificationService {
+
+    private static final Logger log = LoggerFactory.getLogger(DeletionRequestNotificationService.class);
+
+    private static final long EMITTER_TIMEOUT_MS = 30 * 60 * 1000L; // 30 minutes
+
+    @Autowired
+    private DeletionRequestRepository deletionRequestRepository;
+
+    private final SseBroadcaster broadcaster = new SseBroadcaster("deletion-requests");
+
+    private final AtomicLong pendingCount = new AtomicLong();
+    private volatile boolean seeded = false;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seedPendingCount() {
+        try {
+            resyncPendingCount();
+        } catch (Exception e) {
+            log.error("Failed to seed pending deletion count: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Re-reads the pending count from the database. Pushes an update only if it
+     * differed from the in-memory value. Runs as the
+     * {@code deletion-count-resync} job on every instance.
+     *
+     * @return 1 if the in-memory count was corrected, otherwise 0
+     */
+    public int resyncPendingCount() {
+        long actual = deletionRequestRepository.countByStatus(DeletionRequestStatus.PENDING);
+        long previous = pendingCount.getAndSet(actual);
+        boolean wasSeeded = seeded;
+        seeded = true;
+        if (wasSeeded && previous != actual) {
+            log.info("Pending deletion count re-synced: {} -> {}", previous, actual);
+            broadcaster.broadcast(toEvent(snapshot(actual)));
+            return 1;
+        }
+        return 0;
+    }
+
+    /**
+     * Applies a committed queue change and pushes it to subscribed admins.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDeletionRequestChanged(DeletionRequestChangedEvent event) {
+        long count = Math.max(0, pendingCount.addAndGet(event.getType().pendingDelta()));
+
+        broadcaster.broadcast(toEvent(DeletionRequestNotificationResponse.builder()
+                .pendingCount(count)
+                .change(event.getType())
+                .request(event.getRequest())
+                .sentAt(LocalDateTime.now())
+                .build()));
+    }
+
+    /**
+     * Opens a notification stream. The first event is the current pending count.
+     */
+    public SseEmitter subscribe() {
+        SseEmitter emitter = new SseEmitter(EMITTER_TIMEOUT_MS);
+        broadcaster.register(emitter, List.of(toEvent(snapshot(pendingCount.get()))));
+        return emitter;
+    }
+
+    /**
+     * In-memory pending count, or empty until the first successful seed.
+     */
+    public OptionalLong getPendingCount() {
+        return seeded ? OptionalLong.of(pendingCount.get()) : OptionalLong.empty();
+    }
+
+    @Scheduled(fixedRate = 25_000)
+    public void heartbeat() {
+        broadcaster.heartbeat();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        broadcaster.shutdown();
+    }
+
+    private DeletionRequestNotificationResponse snapshot(long count) {
+        return DeletionRequestNotificationResponse.builder()
+                .pendingCount(count)
+                .sentAt(LocalDateTime.now())
+                .build();
+    }
+
+    private SseBroadcaster.Event toEvent(DeletionRequestNotificationResponse notification) {
+        return new SseBroadcaster.Event(null, "pending", notification);
+    }
+}
@@ -1,10 +1,17 @@
 package com.studentnotes.service;
 
 import com.studentnotes.config.CorrelationIdFilter;
+import com.studentnotes.dto.request.BulkResolveDeletionRequest;
 import com.studentnotes.dto.request.CreateDeletionRequest;
+import com.studentnotes.dto.response.BulkOperationResponse;
+import com.studentnotes.dto.response.BulkResolutionResponse;
 import com.studentnotes.dto.response.DeletionRequestResponse;
+import com.studentnotes.event.DeletionRequestChangedEvent;
+import com.studentnotes.event.NoteChangedEvent;
 import com.studentnotes.exception.BusinessRuleViolationException;
+import com.studentnotes.exception.ConcurrentModificationException;
 import com.studentnotes.exception.ResourceNotFoundException;
+import com.studentnotes.exception.ValidationException;
 import com.studentnotes.model.DeletionRequest;
 import com.studentnotes.model.Note;
 import com.studentnotes.model.User;
@@ -16,12 +23,20 @@ import com.studentnotes.repository.NoteRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Service for managing deletion requests.
@@ -41,9 +56,16 @@ public class DeletionRequestService {
     @Autowired
     private AuditService auditService;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private CacheInvalidationService cacheInvalidationService;
+
     /**
      * Creates a new deletion request for a note.
      * Enforces: one active request per note, duplicate rejection.
+     * The note drops out of the published export while the request is pending.
      */
     @Transactional
     public DeletionRequest createRequest(User teacher, String notePublicId, CreateDeletionRequest request) {
@@ -88,6 +110,11 @@ public class DeletionRequestService {
                 note.getId(),
                 String.format("Deletion requested for note '%s': %s", note.getTitle(), request.getReason()));
 
+        eventPublisher.publishEvent(NoteChangedEvent.updated(note));
+        eventPublisher.publishEvent(new DeletionRequestChangedEvent(
+                DeletionRequestChangedEvent.ChangeType.CREATED, toResponse(saved)));
+        cacheInvalidationService.invalidateNoteTree();
+
         log.info("Deletion request {} created by {} for note {}",
                 saved.getPublicId(), teacher.getEmail(), notePublicId);
 
@@ -97,6 +124,7 @@ public class DeletionRequestService {
     /**
      * Approves a deletion request.
      * Idempotent: double-clicks are handled safely.
+     * The note leaves the public tree, so the cached tree is invalidated.
      */
     @Transactional
     public DeletionRequest approveRequest(User admin, String requestPublicId) {
@@ -136,6 +164,11 @@ public class DeletionRequestService {
                 previousStatus,
                 NoteStatus.DELETED.name());
 
+        eventPublisher.publishEvent(NoteChangedEvent.removed(note));
+        eventPublisher.publishEvent(new DeletionRequestChangedEvent(
+                DeletionRequestChangedEvent.ChangeType.APPROVED, toResponse(saved)));
+        cacheInvalidationService.invalidateNoteTree();
+
         log.info("Deletion request {} approved by {} - note {} soft deleted",
                 requestPublicId, admin.getEmail(), note.getPublicId());
 
@@ -145,6 +178,7 @@ public class DeletionRequestService {
     /**
      * Rejects a deletion request.
      * Idempotent: double-clicks are handled safely.
+     * The note is published again, so the published export is refreshed.
      */
     @Transactional
     public DeletionRequest rejectRequest(User admin, String requestPublicId, String rejectionReason) {
@@ -183,12 +217,135 @@ public class DeletionRequestService {
                 previousStatus,
                 NoteStatus.PUBLISHED.name());
 
+        eventPublisher.publishEvent(NoteChangedEvent.updated(note));
+        eventPublisher.publishEvent(new DeletionRequestChangedEvent(
+                DeletionRequestChangedEvent.ChangeType.REJECTED, toResponse(saved)));
+        cacheInvalidationService.invalidateNoteTree();
+
         log.info("Deletion request {} rejected by {} - reason: {}",
                 requestPublicId, admin.getEmail(), rejectionReason);
 
         return saved;
     }
 
+    /**
+     * Approves or rejects many deletion requests in one transaction.
+     * <p>
+     * <strong>Cost model:</strong> one fetch-join SELECT for all requests, two
+     * set-based UPDATEs (requests, notes), one batched audit write - instead of
+     * a load, two saves and a REQUIRES_NEW audit transaction per request.
+     * </p>
+     * <p>
+     * <strong>Idempotency:</strong> same rules as the single-request calls,
+     * applied per request. Requests already resolved with this call's
+     * idempotency key count as succeeded; resolved by anyone else, they are
+     * reported as failed. If another admin resolves one of the selected pending
+     * requests mid-flight, the whole batch rolls back with a
+     * {@link ConcurrentModificationException} and can be retried safely.
+     * </p>
+     */
+    @Transactional
+    public BulkResolutionResponse resolveRequests(User admin, BulkResolveDeletionRequest bulkRequest) {
+        String idempotencyKey = CorrelationIdFilter.getCurrentCorrelationId();
+        boolean approve = bulkRequest.getDecision() == BulkResolveDeletionRequest.Decision.APPROVE;
+        DeletionRequestStatus targetStatus = approve ? DeletionRequestStatus.APPROVED : DeletionRequestStatus.REJECTED;
+        if (!approve && (bulkRequest.getReason() == null || bulkRequest.getReason().isBlank())) {
+            throw ValidationException.requiredField("reason");
+        }
+
+        Set<String> publicIds = new LinkedHashSet<>(bulkRequest.getRequestIds());
+        Map<String, DeletionRequest> requestsById = deletionRequestRepository
+                .findWithDetailsByPublicIdIn(publicIds).stream()
+                .collect(Collectors.toMap(DeletionRequest::getPublicId, Function.identity()));
+
+        List<DeletionRequest> toResolve = new ArrayList<>();
+        List<String> succeeded = new ArrayList<>();
+        List<BulkOperationResponse.FailureDto> failed = new ArrayList<>();
+
+        for (String publicId : publicIds) {
+            DeletionRequest request = requestsById.get(publicId);
+            if (request == null) {
+                failed.add(failure(publicId, "Deletion request not found"));
+            } else if (request.isResolved()) {
+                if (idempotencyKey.equals(request.getResolutionIdempotencyKey())
+                        && request.getStatus() == targetStatus) {
+                    succeeded.add(publicId);
+                } else {
+                    failed.add(failure(publicId, "Deletion request has already been resolved"));
+                }
+            } else if (request.getNote().getStatus() != NoteStatus.DELETE_PENDING) {
+                failed.add(failure(publicId, "Note is not awaiting deletion. Current status: "
+                        + request.getNote().getStatus()));
+            } else {
+                toResolve.add(request);
+            }
+        }
+
+        if (!toResolve.isEmpty()) {
+            LocalDateTime now = LocalDateTime.now();
+            List<Long> requestIds = toResolve.stream().map(DeletionRequest::getId).toList();
+            List<Long> noteIds = toResolve.stream().map(r -> r.getNote().getId()).toList();
+
+            int resolved = deletionRequestRepository.resolvePending(requestIds, targetStatus, admin, now,
+                    approve ? null : bulkRequest.getReason(), idempotencyKey);
+            int notesUpdated = approve
+                    ? noteRepository.markDeletedFromPending(noteIds, now)
+                    : noteRepository.republishFromPending(noteIds, now);
+            if (resolved != toResolve.size() || notesUpdated != toResolve.size()) {
+                log.warn("Bulk resolution by {} lost a race ({} of {} requests, {} notes)",
+                        admin.getEmail(), resolved, toResolve.size(), notesUpdated);
+                throw ConcurrentModificationException.optimisticLock("DeletionRequest");
+            }
+
+            // Mirror the committed state on the (now detached) entities for audit,
+            // events and the response
+            List<AuditService.BatchEntry> auditEntries = new ArrayList<>();
+            for (DeletionRequest request : toResolve) {
+                Note note = request.getNote();
+                String previousStatus = note.getStatus().name();
+                if (approve) {
+                    request.approve(admin, idempotencyKey);
+                    note.transitionTo(NoteStatus.DELETED);
+                } else {
+                    request.reject(admin, bulkRequest.getReason(), idempotencyKey);
+                    note.transitionTo(NoteStatus.PUBLISHED);
+                }
+
+                auditEntries.add(new AuditService.BatchEntry(request.getId(),
+                        approve
+                                ? String.format("Approved deletion of note '%s' (requested by %s)",
+                                        note.getTitle(), request.getTeacher().getEmail())
+                                : String.format("Rejected deletion of note '%s': %s",
+                                        note.getTitle(), bulkRequest.getReason()),
+                        previousStatus,
+                        note.getStatus().name()));
+
+                eventPublisher.publishEvent(approve
+                        ? NoteChangedEvent.removed(note)
+                        : NoteChangedEvent.updated(note));
+                eventPublisher.publishEvent(new DeletionRequestChangedEvent(
+                        approve ? DeletionRequestChangedEvent.ChangeType.APPROVED
+                                : DeletionRequestChangedEvent.ChangeType.REJECTED,
+                        toResponse(request)));
+                succeeded.add(request.getPublicId());
+            }
+
+            auditService.logActions(approve ? AuditAction.DELETION_APPROVED : AuditAction.DELETION_REJECTED,
+                    admin, "DeletionRequest", auditEntries);
+            cacheInvalidationService.invalidateNoteTree();
+        }
+
+        log.info("Bulk {} by {}: {} resolved, {} failed",
+                bulkRequest.getDecision(), admin.getEmail(), toResolve.size(), failed.size());
+
+        return BulkResolutionResponse.builder()
+                .decision(bulkRequest.getDecision())
+                .requested(publicIds.size())
+                .succeeded(succeeded)
+                .failed(failed)
+                .build();
+    }
+
     /**
      * Finds all pending deletion requests with pagination.
      */
@@ -270,4 +427,11 @@ public class DeletionRequestService {
                 .resolution(resolution)
                 .build();
     }
+
+    private BulkOperationResponse.FailureDto failure(String publicId, String reason) {
+        return BulkOperationResponse.FailureDto.builder()
+                .publicId(publicId)
+                .reason(reason)
+                .build();
+    }
 }
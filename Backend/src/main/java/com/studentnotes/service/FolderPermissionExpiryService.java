@@ -0,0 +1,108 @@
+package com.studentnotes.service;
+
+import com.studentnotes.model.FolderPermission;
+import com.studentnotes.model.enums.AuditAction;
+import com.studentnotes.repository.FolderPermissionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Background sweeper that deactivates folder permissions past their expiry.
+ * <p>
+ * Permission checks already ignore expired grants, so this is housekeeping:
+ * it flips {@code isActive} so the rows drop out of the active-grant index,
+ * and records one {@link AuditAction#FOLDER_PERMISSION_EXPIRED} entry per
+ * grant. Runs on a single instance at a time (see {@link JobService}) and
+ * works in bounded chunks, each in its own short transaction, so a large
+ * backlog never holds long locks.
+ * </p>
+ */
+@Service
+public class FolderPermissionExpiryService {
+
+    private static final Logger log = LoggerFactory.getLogger(FolderPermissionExpiryService.class);
+
+    @Autowired
+    private FolderPermissionRepository folderPermissionRepository;
+
+    @Autowired
+    private AuditService auditService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.permissions.expiry-sweep-chunk-size:500}")
+    private int chunkSize = 500;
+
+    @Value("${app.permissions.expiry-sweep-max-chunks:20}")
+    private int maxChunksPerRun = 20;
+
+    /**
+     * Entry point of the {@code folder-permission-expiry} job, which runs on
+     * one instance at a time.
+     *
+     * @return number of grants deactivated
+     */
+    public int sweepExpired() {
+        int expired = sweep(LocalDateTime.now());
+        if (expired > 0) {
+            log.info("Deactivated {} expired folder permissions", expired);
+        }
+        return expired;
+    }
+
+    /**
+     * Deactivates up to {@code maxChunksPerRun} chunks of grants expired as of
+     * {@code now}. Anything left over is picked up by the next run.
+     *
+     * @return number of grants deactivated
+     */
+    int sweep(LocalDateTime now) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        int total = 0;
+
+        for (int chunk = 0; chunk < maxChunksPerRun; chunk++) {
+            // Always page 0: the previous chunk is no longer active
+            List<FolderPermission> expired = transaction.execute(status -> {
+                List<FolderPermission> batch = folderPermissionRepository.findExpired(now,
+                        PageRequest.of(0, chunkSize));
+                if (!batch.isEmpty()) {
+                    folderPermissionRepository.deactivate(
+                            batch.stream().map(FolderPermission::getId).toList());
+                }
+                return batch;
+            });
+
+            if (expired == null || expired.isEmpty()) {
+                break;
+            }
+
+            auditService.logActions(AuditAction.FOLDER_PERMISSION_EXPIRED, AuditService.systemActor(),
+                    "FolderPermission", expired.stream().map(this::toAuditEntry).toList());
+
+            total += expired.size();
+            if (expired.size() < chunkSize) {
+                break;
+            }
+        }
+        return total;
+    }
+
+    private AuditService.BatchEntry toAuditEntry(FolderPermission permission) {
+        return new AuditService.BatchEntry(
+                permission.getId(),
+                "Permission on '" + permission.getFolderPath() + "' for user " + permission.getUserId()
+                        + " expired at " + permission.getExpiresAt(),
+                "ACTIVE",
+                "EXPIRED");
+    }
+}
@@ -0,0 +1,172 @@
+package com.studentnotes.service;
+
+import com.studentnotes.exception.ValidationException;
+import com.studentnotes.model.Folder;
+import com.studentnotes.model.Note;
+import com.studentnotes.repository.FolderRepository;
+import com.studentnotes.util.FolderPaths;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Maps folder paths to {@link Folder} rows and their integer ids.
+ * <p>
+ * <strong>Caching:</strong> there is one row per folder and rows never
+ * change, so every folder looked up is kept in memory for good and
+ * permission checks resolve paths to ids without a query. A path that is not
+ * found is looked up again next time: another instance may create it at any
+ * moment.
+ * </p>
+ * <p>
+ * <strong>Creation:</strong> {@link #resolve} inserts missing folders,
+ * parents first, in a transaction of their own, so the caller's transaction
+ * never holds a lock on a new folder row. When two callers race to create
+ * the same folder, the loser's insert fails on the unique path and it reads
+ * the winner's row instead.
+ * </p>
+ */
+@Service
+public class FolderService {
+
+    private static final Logger log = LoggerFactory.getLogger(FolderService.class);
+
+    private static final int CREATE_ATTEMPTS = 3;
+
+    @Autowired
+    private FolderRepository folderRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final Map<String, Folder> byPath = new ConcurrentHashMap<>();
+
+    /**
+     * The folder at {@code path}, created along with any missing ancestors.
+     *
+     * @throws ValidationException if the path is empty
+     */
+    public Folder resolve(String path) {
+        String normalized = FolderPaths.normalize(path);
+        Folder cached = byPath.get(normalized);
+        if (cached != null) {
+            return cached;
+        }
+        if (normalized.isEmpty()) {
+            throw ValidationException.requiredField("folder path");
+        }
+
+        List<String> chain = FolderPaths.selfAndAncestors(normalized);
+        for (int attempt = 1; ; attempt++) {
+            Map<String, Folder> existing = lookup(chain);
+            if (existing.size() == chain.size()) {
+                return existing.get(normalized);
+            }
+            try {
+                return create(chain, existing);
+            } catch (DataIntegrityViolationException e) {
+                if (attempt == CREATE_ATTEMPTS) {
+                    throw e;
+                }
+                log.debug("Folder {} created concurrently, reading it back", normalized);
+            }
+        }
+    }
+
+    /**
+     * Points {@code note} at the folder its hierarchy fields name, creating
+     * it if needed. Called whenever those fields are set.
+     */
+    public void placeNote(Note note) {
+        note.setFolder(resolve(Note.folderPathOf(note.getDepartment(), note.getYear(), note.getSection(),
+                note.getSubject())));
+    }
+
+    /**
+     * Ids of the existing folders among {@code path} and its ancestors, root
+     * first. Any grant covering the path is on one of these.
+     */
+    public List<Integer> selfAndAncestorIds(String path) {
+        List<String> chain = FolderPaths.selfAndAncestors(path);
+        Map<String, Folder> existing = lookup(chain);
+        List<Integer> ids = new ArrayList<>(existing.size());
+        for (String folderPath : chain) {
+            Folder folder = existing.get(folderPath);
+            if (folder != null) {
+                ids.add(folder.getId());
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Ids of the folder at {@code path} and every folder below it; empty if
+     * there is no such folder. Always read from the database, since folders
+     * created elsewhere would be missed otherwise.
+     */
+    public List<Integer> subtreeIds(String path) {
+        String normalized = FolderPaths.normalize(path);
+        return normalized.isEmpty() ? List.of() : folderRepository.findSubtreeIds(normalized);
+    }
+
+    // ==================== Private Helper Methods ====================
+
+    private Map<String, Folder> lookup(List<String> paths) {
+        Map<String, Folder> found = new HashMap<>();
+        List<String> missing = new ArrayList<>();
+        for (String path : paths) {
+            Folder folder = byPath.get(path);
+            if (folder != null) {
+                found.put(path, folder);
+            } else {
+                missing.add(path);
+            }
+        }
+        if (!missing.isEmpty()) {
+            for (Folder folder : folderRepository.findByPathIn(missing)) {
+                byPath.put(folder.getPath(), folder);
+                found.put(folder.getPath(), folder);
+            }
+        }
+        return found;
+    }
+
+    private Folder create(List<String> chain, Map<String, Folder> existing) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        List<Folder> created = new ArrayList<>();
+        Folder folder = transaction.execute(status -> {
+            Folder parent = null;
+            for (int depth = 1; depth <= chain.size(); depth++) {
+                String path = chain.get(depth - 1);
+                Folder current = existing.get(path);
+                if (current == null) {
+                    current = folderRepository.saveAndFlush(Folder.builder()
+                            .parentId(parent != null ? parent.getId() : null)
+                            .depth(depth)
+                            .name(path.substring(path.lastIndexOf(FolderPaths.SEPARATOR) + 1))
+                            .path(path)
+                            .build());
+                    created.add(current);
+                }
+                parent = current;
+            }
+            return parent;
+        });
+        // Cached only once committed, so no one sees an id that may roll back
+        created.forEach(f -> byPath.put(f.getPath(), f));
+        log.info("Created folder {}", folder.getPath());
+        return folder;
+    }
+}
@@ -0,0 +1,264 @@
+package com.studentnotes.service;
+
+import com.studentnotes.model.IdempotencyKey;
+import com.studentnotes.repository.IdempotencyKeyRepository;
+import com.studentnotes.util.ContentHashes;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Store behind the {@code Idempotency-Key} header (see IdempotencyFilter).
+ * <p>
+ * <strong>Claim:</strong> before a write runs, its key is claimed by
+ * inserting a pending row, under a row lock, in a short transaction of its
+ * own. A concurrent retry then sees the claim and is turned away instead of
+ * running the write a second time, on any instance. A pending claim older
+ * than {@link #PENDING_TIMEOUT} is treated as abandoned by a crashed request
+ * and can be claimed again.
+ * </p>
+ * <p>
+ * <strong>Replay:</strong> a successful response is stored on the row and
+ * returned for every retry until the key expires. Completed entries are also
+ * kept in a bounded in-memory LRU, since retries tend to follow the original
+ * within seconds; they never change, so the copy cannot go stale. Failed
+ * writes release their claim so the client can retry them.
+ * </p>
+ */
+@Service
+public class IdempotencyService {
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyService.class);
+
+    static final Duration PENDING_TIMEOUT = Duration.ofMinutes(5);
+
+    public enum Outcome {
+        /** The caller holds the claim and must complete or abandon it. */
+        ACQUIRED,
+        /** The key has a stored response; send it back. */
+        REPLAY,
+        /** Another request with this key is still running. */
+        IN_PROGRESS,
+        /** The key was used for a different request. */
+        MISMATCH
+    }
+
+    /**
+     * @param headers the response headers worth replaying, by name
+     */
+    public record StoredResponse(int status, String contentType, Map<String, String> headers, byte[] body) {
+    }
+
+    public record Claim(Outcome outcome, String id, StoredResponse response) {
+    }
+
+    private record Completed(String requestHash, StoredResponse response, LocalDateTime expiresAt) {
+    }
+
+    @Autowired
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.idempotency.ttl-hours:24}")
+    private long ttlHours = 24;
+
+    @Value("${app.idempotency.cache-size:10000}")
+    private int cacheSize = 10000;
+
+    @Value("${app.idempotency.max-cached-body-bytes:65536}")
+    private int maxCachedBodyBytes = 65536;
+
+    private final Map<String, Completed> completed = Collections.synchronizedMap(
+            new LinkedHashMap<>(256, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Completed> eldest) {
+                    return size() > cacheSize;
+                }
+            });
+
+    /**
+     * Claims {@code key} for {@code owner}'s request, or reports why not.
+     *
+     * @param requestHash fingerprint of the request (see {@link #fingerprint})
+     */
+    public Claim claim(String owner, String key, String requestHash) {
+        String id = ContentHashes.sha256Hex(owner + "\n" + key);
+        LocalDateTime now = LocalDateTime.now();
+
+        Completed cached = completed.get(id);
+        if (cached != null) {
+            if (cached.expiresAt().isAfter(now)) {
+                return replay(id, cached, requestHash);
+            }
+            completed.remove(id);
+        }
+
+        try {
+            Claim claim = newTransaction().execute(status -> {
+                Optional<IdempotencyKey> existing = idempotencyKeyRepository.findForUpdate(id);
+                if (existing.isEmpty()) {
+                    idempotencyKeyRepository.saveAndFlush(pending(IdempotencyKey.builder().id(id).build(),
+                            requestHash, now));
+                    return new Claim(Outcome.ACQUIRED, id, null);
+                }
+                IdempotencyKey row = existing.get();
+                boolean expired = row.getExpiresAt().isBefore(now);
+                boolean abandoned = !row.isCompleted() && row.getCreatedAt().isBefore(now.minus(PENDING_TIMEOUT));
+                if (expired || abandoned) {
+                    pending(row, requestHash, now);
+                    return new Claim(Outcome.ACQUIRED, id, null);
+                }
+                if (!row.isCompleted()) {
+                    return new Claim(row.getRequestHash().equals(requestHash) ? Outcome.IN_PROGRESS
+                            : Outcome.MISMATCH, id, null);
+                }
+                Completed stored = new Completed(row.getRequestHash(), new StoredResponse(
+                        row.getResponseStatus(), row.getResponseContentType(),
+                        decodeHeaders(row.getResponseHeaders()), row.getResponseBody()),
+                        row.getExpiresAt());
+                remember(id, stored);
+                return replay(id, stored, requestHash);
+            });
+            return claim != null ? claim : new Claim(Outcome.IN_PROGRESS, id, null);
+        } catch (DataIntegrityViolationException e) {
+            // Inserted concurrently by another request with the same key
+            return new Claim(Outcome.IN_PROGRESS, id, null);
+        }
+    }
+
+    /**
+     * Stores the response of a claimed write for replay.
+     */
+    public void complete(Claim claim, StoredResponse response) {
+        try {
+            Completed stored = newTransaction().execute(status -> idempotencyKeyRepository.findById(claim.id())
+                    .map(row -> {
+                        row.setResponseStatus(response.status());
+                        row.setResponseContentType(response.contentType());
+                        row.setResponseHeaders(encodeHeaders(response.headers()));
+                        row.setResponseBody(response.body());
+                        return new Completed(row.getRequestHash(), response, row.getExpiresAt());
+                    })
+                    .orElse(null));
+            if (stored == null) {
+                log.warn("Idempotency claim {} vanished before its response was stored", claim.id());
+                return;
+            }
+            remember(claim.id(), stored);
+        } catch (Exception e) {
+            // The write went through; retries see the claim until it times out
+            log.warn("Failed to store response for idempotency claim {}: {}", claim.id(), e.getMessage());
+        }
+    }
+
+    /**
+     * Releases the claim of a write that failed, so it can be retried.
+     */
+    public void abandon(Claim claim) {
+        try {
+            newTransaction().executeWithoutResult(status -> idempotencyKeyRepository.deletePending(claim.id()));
+        } catch (Exception e) {
+            // Reclaimable once PENDING_TIMEOUT has passed
+            log.warn("Failed to release idempotency claim {}: {}", claim.id(), e.getMessage());
+        }
+    }
+
+    /**
+     * Deletes expired keys. Runs as the {@code idempotency-key-expiry} job.
+     *
+     * @return number of keys deleted
+     */
+    public int purgeExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        completed.values().removeIf(entry -> entry.expiresAt().isBefore(now));
+        Integer deleted = newTransaction().execute(status -> idempotencyKeyRepository.deleteExpired(now));
+        return deleted != null ? deleted : 0;
+    }
+
+    /**
+     * Fingerprint of a request: a key may only be retried with the same
+     * method, path, query and body.
+     */
+    public static String fingerprint(String method, String path, String query, byte[] body) {
+        byte[] head = (method + " " + path + (query != null ? "?" + query : "") + "\n")
+                .getBytes(StandardCharsets.UTF_8);
+        byte[] all = new byte[head.length + body.length];
+        System.arraycopy(head, 0, all, 0, head.length);
+        System.arraycopy(body, 0, all, head.length, body.length);
+        return ContentHashes.sha256Hex(all);
+    }
+
+    /**
+     * One {@code Name: value} line per header; header values cannot contain
+     * line breaks.
+     */
+    static String encodeHeaders(Map<String, String> headers) {
+        if (headers == null || headers.isEmpty()) {
+            return null;
+        }
+        StringBuilder encoded = new StringBuilder();
+        headers.forEach((name, value) -> encoded.append(name).append(": ").append(value).append('\n'));
+        return encoded.toString();
+    }
+
+    static Map<String, String> decodeHeaders(String encoded) {
+        if (encoded == null || encoded.isEmpty()) {
+            return Map.of();
+        }
+        Map<String, String> headers = new LinkedHashMap<>();
+        for (String line : encoded.split("\n")) {
+            int colon = line.indexOf(": ");
+            if (colon > 0) {
+                headers.put(line.substring(0, colon), line.substring(colon + 2));
+            }
+        }
+        return headers;
+    }
+
+    private IdempotencyKey pending(IdempotencyKey row, String requestHash, LocalDateTime now) {
+        row.setRequestHash(requestHash);
+        row.setResponseStatus(null);
+        row.setResponseContentType(null);
+        row.setResponseHeaders(null);
+        row.setResponseBody(null);
+        row.setCreatedAt(now);
+        row.setExpiresAt(now.plusHours(ttlHours));
+        return row;
+    }
+
+    private Claim replay(String id, Completed stored, String requestHash) {
+        if (!stored.requestHash().equals(requestHash)) {
+            return new Claim(Outcome.MISMATCH, id, null);
+        }
+        return new Claim(Outcome.REPLAY, id, stored.response());
+    }
+
+    private void remember(String id, Completed entry) {
+        byte[] body = entry.response().body();
+        if (body == null || body.length <= maxCachedBodyBytes) {
+            completed.put(id, entry);
+        }
+    }
+
+    private TransactionTemplate newTransaction() {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        return template;
+    }
+}
@@ -0,0 +1,292 @@
+package com.studentnotes.service;
+
+import com.studentnotes.config.CorrelationIdFilter;
+import com.studentnotes.dto.response.JobResponse;
+import com.studentnotes.dto.response.JobRunResponse;
+import com.studentnotes.exception.BusinessRuleViolationException;
+import com.studentnotes.exception.ResourceNotFoundException;
+import com.studentnotes.model.JobRun;
+import com.studentnotes.model.User;
+import com.studentnotes.model.enums.JobRunStatus;
+import com.studentnotes.model.enums.JobScope;
+import com.studentnotes.repository.JobRunRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the registered {@link ScheduledJob}s.
+ * <p>
+ * <strong>Scope:</strong> a {@link JobScope#CLUSTER} job takes its
+ * {@link LeaseService} lease for {@code leaseTtl} before each run and, once
+ * done, keeps it until one interval after the run started. It therefore runs
+ * on one instance per interval however many are deployed, whatever their
+ * tick phases; the others skip without touching anything but the lease row.
+ * A run outlasting its interval frees the lease as it finishes, and a crashed
+ * holder's lease lapses after {@code leaseTtl}. A {@link JobScope#INSTANCE} job works
+ * on the instance's own memory (pending counters, in-memory caches) and runs
+ * everywhere. A job never overlaps itself on one instance.
+ * </p>
+ * <p>
+ * <strong>History and metrics:</strong> each run is recorded as a
+ * {@link JobRun} and timed in {@code app.jobs.duration} (tags {@code job},
+ * {@code outcome}); skipped runs count in {@code app.jobs.skipped}. A failed
+ * run is recorded and the job stays scheduled.
+ * </p>
+ */
+@Service
+public class JobService {
+
+    private static final Logger log = LoggerFactory.getLogger(JobService.class);
+
+    static final String HISTORY_RETENTION_JOB = "job-history-retention";
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    @Autowired
+    private List<ScheduledJob> definitions;
+
+    @Autowired
+    private JobRunRepository jobRunRepository;
+
+    @Autowired
+    private LeaseService leaseService;
+
+    @Autowired
+    private TaskScheduler taskScheduler;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.jobs.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${app.jobs.history-retention-days:14}")
+    private int historyRetentionDays = 14;
+
+    private final Map<String, ScheduledJob> jobs = new ConcurrentHashMap<>();
+    private final Set<String> runningHere = ConcurrentHashMap.newKeySet();
+
+    @PostConstruct
+    void register() {
+        definitions.forEach(this::register);
+        register(ScheduledJob.cluster(HISTORY_RETENTION_JOB, Duration.ofHours(6), Duration.ofMinutes(10),
+                this::pruneHistory));
+    }
+
+    private void register(ScheduledJob job) {
+        if (jobs.putIfAbsent(job.name(), job) != null) {
+            throw new IllegalStateException("Duplicate job name: " + job.name());
+        }
+    }
+
+    /**
+     * Schedules every job once the application is ready. Checked at runtime
+     * rather than with a bean condition, which Spring AOT would fix at build
+     * time.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            log.warn("Scheduled jobs are disabled (app.jobs.enabled=false)");
+            return;
+        }
+        for (ScheduledJob job : jobs.values()) {
+            taskScheduler.scheduleWithFixedDelay(() -> execute(job, null),
+                    Instant.now().plus(job.initialDelay()), job.interval());
+        }
+        log.info("Scheduled {} jobs", jobs.size());
+    }
+
+    // ==================== Running ====================
+
+    /**
+     * Runs a job now, on this instance, and waits for it to finish.
+     *
+     * @throws ResourceNotFoundException       if no job has that name
+     * @throws BusinessRuleViolationException if the job is already running here
+     *                                        or, for a cluster job, another
+     *                                        instance ran it this interval
+     */
+    public JobRunResponse runNow(String name, User admin) {
+        ScheduledJob job = findJob(name);
+        return execute(job, admin.getEmail())
+                .map(this::toResponse)
+                .orElseThrow(() -> BusinessRuleViolationException.operationInProgress("Job " + name));
+    }
+
+    /**
+     * Runs the job unless it is already running here or, for a cluster job,
+     * another instance holds its lease.
+     *
+     * @return the recorded run, or empty if skipped
+     */
+    Optional<JobRun> execute(ScheduledJob job, String triggeredBy) {
+        if (!runningHere.add(job.name())) {
+            skipped(job, "already running here");
+            return Optional.empty();
+        }
+        try {
+            boolean clustered = job.scope() == JobScope.CLUSTER;
+            if (clustered && !leaseService.tryAcquire(job.name(), job.leaseTtl())) {
+                skipped(job, "lease held elsewhere");
+                return Optional.empty();
+            }
+            JobRun run = runAndRecord(job, triggeredBy);
+            if (clustered) {
+                holdForInterval(job, run);
+            }
+            return Optional.of(run);
+        } catch (Exception e) {
+            // Lease table unreachable; the next tick tries again
+            log.error("Could not run job {}: {}", job.name(), e.getMessage());
+            return Optional.empty();
+        } finally {
+            runningHere.remove(job.name());
+        }
+    }
+
+    /**
+     * Keeps the lease rather than releasing it, so the other instances' ticks
+     * this interval skip. If that fails the lease still lapses at its TTL.
+     */
+    private void holdForInterval(ScheduledJob job, JobRun run) {
+        try {
+            leaseService.holdUntil(job.name(), run.getStartedAt().plus(job.interval()));
+        } catch (Exception e) {
+            log.warn("Could not hold lease for job {}: {}", job.name(), e.getMessage());
+        }
+    }
+
+    private JobRun runAndRecord(ScheduledJob job, String triggeredBy) {
+        JobRun run = JobRun.builder()
+                .jobName(job.name())
+                .instanceId(leaseService.getInstanceId())
+                .triggeredBy(triggeredBy)
+                .startedAt(LocalDateTime.now())
+                .build();
+        long started = System.nanoTime();
+
+        MDC.put(CorrelationIdFilter.CORRELATION_ID_MDC_KEY, "job-" + UUID.randomUUID());
+        try {
+            run.setItemsProcessed(job.task().getAsInt());
+            run.setStatus(JobRunStatus.SUCCEEDED);
+        } catch (Exception e) {
+            log.error("Job {} failed", job.name(), e);
+            run.setStatus(JobRunStatus.FAILED);
+            run.setError(truncate(e.toString()));
+        } finally {
+            MDC.remove(CorrelationIdFilter.CORRELATION_ID_MDC_KEY);
+        }
+
+        long elapsedNanos = System.nanoTime() - started;
+        run.setFinishedAt(LocalDateTime.now());
+        run.setDurationMs(TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+        meterRegistry.timer("app.jobs.duration", "job", job.name(),
+                "outcome", run.getStatus().name().toLowerCase()).record(elapsedNanos, TimeUnit.NANOSECONDS);
+        if (run.getItemsProcessed() > 0) {
+            meterRegistry.counter("app.jobs.items", "job", job.name()).increment(run.getItemsProcessed());
+        }
+
+        try {
+            jobRunRepository.save(run);
+        } catch (Exception e) {
+            log.warn("Failed to record run of job {}: {}", job.name(), e.getMessage());
+        }
+        return run;
+    }
+
+    private void skipped(ScheduledJob job, String reason) {
+        log.debug("Skipping job {} - {}", job.name(), reason);
+        meterRegistry.counter("app.jobs.skipped", "job", job.name()).increment();
+    }
+
+    /**
+     * Deletes run history older than the retention period.
+     *
+     * @return number of runs deleted
+     */
+    int pruneHistory() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(historyRetentionDays);
+        Integer deleted = new TransactionTemplate(transactionManager)
+                .execute(status -> jobRunRepository.deleteStartedBefore(cutoff));
+        return deleted != null ? deleted : 0;
+    }
+
+    // ==================== Queries ====================
+
+    /**
+     * Every registered job with its latest run on any instance, by name.
+     */
+    public List<JobResponse> getJobs() {
+        return jobs.values().stream()
+                .sorted(Comparator.comparing(ScheduledJob::name))
+                .map(job -> JobResponse.builder()
+                        .name(job.name())
+                        .scope(job.scope())
+                        .intervalMs(job.interval().toMillis())
+                        .runningHere(runningHere.contains(job.name()))
+                        .lastRun(jobRunRepository.findFirstByJobNameOrderByStartedAtDesc(job.name())
+                                .map(this::toResponse)
+                                .orElse(null))
+                        .build())
+                .toList();
+    }
+
+    public Page<JobRunResponse> getRuns(String name, Pageable pageable) {
+        findJob(name);
+        return jobRunRepository.findByJobName(name, pageable).map(this::toResponse);
+    }
+
+    private ScheduledJob findJob(String name) {
+        ScheduledJob job = jobs.get(name);
+        if (job == null) {
+            throw ResourceNotFoundException.job(name);
+        }
+        return job;
+    }
+
+    private JobRunResponse toResponse(JobRun run) {
+        return JobRunResponse.builder()
+                .jobName(run.getJobName())
+                .instanceId(run.getInstanceId())
+                .triggeredBy(run.getTriggeredBy())
+                .status(run.getStatus())
+                .startedAt(run.getStartedAt())
+                .finishedAt(run.getFinishedAt())
+                .durationMs(run.getDurationMs())
+                .itemsProcessed(run.getItemsProcessed())
+                .error(run.getError())
+                .build();
+    }
+
+    private static String truncate(String message) {
+        return message.length() <= MAX_ERROR_LENGTH ? message : message.substring(0, MAX_ERROR_LENGTH);
+    }
+}
@@ -0,0 +1,99 @@
+package com.studentnotes.service;
+
+import com.studentnotes.model.JobLease;
+import com.studentnotes.repository.JobLeaseRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.InetAddress;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Database-backed leases for cluster-wide singleton jobs.
+ * <p>
+ * Each call runs in its own short transaction so the lease row is never held
+ * locked while the job itself runs. The lease TTL must comfortably exceed one
+ * job run; a crashed holder simply lets its lease lapse.
+ * </p>
+ */
+@Service
+public class LeaseService {
+
+    private static final Logger log = LoggerFactory.getLogger(LeaseService.class);
+
+    @Autowired
+    private JobLeaseRepository jobLeaseRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final String instanceId = resolveInstanceId();
+
+    /**
+     * Tries to take (or extend) the named lease for {@code ttl}.
+     *
+     * @return true if this instance now holds the lease
+     */
+    public boolean tryAcquire(String name, Duration ttl) {
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            Boolean acquired = newTransaction().execute(status -> {
+                if (jobLeaseRepository.tryAcquire(name, instanceId, now, now.plus(ttl)) == 1) {
+                    return true;
+                }
+                if (jobLeaseRepository.existsById(name)) {
+                    return false;
+                }
+                // First run anywhere: create the row. A concurrent creator makes this fail.
+                jobLeaseRepository.saveAndFlush(JobLease.builder()
+                        .name(name)
+                        .owner(instanceId)
+                        .leasedUntil(now.plus(ttl))
+                        .acquiredAt(now)
+                        .build());
+                return true;
+            });
+            return Boolean.TRUE.equals(acquired);
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Lease {} created concurrently by another instance", name);
+            return false;
+        }
+    }
+
+    /**
+     * Keeps the lease until {@code until} if this instance holds it. A time
+     * already past releases it.
+     */
+    public void holdUntil(String name, LocalDateTime until) {
+        newTransaction().executeWithoutResult(
+                status -> jobLeaseRepository.holdUntil(name, instanceId, until));
+    }
+
+    public String getInstanceId() {
+        return instanceId;
+    }
+
+    private TransactionTemplate newTransaction() {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        return template;
+    }
+
+    private static String resolveInstanceId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "unknown";
+        }
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
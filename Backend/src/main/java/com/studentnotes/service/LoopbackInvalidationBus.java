@@ -0,0 +1,30 @@
+package com.studentnotes.service;
+
+import com.studentnotes.event.CacheInvalidation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Delivers invalidations synchronously to listeners in the same JVM. With one
+ * instance there are no peers to reach, and tests can subscribe several
+ * {@link CacheInvalidationService}s to one bus to act as a cluster.
+ */
+@Service
+@ConditionalOnProperty(name = "app.cache.invalidation-bus", havingValue = "loopback", matchIfMissing = true)
+public class LoopbackInvalidationBus implements CacheInvalidationBus {
+
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(CacheInvalidation invalidation) {
+        listeners.forEach(listener -> listener.onInvalidation(invalidation));
+    }
+
+    @Override
+    public void subscribe(Listener listener) {
+        listeners.add(listener);
+    }
+}
@@ -0,0 +1,343 @@
+package com.studentnotes.service;
+
+import com.studentnotes.config.CacheNames;
+import com.studentnotes.event.NoteChangedEvent;
+import com.studentnotes.exception.ResourceNotFoundException;
+import com.studentnotes.exception.ValidationException;
+import com.studentnotes.model.Note;
+import com.studentnotes.model.enums.NoteStatus;
+import com.studentnotes.repository.NoteRepository;
+import com.studentnotes.util.FolderPaths;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Builds ZIP downloads of published notes, laid out as
+ * {@code department/year/section/subject/title.md}.
+ * <p>
+ * <strong>Streaming:</strong> notes are read in id-ordered keyset chunks,
+ * each in its own short read-only transaction, and every note is written as
+ * a ZIP entry and detached before the next is read. Neither the archive nor
+ * the department's notes are ever held in memory.
+ * </p>
+ * <p>
+ * <strong>Caching:</strong> whole-department archives are built once into a
+ * file under {@code app.export.archive-cache-dir} and served from disk until
+ * a committed {@link NoteChangedEvent} touches that department. A per
+ * department generation counter keeps an archive built concurrently with a
+ * change from being installed. Sub-folder exports are streamed straight from
+ * the database. The cache is per instance; other instances are told to drop
+ * their copy through {@link CacheInvalidationService}.
+ * </p>
+ */
+@Service
+public class NoteArchiveService {
+
+    private static final Logger log = LoggerFactory.getLogger(NoteArchiveService.class);
+
+    /**
+     * department / year / section / subject.
+     */
+    private static final int MAX_PATH_DEPTH = 4;
+    private static final int MAX_NAME_LENGTH = 120;
+
+    @Autowired
+    private NoteRepository noteRepository;
+
+    @Autowired
+    private FolderService folderService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private CacheInvalidationService cacheInvalidationService;
+
+    @Value("${app.export.chunk-size:200}")
+    private int chunkSize = 200;
+
+    @Value("${app.export.archive-cache-dir:${java.io.tmpdir}/studentnotes-archives}")
+    private String archiveCacheDir;
+
+    /**
+     * A built department archive and the generation it was built at.
+     */
+    record CachedArchive(Path file, long generation) {
+    }
+
+    private final Map<String, CachedArchive> archives = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+    private final Map<String, Object> buildLocks = new ConcurrentHashMap<>();
+
+    /**
+     * Checks the folder path and that it holds published notes.
+     *
+     * @return the normalized path
+     * @throws ResourceNotFoundException if nothing published lives there
+     */
+    public String resolveFolder(String folderPath) {
+        String path = FolderPaths.normalize(folderPath);
+        String[] segments = segments(path);
+        if (segments.length == 0 || segments.length > MAX_PATH_DEPTH) {
+            throw ValidationException.invalidFormat("path", "department[/year[/section]/subject]");
+        }
+        List<Integer> folderIds = folderService.subtreeIds(path);
+        if (folderIds.isEmpty() || !noteRepository.existsInFolders(folderIds, NoteStatus.PUBLISHED)) {
+            throw ResourceNotFoundException.folder(path);
+        }
+        return path;
+    }
+
+    /**
+     * Writes the archive for a normalized folder path to {@code out}. A bare
+     * department is served from the archive cache.
+     */
+    public void export(String folderPath, OutputStream out) throws IOException {
+        String[] segments = segments(folderPath);
+        if (segments.length == 1) {
+            try (InputStream archive = openDepartmentArchive(segments[0])) {
+                archive.transferTo(out);
+            }
+        } else {
+            writeArchive(folderPath, out);
+        }
+        out.flush();
+    }
+
+    /**
+     * Drops cached archives for every department a committed change touched.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onNoteChanged(NoteChangedEvent event) {
+        invalidate(event.getDepartment());
+        cacheInvalidationService.broadcast(CacheNames.DEPARTMENT_ARCHIVES, event.getDepartment());
+        if (event.getPreviousDepartment() != null) {
+            invalidate(event.getPreviousDepartment());
+            cacheInvalidationService.broadcast(CacheNames.DEPARTMENT_ARCHIVES, event.getPreviousDepartment());
+        }
+    }
+
+    /**
+     * Applies invalidations broadcast by other instances.
+     */
+    @PostConstruct
+    void registerInvalidationHandler() {
+        cacheInvalidationService.registerHandler(CacheNames.DEPARTMENT_ARCHIVES, department -> {
+            if (department != null) {
+                invalidate(department);
+            } else {
+                List.copyOf(archives.keySet()).forEach(this::invalidate);
+            }
+        });
+    }
+
+    @PreDestroy
+    void deleteCachedArchives() {
+        archives.keySet().forEach(this::invalidate);
+    }
+
+    // ==================== Archive Cache ====================
+
+    /**
+     * Opens the cached department archive, building it first if needed. The
+     * stream stays readable even if the file is invalidated while it is being
+     * served.
+     */
+    InputStream openDepartmentArchive(String department) throws IOException {
+        while (true) {
+            CachedArchive cached = archives.get(department);
+            if (cached != null) {
+                try {
+                    return Files.newInputStream(cached.file());
+                } catch (NoSuchFileException e) {
+                    // Invalidated between lookup and open; rebuild below
+                }
+            }
+
+            synchronized (buildLocks.computeIfAbsent(department, k -> new Object())) {
+                if (archives.containsKey(department)) {
+                    continue;
+                }
+                long generation = generation(department).get();
+                Path file = buildArchive(department);
+                CachedArchive built = new CachedArchive(file, generation);
+
+                // Installed only if no change committed while building
+                CachedArchive installed = archives.compute(department,
+                        (k, current) -> generation(department).get() == generation ? built : current);
+                if (installed != built) {
+                    // Already stale: serve it to this caller only
+                    InputStream stream = Files.newInputStream(file);
+                    deleteQuietly(file);
+                    return stream;
+                }
+            }
+        }
+    }
+
+    void invalidate(String department) {
+        archives.compute(department, (k, current) -> {
+            generation(department).incrementAndGet();
+            if (current != null) {
+                deleteQuietly(current.file());
+            }
+            return null;
+        });
+    }
+
+    private Path buildArchive(String department) throws IOException {
+        Path dir = Path.of(archiveCacheDir);
+        Files.createDirectories(dir);
+        Path file = Files.createTempFile(dir, safeName(department) + "-", ".zip");
+        long started = System.currentTimeMillis();
+        try (OutputStream out = Files.newOutputStream(file)) {
+            int entries = writeArchive(department, out);
+            log.info("Built archive for department {} ({} notes, {} bytes) in {} ms",
+                    department, entries, Files.size(file), System.currentTimeMillis() - started);
+        } catch (IOException | RuntimeException e) {
+            deleteQuietly(file);
+            throw e;
+        }
+        return file;
+    }
+
+    private AtomicLong generation(String department) {
+        return generations.computeIfAbsent(department, k -> new AtomicLong());
+    }
+
+    // ==================== ZIP Writer ====================
+
+    /**
+     * Streams every published note under {@code folderPath} into a ZIP.
+     * Finishes the archive but leaves {@code out} open.
+     *
+     * @return number of entries written
+     */
+    int writeArchive(String folderPath, OutputStream out) throws IOException {
+        List<Integer> folderIds = folderService.subtreeIds(folderPath);
+
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+
+        ZipOutputStream zip = new ZipOutputStream(out, StandardCharsets.UTF_8);
+        Set<String> usedNames = new HashSet<>();
+        long afterId = 0;
+        int entries = 0;
+
+        while (!folderIds.isEmpty()) {
+            long cursor = afterId;
+            List<Note> chunk = transaction.execute(status -> noteRepository.findExportChunk(
+                    folderIds, NoteStatus.PUBLISHED, cursor, PageRequest.of(0, chunkSize)));
+            if (chunk == null || chunk.isEmpty()) {
+                break;
+            }
+
+            for (Note note : chunk) {
+                writeEntry(zip, note, usedNames);
+                entries++;
+                entityManager.detach(note);
+            }
+            afterId = chunk.get(chunk.size() - 1).getId();
+            if (chunk.size() < chunkSize) {
+                break;
+            }
+        }
+
+        zip.finish();
+        return entries;
+    }
+
+    private void writeEntry(ZipOutputStream zip, Note note, Set<String> usedNames) throws IOException {
+        ZipEntry entry = new ZipEntry(entryName(note, usedNames));
+        LocalDateTime modified = note.getUpdatedAt() != null ? note.getUpdatedAt()
+                : note.getPublishedAt() != null ? note.getPublishedAt() : note.getCreatedAt();
+        if (modified != null) {
+            entry.setLastModifiedTime(FileTime.from(modified.atZone(ZoneId.systemDefault()).toInstant()));
+        }
+        zip.putNextEntry(entry);
+        if (note.getContent() != null) {
+            zip.write(note.getContent().getBytes(StandardCharsets.UTF_8));
+        }
+        zip.closeEntry();
+    }
+
+    /**
+     * dept/year/[section/]subject/title.md, with unsafe characters replaced
+     * and " (2)", " (3)"... appended to repeated titles in the same folder.
+     */
+    static String entryName(Note note, Set<String> usedNames) {
+        StringBuilder folder = new StringBuilder();
+        for (String segment : segments(note.getFolderPath())) {
+            folder.append(safeName(segment)).append('/');
+        }
+        String title = safeName(note.getTitle());
+        String name = folder + title + ".md";
+        for (int n = 2; !usedNames.add(name); n++) {
+            name = folder + title + " (" + n + ").md";
+        }
+        return name;
+    }
+
+    // ==================== Helper Methods ====================
+
+    /**
+     * One path segment: no separators, traversal, control or reserved
+     * characters, and never empty.
+     */
+    static String safeName(String value) {
+        if (value == null) {
+            return "untitled";
+        }
+        String cleaned = value.replaceAll("[\\\\/:*?\"<>|\\p{Cntrl}]", "-").trim();
+        cleaned = cleaned.replaceAll("^\\.+", "");
+        if (cleaned.length() > MAX_NAME_LENGTH) {
+            cleaned = cleaned.substring(0, MAX_NAME_LENGTH).trim();
+        }
+        return cleaned.isEmpty() ? "untitled" : cleaned;
+    }
+
+    private static String[] segments(String folderPath) {
+        String normalized = FolderPaths.normalize(folderPath);
+        return normalized.isEmpty() ? new String[0] : normalized.split(String.valueOf(FolderPaths.SEPARATOR));
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete archive {}: {}", file, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.studentnotes.service;
+
+import com.studentnotes.dto.response.NoteChangeResponse;
+import com.studentnotes.event.NoteChangedEvent;
+import com.studentnotes.util.SseBroadcaster;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sequence-numbered change log for the public note tree, exposed as an SSE
+ * stream.
+ * <p>
+ * <strong>Feed:</strong> every committed {@link NoteChangedEvent} gets the next
+ * sequence number and is appended to a bounded in-memory log, then pushed to
+ * all subscribers. Clients apply ADDED / UPDATED / REMOVED entries to their
+ * copy of {@code /api/public/tree} instead of re-fetching it.
+ * </p>
+ * <p>
+ * <strong>Resume:</strong> a reconnecting client passes the last sequence it
+ * saw (SSE {@code Last-Event-ID}). If that sequence is still in the log, the
+ * missed entries are replayed; otherwise (too old, or the server restarted) the
+ * client receives {@code resetRequired=true} and must re-fetch the tree.
+ * </p>
+ */
+@Service
+public class NoteChangeFeedService {
+
+    private static final Logger log = LoggerFactory.getLogger(NoteChangeFeedService.class);
+
+    private static final int MAX_RETAINED_CHANGES = 1000;
+    private static final long EMITTER_TIMEOUT_MS = 30 * 60 * 1000L; // 30 minutes
+
+    private final SseBroadcaster broadcaster = new SseBroadcaster("note-changes");
+
+    // Guarded by "changeLog"
+    private final Deque<NoteChangeResponse> changeLog = new ArrayDeque<>();
+    private long lastSequence = 0;
+
+    /**
+     * Records a committed note change and pushes it to subscribers.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onNoteChanged(NoteChangedEvent event) {
+        synchronized (changeLog) {
+            NoteChangeResponse change = NoteChangeResponse.builder()
+                    .sequence(++lastSequence)
+                    .type(event.getType())
+                    .publicId(event.getPublicId())
+                    .title(event.getTitle())
+                    .department(event.getDepartment())
+                    .year(event.getYear())
+                    .section(event.getSection())
+                    .subject(event.getSubject())
+                    .changedAt(LocalDateTime.now())
+                    .build();
+
+            changeLog.addLast(change);
+            if (changeLog.size() > MAX_RETAINED_CHANGES) {
+                changeLog.removeFirst();
+            }
+
+            // Broadcast under the lock so dispatch order matches sequence order
+            broadcaster.broadcast(toEvent(change));
+        }
+        log.debug("Note change {} {} published", event.getType(), event.getPublicId());
+    }
+
+    /**
+     * Opens a change stream.
+     * <p>
+     * The first event is always {@code sync}, carrying the current head sequence
+     * and whether the client must re-fetch the full tree. Replayed entries (if
+     * any) follow, then live changes.
+     * </p>
+     *
+     * @param lastSeenSequence last sequence the client applied, or null for a
+     *                         fresh subscription (client fetches the tree next)
+     */
+    public SseEmitter subscribe(Long lastSeenSequence) {
+        SseEmitter emitter = new SseEmitter(EMITTER_TIMEOUT_MS);
+
+        synchronized (changeLog) {
+            long oldestRetained = changeLog.isEmpty() ? lastSequence + 1 : changeLog.peekFirst().getSequence();
+            boolean resetRequired = lastSeenSequence != null
+                    && (lastSeenSequence < oldestRetained - 1 || lastSeenSequence > lastSequence);
+
+            List<SseBroadcaster.Event> initialEvents = new ArrayList<>();
+            initialEvents.add(new SseBroadcaster.Event(
+                    resetRequired || lastSeenSequence == null ? String.valueOf(lastSequence) : null,
+                    "sync",
+                    Map.of("sequence", lastSequence, "resetRequired", resetRequired)));
+
+            if (lastSeenSequence != null && !resetRequired) {
+                for (NoteChangeResponse change : changeLog) {
+                    if (change.getSequence() > lastSeenSequence) {
+                        initialEvents.add(toEvent(change));
+                    }
+                }
+            }
+
+            // Registered under the lock so no change slips between replay and live
+            broadcaster.register(emitter, initialEvents);
+        }
+        return emitter;
+    }
+
+    /**
+     * Current head of the change log.
+     */
+    public long getLastSequence() {
+        synchronized (changeLog) {
+            return lastSequence;
+        }
+    }
+
+    @Scheduled(fixedRate = 25_000)
+    public void heartbeat() {
+        broadcaster.heartbeat();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        broadcaster.shutdown();
+    }
+
+    private SseBroadcaster.Event toEvent(NoteChangeResponse change) {
+        return new SseBroadcaster.Event(String.valueOf(change.getSequence()), "change", change);
+    }
+}
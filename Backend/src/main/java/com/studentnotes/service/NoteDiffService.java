@@ -0,0 +1,315 @@
+package com.studentnotes.service;
+
+import com.studentnotes.dto.response.VersionDiffResponse;
+import com.studentnotes.dto.response.VersionDiffResponse.HunkDto;
+import com.studentnotes.dto.response.VersionDiffResponse.LineDto;
+import com.studentnotes.dto.response.VersionDiffResponse.LineType;
+import com.studentnotes.dto.response.VersionDiffResponse.SegmentDto;
+import com.studentnotes.exception.ResourceNotFoundException;
+import com.studentnotes.model.Note;
+import com.studentnotes.model.NoteVersion;
+import com.studentnotes.repository.NoteVersionRepository;
+import com.studentnotes.util.ContentHashes;
+import com.studentnotes.util.LruCache;
+import com.studentnotes.util.MyersDiff;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Line and word diffs between two versions of a note.
+ * <p>
+ * <strong>Algorithm:</strong> lines are diffed with Myers' algorithm
+ * ({@link MyersDiff}); a removed line paired with the added line that
+ * replaced it is diffed again word by word, so clients can highlight the
+ * changed words. Only changed hunks and their context are returned.
+ * </p>
+ * <p>
+ * <strong>Cache:</strong> version content never changes, so a diff is fully
+ * determined by the two content hashes and the context size. Results are
+ * kept in a bounded in-memory LRU; a hit costs two hash lookups and never
+ * loads either body.
+ * </p>
+ */
+@Service
+public class NoteDiffService {
+
+    private static final Logger log = LoggerFactory.getLogger(NoteDiffService.class);
+
+    static final int MAX_CONTEXT = 20;
+
+    /**
+     * Longer lines are reported as a whole; word diffs of them are rarely readable.
+     */
+    private static final int MAX_WORD_DIFF_CHARS = 2000;
+
+    // Words, whitespace runs and single punctuation characters
+    private static final Pattern WORD_TOKEN = Pattern.compile("\\w+|\\s+|[^\\w\\s]",
+            Pattern.UNICODE_CHARACTER_CLASS);
+
+    @Autowired
+    private NoteVersionRepository noteVersionRepository;
+
+    @Value("${app.diff.cache-size:256}")
+    private int cacheSize = 256;
+
+    record DiffKey(String fromHash, String toHash, int context) {
+    }
+
+    /**
+     * Hunks shared by every response for the same pair of contents.
+     */
+    record CachedDiff(int linesAdded, int linesRemoved, List<HunkDto> hunks) {
+    }
+
+    private LruCache<DiffKey, CachedDiff> cache;
+
+    @PostConstruct
+    void initCache() {
+        cache = new LruCache<>(cacheSize);
+    }
+
+    /**
+     * Diff of {@code note} from version {@code fromVersion} to {@code toVersion}.
+     *
+     * @param context unchanged lines shown around each change, clamped to 0..20
+     * @throws ResourceNotFoundException if either version does not exist
+     */
+    public VersionDiffResponse diff(Note note, int fromVersion, int toVersion, int context) {
+        int clampedContext = Math.min(Math.max(context, 0), MAX_CONTEXT);
+        String fromHash = contentHash(note, fromVersion);
+        String toHash = contentHash(note, toVersion);
+
+        CachedDiff diff = cache.computeIfAbsent(new DiffKey(fromHash, toHash, clampedContext), key -> {
+            long started = System.nanoTime();
+            CachedDiff computed = compute(loadVersion(note, fromVersion).getContent(),
+                    loadVersion(note, toVersion).getContent(), clampedContext);
+            log.debug("Diffed note {} v{}..v{} ({} hunks) in {} ms", note.getPublicId(), fromVersion, toVersion,
+                    computed.hunks().size(), (System.nanoTime() - started) / 1_000_000);
+            return computed;
+        });
+
+        return VersionDiffResponse.builder()
+                .notePublicId(note.getPublicId())
+                .fromVersion(fromVersion)
+                .toVersion(toVersion)
+                .fromContentHash(fromHash)
+                .toContentHash(toHash)
+                .linesAdded(diff.linesAdded())
+                .linesRemoved(diff.linesRemoved())
+                .hunks(diff.hunks())
+                .build();
+    }
+
+    /**
+     * Writes {@code diff} as a unified diff, as produced by {@code diff -u}.
+     */
+    public void writeUnified(VersionDiffResponse diff, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write("--- " + diff.getNotePublicId() + " v" + diff.getFromVersion() + "\n");
+        writer.write("+++ " + diff.getNotePublicId() + " v" + diff.getToVersion() + "\n");
+        for (HunkDto hunk : diff.getHunks()) {
+            writer.write("@@ -" + hunk.getOldStart() + "," + hunk.getOldLines()
+                    + " +" + hunk.getNewStart() + "," + hunk.getNewLines() + " @@\n");
+            for (LineDto line : hunk.getLines()) {
+                writer.write(switch (line.getType()) {
+                    case CONTEXT -> ' ';
+                    case ADDED -> '+';
+                    case REMOVED -> '-';
+                });
+                writer.write(line.getText());
+                writer.write('\n');
+            }
+        }
+        writer.flush();
+    }
+
+    // ==================== Diffing ====================
+
+    /**
+     * Pure diff step: no I/O.
+     */
+    static CachedDiff compute(String fromContent, String toContent, int context) {
+        List<String> oldLines = lines(fromContent);
+        List<String> newLines = lines(toContent);
+        int[][] ids = MyersDiff.intern(oldLines, newLines);
+        List<MyersDiff.Change> changes = MyersDiff.diff(ids[0], ids[1]);
+
+        List<HunkDto> hunks = new ArrayList<>();
+        int added = 0;
+        int removed = 0;
+        int i = 0;
+        while (i < changes.size()) {
+            // Changes closer than two contexts apart share a hunk
+            int j = i;
+            while (j + 1 < changes.size() && changes.get(j + 1).aStart() - changes.get(j).aEnd() <= 2 * context) {
+                j++;
+            }
+            MyersDiff.Change first = changes.get(i);
+            MyersDiff.Change last = changes.get(j);
+            int oldStart = Math.max(0, first.aStart() - context);
+            int newStart = first.bStart() - (first.aStart() - oldStart);
+            int oldEnd = Math.min(oldLines.size(), last.aEnd() + context);
+            int newEnd = last.bEnd() + (oldEnd - last.aEnd());
+
+            List<LineDto> lines = new ArrayList<>();
+            addContext(lines, oldLines, oldStart, first.aStart());
+            for (int c = i; c <= j; c++) {
+                MyersDiff.Change change = changes.get(c);
+                addChange(lines, oldLines, newLines, change);
+                removed += change.aEnd() - change.aStart();
+                added += change.bEnd() - change.bStart();
+                int contextEnd = c < j ? changes.get(c + 1).aStart() : oldEnd;
+                addContext(lines, oldLines, change.aEnd(), contextEnd);
+            }
+
+            int oldCount = oldEnd - oldStart;
+            int newCount = newEnd - newStart;
+            hunks.add(HunkDto.builder()
+                    // An empty side is numbered after the line it follows, as in diff -u
+                    .oldStart(oldCount == 0 ? oldStart : oldStart + 1)
+                    .oldLines(oldCount)
+                    .newStart(newCount == 0 ? newStart : newStart + 1)
+                    .newLines(newCount)
+                    .lines(lines)
+                    .build());
+            i = j + 1;
+        }
+        return new CachedDiff(added, removed, List.copyOf(hunks));
+    }
+
+    private static void addContext(List<LineDto> lines, List<String> oldLines, int from, int to) {
+        for (int k = from; k < to; k++) {
+            lines.add(LineDto.builder().type(LineType.CONTEXT).text(oldLines.get(k)).build());
+        }
+    }
+
+    /**
+     * Removed lines, then added lines; the first removed line is paired with
+     * the first added line and so on for the word diff.
+     */
+    private static void addChange(List<LineDto> lines, List<String> oldLines, List<String> newLines,
+            MyersDiff.Change change) {
+        int removedCount = change.aEnd() - change.aStart();
+        int addedCount = change.bEnd() - change.bStart();
+        int pairs = Math.min(removedCount, addedCount);
+
+        List<List<SegmentDto>> addedSegments = new ArrayList<>();
+        for (int k = 0; k < removedCount; k++) {
+            String oldLine = oldLines.get(change.aStart() + k);
+            List<List<SegmentDto>> segments = k < pairs
+                    ? wordDiff(oldLine, newLines.get(change.bStart() + k))
+                    : null;
+            if (k < pairs) {
+                addedSegments.add(segments != null ? segments.get(1) : null);
+            }
+            lines.add(LineDto.builder()
+                    .type(LineType.REMOVED)
+                    .text(oldLine)
+                    .segments(segments != null ? segments.get(0) : null)
+                    .build());
+        }
+        for (int k = 0; k < addedCount; k++) {
+            lines.add(LineDto.builder()
+                    .type(LineType.ADDED)
+                    .text(newLines.get(change.bStart() + k))
+                    .segments(k < pairs ? addedSegments.get(k) : null)
+                    .build());
+        }
+    }
+
+    /**
+     * Word segments of both lines, or null when the lines are too long or
+     * share nothing worth highlighting.
+     *
+     * @return {@code [oldSegments, newSegments]}
+     */
+    static List<List<SegmentDto>> wordDiff(String oldLine, String newLine) {
+        if (oldLine.length() > MAX_WORD_DIFF_CHARS || newLine.length() > MAX_WORD_DIFF_CHARS) {
+            return null;
+        }
+        List<String> oldWords = words(oldLine);
+        List<String> newWords = words(newLine);
+        int[][] ids = MyersDiff.intern(oldWords, newWords);
+        List<MyersDiff.Change> changes = MyersDiff.diff(ids[0], ids[1]);
+
+        boolean[] oldChanged = new boolean[oldWords.size()];
+        boolean[] newChanged = new boolean[newWords.size()];
+        for (MyersDiff.Change change : changes) {
+            Arrays.fill(oldChanged, change.aStart(), change.aEnd(), true);
+            Arrays.fill(newChanged, change.bStart(), change.bEnd(), true);
+        }
+        List<SegmentDto> oldSegments = segments(oldWords, oldChanged);
+        List<SegmentDto> newSegments = segments(newWords, newChanged);
+        boolean anyUnchanged = oldSegments.stream().anyMatch(s -> !s.isChanged() && !s.getText().isBlank());
+        return anyUnchanged ? List.of(oldSegments, newSegments) : null;
+    }
+
+    // ==================== Helper Methods ====================
+
+    /**
+     * Splits on LF or CRLF; a trailing newline does not start another line.
+     */
+    static List<String> lines(String content) {
+        if (content == null || content.isEmpty()) {
+            return List.of();
+        }
+        List<String> lines = new ArrayList<>(Arrays.asList(content.split("\r?\n", -1)));
+        if (lines.get(lines.size() - 1).isEmpty()) {
+            lines.remove(lines.size() - 1);
+        }
+        return lines;
+    }
+
+    private static List<String> words(String line) {
+        List<String> words = new ArrayList<>();
+        Matcher matcher = WORD_TOKEN.matcher(line);
+        while (matcher.find()) {
+            words.add(matcher.group());
+        }
+        return words;
+    }
+
+    /**
+     * Merges consecutive words with the same changed flag into one segment.
+     */
+    private static List<SegmentDto> segments(List<String> words, boolean[] changed) {
+        List<SegmentDto> segments = new ArrayList<>();
+        StringBuilder text = new StringBuilder();
+        for (int k = 0; k < words.size(); k++) {
+            text.append(words.get(k));
+            if (k == words.size() - 1 || changed[k + 1] != changed[k]) {
+                segments.add(new SegmentDto(changed[k], text.toString()));
+                text.setLength(0);
+            }
+        }
+        return segments;
+    }
+
+    private String contentHash(Note note, int versionNumber) {
+        // Empty also for legacy versions without a stored hash
+        return noteVersionRepository.findContentHash(note.getId(), versionNumber)
+                .orElseGet(() -> ContentHashes.sha256Hex(loadVersion(note, versionNumber).getContent()));
+    }
+
+    private NoteVersion loadVersion(Note note, int versionNumber) {
+        return noteVersionRepository.findByNoteIdAndVersionNumber(note.getId(), versionNumber)
+                .orElseThrow(() -> new ResourceNotFoundException("NoteVersion",
+                        note.getPublicId() + "/v" + versionNumber));
+    }
+}
@@ -0,0 +1,259 @@
+package com.studentnotes.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.studentnotes.dto.response.RenderedNoteResponse;
+import com.studentnotes.dto.response.RenderedNoteResponse.OutlineEntryDto;
+import com.studentnotes.event.NoteChangedEvent;
+import com.studentnotes.exception.ResourceNotFoundException;
+import com.studentnotes.model.Note;
+import com.studentnotes.model.RenderedNote;
+import com.studentnotes.model.enums.NoteStatus;
+import com.studentnotes.repository.NoteRepository;
+import com.studentnotes.repository.NoteVersionRepository;
+import com.studentnotes.repository.RenderedNoteRepository;
+import com.studentnotes.util.ContentHashes;
+import org.commonmark.Extension;
+import org.commonmark.ext.gfm.strikethrough.StrikethroughExtension;
+import org.commonmark.ext.gfm.tables.TablesExtension;
+import org.commonmark.ext.heading.anchor.IdGenerator;
+import org.commonmark.node.AbstractVisitor;
+import org.commonmark.node.Code;
+import org.commonmark.node.Heading;
+import org.commonmark.node.Image;
+import org.commonmark.node.Link;
+import org.commonmark.node.Node;
+import org.commonmark.node.Text;
+import org.commonmark.parser.Parser;
+import org.commonmark.renderer.html.HtmlRenderer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Renders note markdown to sanitized HTML plus a heading outline, once per
+ * distinct content.
+ * <p>
+ * <strong>Cache:</strong> renderings are stored in {@code rendered_notes}
+ * keyed by content hash. A version's content never changes, so an entry
+ * never goes stale; only a renderer change ({@link #RENDERER_VERSION})
+ * forces a re-render, lazily on the next read.
+ * </p>
+ * <p>
+ * <strong>When:</strong> a note is rendered after the commit that publishes
+ * or edits it, off the request thread. Reads of an unrendered note (older
+ * content, or a view that races the background render) render on demand.
+ * </p>
+ * <p>
+ * <strong>Sanitizing:</strong> raw HTML in the markdown is escaped, link and
+ * image URLs are restricted to safe schemes, and links get
+ * {@code rel="nofollow noopener noreferrer"}.
+ * </p>
+ */
+@Service
+public class NoteRenderService {
+
+    private static final Logger log = LoggerFactory.getLogger(NoteRenderService.class);
+
+    /**
+     * Bump when the HTML output changes (extensions, attributes, sanitizing)
+     * so cached renderings are regenerated.
+     */
+    static final int RENDERER_VERSION = 1;
+
+    private static final TypeReference<List<OutlineEntryDto>> OUTLINE_TYPE = new TypeReference<>() {
+    };
+
+    private static final List<Extension> EXTENSIONS = List.of(
+            TablesExtension.create(),
+            StrikethroughExtension.create());
+
+    // Immutable and thread-safe; the HTML renderer is built per call around its heading ids
+    private final Parser parser = Parser.builder().extensions(EXTENSIONS).build();
+
+    @Autowired
+    private RenderedNoteRepository renderedNoteRepository;
+
+    @Autowired
+    private NoteRepository noteRepository;
+
+    @Autowired
+    private NoteVersionRepository noteVersionRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    /**
+     * Rendering of a visible note's current content.
+     * Not transactional: a cache miss is written in its own short transaction.
+     *
+     * @throws ResourceNotFoundException for unknown, deleted or archived notes
+     */
+    public RenderedNoteResponse getRenderedNote(String publicId) {
+        Note note = noteRepository.findByPublicId(publicId)
+                .filter(n -> n.getStatus().isInPublicTree())
+                .orElseThrow(() -> ResourceNotFoundException.note(publicId));
+
+        String content = note.getContent() != null ? note.getContent() : "";
+        String contentHash = noteVersionRepository.findCurrentContentHash(note.getId())
+                .orElseGet(() -> ContentHashes.sha256Hex(content));
+
+        RenderedNote rendered = getOrRender(contentHash, content);
+
+        return RenderedNoteResponse.builder()
+                .publicId(note.getPublicId())
+                .title(note.getTitle())
+                .currentVersion(note.getCurrentVersion())
+                .contentHash(rendered.getContentHash())
+                .html(rendered.getHtml())
+                .outline(readOutline(rendered.getOutline()))
+                .renderedAt(rendered.getRenderedAt())
+                .build();
+    }
+
+    /**
+     * Renders published content after the change commits, so the first
+     * student view is a cache hit.
+     */
+    @Async
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onNoteChanged(NoteChangedEvent event) {
+        if (event.getType() == NoteChangedEvent.ChangeType.REMOVED || event.getStatus() != NoteStatus.PUBLISHED) {
+            return;
+        }
+        try {
+            noteRepository.findById(event.getNoteId()).ifPresent(note -> {
+                String content = note.getContent() != null ? note.getContent() : "";
+                getOrRender(ContentHashes.sha256Hex(content), content);
+            });
+        } catch (Exception e) {
+            // The next view renders on demand
+            log.warn("Background render of note {} failed: {}", event.getPublicId(), e.getMessage());
+        }
+    }
+
+    /**
+     * Cached rendering for {@code contentHash}, rendering and storing
+     * {@code markdown} on a miss.
+     */
+    RenderedNote getOrRender(String contentHash, String markdown) {
+        RenderedNote cached = renderedNoteRepository.findById(contentHash)
+                .filter(r -> r.getRendererVersion() == RENDERER_VERSION)
+                .orElse(null);
+        if (cached != null) {
+            return cached;
+        }
+
+        long started = System.nanoTime();
+        RenderedNote rendered = render(contentHash, markdown);
+        log.debug("Rendered {} ({} chars) in {} ms", contentHash, markdown.length(),
+                (System.nanoTime() - started) / 1_000_000);
+
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        try {
+            transaction.executeWithoutResult(status -> renderedNoteRepository.saveAndFlush(rendered));
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent request stored the same content first; same HTML either way
+            log.debug("Rendering {} already stored", contentHash);
+        }
+        return rendered;
+    }
+
+    // ==================== Rendering ====================
+
+    /**
+     * Pure markdown-to-HTML step: no I/O.
+     */
+    RenderedNote render(String contentHash, String markdown) {
+        Node document = parser.parse(markdown);
+
+        // Outline first, so heading ids in the HTML match the outline exactly
+        IdGenerator ids = IdGenerator.builder().defaultId("section").build();
+        Map<Heading, String> headingIds = new IdentityHashMap<>();
+        List<OutlineEntryDto> outline = new ArrayList<>();
+        document.accept(new AbstractVisitor() {
+            @Override
+            public void visit(Heading heading) {
+                String text = textOf(heading);
+                String id = ids.generateId(text);
+                headingIds.put(heading, id);
+                outline.add(new OutlineEntryDto(heading.getLevel(), text, id));
+            }
+        });
+
+        HtmlRenderer renderer = HtmlRenderer.builder()
+                .extensions(EXTENSIONS)
+                .escapeHtml(true)
+                .sanitizeUrls(true)
+                .attributeProviderFactory(context -> (node, tagName, attributes) -> {
+                    if (node instanceof Heading heading && headingIds.containsKey(heading)) {
+                        attributes.put("id", headingIds.get(heading));
+                    } else if (node instanceof Link) {
+                        attributes.put("rel", "nofollow noopener noreferrer");
+                    } else if (node instanceof Image) {
+                        attributes.put("loading", "lazy");
+                    }
+                })
+                .build();
+
+        return RenderedNote.builder()
+                .contentHash(contentHash)
+                .rendererVersion(RENDERER_VERSION)
+                .html(renderer.render(document))
+                .outline(writeOutline(outline))
+                .renderedAt(LocalDateTime.now())
+                .build();
+    }
+
+    // ==================== Helper Methods ====================
+
+    private static String textOf(Node node) {
+        StringBuilder text = new StringBuilder();
+        node.accept(new AbstractVisitor() {
+            @Override
+            public void visit(Text textNode) {
+                text.append(textNode.getLiteral());
+            }
+
+            @Override
+            public void visit(Code code) {
+                text.append(code.getLiteral());
+            }
+        });
+        return text.toString().trim();
+    }
+
+    private String writeOutline(List<OutlineEntryDto> outline) {
+        try {
+            return objectMapper.writeValueAsString(outline);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize outline", e);
+        }
+    }
+
+    private List<OutlineEntryDto> readOutline(String outline) {
+        try {
+            return objectMapper.readValue(outline, OUTLINE_TYPE);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Corrupt outline in render cache", e);
+        }
+    }
+}
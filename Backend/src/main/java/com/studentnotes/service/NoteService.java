@@ -1,9 +1,14 @@
 package com.studentnotes.service;
 
+import com.studentnotes.config.CacheNames;
 import com.studentnotes.dto.request.CreateNoteRequest;
 import com.studentnotes.dto.request.UpdateNoteRequest;
 import com.studentnotes.dto.response.NoteResponse;
+import com.studentnotes.dto.response.PublicNoteTree;
+import com.studentnotes.event.NoteChangedEvent;
+import com.studentnotes.event.NoteVotedEvent;
 import com.studentnotes.exception.AccessDeniedException;
+import com.studentnotes.exception.ConcurrentModificationException;
 import com.studentnotes.exception.ResourceNotFoundException;
 import com.studentnotes.exception.ValidationException;
 import com.studentnotes.model.Note;
@@ -13,19 +18,26 @@ import com.studentnotes.model.enums.AuditAction;
 import com.studentnotes.model.enums.NoteStatus;
 import com.studentnotes.repository.NoteRepository;
 import com.studentnotes.repository.NoteVersionRepository;
+import com.studentnotes.repository.NoteVoteSnapshot;
+import com.studentnotes.util.ContentHashes;
+import com.studentnotes.util.SingleFlightCache;
+import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.nio.charset.StandardCharsets;
-import java.security.MessageDigest;
 import java.time.LocalDateTime;
-import java.util.HexFormat;
 import java.util.List;
+import java.util.function.UnaryOperator;
 
 /**
  * Service for managing notes with versioning support.
@@ -51,6 +63,29 @@ public class NoteService {
     @Autowired
     private com.studentnotes.repository.DepartmentRepository departmentRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private CacheInvalidationService cacheInvalidationService;
+
+    @Autowired
+    private FolderService folderService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private static final String PUBLIC_NOTE_TREE_KEY = "tree";
+
+    // Built at most once at a time; readers get the previous tree while it rebuilds
+    private final SingleFlightCache<String, PublicNoteTree> publicNoteTree = new SingleFlightCache<>();
+
+    @PostConstruct
+    void registerTreeInvalidation() {
+        cacheInvalidationService.registerHandler(CacheNames.PUBLIC_NOTE_TREE,
+                key -> publicNoteTree.invalidate(PUBLIC_NOTE_TREE_KEY));
+    }
+
     /**
      * Creates a new {@link Note} entity and persists its initial
      * {@link NoteVersion} snapshot v1.
@@ -76,7 +111,6 @@ public class NoteService {
      * @throws AccessDeniedException if the user lacks folder permissions.
      */
     @Transactional
-    @org.springframework.cache.annotation.CacheEvict(value = "publicNoteTree", allEntries = true)
     public Note createNote(User teacher, CreateNoteRequest request) {
         // Validate file size
         if (request.getContent() != null) {
@@ -115,6 +149,7 @@ public class NoteService {
         if (initialStatus == NoteStatus.PUBLISHED) {
             note.setPublishedAt(LocalDateTime.now());
         }
+        folderService.placeNote(note);
 
         Note savedNote = noteRepository.save(note);
 
@@ -130,6 +165,9 @@ public class NoteService {
                 savedNote.getId(),
                 String.format("Created note '%s' in %s", savedNote.getTitle(), folderPath));
 
+        eventPublisher.publishEvent(NoteChangedEvent.added(savedNote));
+        cacheInvalidationService.invalidateNoteTree();
+
         log.info("Note {} created by {} in folder {}",
                 savedNote.getPublicId(), teacher.getEmail(), folderPath);
 
@@ -139,10 +177,13 @@ public class NoteService {
     /**
      * Updates an existing note and generates a new immutable version.
      * <p>
-     * <strong>Concurrency:</strong> This method relies on optimistic locking via
-     * JPA versioning (implicit)
-     * or explicit status checks. If a {@link ConcurrentModificationException}
-     * occurs, the client must retry.
+     * <strong>Concurrency:</strong> Optimistic only - no row locks are taken.
+     * If {@code expectedVersion} (the client's ETag) is given and no longer
+     * matches, the update is refused up front. A concurrent edit that commits
+     * between our read and our flush is caught by the {@code @Version} check on
+     * the UPDATE. Both surface as {@link ConcurrentModificationException} (412);
+     * the client must re-fetch and retry. The unique (noteId, versionNumber)
+     * constraint on {@link NoteVersion} is the last line of defence.
      * </p>
      * <strong>Logic Flow:</strong>
      * <ol>
@@ -157,17 +198,23 @@ public class NoteService {
      *
      * @param teacher      The user attempting the update.
      * @param notePublicId The reliable UUID of the note.
-     * @param request      The data fields to patch. Null fields are ignored.
+     * @param request         The data fields to patch. Null fields are ignored.
+     * @param expectedVersion Version from the client's {@code If-Match}, or null
+     *                        for an unconditional update.
      * @return The updated Note entity.
-     * @throws ResourceNotFoundException if the ID is invalid.
-     * @throws AccessDeniedException     if the user does not own the note.
+     * @throws ResourceNotFoundException       if the ID is invalid.
+     * @throws AccessDeniedException           if the user does not own the note.
+     * @throws ConcurrentModificationException if the note changed concurrently.
      */
     @Transactional
-    @org.springframework.cache.annotation.CacheEvict(value = "publicNoteTree", allEntries = true)
-    public Note updateNote(User teacher, String notePublicId, UpdateNoteRequest request) {
+    public Note updateNote(User teacher, String notePublicId, UpdateNoteRequest request, Long expectedVersion) {
         Note note = noteRepository.findByPublicId(notePublicId)
                 .orElseThrow(() -> ResourceNotFoundException.note(notePublicId));
 
+        if (expectedVersion != null && !expectedVersion.equals(note.getVersion())) {
+            throw ConcurrentModificationException.preconditionFailed("Note");
+        }
+
         // Check ownership or write permission
         if (!isOwner(teacher, note)) {
             String folderPath = note.getFolderPath();
@@ -176,6 +223,7 @@ public class NoteService {
 
         // Store previous state for audit
         String previousTitle = note.getTitle();
+        String previousDepartment = note.getDepartment();
 
         // Update fields
         if (request.getTitle() != null) {
@@ -202,12 +250,23 @@ public class NoteService {
         if (request.getSubject() != null) {
             note.setSubject(request.getSubject());
         }
+        if (request.getDepartment() != null || request.getYear() != null || request.getSection() != null
+                || request.getSubject() != null) {
+            folderService.placeNote(note);
+        }
 
         // Increment version
         note.setCurrentVersion(note.getCurrentVersion() + 1);
         note.setUpdatedAt(LocalDateTime.now());
 
-        Note savedNote = noteRepository.save(note);
+        // Flush now so a lost race fails here, before a version row is written
+        Note savedNote;
+        try {
+            savedNote = noteRepository.saveAndFlush(note);
+        } catch (ObjectOptimisticLockingFailureException e) {
+            log.warn("Concurrent update detected on note {}", notePublicId);
+            throw ConcurrentModificationException.optimisticLock("Note");
+        }
 
         // Create new version
         createVersion(savedNote, teacher, request.getChangeSummary());
@@ -223,6 +282,9 @@ public class NoteService {
                 previousTitle,
                 savedNote.getTitle());
 
+        eventPublisher.publishEvent(NoteChangedEvent.updated(savedNote, previousDepartment));
+        cacheInvalidationService.invalidateNoteTree();
+
         log.info("Note {} updated by {} - version {}",
                 notePublicId, teacher.getEmail(), savedNote.getCurrentVersion());
 
@@ -233,7 +295,6 @@ public class NoteService {
      * Publishes a draft note.
      */
     @Transactional
-    @org.springframework.cache.annotation.CacheEvict(value = "publicNoteTree", allEntries = true)
     public Note publishNote(User user, String notePublicId) {
         Note note = noteRepository.findByPublicId(notePublicId)
                 .orElseThrow(() -> ResourceNotFoundException.note(notePublicId));
@@ -260,11 +321,32 @@ public class NoteService {
                 savedNote.getId(),
                 String.format("Published note '%s'", savedNote.getTitle()));
 
+        eventPublisher.publishEvent(NoteChangedEvent.updated(savedNote));
+        cacheInvalidationService.invalidateNoteTree();
+
         log.info("Note {} published by {}", notePublicId, user.getEmail());
 
         return savedNote;
     }
 
+    /**
+     * Records a like or dislike with an atomic in-database increment and
+     * announces the new counts to the popular-notes leaderboard.
+     *
+     * @return the new like (or dislike) count
+     */
+    @Transactional
+    public int recordVote(Long noteId, boolean like) {
+        int updated = like ? noteRepository.incrementLikes(noteId) : noteRepository.incrementDislikes(noteId);
+        if (updated == 0) {
+            throw ResourceNotFoundException.note(String.valueOf(noteId));
+        }
+        NoteVoteSnapshot snapshot = noteRepository.findVoteSnapshot(noteId)
+                .orElseThrow(() -> ResourceNotFoundException.note(String.valueOf(noteId)));
+        eventPublisher.publishEvent(new NoteVotedEvent(snapshot));
+        return like ? snapshot.likes() : snapshot.dislikes();
+    }
+
     /**
      * Finds a note by public ID.
      */
@@ -376,17 +458,8 @@ public class NoteService {
         // Clear current version flag on existing versions
         noteVersionRepository.clearCurrentVersion(note.getId());
 
-        // Calculate content hash
-        String contentHash = null;
-        if (note.getContent() != null) {
-            try {
-                MessageDigest digest = MessageDigest.getInstance("SHA-256");
-                byte[] hash = digest.digest(note.getContent().getBytes(StandardCharsets.UTF_8));
-                contentHash = HexFormat.of().formatHex(hash);
-            } catch (Exception e) {
-                log.warn("Failed to compute content hash: {}", e.getMessage());
-            }
-        }
+        // Calculate content hash (also the render cache key)
+        String contentHash = ContentHashes.sha256Hex(note.getContent());
 
         NoteVersion version = NoteVersion.builder()
                 .noteId(note.getId())
@@ -411,75 +484,69 @@ public class NoteService {
                 note.getUploadedByUserId().equals(user.getId());
     }
 
-    @Transactional(readOnly = true)
-    @org.springframework.cache.annotation.Cacheable(value = "publicNoteTree")
-    @SuppressWarnings("unchecked")
-    public java.util.Map<String, Object> getPublicNoteTree() {
+    /**
+     * The public note tree. After a change, one caller rebuilds it while the
+     * others keep getting the previous tree, so an eviction at peak costs one
+     * query rather than one per concurrent request.
+     */
+    public PublicNoteTree getPublicNoteTree() {
+        return publicNoteTree.get(PUBLIC_NOTE_TREE_KEY, this::buildPublicNoteTree);
+    }
+
+    /**
+     * Builds the public note tree from the database, bypassing the cache.
+     */
+    public PublicNoteTree buildPublicNoteTree() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        return transaction.execute(status -> assemblePublicNoteTree());
+    }
+
+    private PublicNoteTree assemblePublicNoteTree() {
         // Fetch only enabled notes
         List<Note> notes = noteRepository.findByEnabledTrue();
 
-        // Root Tree Map
-        java.util.Map<String, Object> tree = new java.util.HashMap<>();
+        PublicNoteTree.Builder tree = PublicNoteTree.builder();
 
-        // 1. Pre-fill with all managed departments
+        // Pre-fill with all managed departments
         for (com.studentnotes.model.Department d : departmentRepository.findAll()) {
-            tree.put(d.getName(), new java.util.HashMap<String, Object>());
+            tree.department(d.getName());
         }
 
         for (Note n : notes) {
-            // 2. Get or Create Department Map
-            java.util.Map<String, Object> deptMap = (java.util.Map<String, Object>) tree.computeIfAbsent(
-                    n.getDepartment(),
-                    k -> new java.util.HashMap<>());
-
-            // 3. Get or Create Year Map
-            java.util.Map<String, Object> yearMap = (java.util.Map<String, Object>) deptMap.computeIfAbsent(n.getYear(),
-                    k -> new java.util.HashMap<>());
-
-            // 4. Get or Create Section Map
-            java.util.Map<String, Object> sectionMap = (java.util.Map<String, Object>) yearMap.computeIfAbsent(
-                    n.getSection(),
-                    k -> new java.util.HashMap<>());
-
-            // 5. Get or Create Subject List
-            List<java.util.Map<String, Object>> subjectList = (List<java.util.Map<String, Object>>) sectionMap
-                    .computeIfAbsent(n.getSubject(), k -> new java.util.ArrayList<>());
-
-            // 6. Create Note Object
-            java.util.Map<String, Object> noteData = new java.util.HashMap<>();
-            noteData.put("id", n.getPublicId()); // Use Public ID for security
-            noteData.put("type", "md");
-            noteData.put("content", n.getContent());
-
-            java.util.Map<String, Object> meta = new java.util.HashMap<>();
-            meta.put("title", n.getTitle());
-            meta.put("order", 999);
-            meta.put("likes", n.getLikes());
-            meta.put("dislikes", n.getDislikes());
-            meta.put("uploadedBy", n.getUploadedByName());
-            meta.put("uploadedByEmail", n.getUploadedByEmail());
-            meta.put("createdAt", n.getCreatedAt());
-
-            noteData.put("meta", meta);
-
-            // Add to list
-            subjectList.add(noteData);
+            tree.note(n.getDepartment(), n.getYear(), n.getSection(), n.getSubject(), toTreeNode(n, tree::intern));
         }
-        return tree;
+        return tree.build();
+    }
+
+    /**
+     * Returns a single note in the same shape as a leaf of
+     * {@link #getPublicNoteTree()}. Used by change-feed clients to fetch the
+     * body of an ADDED / UPDATED note without re-fetching the whole tree.
+     */
+    @Transactional(readOnly = true)
+    public PublicNoteTree.Leaf getPublicNote(String publicId) {
+        Note note = noteRepository.findByPublicId(publicId)
+                .filter(n -> n.getStatus().isInPublicTree())
+                .orElseThrow(() -> ResourceNotFoundException.note(publicId));
+        return toTreeNode(note, UnaryOperator.identity());
+    }
+
+    // Uploader names and emails repeat across notes; the tree keeps one copy of each
+    private PublicNoteTree.Leaf toTreeNode(Note n, UnaryOperator<String> strings) {
+        return new PublicNoteTree.Leaf(
+                n.getPublicId(), // Use Public ID for security
+                n.getTitle(),
+                n.getContent(),
+                n.getLikes(),
+                n.getDislikes(),
+                strings.apply(n.getUploadedByName()),
+                strings.apply(n.getUploadedByEmail()),
+                n.getCreatedAt());
     }
 
     private String buildFolderPath(String department, String year, String section, String subject) {
-        StringBuilder path = new StringBuilder(department);
-        if (year != null) {
-            path.append("/").append(year);
-        }
-        if (section != null) {
-            path.append("/").append(section);
-        }
-        if (subject != null) {
-            path.append("/").append(subject);
-        }
-        return path.toString();
+        return Note.folderPathOf(department, year, section, subject);
     }
 
 }
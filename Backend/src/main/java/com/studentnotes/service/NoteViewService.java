@@ -0,0 +1,250 @@
+package com.studentnotes.service;
+
+import com.studentnotes.dto.response.TeacherDashboardResponse;
+import com.studentnotes.model.NoteViewStats;
+import com.studentnotes.repository.NoteIdentity;
+import com.studentnotes.repository.NoteReachRow;
+import com.studentnotes.repository.NoteRepository;
+import com.studentnotes.repository.NoteViewStatsRepository;
+import com.studentnotes.util.HyperLogLog;
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Per-note reader statistics without a row per page view.
+ * <p>
+ * <strong>Recording:</strong> each instance counts views in memory per note,
+ * with a {@link HyperLogLog} sketch of hashed viewers (client IP and user
+ * agent; nothing identifying is kept) for unique reach. The pending map is
+ * capped, so requests for made-up ids cannot grow it without bound.
+ * </p>
+ * <p>
+ * <strong>Flush:</strong> periodically, pending views are folded into
+ * {@link NoteViewStats} in chunks: the rows are locked, sketches merged
+ * register-wise, and the trending score decayed to now before the new views
+ * are added. Unknown, deleted and archived notes are dropped here, not on the
+ * request path. A chunk that fails is put back and retried on the next flush.
+ * </p>
+ */
+@Service
+public class NoteViewService {
+
+    private static final Logger log = LoggerFactory.getLogger(NoteViewService.class);
+
+    private static final int FLUSH_CHUNK_SIZE = 200;
+    private static final int TRENDING_LIMIT = 5;
+
+    /**
+     * Views of one note since the last flush. Only mutated inside
+     * {@link ConcurrentHashMap#compute}, which serializes access per note.
+     */
+    static final class PendingViews {
+        long views;
+        final HyperLogLog viewers = new HyperLogLog();
+
+        void merge(PendingViews other) {
+            views += other.views;
+            viewers.merge(other.viewers);
+        }
+    }
+
+    @Autowired
+    private NoteRepository noteRepository;
+
+    @Autowired
+    private NoteViewStatsRepository noteViewStatsRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.views.max-pending-notes:10000}")
+    private int maxPendingNotes = 10000;
+
+    @Value("${app.views.trending-half-life-hours:24}")
+    private long trendingHalfLifeHours = 24;
+
+    private final Map<String, PendingViews> pending = new ConcurrentHashMap<>();
+
+    // ==================== Recording ====================
+
+    /**
+     * Counts a view of the note by the client of the current request. Memory
+     * only; {@code publicId} is resolved when the views are flushed.
+     */
+    public void recordView(String publicId) {
+        recordView(publicId, HyperLogLog.hash64(currentViewer()));
+    }
+
+    void recordView(String publicId, long viewerHash) {
+        if (pending.size() >= maxPendingNotes && !pending.containsKey(publicId)) {
+            log.debug("Dropping view of {}: {} notes already pending", publicId, maxPendingNotes);
+            return;
+        }
+        pending.compute(publicId, (id, views) -> {
+            PendingViews updated = views != null ? views : new PendingViews();
+            updated.views++;
+            updated.viewers.add(viewerHash);
+            return updated;
+        });
+    }
+
+    private String currentViewer() {
+        ServletRequestAttributes attrs = (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
+        if (attrs == null) {
+            return "unknown";
+        }
+        HttpServletRequest request = attrs.getRequest();
+        String xForwardedFor = request.getHeader("X-Forwarded-For");
+        String ip = xForwardedFor != null && !xForwardedFor.isBlank()
+                ? xForwardedFor.split(",")[0].trim()
+                : request.getRemoteAddr();
+        return ip + "|" + request.getHeader("User-Agent");
+    }
+
+    // ==================== Flush ====================
+
+    /**
+     * Folds this instance's pending views into the stored statistics. Runs as
+     * the {@code note-view-flush} job on every instance.
+     *
+     * @return number of notes whose statistics were updated
+     */
+    public int flush() {
+        Map<String, PendingViews> drained = new HashMap<>();
+        for (String publicId : List.copyOf(pending.keySet())) {
+            PendingViews views = pending.remove(publicId);
+            if (views != null) {
+                drained.put(publicId, views);
+            }
+        }
+        if (drained.isEmpty()) {
+            return 0;
+        }
+
+        List<String> publicIds = new ArrayList<>(drained.keySet());
+        int flushed = 0;
+        for (int from = 0; from < publicIds.size(); from += FLUSH_CHUNK_SIZE) {
+            List<String> chunk = publicIds.subList(from, Math.min(from + FLUSH_CHUNK_SIZE, publicIds.size()));
+            try {
+                flushed += flushChunk(chunk, drained, LocalDateTime.now());
+            } catch (Exception e) {
+                log.warn("Failed to flush views of {} notes, retrying next time: {}", chunk.size(), e.getMessage());
+                chunk.forEach(publicId -> requeue(publicId, drained.get(publicId)));
+            }
+        }
+        log.debug("Flushed views of {} notes", flushed);
+        return flushed;
+    }
+
+    private int flushChunk(List<String> publicIds, Map<String, PendingViews> drained, LocalDateTime now) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        Integer updated = transaction.execute(status -> {
+            Map<Long, String> byId = noteRepository.findVisibleIdentities(publicIds).stream()
+                    .collect(Collectors.toMap(NoteIdentity::id, NoteIdentity::publicId));
+            if (byId.isEmpty()) {
+                return 0;
+            }
+            Map<Long, NoteViewStats> existing = noteViewStatsRepository.findAllForUpdate(byId.keySet()).stream()
+                    .collect(Collectors.toMap(NoteViewStats::getNoteId, Function.identity()));
+
+            List<NoteViewStats> rows = new ArrayList<>(byId.size());
+            byId.forEach((noteId, publicId) -> rows.add(
+                    apply(existing.get(noteId), noteId, drained.get(publicId), now)));
+            noteViewStatsRepository.saveAll(rows);
+            return rows.size();
+        });
+        return updated != null ? updated : 0;
+    }
+
+    private NoteViewStats apply(NoteViewStats stats, Long noteId, PendingViews views, LocalDateTime now) {
+        if (stats == null) {
+            stats = NoteViewStats.builder()
+                    .noteId(noteId)
+                    .uniqueViewers(new HyperLogLog().toBytes())
+                    .trendingAt(now)
+                    .build();
+        }
+        HyperLogLog viewers = HyperLogLog.fromBytes(stats.getUniqueViewers());
+        viewers.merge(views.viewers);
+
+        stats.setTotalViews(stats.getTotalViews() + views.views);
+        stats.setUniqueViewers(viewers.toBytes());
+        stats.setTrendingScore(decayed(stats.getTrendingScore(), stats.getTrendingAt(), now) + views.views);
+        stats.setTrendingAt(now);
+        stats.setUpdatedAt(now);
+        return stats;
+    }
+
+    private void requeue(String publicId, PendingViews views) {
+        pending.merge(publicId, views, (current, failed) -> {
+            current.merge(failed);
+            return current;
+        });
+    }
+
+    /**
+     * {@code score} as of {@code asOf}, halved every half-life up to {@code now}.
+     */
+    double decayed(double score, LocalDateTime asOf, LocalDateTime now) {
+        double halfLives = (double) Duration.between(asOf, now).toMillis()
+                / Duration.ofHours(trendingHalfLifeHours).toMillis();
+        return halfLives <= 0 ? score : score * Math.pow(0.5, halfLives);
+    }
+
+    // ==================== Reach ====================
+
+    /**
+     * Views and estimated unique readers across a teacher's notes, plus the
+     * notes trending right now. Unique readers are counted once even if they
+     * read several of the notes. Views since the last flush are not included.
+     */
+    public TeacherDashboardResponse.Reach getReach(Long teacherId) {
+        List<NoteReachRow> rows = noteViewStatsRepository.findReachByTeacher(teacherId);
+        LocalDateTime now = LocalDateTime.now();
+
+        long totalViews = 0;
+        HyperLogLog allViewers = new HyperLogLog();
+        List<TeacherDashboardResponse.NoteReach> notes = new ArrayList<>(rows.size());
+        for (NoteReachRow row : rows) {
+            HyperLogLog viewers = HyperLogLog.fromBytes(row.uniqueViewers());
+            allViewers.merge(viewers);
+            totalViews += row.totalViews();
+            notes.add(TeacherDashboardResponse.NoteReach.builder()
+                    .publicId(row.publicId())
+                    .title(row.title())
+                    .views(row.totalViews())
+                    .uniqueViewers(viewers.estimate())
+                    .trendingScore(Math.round(decayed(row.trendingScore(), row.trendingAt(), now) * 100) / 100.0)
+                    .build());
+        }
+
+        return TeacherDashboardResponse.Reach.builder()
+                .totalViews(totalViews)
+                .uniqueViewers(allViewers.estimate())
+                .trending(notes.stream()
+                        .sorted(Comparator.comparingDouble(TeacherDashboardResponse.NoteReach::getTrendingScore)
+                                .reversed())
+                        .limit(TRENDING_LIMIT)
+                        .toList())
+                .build();
+    }
+}
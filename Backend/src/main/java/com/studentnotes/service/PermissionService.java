@@ -1,10 +1,12 @@
 package com.studentnotes.service;
 
 import com.studentnotes.exception.AccessDeniedException;
+import com.studentnotes.model.Folder;
 import com.studentnotes.model.FolderPermission;
 import com.studentnotes.model.User;
 
 import com.studentnotes.repository.FolderPermissionRepository;
+import com.studentnotes.util.FolderPaths;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -26,6 +28,9 @@ public class PermissionService {
     @Autowired
     private FolderPermissionRepository folderPermissionRepository;
 
+    @Autowired
+    private FolderService folderService;
+
     /**
      * Checks if a user has read access for a specific folder path.
      * <p>
@@ -154,6 +159,10 @@ public class PermissionService {
             User grantedBy,
             LocalDateTime expiresAt) {
 
+        // Stored normalized, and on the folder's id, which coverage checks match on
+        Folder folder = folderService.resolve(folderPath);
+        folderPath = folder.getPath();
+
         // Check if permission already exists
         FolderPermission existing = folderPermissionRepository
                 .findByUserIdAndFolderPath(user.getId(), folderPath)
@@ -174,6 +183,7 @@ public class PermissionService {
         FolderPermission permission = FolderPermission.builder()
                 .userId(user.getId())
                 .folderPath(folderPath)
+                .folderId(folder.getId())
                 .canRead(canRead)
                 .canWrite(canWrite)
                 .canDelete(canDelete)
@@ -192,7 +202,7 @@ public class PermissionService {
      */
     @Transactional
     public void revokePermission(User user, String folderPath) {
-        folderPermissionRepository.findByUserIdAndFolderPath(user.getId(), folderPath)
+        folderPermissionRepository.findByUserIdAndFolderPath(user.getId(), FolderPaths.normalize(folderPath))
                 .ifPresent(permission -> {
                     permission.setIsActive(false);
                     folderPermissionRepository.save(permission);
@@ -228,7 +238,7 @@ public class PermissionService {
 
     private boolean hasPermission(Long userId, String folderPath, PermissionType type) {
         List<FolderPermission> permissions = folderPermissionRepository
-                .findCoveringPermissions(userId, folderPath, LocalDateTime.now());
+                .findCoveringPermissions(userId, folderService.selfAndAncestorIds(folderPath), LocalDateTime.now());
 
         if (permissions.isEmpty()) {
             return false;
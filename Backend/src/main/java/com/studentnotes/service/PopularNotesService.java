@@ -0,0 +1,341 @@
+package com.studentnotes.service;
+
+import com.studentnotes.dto.response.PopularNoteResponse;
+import com.studentnotes.event.NoteChangedEvent;
+import com.studentnotes.event.NoteVotedEvent;
+import com.studentnotes.exception.ValidationException;
+import com.studentnotes.repository.NoteRepository;
+import com.studentnotes.repository.NoteVoteSnapshot;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * Most-liked public notes, overall, per department and per department
+ * subject, kept in memory so the leaderboard never sorts the notes table.
+ * <p>
+ * <strong>Boards:</strong> each scope holds the top {@code 2 * size} notes by
+ * likes (ties broken by id), in a sorted set plus an id index. Like counts
+ * only grow, so a note outside a board can only overtake its last entry by
+ * receiving a vote, which is offered to the board from the committed
+ * {@link NoteVotedEvent}. The reserve above {@code size} absorbs notes that
+ * leave the tree (archived, deleted) without a query; a board that drops
+ * below {@code size} after it had to turn notes away is refilled by a rebuild.
+ * </p>
+ * <p>
+ * <strong>Rebuild:</strong> one unordered scan of the visible notes' counts,
+ * at startup, when a board needs refilling, and periodically to heal drift
+ * (votes received by another instance, or changes made directly in the
+ * database). Updates arriving during the scan are replayed onto its result;
+ * they are idempotent, so applying one twice is harmless.
+ * </p>
+ */
+@Service
+public class PopularNotesService {
+
+    private static final Logger log = LoggerFactory.getLogger(PopularNotesService.class);
+
+    private static final String ALL = "";
+
+    static final Comparator<NoteVoteSnapshot> RANKING = Comparator
+            .comparingInt(NoteVoteSnapshot::likes).reversed()
+            .thenComparing(NoteVoteSnapshot::id);
+
+    /**
+     * A committed change: optionally drop the note from every board first
+     * (it may have moved or left the tree), then offer its current counts.
+     */
+    private record Update(Long noteId, NoteVoteSnapshot snapshot, boolean relocate) {
+    }
+
+    @Autowired
+    private NoteRepository noteRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.popular.size:20}")
+    private int size = 20;
+
+    private volatile Map<String, Board> boards = new ConcurrentHashMap<>();
+    private volatile boolean seeded = false;
+
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+    // Updates seen while a rebuild is scanning; null otherwise. Guarded by this.
+    private List<Update> backlog;
+
+    // ==================== Queries ====================
+
+    /**
+     * Top {@code limit} notes (at most {@code app.popular.size}) in the given
+     * scope: everything, one department, or one subject of a department.
+     * Empty until the first rebuild has completed.
+     */
+    public List<PopularNoteResponse> getPopular(String department, String subject, int limit) {
+        boolean hasDepartment = StringUtils.hasText(department);
+        boolean hasSubject = StringUtils.hasText(subject);
+        if (hasSubject && !hasDepartment) {
+            throw ValidationException.requiredField("department");
+        }
+        String key = !hasDepartment ? ALL : hasSubject ? scope(department, subject) : department;
+
+        Board board = boards.get(key);
+        if (board == null) {
+            return List.of();
+        }
+        List<NoteVoteSnapshot> top = board.top(Math.max(1, Math.min(limit, size)));
+        List<PopularNoteResponse> result = new ArrayList<>(top.size());
+        for (int i = 0; i < top.size(); i++) {
+            result.add(toResponse(i + 1, top.get(i)));
+        }
+        return result;
+    }
+
+    public boolean isSeeded() {
+        return seeded;
+    }
+
+    // ==================== Incremental updates ====================
+
+    /**
+     * Offers the voted note to its boards. Memory only; the vote response is
+     * already committed.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onNoteVoted(NoteVotedEvent event) {
+        if (event.getSnapshot().isPubliclyVisible()) {
+            update(new Update(event.getSnapshot().id(), event.getSnapshot(), false));
+        }
+    }
+
+    /**
+     * Moves a changed note between boards, or drops it when it left the tree.
+     * Counts are read back by id, since the change event does not carry them.
+     */
+    @Async
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onNoteChanged(NoteChangedEvent event) {
+        try {
+            boolean visible = event.getType() != NoteChangedEvent.ChangeType.REMOVED
+                    && event.getStatus() != null && event.getStatus().isInPublicTree();
+            NoteVoteSnapshot snapshot = visible
+                    ? noteRepository.findVoteSnapshot(event.getNoteId()).orElse(null)
+                    : null;
+            update(new Update(event.getNoteId(), snapshot, true));
+            if (needsRefill()) {
+                rebuild();
+            }
+        } catch (Exception e) {
+            // The next rebuild corrects the boards
+            log.warn("Failed to apply change of note {} to popular notes: {}", event.getPublicId(), e.getMessage());
+        }
+    }
+
+    private void update(Update update) {
+        synchronized (this) {
+            if (backlog != null) {
+                backlog.add(update);
+            }
+        }
+        apply(boards, update);
+    }
+
+    private void apply(Map<String, Board> target, Update update) {
+        if (update.relocate()) {
+            target.values().forEach(board -> board.remove(update.noteId()));
+        }
+        NoteVoteSnapshot note = update.snapshot();
+        if (note == null || !note.isPubliclyVisible()) {
+            return;
+        }
+        offer(target, ALL, note);
+        if (note.department() != null) {
+            offer(target, note.department(), note);
+            if (note.subject() != null) {
+                offer(target, scope(note.department(), note.subject()), note);
+            }
+        }
+    }
+
+    private void offer(Map<String, Board> target, String key, NoteVoteSnapshot note) {
+        target.computeIfAbsent(key, k -> new Board(2 * size)).offer(note);
+    }
+
+    private boolean needsRefill() {
+        return boards.values().stream().anyMatch(board -> board.needsRefill(size));
+    }
+
+    // ==================== Rebuild ====================
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            log.error("Failed to seed popular notes: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Rebuilds every board from one unordered scan and swaps them in. Skipped
+     * if a rebuild is already running here. Runs as the
+     * {@code popular-notes-rebuild} job on every instance.
+     *
+     * @return number of notes scanned
+     */
+    public int rebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return 0;
+        }
+        try {
+            synchronized (this) {
+                backlog = new ArrayList<>();
+            }
+            long started = System.currentTimeMillis();
+            Map<String, Board> rebuilt = new ConcurrentHashMap<>();
+
+            TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+            transaction.setReadOnly(true);
+            Integer scanned = transaction.execute(status -> {
+                int count = 0;
+                try (Stream<NoteVoteSnapshot> notes = noteRepository.streamVoteSnapshots()) {
+                    Iterator<NoteVoteSnapshot> it = notes.iterator();
+                    while (it.hasNext()) {
+                        NoteVoteSnapshot note = it.next();
+                        apply(rebuilt, new Update(note.id(), note, false));
+                        count++;
+                    }
+                }
+                return count;
+            });
+
+            synchronized (this) {
+                backlog.forEach(update -> apply(rebuilt, update));
+                backlog = null;
+                boards = rebuilt;
+            }
+            seeded = true;
+            log.info("Popular notes rebuilt from {} notes into {} boards in {} ms", scanned, rebuilt.size(),
+                    System.currentTimeMillis() - started);
+            return scanned != null ? scanned : 0;
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                backlog = null;
+            }
+            throw e;
+        } finally {
+            rebuilding.set(false);
+        }
+    }
+
+    private static String scope(String department, String subject) {
+        return department + "/" + subject;
+    }
+
+    private PopularNoteResponse toResponse(int rank, NoteVoteSnapshot note) {
+        return PopularNoteResponse.builder()
+                .rank(rank)
+                .publicId(note.publicId())
+                .title(note.title())
+                .department(note.department())
+                .year(note.year())
+                .section(note.section())
+                .subject(note.subject())
+                .likes(note.likes())
+                .dislikes(note.dislikes())
+                .build();
+    }
+
+    // ==================== Board ====================
+
+    /**
+     * Bounded ranking of one scope. All methods lock the board, so votes on
+     * different scopes never contend.
+     */
+    static final class Board {
+
+        private final int capacity;
+        private final TreeSet<NoteVoteSnapshot> ranked = new TreeSet<>(RANKING);
+        private final Map<Long, NoteVoteSnapshot> byId = new HashMap<>();
+
+        // Set once a note was turned away or evicted: the board may no longer
+        // hold every note that would rank above a newly vacated slot
+        private boolean truncated;
+
+        Board(int capacity) {
+            this.capacity = capacity;
+        }
+
+        synchronized void offer(NoteVoteSnapshot note) {
+            NoteVoteSnapshot current = byId.get(note.id());
+            if (current != null) {
+                ranked.remove(current);
+                note = latest(current, note);
+            } else if (ranked.size() >= capacity) {
+                truncated = true;
+                if (RANKING.compare(note, ranked.last()) > 0) {
+                    return;
+                }
+                byId.remove(ranked.pollLast().id());
+            }
+            ranked.add(note);
+            byId.put(note.id(), note);
+        }
+
+        synchronized void remove(Long noteId) {
+            NoteVoteSnapshot current = byId.remove(noteId);
+            if (current != null) {
+                ranked.remove(current);
+            }
+        }
+
+        synchronized List<NoteVoteSnapshot> top(int limit) {
+            List<NoteVoteSnapshot> top = new ArrayList<>(Math.min(limit, ranked.size()));
+            for (NoteVoteSnapshot note : ranked) {
+                if (top.size() == limit) {
+                    break;
+                }
+                top.add(note);
+            }
+            return top;
+        }
+
+        synchronized boolean needsRefill(int size) {
+            return truncated && ranked.size() < size;
+        }
+
+        /**
+         * Counts only grow, so the higher count is the more recent read even
+         * when two listeners deliver out of order.
+         */
+        private static NoteVoteSnapshot latest(NoteVoteSnapshot current, NoteVoteSnapshot offered) {
+            if (offered.likes() >= current.likes() && offered.dislikes() >= current.dislikes()) {
+                return offered;
+            }
+            return new NoteVoteSnapshot(offered.id(), offered.publicId(), offered.title(), offered.department(),
+                    offered.year(), offered.section(), offered.subject(), offered.status(),
+                    Math.max(current.likes(), offered.likes()), Math.max(current.dislikes(), offered.dislikes()));
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.studentnotes.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.studentnotes.event.CacheInvalidation;
+import jakarta.annotation.PreDestroy;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Invalidation bus over PostgreSQL LISTEN/NOTIFY.
+ * <p>
+ * Publishing is a {@code pg_notify} on a pooled connection; callers publish
+ * after their transaction committed, so the notification goes out at once.
+ * A daemon thread holds one connection from the pool listening on
+ * {@value #CHANNEL}. NOTIFY is not durable: whatever is sent while that
+ * connection is down is lost, so after every reconnect listeners are told
+ * to drop everything they cache.
+ * </p>
+ */
+@Service
+@ConditionalOnProperty(name = "app.cache.invalidation-bus", havingValue = "postgres")
+public class PostgresInvalidationBus implements CacheInvalidationBus {
+
+    private static final Logger log = LoggerFactory.getLogger(PostgresInvalidationBus.class);
+
+    static final String CHANNEL = "cache_invalidation";
+
+    private static final int POLL_TIMEOUT_MS = 5000;
+    private static final long RECONNECT_DELAY_MS = 5000;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    private volatile boolean running = false;
+    private Thread listenerThread;
+
+    @Override
+    public void publish(CacheInvalidation invalidation) {
+        try {
+            String payload = objectMapper.writeValueAsString(invalidation);
+            jdbcTemplate.query("SELECT pg_notify(?, ?)", rs -> null, CHANNEL, payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize " + invalidation, e);
+        }
+    }
+
+    @Override
+    public void subscribe(Listener listener) {
+        listeners.add(listener);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        listenerThread = new Thread(this::listen, "cache-invalidation-listener");
+        listenerThread.setDaemon(true);
+        listenerThread.start();
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        running = false;
+        if (listenerThread != null) {
+            listenerThread.interrupt();
+        }
+    }
+
+    private void listen() {
+        boolean connectedBefore = false;
+        while (running) {
+            try (Connection connection = dataSource.getConnection()) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                if (connectedBefore) {
+                    log.info("Cache invalidation listener reconnected; dropping local caches");
+                    listeners.forEach(Listener::onMessagesLost);
+                }
+                connectedBefore = true;
+
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MS);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            deliver(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Cache invalidation listener lost its connection, retrying in {} ms: {}",
+                        RECONNECT_DELAY_MS, e.getMessage());
+                try {
+                    Thread.sleep(RECONNECT_DELAY_MS);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void deliver(String payload) {
+        CacheInvalidation invalidation;
+        try {
+            invalidation = objectMapper.readValue(payload, CacheInvalidation.class);
+        } catch (JsonProcessingException e) {
+            log.warn("Ignoring malformed cache invalidation: {}", payload);
+            return;
+        }
+        for (Listener listener : listeners) {
+            try {
+                listener.onInvalidation(invalidation);
+            } catch (Exception e) {
+                log.error("Cache invalidation listener failed on {}: {}", invalidation, e.getMessage());
+            }
+        }
+    }
+}
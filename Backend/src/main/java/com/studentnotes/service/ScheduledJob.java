@@ -0,0 +1,35 @@
+package com.studentnotes.service;
+
+import com.studentnotes.model.enums.JobScope;
+
+import java.time.Duration;
+import java.util.function.IntSupplier;
+
+/**
+ * A named background job run by {@link JobService}. Declare one as a bean
+ * (see {@code JobConfig}) instead of annotating a method with
+ * {@code @Scheduled}.
+ *
+ * @param name         unique job name, also the lease name for cluster jobs
+ * @param scope        where the job runs
+ * @param interval     delay between the end of one run and the start of the next
+ * @param initialDelay delay before the first run after startup
+ * @param leaseTtl     how long a cluster run may take before another instance
+ *                     may start one; unused for instance jobs
+ * @param task         the work; returns the number of items processed
+ */
+public record ScheduledJob(String name, JobScope scope, Duration interval, Duration initialDelay, Duration leaseTtl,
+        IntSupplier task) {
+
+    public static ScheduledJob cluster(String name, Duration interval, Duration leaseTtl, IntSupplier task) {
+        return new ScheduledJob(name, JobScope.CLUSTER, interval, interval, leaseTtl, task);
+    }
+
+    public static ScheduledJob instance(String name, Duration interval, IntSupplier task) {
+        return new ScheduledJob(name, JobScope.INSTANCE, interval, interval, null, task);
+    }
+
+    public ScheduledJob withInitialDelay(Duration initialDelay) {
+        return new ScheduledJob(name, scope, interval, initialDelay, leaseTtl, task);
+    }
+}
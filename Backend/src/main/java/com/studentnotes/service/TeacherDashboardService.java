@@ -39,6 +39,9 @@ public class TeacherDashboardService {
     @Autowired
     private DeletionRequestService deletionRequestService;
 
+    @Autowired
+    private NoteViewService noteViewService;
+
     /**
      * Gets the teacher's dashboard overview.
      */
@@ -70,6 +73,7 @@ public class TeacherDashboardService {
                 .notes(notes)
                 .notesByFolder(notesByFolder)
                 .deletionRequests(deletionRequestResponses)
+                .reach(noteViewService.getReach(teacherId))
                 .build();
     }
 
@@ -1,5 +1,6 @@
 package com.studentnotes.service;
 
+import com.studentnotes.config.CacheNames;
 import com.studentnotes.dto.request.CreateTeacherRequest;
 import com.studentnotes.dto.request.DisableUserRequest;
 import com.studentnotes.dto.request.UpdatePermissionsRequest;
@@ -49,6 +50,9 @@ public class UserService {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private CacheInvalidationService cacheInvalidationService;
+
     /**
      * Creates a new teacher account.
      */
@@ -100,6 +104,7 @@ public class UserService {
                         savedTeacher.getName(), savedTeacher.getEmail()));
 
         log.info("Teacher {} created by {}", savedTeacher.getEmail(), admin.getEmail());
+        cacheInvalidationService.invalidate(CacheNames.ADMIN_OVERVIEW);
 
         return savedTeacher;
     }
@@ -145,6 +150,7 @@ public class UserService {
 
         log.info("User {} disabled by {} - reason: {}",
                 savedUser.getEmail(), admin.getEmail(), request.getReason());
+        cacheInvalidationService.invalidate(CacheNames.ADMIN_OVERVIEW);
 
         return savedUser;
     }
@@ -177,6 +183,7 @@ public class UserService {
                 UserStatus.ACTIVE.name());
 
         log.info("User {} enabled by {}", savedUser.getEmail(), admin.getEmail());
+        cacheInvalidationService.invalidate(CacheNames.ADMIN_OVERVIEW);
 
         return savedUser;
     }
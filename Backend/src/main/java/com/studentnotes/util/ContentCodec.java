@@ -0,0 +1,180 @@
+package com.studentnotes.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Storage encoding for markdown bodies: small bodies as plain UTF-8, larger
+ * ones deflated against a preset markdown dictionary.
+ * <p>
+ * <strong>Format:</strong> one tag byte, then for compressed bodies the
+ * UTF-8 length as a 4-byte big-endian int, then the raw deflate stream.
+ * Tags are never reused: a dictionary, once written to the database, must be
+ * readable forever, so a new dictionary gets a new tag and a new resource
+ * file instead of replacing the old one.
+ * </p>
+ * <ul>
+ * <li>{@code 0x00} plain UTF-8 (bodies under {@link #COMPRESSION_THRESHOLD},
+ * bodies that do not shrink, and rows written before compression)</li>
+ * <li>{@code 0x01} deflate, no dictionary</li>
+ * <li>{@code 0x02} deflate with {@code compression/markdown-v1.dict}</li>
+ * </ul>
+ * <p>
+ * The dictionary primes the deflate window with common markdown syntax and
+ * lecture-note vocabulary, which is what lets mid-sized notes (a few KB,
+ * too short to build their own back-references) compress well.
+ * </p>
+ */
+public final class ContentCodec {
+
+    public static final byte TAG_PLAIN = 0x00;
+    public static final byte TAG_DEFLATE = 0x01;
+    public static final byte TAG_DEFLATE_MARKDOWN_V1 = 0x02;
+
+    /**
+     * UTF-8 bytes below which bodies are stored plain: compression gains too
+     * little there to pay for the CPU.
+     */
+    public static final int COMPRESSION_THRESHOLD = 512;
+
+    private static final int HEADER_LENGTH = 5;
+
+    static final String MARKDOWN_V1_RESOURCE = "/compression/markdown-v1.dict";
+
+    // Guards against an edited dictionary silently corrupting stored rows
+    static final String MARKDOWN_V1_SHA256 = "28c911a86d56e264b2ae733fe13856ecac3211450cc8bc8a723309076be43a78";
+
+    private static final byte[] MARKDOWN_V1 = loadDictionary(MARKDOWN_V1_RESOURCE, MARKDOWN_V1_SHA256);
+
+    private ContentCodec() {
+    }
+
+    /**
+     * Encodes {@code content} for storage, or null for null.
+     */
+    public static byte[] encode(String content) {
+        if (content == null) {
+            return null;
+        }
+        byte[] utf8 = content.getBytes(StandardCharsets.UTF_8);
+        if (utf8.length >= COMPRESSION_THRESHOLD) {
+            byte[] compressed = deflate(utf8, TAG_DEFLATE_MARKDOWN_V1, MARKDOWN_V1);
+            if (compressed.length < utf8.length + 1) {
+                return compressed;
+            }
+        }
+        return plain(utf8);
+    }
+
+    /**
+     * Decodes a stored value written by any version of {@link #encode}.
+     *
+     * @throws IllegalStateException for an unknown tag or a corrupt stream
+     */
+    public static String decode(byte[] stored) {
+        if (stored == null) {
+            return null;
+        }
+        if (stored.length == 0) {
+            return "";
+        }
+        return switch (stored[0]) {
+            case TAG_PLAIN -> new String(stored, 1, stored.length - 1, StandardCharsets.UTF_8);
+            case TAG_DEFLATE -> new String(inflate(stored, null), StandardCharsets.UTF_8);
+            case TAG_DEFLATE_MARKDOWN_V1 -> new String(inflate(stored, MARKDOWN_V1), StandardCharsets.UTF_8);
+            default -> throw new IllegalStateException("Unknown content encoding tag " + stored[0]);
+        };
+    }
+
+    /**
+     * Whether {@code stored} is a plain body large enough to compress.
+     */
+    public static boolean isCompressible(byte[] stored) {
+        return stored != null && stored.length > COMPRESSION_THRESHOLD && stored[0] == TAG_PLAIN;
+    }
+
+    // ==================== Deflate ====================
+
+    static byte[] plain(byte[] utf8) {
+        byte[] stored = new byte[utf8.length + 1];
+        stored[0] = TAG_PLAIN;
+        System.arraycopy(utf8, 0, stored, 1, utf8.length);
+        return stored;
+    }
+
+    static byte[] deflate(byte[] utf8, byte tag, byte[] dictionary) {
+        // Raw deflate: the header carries the length and no zlib checksum is needed
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        try {
+            if (dictionary != null) {
+                deflater.setDictionary(dictionary);
+            }
+            deflater.setInput(utf8);
+            deflater.finish();
+
+            byte[] buffer = new byte[HEADER_LENGTH + utf8.length / 2 + 64];
+            int length = HEADER_LENGTH;
+            while (!deflater.finished()) {
+                if (length == buffer.length) {
+                    buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                }
+                length += deflater.deflate(buffer, length, buffer.length - length);
+            }
+            ByteBuffer.wrap(buffer).put(tag).putInt(utf8.length);
+            return Arrays.copyOf(buffer, length);
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] stored, byte[] dictionary) {
+        int length = ByteBuffer.wrap(stored, 1, 4).getInt();
+        Inflater inflater = new Inflater(true);
+        try {
+            if (dictionary != null) {
+                inflater.setDictionary(dictionary);
+            }
+            inflater.setInput(stored, HEADER_LENGTH, stored.length - HEADER_LENGTH);
+            byte[] utf8 = new byte[length];
+            int read = 0;
+            while (read < length) {
+                int n = inflater.inflate(utf8, read, length - read);
+                if (n == 0 && (inflater.finished() || inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                read += n;
+            }
+            if (read != length) {
+                throw new IllegalStateException("Truncated content: expected " + length + " bytes, got " + read);
+            }
+            return utf8;
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupt compressed content", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static byte[] loadDictionary(String resource, String sha256) {
+        try (InputStream in = ContentCodec.class.getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new IllegalStateException("Missing compression dictionary " + resource);
+            }
+            byte[] dictionary = in.readAllBytes();
+            String actual = ContentHashes.sha256Hex(dictionary);
+            if (!sha256.equals(actual)) {
+                throw new IllegalStateException("Compression dictionary " + resource + " was modified");
+            }
+            return dictionary;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.studentnotes.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Content hashing shared by note versioning and the render cache.
+ * <p>
+ * {@code NoteVersion.contentHash} is the SHA-256 of the markdown as UTF-8,
+ * hex encoded (64 characters). Anything keyed by content must hash it the
+ * same way, so it lives here rather than next to each caller.
+ * </p>
+ */
+public final class ContentHashes {
+
+    private ContentHashes() {
+    }
+
+    /**
+     * Hex SHA-256 of {@code content}, or null for null content.
+     */
+    public static String sha256Hex(String content) {
+        if (content == null) {
+            return null;
+        }
+        return sha256Hex(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Hex SHA-256 of raw bytes.
+     */
+    public static String sha256Hex(byte[] bytes) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            // Every JVM is required to ship SHA-256
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
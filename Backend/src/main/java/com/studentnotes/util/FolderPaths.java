@@ -0,0 +1,80 @@
+package com.studentnotes.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Helpers for slash-separated folder paths ("it/year2/section-a/networks").
+ * <p>
+ * Folder permissions are hierarchical: a grant on a folder covers the folder
+ * and everything below it, on segment boundaries only ("it" covers
+ * "it/year2" but not "itx/year2"). Instead of asking the database which
+ * stored prefixes match a target path (a reversed LIKE no index can serve),
+ * callers expand the target into its ancestors here and look those up by
+ * exact match.
+ * </p>
+ */
+public final class FolderPaths {
+
+    public static final char SEPARATOR = '/';
+
+    private FolderPaths() {
+    }
+
+    /**
+     * Trims whitespace and stray separators: " /it//year2/ " becomes "it/year2".
+     */
+    public static String normalize(String path) {
+        if (path == null) {
+            return "";
+        }
+        StringBuilder normalized = new StringBuilder(path.length());
+        for (String segment : path.trim().split(String.valueOf(SEPARATOR))) {
+            String trimmed = segment.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            if (!normalized.isEmpty()) {
+                normalized.append(SEPARATOR);
+            }
+            normalized.append(trimmed);
+        }
+        return normalized.toString();
+    }
+
+    /**
+     * Returns the path and all of its ancestors, root first:
+     * "it/year2/networks" gives ["it", "it/year2", "it/year2/networks"].
+     * A grant on any of these covers the path.
+     */
+    public static List<String> selfAndAncestors(String path) {
+        String normalized = normalize(path);
+        List<String> paths = new ArrayList<>();
+        if (normalized.isEmpty()) {
+            return paths;
+        }
+        int index = normalized.indexOf(SEPARATOR);
+        while (index > 0) {
+            paths.add(normalized.substring(0, index));
+            index = normalized.indexOf(SEPARATOR, index + 1);
+        }
+        paths.add(normalized);
+        return paths;
+    }
+
+    /**
+     * Whether a grant on {@code grantPath} covers {@code targetPath}.
+     */
+    public static boolean covers(String grantPath, String targetPath) {
+        if (grantPath == null || targetPath == null) {
+            return false;
+        }
+        String grant = normalize(grantPath);
+        String target = normalize(targetPath);
+        if (grant.isEmpty()) {
+            return false;
+        }
+        return target.equals(grant)
+                || (target.startsWith(grant) && target.charAt(grant.length()) == SEPARATOR);
+    }
+}
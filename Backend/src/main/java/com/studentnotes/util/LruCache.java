@@ -0,0 +1,77 @@
+package com.studentnotes.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Small bounded in-memory cache that evicts the least recently used entry.
+ * <p>
+ * For values that are expensive to compute but cheap to recompute after
+ * eviction, where an unbounded Spring {@code ConcurrentMapCache} would grow
+ * without limit. Synchronized: meant for modest hit rates, not hot paths.
+ * Values are computed outside the lock, so two callers missing the same key
+ * at once may both compute it; the later result wins.
+ * </p>
+ */
+public class LruCache<K, V> {
+
+    private final int maxEntries;
+    private final Map<K, V> entries;
+
+    private long hits;
+    private long misses;
+
+    public LruCache(int maxEntries) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("maxEntries must be positive");
+        }
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > LruCache.this.maxEntries;
+            }
+        };
+    }
+
+    public synchronized V get(K key) {
+        V value = entries.get(key);
+        if (value != null) {
+            hits++;
+        } else {
+            misses++;
+        }
+        return value;
+    }
+
+    public synchronized void put(K key, V value) {
+        entries.put(key, value);
+    }
+
+    /**
+     * Cached value for {@code key}, computing and caching it on a miss.
+     */
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> loader) {
+        V value = get(key);
+        if (value == null) {
+            value = loader.apply(key);
+            if (value != null) {
+                put(key, value);
+            }
+        }
+        return value;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long hits() {
+        return hits;
+    }
+
+    public synchronized long misses() {
+        return misses;
+    }
+}
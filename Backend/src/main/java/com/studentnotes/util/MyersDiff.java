@@ -0,0 +1,234 @@
+package com.studentnotes.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Myers' O(ND) difference algorithm, linear-space variant.
+ * <p>
+ * Inputs are token ids rather than strings ({@link #intern}), so every
+ * comparison in the inner loop is an int compare. Common prefixes and
+ * suffixes are stripped before searching, which makes the usual case (a few
+ * edits in a large note) cost little more than one pass over both inputs.
+ * </p>
+ * <p>
+ * <strong>Budget:</strong> the search is cut off after a fixed amount of
+ * work; the region still being searched is then reported as one replaced
+ * block. The result is still a correct (if not minimal) diff, and the same
+ * inputs always give the same result, so it can be cached.
+ * </p>
+ */
+public final class MyersDiff {
+
+    /**
+     * Search steps allowed per diff: tens of milliseconds at worst.
+     */
+    public static final long DEFAULT_BUDGET = 20_000_000L;
+
+    /**
+     * {@code a[aStart, aEnd)} was replaced by {@code b[bStart, bEnd)}; one
+     * side is empty for a pure deletion or insertion.
+     */
+    public record Change(int aStart, int aEnd, int bStart, int bEnd) {
+    }
+
+    private MyersDiff() {
+    }
+
+    /**
+     * Maps both token lists to ids, equal tokens sharing an id.
+     *
+     * @return {@code [aIds, bIds]}
+     */
+    public static <T> int[][] intern(List<T> a, List<T> b) {
+        Map<T, Integer> ids = new HashMap<>();
+        int[] aIds = new int[a.size()];
+        int[] bIds = new int[b.size()];
+        for (int i = 0; i < aIds.length; i++) {
+            aIds[i] = ids.computeIfAbsent(a.get(i), k -> ids.size());
+        }
+        for (int i = 0; i < bIds.length; i++) {
+            bIds[i] = ids.computeIfAbsent(b.get(i), k -> ids.size());
+        }
+        return new int[][] { aIds, bIds };
+    }
+
+    public static List<Change> diff(int[] a, int[] b) {
+        return diff(a, b, DEFAULT_BUDGET);
+    }
+
+    /**
+     * Changes turning {@code a} into {@code b}, in order.
+     */
+    public static List<Change> diff(int[] a, int[] b, long budget) {
+        Search search = new Search(a, b, budget);
+        search.compare(0, a.length, 0, b.length);
+
+        List<Change> changes = new ArrayList<>();
+        int i = 0;
+        int j = 0;
+        while (i < a.length || j < b.length) {
+            if (i < a.length && j < b.length && !search.deleted[i] && !search.inserted[j]) {
+                i++;
+                j++;
+                continue;
+            }
+            int aStart = i;
+            int bStart = j;
+            while (i < a.length && search.deleted[i]) {
+                i++;
+            }
+            while (j < b.length && search.inserted[j]) {
+                j++;
+            }
+            changes.add(new Change(aStart, i, bStart, j));
+        }
+        return changes;
+    }
+
+    // ==================== Search ====================
+
+    private static final class Search {
+
+        private final int[] a;
+        private final int[] b;
+        private final boolean[] deleted;
+        private final boolean[] inserted;
+
+        // Forward and reverse furthest-reaching x per diagonal, reused by every bisect
+        private final int[] forward;
+        private final int[] reverse;
+
+        private long remaining;
+
+        Search(int[] a, int[] b, long budget) {
+            this.a = a;
+            this.b = b;
+            this.deleted = new boolean[a.length];
+            this.inserted = new boolean[b.length];
+            int maxD = (a.length + b.length + 1) / 2;
+            this.forward = new int[2 * maxD + 2];
+            this.reverse = new int[2 * maxD + 2];
+            this.remaining = budget;
+        }
+
+        void compare(int aLo, int aHi, int bLo, int bHi) {
+            while (aLo < aHi && bLo < bHi && a[aLo] == b[bLo]) {
+                aLo++;
+                bLo++;
+            }
+            while (aLo < aHi && bLo < bHi && a[aHi - 1] == b[bHi - 1]) {
+                aHi--;
+                bHi--;
+            }
+            if (aLo == aHi || bLo == bHi) {
+                replace(aLo, aHi, bLo, bHi);
+                return;
+            }
+
+            long split = bisect(aLo, aHi, bLo, bHi);
+            if (split < 0) {
+                replace(aLo, aHi, bLo, bHi);
+                return;
+            }
+            int x = aLo + (int) (split >>> 32);
+            int y = bLo + (int) split;
+            compare(aLo, x, bLo, y);
+            compare(x, aHi, y, bHi);
+        }
+
+        private void replace(int aLo, int aHi, int bLo, int bHi) {
+            Arrays.fill(deleted, aLo, aHi, true);
+            Arrays.fill(inserted, bLo, bHi, true);
+        }
+
+        /**
+         * Finds the middle snake of the shortest edit script, searching from
+         * both ends at once.
+         *
+         * @return the split point as {@code (x << 32) | y}, relative to the
+         *         range, or -1 when there is no common token or the budget ran out
+         */
+        private long bisect(int aLo, int aHi, int bLo, int bHi) {
+            int n = aHi - aLo;
+            int m = bHi - bLo;
+            int maxD = (n + m + 1) / 2;
+            int offset = maxD;
+            int length = 2 * maxD;
+            Arrays.fill(forward, 0, length + 1, -1);
+            Arrays.fill(reverse, 0, length + 1, -1);
+            forward[offset + 1] = 0;
+            reverse[offset + 1] = 0;
+
+            int delta = n - m;
+            // With an odd delta the paths meet on a forward step, else on a reverse step
+            boolean checkOnForward = (delta & 1) != 0;
+            int k1Start = 0;
+            int k1End = 0;
+            int k2Start = 0;
+            int k2End = 0;
+
+            for (int d = 0; d < maxD; d++) {
+                remaining -= 2L * d + 1;
+                if (remaining < 0) {
+                    return -1;
+                }
+
+                for (int k1 = -d + k1Start; k1 <= d - k1End; k1 += 2) {
+                    int k1Offset = offset + k1;
+                    int x1 = k1 == -d || (k1 != d && forward[k1Offset - 1] < forward[k1Offset + 1])
+                            ? forward[k1Offset + 1]
+                            : forward[k1Offset - 1] + 1;
+                    int y1 = x1 - k1;
+                    while (x1 < n && y1 < m && a[aLo + x1] == b[bLo + y1]) {
+                        x1++;
+                        y1++;
+                    }
+                    forward[k1Offset] = x1;
+                    if (x1 > n) {
+                        k1End += 2;
+                    } else if (y1 > m) {
+                        k1Start += 2;
+                    } else if (checkOnForward) {
+                        int k2Offset = offset + delta - k1;
+                        if (k2Offset >= 0 && k2Offset < length && reverse[k2Offset] != -1
+                                && x1 >= n - reverse[k2Offset]) {
+                            return ((long) x1 << 32) | y1;
+                        }
+                    }
+                }
+
+                for (int k2 = -d + k2Start; k2 <= d - k2End; k2 += 2) {
+                    int k2Offset = offset + k2;
+                    int x2 = k2 == -d || (k2 != d && reverse[k2Offset - 1] < reverse[k2Offset + 1])
+                            ? reverse[k2Offset + 1]
+                            : reverse[k2Offset - 1] + 1;
+                    int y2 = x2 - k2;
+                    while (x2 < n && y2 < m && a[aHi - x2 - 1] == b[bHi - y2 - 1]) {
+                        x2++;
+                        y2++;
+                    }
+                    reverse[k2Offset] = x2;
+                    if (x2 > n) {
+                        k2End += 2;
+                    } else if (y2 > m) {
+                        k2Start += 2;
+                    } else if (!checkOnForward) {
+                        int k1Offset = offset + delta - k2;
+                        if (k1Offset >= 0 && k1Offset < length && forward[k1Offset] != -1) {
+                            int x1 = forward[k1Offset];
+                            int y1 = offset + x1 - k1Offset;
+                            if (x1 >= n - x2) {
+                                return ((long) x1 << 32) | y1;
+                            }
+                        }
+                    }
+                }
+            }
+            return -1;
+        }
+    }
+}
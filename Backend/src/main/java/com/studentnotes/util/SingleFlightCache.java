@@ -0,0 +1,119 @@
+package com.studentnotes.util;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * In-memory cache for values that are expensive to compute, loaded at most
+ * once at a time per key.
+ * <p>
+ * <strong>Single flight:</strong> on a miss, the first caller runs the
+ * loader; callers arriving while it runs wait for its result instead of
+ * running their own. If the load fails, every waiting caller gets the
+ * exception and the next call tries again.
+ * </p>
+ * <p>
+ * <strong>Stale while revalidate:</strong> {@link #invalidate} marks a value
+ * stale but keeps it. The next caller reloads it, and callers arriving
+ * meanwhile get the stale value at once rather than queueing behind the
+ * reload. A value loaded while an invalidation came in stays stale, since the
+ * load may have read data from before the change, so the next call reloads
+ * again.
+ * </p>
+ * Loaders must not return null.
+ */
+public final class SingleFlightCache<K, V> {
+
+    private static final class Entry<V> {
+        // All fields guarded by the entry's monitor
+        V value;
+        boolean stale;
+        long generation;
+        CompletableFuture<V> loading;
+    }
+
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+
+    /**
+     * The cached value for {@code key}, loading it with {@code loader} if it is
+     * missing or stale and nobody else is loading it already.
+     */
+    public V get(K key, Supplier<V> loader) {
+        Entry<V> entry = entries.computeIfAbsent(key, k -> new Entry<>());
+        CompletableFuture<V> loading;
+        long generation;
+        synchronized (entry) {
+            if (entry.value != null && !entry.stale) {
+                return entry.value;
+            }
+            if (entry.loading != null) {
+                if (entry.value != null) {
+                    return entry.value;
+                }
+                loading = entry.loading;
+                generation = -1;
+            } else {
+                loading = new CompletableFuture<>();
+                entry.loading = loading;
+                generation = entry.generation;
+            }
+        }
+        if (generation < 0) {
+            return await(loading);
+        }
+
+        V value;
+        try {
+            value = Objects.requireNonNull(loader.get(), "loader returned null");
+        } catch (RuntimeException | Error e) {
+            synchronized (entry) {
+                entry.loading = null;
+            }
+            loading.completeExceptionally(e);
+            throw e;
+        }
+        synchronized (entry) {
+            entry.value = value;
+            entry.stale = entry.generation != generation;
+            entry.loading = null;
+        }
+        loading.complete(value);
+        return value;
+    }
+
+    /**
+     * Marks the value for {@code key} stale; it is served until the reload
+     * that the next {@link #get} starts has finished.
+     */
+    public void invalidate(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry != null) {
+            synchronized (entry) {
+                entry.generation++;
+                entry.stale = true;
+            }
+        }
+    }
+
+    public void invalidateAll() {
+        entries.keySet().forEach(this::invalidate);
+    }
+
+    private static <V> V await(CompletableFuture<V> loading) {
+        try {
+            return loading.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
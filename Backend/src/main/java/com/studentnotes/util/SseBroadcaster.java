@@ -0,0 +1,131 @@
+package com.studentnotes.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Fan-out of Server-Sent Events to a set of connected {@link SseEmitter}s.
+ * <p>
+ * All writes go through a single dispatcher thread so that:
+ * <ul>
+ * <li>events reach every client in the order they were submitted,</li>
+ * <li>a replay queued at subscription time is delivered before any live event
+ * submitted afterwards, and</li>
+ * <li>a slow or dead client never blocks the publishing (request) thread.</li>
+ * </ul>
+ * Emitters whose write fails are dropped silently; the client reconnects and
+ * resumes from its last event id.
+ * </p>
+ */
+public class SseBroadcaster {
+
+    private static final Logger log = LoggerFactory.getLogger(SseBroadcaster.class);
+
+    /**
+     * One SSE frame. Kept as plain data because {@link SseEmitter.SseEventBuilder}
+     * cannot be reused across emitters.
+     */
+    public record Event(String id, String name, Object data) {
+    }
+
+    private final String name;
+    private final Set<SseEmitter> emitters = ConcurrentHashMap.newKeySet();
+    private final ExecutorService dispatcher;
+
+    public SseBroadcaster(String name) {
+        this.name = name;
+        this.dispatcher = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "sse-" + name);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Registers an emitter, sending {@code initialEvents} to it before it starts
+     * receiving broadcasts.
+     */
+    public void register(SseEmitter emitter, List<Event> initialEvents) {
+        emitter.onCompletion(() -> emitters.remove(emitter));
+        emitter.onTimeout(() -> {
+            emitters.remove(emitter);
+            emitter.complete();
+        });
+        emitter.onError(e -> emitters.remove(emitter));
+
+        dispatcher.execute(() -> {
+            for (Event event : initialEvents) {
+                if (!send(emitter, event)) {
+                    return;
+                }
+            }
+            emitters.add(emitter);
+        });
+    }
+
+    /**
+     * Queues an event for every registered emitter.
+     */
+    public void broadcast(Event event) {
+        dispatcher.execute(() -> emitters.forEach(emitter -> send(emitter, event)));
+    }
+
+    /**
+     * Sends an SSE comment to every emitter. Keeps proxies from closing idle
+     * connections and surfaces dead clients.
+     */
+    public void heartbeat() {
+        dispatcher.execute(() -> emitters.forEach(emitter -> {
+            try {
+                emitter.send(SseEmitter.event().comment("keepalive"));
+            } catch (IOException | IllegalStateException e) {
+                drop(emitter);
+            }
+        }));
+    }
+
+    public int getSubscriberCount() {
+        return emitters.size();
+    }
+
+    /**
+     * Completes all emitters and stops the dispatcher.
+     */
+    public void shutdown() {
+        dispatcher.shutdown();
+        emitters.forEach(SseEmitter::complete);
+        emitters.clear();
+    }
+
+    private boolean send(SseEmitter emitter, Event event) {
+        SseEmitter.SseEventBuilder builder = SseEmitter.event().name(event.name()).data(event.data());
+        if (event.id() != null) {
+            builder.id(event.id());
+        }
+        try {
+            emitter.send(builder);
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Dropping {} subscriber: {}", name, e.getMessage());
+            drop(emitter);
+            return false;
+        }
+    }
+
+    private void drop(SseEmitter emitter) {
+        emitters.remove(emitter);
+        try {
+            emitter.complete();
+        } catch (IllegalStateException ignored) {
+            // already completed
+        }
+    }
+}
@@ -0,0 +1,4 @@
+-- Replayed responses keep the headers a client acts on (see IdempotencyFilter),
+-- stored as one "Name: value" line each. Rows completed before this column
+-- replay without them.
+alter table idempotency_keys add column response_headers TEXT;
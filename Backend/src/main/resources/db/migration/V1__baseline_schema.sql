@@ -0,0 +1,209 @@
+-- Baseline schema: the entity model as Hibernate created it under ddl-auto,
+-- before Flyway took over. Existing databases are baselined at this version
+-- (spring.flyway.baseline-on-migrate) and only run later migrations, so this
+-- file must never change; schema changes go in a new migration.
+
+create table audit_logs (
+    actor_id bigint not null,
+    id bigint generated by default as identity,
+    target_id bigint not null,
+    timestamp timestamp(6) not null,
+    correlation_id varchar(36) not null,
+    ip_address varchar(45),
+    action varchar(50) not null check (action in ('NOTE_CREATED','NOTE_UPDATED','NOTE_PUBLISHED','NOTE_ARCHIVED','NOTE_DELETED','NOTE_RESTORED','DELETION_REQUESTED','DELETION_APPROVED','DELETION_REJECTED','USER_CREATED','USER_DISABLED','USER_ENABLED','USER_PERMISSIONS_UPDATED','USER_LOGIN','USER_LOGOUT','USER_LOGIN_FAILED','DEPARTMENT_CREATED','DEPARTMENT_DELETED','FOLDER_PERMISSION_GRANTED','FOLDER_PERMISSION_REVOKED')),
+    target_type varchar(50) not null,
+    user_agent varchar(500),
+    actor_email varchar(255) not null,
+    actor_role varchar(255) not null,
+    description TEXT,
+    metadata TEXT,
+    new_state TEXT,
+    previous_state TEXT,
+    primary key (id)
+);
+
+create table deletion_requests (
+    id bigint generated by default as identity,
+    note_id bigint not null,
+    requested_at timestamp(6) not null,
+    resolved_at timestamp(6),
+    resolved_by_user_id bigint,
+    teacher_id bigint not null,
+    version bigint,
+    status varchar(20) not null check (status in ('PENDING','APPROVED','REJECTED')),
+    public_id varchar(36) not null unique,
+    resolution_idempotency_key varchar(36),
+    reason varchar(1000) not null,
+    rejection_reason varchar(1000),
+    primary key (id)
+);
+
+create table departments (
+    id bigint generated by default as identity,
+    full_name varchar(255),
+    name varchar(255) not null unique,
+    primary key (id)
+);
+
+create table folder_permissions (
+    can_delete boolean not null,
+    can_manage boolean not null,
+    can_read boolean not null,
+    can_write boolean not null,
+    is_active boolean not null,
+    expires_at timestamp(6),
+    granted_at timestamp(6) not null,
+    granted_by_user_id bigint not null,
+    id bigint generated by default as identity,
+    user_id bigint not null,
+    folder_path varchar(500) not null,
+    primary key (id),
+    unique (user_id, folder_path)
+);
+
+create table note_versions (
+    is_current_version boolean not null,
+    version_number integer not null,
+    created_at timestamp(6) not null,
+    created_by_user_id bigint not null,
+    file_size_bytes bigint,
+    id bigint generated by default as identity,
+    note_id bigint not null,
+    content_hash varchar(64),
+    mime_type varchar(100),
+    change_summary varchar(500),
+    content TEXT not null,
+    created_by_email varchar(255) not null,
+    title varchar(255) not null,
+    primary key (id)
+);
+
+create table notes (
+    current_version integer not null,
+    dislikes integer not null,
+    likes integer not null,
+    created_at timestamp(6) not null,
+    deleted_at timestamp(6),
+    file_size_bytes bigint,
+    id bigint generated by default as identity,
+    published_at timestamp(6),
+    updated_at timestamp(6),
+    uploaded_by_user_id bigint,
+    type varchar(10),
+    status varchar(20) not null check (status in ('DRAFT','PUBLISHED','DELETE_PENDING','DELETED','ARCHIVED')),
+    public_id varchar(36) not null unique,
+    mime_type varchar(100),
+    content TEXT,
+    department varchar(255) not null,
+    section varchar(255),
+    subject varchar(255) not null,
+    title varchar(255) not null,
+    uploaded_by_email varchar(255),
+    uploaded_by_name varchar(255),
+    year varchar(255) not null,
+    primary key (id)
+);
+
+create table user_departments (
+    user_id bigint not null,
+    department varchar(255)
+);
+
+create table users (
+    created_at timestamp(6) not null,
+    created_by_user_id bigint,
+    disabled_at timestamp(6),
+    disabled_by_user_id bigint,
+    id bigint generated by default as identity,
+    last_login_at timestamp(6),
+    updated_at timestamp(6),
+    role varchar(20) not null,
+    status varchar(25) not null check (status in ('ACTIVE','DISABLED','PENDING_VERIFICATION','SUSPENDED')),
+    public_id varchar(36) not null unique,
+    disable_reason varchar(500),
+    email varchar(255) not null unique,
+    name varchar(255) not null,
+    password varchar(255) not null,
+    phone_number varchar(255),
+    primary key (id)
+);
+
+create index idx_audit_actor
+    on audit_logs (actor_id);
+
+create index idx_audit_action
+    on audit_logs (action);
+
+create index idx_audit_timestamp
+    on audit_logs (timestamp);
+
+create index idx_audit_target
+    on audit_logs (target_type, target_id);
+
+create index idx_deletion_status
+    on deletion_requests (status);
+
+create index idx_deletion_note
+    on deletion_requests (note_id);
+
+create index idx_deletion_teacher
+    on deletion_requests (teacher_id);
+
+create index idx_deletion_requested_at
+    on deletion_requests (requested_at);
+
+create index idx_folder_perm_user
+    on folder_permissions (user_id);
+
+create index idx_folder_perm_path
+    on folder_permissions (folder_path);
+
+create index idx_note_version_note
+    on note_versions (note_id);
+
+create index idx_note_version_number
+    on note_versions (note_id, version_number);
+
+create index idx_note_status
+    on notes (status);
+
+create index idx_note_uploader
+    on notes (uploaded_by_user_id);
+
+create index idx_note_department
+    on notes (department);
+
+create index idx_note_folder
+    on notes (department, year, section, subject);
+
+create index idx_note_created
+    on notes (created_at);
+
+create index idx_user_email
+    on users (email);
+
+create index idx_user_role
+    on users (role);
+
+create index idx_user_status
+    on users (status);
+
+alter table if exists deletion_requests
+    add constraint FK7khwys8cs9cwmsuh76hpplg62
+    foreign key (note_id)
+    references notes;
+
+alter table if exists deletion_requests
+    add constraint FKdmr4llcq70n3jq6x7u6etmdyo
+    foreign key (resolved_by_user_id)
+    references users;
+
+alter table if exists deletion_requests
+    add constraint FKmnc4w2y3wm5pvbohmx57rxcxt
+    foreign key (teacher_id)
+    references users;
+
+alter table if exists user_departments
+    add constraint FKeklynfw1mm4x2289n61pj0ojn
+    foreign key (user_id)
+    references users;
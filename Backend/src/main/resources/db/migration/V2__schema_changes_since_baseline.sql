@@ -0,0 +1,56 @@
+-- Entity changes made after the baseline snapshot. Databases created under
+-- ddl-auto=update were baselined at V1 and never received them.
+
+-- Optimistic locking on notes; existing rows start at version 0
+alter table notes add column if not exists version bigint default 0;
+update notes set version = 0 where version is null;
+
+-- Cluster-wide leases for scheduled jobs (LeaseService)
+create table if not exists job_leases (
+    acquired_at timestamp(6),
+    leased_until timestamp(6) not null,
+    name varchar(100) not null,
+    owner varchar(100) not null,
+    primary key (name)
+);
+
+-- Version numbers become unique per note. Concurrent saves could previously
+-- write the same number twice; move the later duplicates past the note's
+-- highest number so the constraint can be added.
+update note_versions v
+set version_number = d.max_number + d.shift
+from (
+    select dup.id, dup.max_number, row_number() over (partition by dup.note_id order by dup.id) as shift
+    from (
+        select id, note_id,
+                row_number() over (partition by note_id, version_number order by id) as rn,
+                max(version_number) over (partition by note_id) as max_number
+        from note_versions
+    ) dup
+    where dup.rn > 1
+) d
+where v.id = d.id;
+
+drop index if exists idx_note_version_number;
+
+do $$
+begin
+    if not exists (select 1 from pg_constraint where conname = 'uk_note_version_number') then
+        alter table note_versions
+            add constraint uk_note_version_number unique (note_id, version_number);
+    end if;
+end $$;
+
+-- Used by the grant expiry sweeper
+create index if not exists idx_folder_perm_expiry
+    on folder_permissions (is_active, expires_at);
+
+-- Permission checks only look at active grants, and expired grants are
+-- deactivated by the expiry sweeper, so index just the live rows.
+create index if not exists idx_folder_perm_active
+    on folder_permissions (user_id, folder_path)
+    where is_active = true;
+
+-- ddl-auto=update never refreshed this check, so databases created before
+-- newer audit actions reject them. The enum is enforced by the application.
+alter table audit_logs drop constraint if exists audit_logs_action_check;
@@ -0,0 +1,11 @@
+-- Render cache for note markdown, keyed by content hash (see RenderedNote).
+-- Rows are written once per distinct content and never updated except when
+-- the renderer revision changes.
+create table rendered_notes (
+    renderer_version integer not null,
+    rendered_at timestamp(6) not null,
+    content_hash varchar(64) not null,
+    html TEXT not null,
+    outline TEXT not null,
+    primary key (content_hash)
+);
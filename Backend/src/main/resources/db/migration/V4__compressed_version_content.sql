@@ -0,0 +1,6 @@
+-- Version bodies move to a binary column written through ContentCodec.
+-- Existing rows get the 0x00 "plain UTF-8" tag, so they stay readable as-is;
+-- POST /api/admin/maintenance/compact-versions compresses them afterwards.
+alter table note_versions
+    alter column content type bytea
+    using decode('00', 'hex') || convert_to(content, 'UTF8');
@@ -0,0 +1,18 @@
+-- Per-note reader statistics (see NoteViewStats). One row per viewed note,
+-- updated by each instance's periodic flush; views are never stored
+-- individually and viewers only as hashes inside the sketch.
+create table note_view_stats (
+    note_id bigint not null,
+    total_views bigint not null,
+    unique_viewers bytea not null,
+    trending_score float(53) not null,
+    trending_at timestamp(6) not null,
+    updated_at timestamp(6) not null,
+    primary key (note_id)
+);
+
+alter table if exists note_view_stats
+    add constraint fk_note_view_stats_note
+    foreign key (note_id)
+    references notes
+    on delete cascade;
@@ -0,0 +1,21 @@
+-- Run history of scheduled jobs (see JobRun). One row per completed run on
+-- whichever instance ran it; pruned after app.jobs.history-retention-days.
+create table job_runs (
+    id bigint generated by default as identity,
+    job_name varchar(100) not null,
+    instance_id varchar(100) not null,
+    triggered_by varchar(255),
+    status varchar(20) not null,
+    started_at timestamp(6) not null,
+    finished_at timestamp(6) not null,
+    duration_ms bigint not null,
+    items_processed integer not null,
+    error varchar(1000),
+    primary key (id)
+);
+
+create index idx_job_runs_job_started
+    on job_runs (job_name, started_at);
+
+create index idx_job_runs_started
+    on job_runs (started_at);
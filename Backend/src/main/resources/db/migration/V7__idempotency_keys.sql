@@ -0,0 +1,16 @@
+-- Idempotency-Key records for teacher and admin writes (see IdempotencyKey).
+-- A row is claimed before the write runs and holds its response afterwards;
+-- expired rows are purged by the idempotency-key-expiry job.
+create table idempotency_keys (
+    id varchar(64) not null,
+    request_hash varchar(64) not null,
+    response_status integer,
+    response_content_type varchar(100),
+    response_body bytea,
+    created_at timestamp(6) not null,
+    expires_at timestamp(6) not null,
+    primary key (id)
+);
+
+create index idx_idempotency_expires
+    on idempotency_keys (expires_at);
@@ -0,0 +1,113 @@
+-- Folder dimension: one row per folder of the note hierarchy, keyed by an
+-- integer id. Notes and folder permissions point at it, so folder queries and
+-- permission checks compare integers instead of path strings. The notes'
+-- department/year/section/subject columns stay, kept in step by the
+-- application, for display and for readers not yet moved to folder_id.
+create table folders (
+    id integer generated by default as identity,
+    parent_id integer,
+    depth integer not null,
+    name varchar(255) not null,
+    path varchar(500) not null unique,
+    primary key (id),
+    constraint fk_folder_parent foreign key (parent_id) references folders
+);
+
+create index idx_folder_parent on folders (parent_id);
+
+-- Grant paths were stored as entered (" /it//year2/ "); matching went through
+-- FolderPaths.normalize. Store them normalized the same way (segments trimmed,
+-- empty segments dropped) so they match folder paths exactly.
+create function pg_temp.normalize_folder_path(path text) returns text
+language sql immutable as $$
+    select coalesce(string_agg(btrim(segment, E' \t\r\n'), '/' order by n), '')
+    from unnest(string_to_array(path, '/')) with ordinality as s(segment, n)
+    where btrim(segment, E' \t\r\n') <> ''
+$$;
+
+-- Grants of one user that normalize to the same path: keep the active one
+-- granted last, as a permission check would have found it
+delete from folder_permissions fp
+using (
+    select id, row_number() over (
+            partition by user_id, pg_temp.normalize_folder_path(folder_path)
+            order by is_active desc, granted_at desc, id desc) as rn
+    from folder_permissions
+) ranked
+where fp.id = ranked.id
+  and ranked.rn > 1;
+
+update folder_permissions
+set folder_path = pg_temp.normalize_folder_path(folder_path)
+where folder_path <> pg_temp.normalize_folder_path(folder_path);
+
+-- Every path in use and all of its ancestors, parents first. Note paths are
+-- built as Note.folderPathOf does, skipping a missing section.
+insert into folders (depth, name, path)
+select distinct n, segments[n], array_to_string(segments[1:n], '/')
+from (
+    select string_to_array(concat_ws('/', btrim(department), btrim(year), nullif(btrim(section), ''),
+            btrim(subject)), '/') as segments
+    from notes
+    union
+    select string_to_array(folder_path, '/')
+    from folder_permissions
+    where folder_path <> ''
+) paths,
+generate_series(1, cardinality(segments)) as n
+order by 1, 3;
+
+update folders child
+set parent_id = parent.id
+from folders parent
+where child.depth > 1
+  and parent.path = left(child.path, length(child.path) - length(child.name) - 1);
+
+-- Notes
+alter table notes add column folder_id integer;
+
+update notes n
+set folder_id = f.id
+from folders f
+where f.path = concat_ws('/', btrim(n.department), btrim(n.year), nullif(btrim(n.section), ''), btrim(n.subject));
+
+alter table notes alter column folder_id set not null;
+
+alter table notes
+    add constraint fk_note_folder
+    foreign key (folder_id)
+    references folders;
+
+create index idx_note_folder_id on notes (folder_id);
+
+-- Superseded by idx_note_folder_id
+drop index if exists idx_note_folder;
+
+-- Folder permissions. A grant on the empty path covers nothing
+-- (FolderPaths.covers) and has no folder to point at.
+delete from folder_permissions where folder_path = '';
+
+alter table folder_permissions add column folder_id integer;
+
+update folder_permissions fp
+set folder_id = f.id
+from folders f
+where f.path = fp.folder_path;
+
+alter table folder_permissions alter column folder_id set not null;
+
+alter table folder_permissions
+    add constraint fk_folder_perm_folder
+    foreign key (folder_id)
+    references folders;
+
+create unique index uk_folder_perm_user_folder on folder_permissions (user_id, folder_id);
+
+-- Coverage checks match on folder_id now; V2 indexed the live rows by path
+drop index if exists idx_folder_perm_active;
+
+create index idx_folder_perm_active
+    on folder_permissions (user_id, folder_id)
+    where is_active = true;
+
+drop function pg_temp.normalize_folder_path(text);
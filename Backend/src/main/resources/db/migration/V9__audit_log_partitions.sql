@@ -0,0 +1,84 @@
+-- audit_logs becomes a table partitioned by month on timestamp, so range
+-- queries only touch the months they ask for and old months can be archived
+-- (see AuditArchiveService) by detaching and dropping their partition.
+-- Partitions are named audit_logs_pYYYYMM; AuditArchiveService creates the
+-- upcoming ones ahead of time. The default partition only catches rows
+-- outside every monthly range, such as back-dated entries for a month
+-- already archived.
+alter table audit_logs rename to audit_logs_unpartitioned;
+
+create table audit_logs (
+    actor_id bigint not null,
+    id bigint not null,
+    target_id bigint not null,
+    timestamp timestamp(6) not null,
+    correlation_id varchar(36) not null,
+    ip_address varchar(45),
+    action varchar(50) not null,
+    target_type varchar(50) not null,
+    user_agent varchar(500),
+    actor_email varchar(255) not null,
+    actor_role varchar(255) not null,
+    description TEXT,
+    metadata TEXT,
+    new_state TEXT,
+    previous_state TEXT
+) partition by range (timestamp);
+
+create table audit_logs_default partition of audit_logs default;
+
+-- One partition per month from the oldest entry through two months ahead
+do $$
+declare
+    period date := date_trunc('month', coalesce((select min(timestamp) from audit_logs_unpartitioned),
+            localtimestamp));
+    last_period date := date_trunc('month', localtimestamp) + interval '2 months';
+begin
+    while period <= last_period loop
+        execute format('create table %I partition of audit_logs for values from (%L) to (%L)',
+                'audit_logs_p' || to_char(period, 'YYYYMM'), period, (period + interval '1 month')::date);
+        period := period + interval '1 month';
+    end loop;
+end $$;
+
+insert into audit_logs (actor_id, id, target_id, timestamp, correlation_id, ip_address, action, target_type,
+        user_agent, actor_email, actor_role, description, metadata, new_state, previous_state)
+select actor_id, id, target_id, timestamp, correlation_id, ip_address, action, target_type,
+        user_agent, actor_email, actor_role, description, metadata, new_state, previous_state
+from audit_logs_unpartitioned;
+
+-- Takes its identity sequence, primary key and indexes with it, freeing the names
+drop table audit_logs_unpartitioned;
+
+-- Identity columns need PostgreSQL 17 on partitioned tables; a plain
+-- sequence default gives Hibernate's IDENTITY strategy the same behaviour
+create sequence audit_logs_id_seq owned by audit_logs.id;
+select setval('audit_logs_id_seq', coalesce((select max(id) from audit_logs), 0) + 1, false);
+alter table audit_logs alter column id set default nextval('audit_logs_id_seq');
+
+-- A unique key on a partitioned table must include the partition key
+alter table audit_logs add primary key (id, timestamp);
+
+create index idx_audit_actor
+    on audit_logs (actor_id);
+
+create index idx_audit_action
+    on audit_logs (action);
+
+create index idx_audit_timestamp
+    on audit_logs (timestamp);
+
+create index idx_audit_target
+    on audit_logs (target_type, target_id);
+
+-- Months moved out of audit_logs into segment files, one row each
+create table audit_log_segments (
+    id bigint generated by default as identity,
+    period_start date not null unique,
+    file_name varchar(255) not null,
+    row_count bigint not null,
+    size_bytes bigint not null,
+    archived_at timestamp(6) not null,
+    instance_id varchar(100) not null,
+    primary key (id)
+);
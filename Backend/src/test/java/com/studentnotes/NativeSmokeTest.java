@@ -0,0 +1,223 @@
+package com.studentnotes;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Smoke tests against a built executable: the native binary from
+ * {@code ./mvnw -Pnative native:compile}, or the JVM jar for comparison.
+ * <p>
+ * Skipped unless {@code smoke.command} is set. The process inherits the
+ * environment, so {@code DB_URL}, {@code DB_USERNAME}, {@code DB_PASSWORD} and
+ * {@code JWT_SECRET} must point at a reachable PostgreSQL (the binary is built
+ * with the prod profile).
+ * </p>
+ * <pre>
+ * ./mvnw test -Dtest=NativeSmokeTest -Dsmoke.command=target/backend
+ * ./mvnw test -Dtest=NativeSmokeTest -Dsmoke.command="java -jar target/backend-0.0.1-SNAPSHOT.jar"
+ * </pre>
+ * Optional: {@code smoke.max-startup-ms} and {@code smoke.max-rss-mb} turn the
+ * reported cold start and resident memory into assertions;
+ * {@code smoke.admin-email}/{@code smoke.admin-password} add a signed-token
+ * round trip.
+ */
+@EnabledIfSystemProperty(named = "smoke.command", matches = ".+")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class NativeSmokeTest {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofSeconds(
+            Long.getLong("smoke.startup-timeout-s", 120));
+    private static final Pattern VM_RSS = Pattern.compile("VmRSS:\\s+(\\d+)\\s+kB");
+
+    private final HttpClient http = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(2))
+            .build();
+
+    private Process process;
+    private String baseUrl;
+    private long startupMillis;
+    private long rssKb;
+
+    @BeforeAll
+    void startExecutable() throws Exception {
+        int port = freePort();
+        baseUrl = "http://localhost:" + port;
+
+        List<String> command = new ArrayList<>(Arrays.asList(System.getProperty("smoke.command").trim().split("\\s+")));
+        command.add("--server.port=" + port);
+        command.add("--spring.profiles.active=prod");
+
+        File logFile = Path.of("target", "smoke-" + port + ".log").toFile();
+        Files.createDirectories(logFile.toPath().getParent());
+
+        long started = System.nanoTime();
+        process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(logFile)
+                .start();
+
+        long deadline = started + STARTUP_TIMEOUT.toNanos();
+        while (!isHealthy()) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Executable exited with " + process.exitValue() + ", see " + logFile);
+            }
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException("Executable not healthy after " + STARTUP_TIMEOUT + ", see " + logFile);
+            }
+            Thread.sleep(20);
+        }
+        startupMillis = Duration.ofNanos(System.nanoTime() - started).toMillis();
+        rssKb = residentKb(process.pid());
+
+        System.out.printf("Smoke [%s]: first healthy response after %d ms, RSS %d MB%n",
+                String.join(" ", command), startupMillis, rssKb / 1024);
+    }
+
+    @AfterAll
+    void stopExecutable() throws InterruptedException {
+        if (process != null) {
+            process.destroy();
+            if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    // ==================== Endpoints ====================
+
+    @Test
+    @DisplayName("should serve the public tree through JPA and Jackson")
+    void shouldServePublicTree() throws Exception {
+        HttpResponse<String> response = get("/api/public/tree", null);
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.body()).startsWith("{");
+    }
+
+    @Test
+    @DisplayName("should report actuator health without authentication")
+    void shouldReportActuatorHealth() throws Exception {
+        HttpResponse<String> response = get("/actuator/health", null);
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.body()).contains("UP");
+    }
+
+    @Test
+    @DisplayName("should reject bad credentials and a forged token")
+    void shouldRejectUnauthenticated() throws Exception {
+        assertThat(login("nobody@example.com", "wrong").statusCode()).isEqualTo(401);
+
+        HttpResponse<String> response = get("/api/admin/overview", "not.a.jwt");
+        assertThat(response.statusCode()).isIn(401, 403);
+    }
+
+    @Test
+    @DisplayName("should sign and verify a JWT end to end")
+    void shouldRoundTripJwt() throws Exception {
+        String email = System.getProperty("smoke.admin-email");
+        String password = System.getProperty("smoke.admin-password");
+        assumeTrue(email != null && password != null, "smoke.admin-email/smoke.admin-password not set");
+
+        HttpResponse<String> loginResponse = login(email, password);
+        assertThat(loginResponse.statusCode()).isEqualTo(200);
+
+        Matcher token = Pattern.compile("\"token\"\\s*:\\s*\"([^\"]+)\"").matcher(loginResponse.body());
+        assertThat(token.find()).isTrue();
+
+        // A jjwt reflection gap is swallowed by JwtFilter, so only a 200 here proves parsing works
+        assertThat(get("/api/admin/overview", token.group(1)).statusCode()).isEqualTo(200);
+    }
+
+    // ==================== Cold Start and Memory ====================
+
+    @Test
+    @DisplayName("should start and settle within the configured budgets")
+    void shouldStayWithinBudgets() {
+        Long maxStartupMs = Long.getLong("smoke.max-startup-ms");
+        Long maxRssMb = Long.getLong("smoke.max-rss-mb");
+        assumeTrue(maxStartupMs != null || maxRssMb != null, "no budgets configured");
+
+        if (maxStartupMs != null) {
+            assertThat(startupMillis).as("cold start (ms)").isLessThanOrEqualTo(maxStartupMs);
+        }
+        if (maxRssMb != null) {
+            assertThat(rssKb / 1024).as("resident memory (MB)").isLessThanOrEqualTo(maxRssMb);
+        }
+    }
+
+    // ==================== Helper Methods ====================
+
+    private boolean isHealthy() {
+        try {
+            return get("/api/health", null).statusCode() == 200;
+        } catch (IOException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private HttpResponse<String> get(String path, String bearerToken) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(10))
+                .GET();
+        if (bearerToken != null) {
+            request.header("Authorization", "Bearer " + bearerToken);
+        }
+        return http.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> login(String email, String password) throws IOException, InterruptedException {
+        String body = "{\"email\":\"" + email + "\",\"password\":\"" + password + "\"}";
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+                .timeout(Duration.ofSeconds(10))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        return http.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    /**
+     * Resident set size from /proc; 0 where procfs is unavailable (macOS).
+     */
+    private static long residentKb(long pid) {
+        try {
+            Matcher matcher = VM_RSS.matcher(Files.readString(Path.of("/proc", Long.toString(pid), "status")));
+            return matcher.find() ? Long.parseLong(matcher.group(1)) : 0;
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
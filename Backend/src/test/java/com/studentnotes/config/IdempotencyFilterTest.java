@@ -0,0 +1,182 @@
+package com.studentnotes.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.studentnotes.service.IdempotencyService;
+import com.studentnotes.service.IdempotencyService.Claim;
+import com.studentnotes.service.IdempotencyService.Outcome;
+import com.studentnotes.service.IdempotencyService.StoredResponse;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for IdempotencyFilter.
+ * Covers which requests are guarded, replay, and storing only successes.
+ */
+@ExtendWith(MockitoExtension.class)
+class IdempotencyFilterTest {
+
+    @Mock
+    private IdempotencyService idempotencyService;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @InjectMocks
+    private IdempotencyFilter filter;
+
+    private final Claim acquired = new Claim(Outcome.ACQUIRED, "id", null);
+
+    @BeforeEach
+    void setUp() {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                "teacher@school.edu", null, List.of(new SimpleGrantedAuthority("ROLE_TEACHER"))));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private MockHttpServletRequest createNote(String key) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/teacher/notes");
+        request.setContent("{\"title\":\"Graphs\"}".getBytes(StandardCharsets.UTF_8));
+        request.setContentType("application/json");
+        if (key != null) {
+            request.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, key);
+        }
+        return request;
+    }
+
+    /**
+     * Stands in for the controller: echoes the body it could read.
+     */
+    private MockFilterChain controller(int status) {
+        return new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse res)
+                    throws IOException {
+                res.setStatus(status);
+                res.setContentType("application/json");
+                res.setHeader("Location", "/api/teacher/notes/n1");
+                res.setHeader("ETag", "\"v1\"");
+                res.setHeader("X-Internal", "not stored");
+                res.getOutputStream().write(req.getInputStream().readAllBytes());
+            }
+        });
+    }
+
+    @Test
+    @DisplayName("should leave requests without the header alone")
+    void shouldIgnoreWithoutHeader() throws Exception {
+        filter.doFilter(createNote(null), new MockHttpServletResponse(), controller(201));
+
+        verifyNoInteractions(idempotencyService);
+    }
+
+    @Test
+    @DisplayName("should pass the body through and store a successful response")
+    void shouldStoreSuccess() throws Exception {
+        when(idempotencyService.claim(eq("teacher@school.edu"), eq("k1"), anyString())).thenReturn(acquired);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(createNote("k1"), response, controller(201));
+
+        assertThat(response.getContentAsString()).isEqualTo("{\"title\":\"Graphs\"}");
+        verify(idempotencyService).complete(eq(acquired), argThat(stored -> stored.status() == 201
+                && new String(stored.body(), StandardCharsets.UTF_8).contains("Graphs")
+                && stored.headers().equals(Map.of("ETag", "\"v1\"", "Location", "/api/teacher/notes/n1"))));
+        verify(idempotencyService, never()).abandon(any());
+    }
+
+    @Test
+    @DisplayName("should release the key when the write fails")
+    void shouldAbandonFailure() throws Exception {
+        when(idempotencyService.claim(any(), any(), any())).thenReturn(acquired);
+
+        filter.doFilter(createNote("k1"), new MockHttpServletResponse(), controller(400));
+
+        verify(idempotencyService).abandon(acquired);
+        verify(idempotencyService, never()).complete(any(), any());
+    }
+
+    @Test
+    @DisplayName("should replay the stored response without running the write")
+    void shouldReplay() throws Exception {
+        StoredResponse stored = new StoredResponse(201, "application/json",
+                Map.of("Location", "/api/teacher/notes/n1", "Cache-Control", "no-store"),
+                "{\"id\":\"n1\"}".getBytes(StandardCharsets.UTF_8));
+        when(idempotencyService.claim(any(), any(), any())).thenReturn(new Claim(Outcome.REPLAY, "id", stored));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = controller(201);
+
+        filter.doFilter(createNote("k1"), response, chain);
+
+        assertThat(chain.getRequest()).isNull();
+        assertThat(response.getStatus()).isEqualTo(201);
+        assertThat(response.getContentAsString()).isEqualTo("{\"id\":\"n1\"}");
+        assertThat(response.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(response.getHeader("Location")).isEqualTo("/api/teacher/notes/n1");
+        assertThat(response.getHeader("Cache-Control")).isEqualTo("no-store");
+    }
+
+    @Test
+    @DisplayName("should refuse a read listener on a synchronous request")
+    void shouldRejectReadListenerWhenSynchronous() throws Exception {
+        when(idempotencyService.claim(any(), any(), any())).thenReturn(acquired);
+        AtomicReference<Exception> refused = new AtomicReference<>();
+        MockFilterChain chain = new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse res) throws IOException {
+                try {
+                    req.getInputStream().setReadListener(mock(ReadListener.class));
+                } catch (IllegalStateException e) {
+                    refused.set(e);
+                }
+                res.setStatus(204);
+            }
+        });
+
+        filter.doFilter(createNote("k1"), new MockHttpServletResponse(), chain);
+
+        assertThat(refused.get()).hasMessageContaining("asynchronous");
+    }
+
+    @Test
+    @DisplayName("should reject a key reused for a different request")
+    void shouldRejectMismatch() throws Exception {
+        when(idempotencyService.claim(any(), any(), any())).thenReturn(new Claim(Outcome.MISMATCH, "id", null));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(createNote("k1"), response, controller(201));
+
+        assertThat(response.getStatus()).isEqualTo(422);
+        assertThat(response.getContentAsString()).contains("IDEMPOTENCY_KEY_REUSED");
+    }
+}
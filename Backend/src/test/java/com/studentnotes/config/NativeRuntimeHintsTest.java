@@ -0,0 +1,60 @@
+package com.studentnotes.config;
+
+import com.studentnotes.dto.response.ApiResponse;
+import com.studentnotes.dto.response.NoteResponse;
+import com.studentnotes.model.Note;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+import org.springframework.util.ClassUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for NativeRuntimeHints.
+ * A missing hint only fails inside the native binary, so the registrations
+ * the JWT and JSON paths depend on are pinned here on the JVM.
+ */
+class NativeRuntimeHintsTest {
+
+    private RuntimeHints hints;
+
+    @BeforeEach
+    void setUp() {
+        hints = new RuntimeHints();
+        new NativeRuntimeHints().registerHints(hints, getClass().getClassLoader());
+    }
+
+    @Test
+    @DisplayName("should register every jjwt class looked up by name, and each must exist")
+    void shouldRegisterJjwtTypes() {
+        for (String type : NativeRuntimeHints.JJWT_REFLECTIVE_TYPES) {
+            assertThat(ClassUtils.isPresent(type, getClass().getClassLoader()))
+                    .as("%s is on the classpath", type)
+                    .isTrue();
+            assertThat(RuntimeHintsPredicates.reflection()
+                    .onType(ClassUtils.resolveClassName(type, getClass().getClassLoader()))
+                    .withMemberCategory(MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS))
+                    .accepts(hints);
+        }
+    }
+
+    @Test
+    @DisplayName("should register Jackson binding for DTOs and entities behind the generic wrapper")
+    void shouldRegisterBindingTypes() throws NoSuchMethodException {
+        assertThat(RuntimeHintsPredicates.reflection().onType(ApiResponse.class)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onMethod(NoteResponse.class.getMethod("getTitle")))
+                .accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onMethod(Note.class.getMethod("getFolderPath")))
+                .accepts(hints);
+    }
+
+    @Test
+    @DisplayName("should include the compression dictionaries in the image")
+    void shouldRegisterDictionaryResources() {
+        assertThat(RuntimeHintsPredicates.resource().forResource("compression/markdown-v1.dict")).accepts(hints);
+    }
+}
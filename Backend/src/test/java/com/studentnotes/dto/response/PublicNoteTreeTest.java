@@ -0,0 +1,327 @@
+package com.studentnotes.dto.response;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.studentnotes.util.ContentCodec;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jol.info.GraphLayout;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for PublicNoteTree.
+ * The JSON must match the map-of-maps tree it replaced, in much less heap:
+ * the structure itself and the bodies (through ContentCodec) are measured
+ * separately, on bodies that do not repeat themselves.
+ */
+class PublicNoteTreeTest {
+
+    private static final String[] DEPARTMENTS = { "it", "cs", "ece", "mech" };
+    private static final String[] YEARS = { "year1", "year2", "year3", "year4" };
+    private static final String[] SECTIONS = { "section-a", "section-b", "section-c" };
+    private static final String[] SUBJECTS = { "networks", "dbms", "os", "compilers", "maths", "dsa" };
+
+    // Vocabulary the note bodies are drawn from
+    private static final String[] WORDS = ("the a of to in and is for that on with as by each when every only "
+            + "window congestion sender receiver packet segment router queue latency bandwidth relation key "
+            + "attribute table index transaction lock schema tuple page frame process thread memory cache "
+            + "kernel scheduler parser grammar token stack handle reduce matrix vector eigenvalue basis "
+            + "graph vertex edge path weight heap priority tree node leaf depth recursion proof lemma "
+            + "invariant loop array pointer register compiler linker syntax semantic type value function "
+            + "grows shrinks depends splits builds keeps settles needs speeds costs holds returns maps "
+            + "stores reads writes blocks waits evicts commits aborts fixed contiguous closest unsettled "
+            + "mutual circular slower extra bottom-up scaled normal third").split(" ");
+
+    // Spring Boot's defaults for dates: ISO strings, not timestamps
+    private final ObjectMapper mapper = JsonMapper.builder()
+            .findAndAddModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    /**
+     * One published note as the database returns it: every row has its own
+     * string instances, even for values shared with other rows.
+     */
+    private record Row(String department, String year, String section, String subject, String publicId,
+            String title, String content, int likes, int dislikes, String uploadedBy, String uploadedByEmail,
+            LocalDateTime createdAt) {
+    }
+
+    private static List<Row> rows(int count) {
+        Random random = new Random(42);
+        LocalDateTime base = LocalDateTime.of(2025, 1, 1, 9, 30, 15, 123_000_000);
+        List<Row> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int teacher = random.nextInt(40);
+            rows.add(new Row(
+                    copy(pick(DEPARTMENTS, random)),
+                    copy(pick(YEARS, random)),
+                    copy(pick(SECTIONS, random)),
+                    copy(pick(SUBJECTS, random)),
+                    new UUID(42, i).toString(),
+                    "Lecture " + i,
+                    lectureNote(i, random),
+                    random.nextInt(300),
+                    random.nextInt(30),
+                    "Teacher " + teacher,
+                    "teacher" + teacher + "@example.com",
+                    base.plusMinutes(i)));
+        }
+        return rows;
+    }
+
+    /**
+     * A few KB of lecture notes that do not repeat themselves: sentences are
+     * assembled word by word, with numbers, identifiers and a code block, so
+     * ContentCodec gains about what it does on real notes rather than on a
+     * handful of sentences pasted over and over.
+     */
+    private static String lectureNote(int number, Random random) {
+        StringBuilder markdown = new StringBuilder("# Lecture ").append(number).append("\n\n");
+        int sections = 2 + random.nextInt(4);
+        for (int s = 1; s <= sections; s++) {
+            markdown.append("## ").append(s).append(". ").append(sentence(random, 3)).append("\n\n");
+            for (int p = 0; p < 2 + random.nextInt(2); p++) {
+                for (int n = 0; n < 3 + random.nextInt(3); n++) {
+                    markdown.append(sentence(random, 8 + random.nextInt(14))).append(' ');
+                }
+                markdown.append("\n\n");
+            }
+            markdown.append("- ").append(sentence(random, 6)).append('\n')
+                    .append("- `").append(identifier(random)).append("` holds ").append(random.nextInt(10_000))
+                    .append(" entries\n\n");
+            if (random.nextBoolean()) {
+                markdown.append("```\n")
+                        .append(identifier(random)).append(" = ").append(identifier(random)).append('(')
+                        .append(random.nextInt(512)).append(", ").append(identifier(random)).append(")\n")
+                        .append("return ").append(identifier(random)).append(" * ").append(random.nextInt(97))
+                        .append("\n```\n\n");
+            }
+        }
+        return markdown.toString();
+    }
+
+    private static String sentence(Random random, int words) {
+        StringBuilder sentence = new StringBuilder();
+        for (int w = 0; w < words; w++) {
+            String word = WORDS[random.nextInt(WORDS.length)];
+            if (w == 0) {
+                sentence.append(Character.toUpperCase(word.charAt(0))).append(word, 1, word.length());
+            } else {
+                sentence.append(' ').append(random.nextInt(12) == 0 ? String.valueOf(random.nextInt(2048)) : word);
+            }
+        }
+        return sentence.append('.').toString();
+    }
+
+    private static String identifier(Random random) {
+        return WORDS[random.nextInt(WORDS.length)] + "_" + Integer.toString(random.nextInt(1 << 16), 36);
+    }
+
+    private static String pick(String[] values, Random random) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static String copy(String value) {
+        return new String(value.toCharArray());
+    }
+
+    private static PublicNoteTree tree(List<Row> rows, String... departments) {
+        PublicNoteTree.Builder tree = PublicNoteTree.builder();
+        for (String department : departments) {
+            tree.department(department);
+        }
+        for (Row row : rows) {
+            tree.note(row.department(), row.year(), row.section(), row.subject(),
+                    new PublicNoteTree.Leaf(row.publicId(), row.title(), row.content(), row.likes(), row.dislikes(),
+                            tree.intern(row.uploadedBy()), tree.intern(row.uploadedByEmail()), row.createdAt()));
+        }
+        return tree.build();
+    }
+
+    // ==================== The tree as it was built before ====================
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> mapTree(List<Row> rows, String... departments) {
+        Map<String, Object> tree = new HashMap<>();
+        for (String department : departments) {
+            tree.put(department, new HashMap<String, Object>());
+        }
+        for (Row row : rows) {
+            Map<String, Object> deptMap = (Map<String, Object>) tree.computeIfAbsent(row.department(),
+                    k -> new HashMap<>());
+            Map<String, Object> yearMap = (Map<String, Object>) deptMap.computeIfAbsent(row.year(),
+                    k -> new HashMap<>());
+            Map<String, Object> sectionMap = (Map<String, Object>) yearMap.computeIfAbsent(row.section(),
+                    k -> new HashMap<>());
+            List<Map<String, Object>> subjectList = (List<Map<String, Object>>) sectionMap
+                    .computeIfAbsent(row.subject(), k -> new ArrayList<>());
+            subjectList.add(mapLeaf(row));
+        }
+        return tree;
+    }
+
+    private static Map<String, Object> mapLeaf(Row row) {
+        Map<String, Object> noteData = new HashMap<>();
+        noteData.put("id", row.publicId());
+        noteData.put("type", "md");
+        noteData.put("content", row.content());
+
+        Map<String, Object> meta = new HashMap<>();
+        meta.put("title", row.title());
+        meta.put("order", 999);
+        meta.put("likes", row.likes());
+        meta.put("dislikes", row.dislikes());
+        meta.put("uploadedBy", row.uploadedBy());
+        meta.put("uploadedByEmail", row.uploadedByEmail());
+        meta.put("createdAt", row.createdAt());
+
+        noteData.put("meta", meta);
+        return noteData;
+    }
+
+    private JsonNode json(Object value) throws Exception {
+        return mapper.readTree(mapper.writeValueAsString(value));
+    }
+
+    @Nested
+    @DisplayName("JSON")
+    class JsonTests {
+
+        @Test
+        @DisplayName("should serialize exactly like the map tree, empty departments included")
+        void shouldMatchMapTree() throws Exception {
+            List<Row> rows = rows(200);
+
+            assertThat(json(tree(rows, "civil", "it"))).isEqualTo(json(mapTree(rows, "civil", "it")));
+        }
+
+        @Test
+        @DisplayName("should serialize a single note like a leaf of the map tree")
+        void shouldMatchMapLeaf() throws Exception {
+            Row row = rows(1).get(0);
+            Row missingFields = new Row("it", "year1", "section-a", "os", "id", null, null, 0, 0, null, null, null);
+
+            for (Row r : List.of(row, missingFields)) {
+                PublicNoteTree.Leaf leaf = new PublicNoteTree.Leaf(r.publicId(), r.title(), r.content(), r.likes(),
+                        r.dislikes(), r.uploadedBy(), r.uploadedByEmail(), r.createdAt());
+                assertThat(json(leaf)).isEqualTo(json(mapLeaf(r)));
+            }
+        }
+
+        @Test
+        @DisplayName("should group notes without a section under an empty name")
+        void shouldNameMissingSection() throws Exception {
+            Row row = rows(1).get(0);
+            Row unsectioned = new Row(row.department(), row.year(), null, row.subject(), row.publicId(), row.title(),
+                    row.content(), row.likes(), row.dislikes(), row.uploadedBy(), row.uploadedByEmail(),
+                    row.createdAt());
+
+            JsonNode json = json(tree(List.of(unsectioned)));
+
+            assertThat(json.path(row.department()).path(row.year()).path("").path(row.subject()).get(0)
+                    .path("id").asText()).isEqualTo(row.publicId());
+        }
+    }
+
+    @Nested
+    @DisplayName("Footprint")
+    class FootprintTests {
+
+        // The same notes without bodies, so only the tree's own objects are compared
+        private List<Row> withoutContent(List<Row> rows) {
+            return rows.stream()
+                    .map(r -> new Row(r.department(), r.year(), r.section(), r.subject(), r.publicId(), r.title(),
+                            null, r.likes(), r.dislikes(), r.uploadedBy(), r.uploadedByEmail(), r.createdAt()))
+                    .toList();
+        }
+
+        // The two savings are reported apart: the structural one is the tree's
+        // own doing, the body one is ContentCodec's and depends on the text
+
+        @Test
+        @DisplayName("should hold the structure around the bodies in at least five times less heap")
+        void shouldShrinkStructure() {
+            List<Row> rows = withoutContent(rows(2000));
+
+            long mapBytes = GraphLayout.parseInstance(mapTree(rows, DEPARTMENTS)).totalSize();
+            long treeBytes = GraphLayout.parseInstance(tree(rows, DEPARTMENTS)).totalSize();
+
+            assertThat(mapBytes).as("structure: map %d B, tree %d B", mapBytes, treeBytes)
+                    .isGreaterThanOrEqualTo(5 * treeBytes);
+        }
+
+        @Test
+        @DisplayName("should hold non-repetitive note bodies in at least half the heap")
+        void shouldShrinkBodies() {
+            long stringBytes = 0;
+            long encodedBytes = 0;
+            for (Row row : rows(2000)) {
+                stringBytes += GraphLayout.parseInstance(row.content()).totalSize();
+                encodedBytes += GraphLayout.parseInstance((Object) ContentCodec.encode(row.content())).totalSize();
+            }
+
+            assertThat(stringBytes).as("bodies: strings %d B, encoded %d B", stringBytes, encodedBytes)
+                    .isGreaterThanOrEqualTo(2 * encodedBytes);
+        }
+
+        @Test
+        @DisplayName("should retain the whole tree in at most two fifths of the map tree's heap")
+        void shouldShrinkTree() {
+            List<Row> rows = rows(2000);
+
+            long mapBytes = GraphLayout.parseInstance(mapTree(rows, DEPARTMENTS)).totalSize();
+            long treeBytes = GraphLayout.parseInstance(tree(rows, DEPARTMENTS)).totalSize();
+
+            // Bodies dominate, so this tracks the body saving: about 2.9x on this corpus
+            assertThat(2 * mapBytes).as("total: map %d B, tree %d B", mapBytes, treeBytes)
+                    .isGreaterThanOrEqualTo(5 * treeBytes);
+        }
+
+        @Test
+        @DisplayName("should share folder names and uploaders between notes")
+        void shouldShareStrings() {
+            PublicNoteTree tree = tree(rows(500), DEPARTMENTS);
+
+            List<PublicNoteTree.Year> years = tree.departments().stream()
+                    .flatMap(department -> department.years().stream())
+                    .filter(year -> year.name().equals("year1"))
+                    .toList();
+            List<PublicNoteTree.Leaf> notes = tree.departments().stream()
+                    .flatMap(department -> department.years().stream())
+                    .flatMap(year -> year.sections().stream())
+                    .flatMap(section -> section.subjects().stream())
+                    .flatMap(subject -> subject.notes().stream())
+                    .filter(note -> note.uploadedBy().equals("Teacher 7"))
+                    .toList();
+
+            assertThat(years).hasSizeGreaterThan(1)
+                    .allSatisfy(year -> assertThat(year.name()).isSameAs(years.get(0).name()));
+            assertThat(notes).hasSizeGreaterThan(1)
+                    .allSatisfy(note -> assertThat(note.uploadedBy()).isSameAs(notes.get(0).uploadedBy()));
+        }
+
+        @Test
+        @DisplayName("should be immutable once built")
+        void shouldBeImmutable() {
+            PublicNoteTree tree = tree(rows(10), DEPARTMENTS);
+
+            assertThatThrownBy(() -> tree.departments().clear()).isInstanceOf(UnsupportedOperationException.class);
+            assertThatThrownBy(() -> tree.departments().get(0).years().clear())
+                    .isInstanceOf(UnsupportedOperationException.class);
+        }
+    }
+}
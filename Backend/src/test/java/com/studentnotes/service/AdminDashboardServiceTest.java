@@ -17,10 +17,13 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDateTime;
+import java.util.OptionalLong;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -39,6 +42,9 @@ class AdminDashboardServiceTest {
     @Mock
     private DeletionRequestRepository deletionRequestRepository;
 
+    @Mock
+    private DeletionRequestNotificationService deletionRequestNotificationService;
+
     @InjectMocks
     private AdminDashboardService adminDashboardService;
 
@@ -218,5 +224,16 @@ class AdminDashboardServiceTest {
 
             assertThat(count).isEqualTo(-1);
         }
+
+        @Test
+        @DisplayName("should serve in-memory count without querying the database")
+        void shouldServeInMemoryCount() {
+            when(deletionRequestNotificationService.getPendingCount()).thenReturn(OptionalLong.of(7));
+
+            long count = adminDashboardService.getPendingDeletionRequestCount();
+
+            assertThat(count).isEqualTo(7);
+            verify(deletionRequestRepository, never()).countByStatus(any());
+        }
     }
 }
@@ -0,0 +1,320 @@
+package com.studentnotes.service;
+
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.studentnotes.model.AuditLog;
+import com.studentnotes.model.AuditLogSegment;
+import com.studentnotes.model.enums.AuditAction;
+import com.studentnotes.repository.AuditLogRepository;
+import com.studentnotes.repository.AuditLogSegmentRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for AuditArchiveService.
+ * Covers partition upkeep, segment round trips and hot/cold paging.
+ */
+@ExtendWith(MockitoExtension.class)
+class AuditArchiveServiceTest {
+
+    private static final YearMonth JAN = YearMonth.of(2025, 1);
+    private static final YearMonth FEB = YearMonth.of(2025, 2);
+
+    @Mock
+    private AuditLogRepository auditLogRepository;
+
+    @Mock
+    private AuditLogSegmentRepository segmentRepository;
+
+    @Mock
+    private LeaseService leaseService;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private AuditArchiveService archiveService;
+
+    @TempDir
+    Path archiveDir;
+
+    // Segments "in the database", as saved by archive()
+    private final List<AuditLogSegment> segments = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(archiveService, "archiveDir", archiveDir.toString());
+        ReflectionTestUtils.setField(archiveService, "objectMapper",
+                JsonMapper.builder().addModule(new JavaTimeModule()).build());
+        lenient().when(leaseService.getInstanceId()).thenReturn("instance-1");
+        lenient().when(segmentRepository.save(any(AuditLogSegment.class))).thenAnswer(invocation -> {
+            AuditLogSegment segment = invocation.getArgument(0);
+            if (segment.getId() == null) {
+                segment.setId((long) segments.size() + 1);
+                segments.add(segment);
+            }
+            return segment;
+        });
+        lenient().when(segmentRepository.findByPeriodStart(any())).thenAnswer(invocation -> segments.stream()
+                .filter(segment -> segment.getPeriodStart().equals(invocation.getArgument(0)))
+                .findFirst());
+        lenient().when(segmentRepository.findByPeriodStartBetweenOrderByPeriodStartDesc(any(), any()))
+                .thenAnswer(invocation -> segmentsBetween(invocation.getArgument(0), invocation.getArgument(1))
+                        .sorted(Comparator.comparing(AuditLogSegment::getPeriodStart).reversed())
+                        .toList());
+        lenient().when(segmentRepository.findByPeriodStartBetweenOrderByPeriodStartAsc(any(), any()))
+                .thenAnswer(invocation -> segmentsBetween(invocation.getArgument(0), invocation.getArgument(1))
+                        .sorted(Comparator.comparing(AuditLogSegment::getPeriodStart))
+                        .toList());
+    }
+
+    private Stream<AuditLogSegment> segmentsBetween(LocalDate from, LocalDate to) {
+        return segments.stream().filter(s -> !s.getPeriodStart().isBefore(from) && !s.getPeriodStart().isAfter(to));
+    }
+
+    private static AuditLog entry(long id, YearMonth month, int day, long actorId) {
+        return AuditLog.builder()
+                .id(id)
+                .timestamp(month.atDay(day).atTime(12, 0))
+                .correlationId("corr-" + id)
+                .actorId(actorId)
+                .actorEmail("user" + actorId + "@test.com")
+                .actorRole("TEACHER")
+                .action(AuditAction.NOTE_UPDATED)
+                .targetType("Note")
+                .targetId(100L + id)
+                .description("entry " + id)
+                .build();
+    }
+
+    /**
+     * Archives {@code entries} (oldest first) as the partition of {@code month}.
+     */
+    private void givenArchived(YearMonth month, AuditLog... entries) {
+        when(auditLogRepository.streamPeriod(month.atDay(1).atStartOfDay(),
+                month.plusMonths(1).atDay(1).atStartOfDay())).thenReturn(Stream.of(entries));
+        when(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + AuditArchiveService.partitionName(month),
+                Long.class)).thenReturn((long) entries.length);
+        archiveService.archive(month);
+    }
+
+    private static List<Long> ids(List<AuditLog> entries) {
+        return entries.stream().map(AuditLog::getId).toList();
+    }
+
+    @Nested
+    @DisplayName("Partition Upkeep")
+    class PartitionUpkeep {
+
+        @Test
+        @DisplayName("archive writes a segment, records it and drops the partition")
+        void archiveWritesSegment() {
+            givenArchived(JAN, entry(1, JAN, 3, 7), entry(2, JAN, 9, 7));
+
+            assertThat(segments).singleElement().satisfies(segment -> {
+                assertThat(segment.getPeriodStart()).isEqualTo(LocalDate.of(2025, 1, 1));
+                assertThat(segment.getRowCount()).isEqualTo(2);
+                assertThat(segment.getInstanceId()).isEqualTo("instance-1");
+                assertThat(archiveDir.resolve(segment.getFileName())).isRegularFile();
+            });
+            verify(jdbcTemplate).execute("ALTER TABLE audit_logs DETACH PARTITION audit_logs_p202501");
+            verify(jdbcTemplate).execute("DROP TABLE audit_logs_p202501");
+            verify(entityManager, times(2)).detach(any(AuditLog.class));
+        }
+
+        @Test
+        @DisplayName("archive keeps the partition when its rows do not match the segment")
+        void archiveChecksRowCount() {
+            when(auditLogRepository.streamPeriod(any(), any())).thenReturn(Stream.of(entry(1, JAN, 3, 7)));
+            when(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM audit_logs_p202501", Long.class)).thenReturn(2L);
+
+            assertThatThrownBy(() -> archiveService.archive(JAN))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("audit_logs_p202501");
+            verify(jdbcTemplate, never()).execute("DROP TABLE audit_logs_p202501");
+        }
+
+        @Test
+        @DisplayName("archive merges late entries for an archived month into a new segment file")
+        void archiveMergesLateEntries() {
+            givenArchived(JAN, entry(1, JAN, 3, 7), entry(3, JAN, 20, 7));
+            String firstFile = segments.get(0).getFileName();
+
+            // Back-dated entry, moved out of the default partition into a new JAN partition
+            givenArchived(JAN, entry(2, JAN, 9, 8));
+
+            assertThat(segments).singleElement().satisfies(segment -> {
+                assertThat(segment.getRowCount()).isEqualTo(3);
+                assertThat(segment.getFileName()).isNotEqualTo(firstFile);
+            });
+            assertThat(archiveDir.resolve(firstFile)).doesNotExist();
+            try (Stream<AuditLog> stream = archiveService.streamArchived(AuditArchiveService.Filter.ALL)) {
+                assertThat(ids(stream.toList())).containsExactly(1L, 2L, 3L);
+            }
+            verify(jdbcTemplate, times(2)).execute("DROP TABLE audit_logs_p202501");
+        }
+
+        @Test
+        @DisplayName("maintain moves default-partition rows into partitions of their own months")
+        void adoptsDefaultRows() {
+            when(jdbcTemplate.queryForList(AuditArchiveService.DEFAULT_MONTHS_QUERY, String.class))
+                    .thenReturn(List.of("202501"));
+            when(jdbcTemplate.update(anyString())).thenReturn(4);
+
+            assertThat(archiveService.adoptDefaultRows()).isEqualTo(1);
+
+            var order = inOrder(jdbcTemplate);
+            order.verify(jdbcTemplate).execute("CREATE TABLE audit_logs_p202501 (LIKE audit_logs INCLUDING DEFAULTS)");
+            order.verify(jdbcTemplate).update("WITH moved AS (DELETE FROM audit_logs_default "
+                    + "WHERE timestamp >= '2025-01-01' AND timestamp < '2025-02-01' RETURNING *) "
+                    + "INSERT INTO audit_logs_p202501 SELECT * FROM moved");
+            order.verify(jdbcTemplate).execute("ALTER TABLE audit_logs ATTACH PARTITION audit_logs_p202501 "
+                    + "FOR VALUES FROM ('2025-01-01') TO ('2025-02-01')");
+        }
+
+        @Test
+        @DisplayName("maintain creates upcoming partitions and archives only expired months")
+        void maintain() {
+            YearMonth now = YearMonth.now();
+            YearMonth expired = now.minusMonths(13);
+            when(jdbcTemplate.queryForList(anyString(), eq(String.class))).thenReturn(List.of(
+                    "audit_logs_default",
+                    AuditArchiveService.partitionName(expired),
+                    AuditArchiveService.partitionName(now.minusMonths(12)),
+                    AuditArchiveService.partitionName(now)));
+            when(jdbcTemplate.queryForList(AuditArchiveService.DEFAULT_MONTHS_QUERY, String.class))
+                    .thenReturn(List.of());
+            when(auditLogRepository.streamPeriod(any(), any())).thenReturn(Stream.empty());
+            when(jdbcTemplate.queryForObject(anyString(), eq(Long.class))).thenReturn(0L);
+
+            int processed = archiveService.maintain();
+
+            // Two months ahead created, one month archived
+            assertThat(processed).isEqualTo(3);
+            verify(jdbcTemplate).execute(contains("ATTACH PARTITION "
+                    + AuditArchiveService.partitionName(now.plusMonths(1))));
+            verify(jdbcTemplate).execute(contains("ATTACH PARTITION "
+                    + AuditArchiveService.partitionName(now.plusMonths(2))));
+            verify(jdbcTemplate).execute("DROP TABLE " + AuditArchiveService.partitionName(expired));
+            assertThat(segments).extracting(AuditLogSegment::getPeriodStart).containsExactly(expired.atDay(1));
+        }
+    }
+
+    @Nested
+    @DisplayName("Cold Reads")
+    class ColdReads {
+
+        @BeforeEach
+        void archiveTwoMonths() {
+            givenArchived(JAN, entry(1, JAN, 3, 7), entry(2, JAN, 9, 8), entry(3, JAN, 20, 7));
+            givenArchived(FEB, entry(4, FEB, 2, 8), entry(5, FEB, 14, 7), entry(6, FEB, 25, 7));
+        }
+
+        @Test
+        @DisplayName("archived entries follow the database rows, newest first")
+        void pagesContinueIntoArchive() {
+            List<AuditLog> hot = List.of(entry(11, YearMonth.of(2025, 6), 2, 7), entry(10, YearMonth.of(2025, 5), 2, 7));
+
+            Page<AuditLog> first = archiveService.withArchived(new PageImpl<>(hot, PageRequest.of(0, 4), 2),
+                    AuditArchiveService.Filter.ALL, PageRequest.of(0, 4));
+            Page<AuditLog> second = archiveService.withArchived(new PageImpl<>(List.of(), PageRequest.of(1, 4), 2),
+                    AuditArchiveService.Filter.ALL, PageRequest.of(1, 4));
+
+            assertThat(ids(first.getContent())).containsExactly(11L, 10L, 6L, 5L);
+            assertThat(first.getTotalElements()).isEqualTo(8);
+            assertThat(ids(second.getContent())).containsExactly(4L, 3L, 2L, 1L);
+            assertThat(second.getTotalElements()).isEqualTo(8);
+        }
+
+        @Test
+        @DisplayName("filters apply to archived entries and their counts are cached")
+        void filtersAndCachesCounts() {
+            AuditArchiveService.Filter byActor = new AuditArchiveService.Filter(7L, null, null, null, null, null);
+
+            Page<AuditLog> page = archiveService.withArchived(Page.empty(PageRequest.of(0, 10)), byActor,
+                    PageRequest.of(0, 10));
+            assertThat(ids(page.getContent())).containsExactly(6L, 5L, 3L, 1L);
+
+            // Counting again must not need the files
+            segments.forEach(segment -> archiveDir.resolve(segment.getFileName()).toFile().delete());
+            List<AuditLog> hot = List.of(entry(10, YearMonth.of(2025, 5), 2, 7));
+            Page<AuditLog> full = archiveService.withArchived(new PageImpl<>(hot, PageRequest.of(0, 1), 5), byActor,
+                    PageRequest.of(0, 1));
+            assertThat(ids(full.getContent())).containsExactly(10L);
+            assertThat(full.getTotalElements()).isEqualTo(9);
+        }
+
+        @Test
+        @DisplayName("a date range skips months outside it and trims the ones it cuts")
+        void honoursDateRange() {
+            AuditArchiveService.Filter range = new AuditArchiveService.Filter(null, null, null, null,
+                    FEB.atDay(10).atStartOfDay(), LocalDateTime.of(2025, 3, 31, 0, 0));
+
+            Page<AuditLog> page = archiveService.withArchived(Page.empty(PageRequest.of(0, 10)), range,
+                    PageRequest.of(0, 10));
+
+            assertThat(ids(page.getContent())).containsExactly(6L, 5L);
+            assertThat(page.getTotalElements()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("streamArchived reads oldest first, field for field")
+        void streamsOldestFirst() {
+            AuditArchiveService.Filter byActor = new AuditArchiveService.Filter(8L, null, null, null, null, null);
+
+            List<AuditLog> entries;
+            try (Stream<AuditLog> stream = archiveService.streamArchived(byActor)) {
+                entries = stream.toList();
+            }
+
+            assertThat(entries).usingRecursiveFieldByFieldElementComparator()
+                    .containsExactly(entry(2, JAN, 9, 8), entry(4, FEB, 2, 8));
+        }
+
+        @Test
+        @DisplayName("a missing segment file fails loudly")
+        void missingSegment() throws Exception {
+            Files.delete(archiveDir.resolve(segments.get(0).getFileName()));
+
+            assertThatThrownBy(() -> archiveService.withArchived(Page.empty(PageRequest.of(0, 10)),
+                    new AuditArchiveService.Filter(7L, null, null, null, null, null), PageRequest.of(0, 10)))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("shared by every instance");
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.studentnotes.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.studentnotes.exception.ValidationException;
+import com.studentnotes.model.AuditLog;
+import com.studentnotes.model.User;
+import com.studentnotes.model.enums.AuditAction;
+import com.studentnotes.repository.AuditLogRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for AuditExportService.
+ * Covers both encodings, CSV quoting, cursor cleanup and the export's own audit entry.
+ */
+@ExtendWith(MockitoExtension.class)
+class AuditExportServiceTest {
+
+    @Mock
+    private AuditLogRepository auditLogRepository;
+
+    @Mock
+    private AuditService auditService;
+
+    @Mock
+    private AuditArchiveService auditArchiveService;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private AuditExportService exportService;
+
+    private final User admin = User.builder().id(1L).email("admin@test.com").role("ADMIN").build();
+
+    private AuditLog entry(long id, String description) {
+        return AuditLog.builder()
+                .id(id)
+                .timestamp(LocalDateTime.of(2026, 1, 1, 12, 0).plusMinutes(id))
+                .correlationId("corr-" + id)
+                .actorId(7L)
+                .actorEmail("teacher@test.com")
+                .actorRole("TEACHER")
+                .action(AuditAction.NOTE_UPDATED)
+                .targetType("Note")
+                .targetId(100L + id)
+                .description(description)
+                .build();
+    }
+
+    private String export(AuditExportService.Format format, AuditLog... entries) {
+        when(auditLogRepository.streamByFilters(any(), any(), any(), any(), any())).thenReturn(Stream.of(entries));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long rows = exportService.export(admin, null, null, null, null, null, format, out);
+
+        assertThat(rows).isEqualTo(entries.length);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    @DisplayName("Should write a CSV header and one quoted-where-needed line per row")
+    void export_Csv() {
+        String csv = export(AuditExportService.Format.CSV,
+                entry(1, "plain"),
+                entry(2, "title \"Networks, part 2\"\nmoved"));
+
+        String[] lines = csv.split("\r\n", -1);
+        assertThat(lines[0]).isEqualTo(String.join(",", AuditExportService.COLUMNS));
+        assertThat(lines[1]).startsWith("1,2026-01-01T12:01,corr-1,7,teacher@test.com,TEACHER,NOTE_UPDATED,Note,101,plain,,,");
+        assertThat(csv).contains(",\"title \"\"Networks, part 2\"\"\nmoved\",");
+        verify(entityManager, times(2)).detach(any(AuditLog.class));
+    }
+
+    @Test
+    @DisplayName("Should neutralise CSV cells a spreadsheet would run as formulas")
+    void export_CsvFormulaInjection() {
+        AuditLog entry = entry(1, "=HYPERLINK(\"http://evil\",\"x\")");
+        entry.setActorEmail("@SUM(A1)");
+        entry.setPreviousState("-2+3");
+        entry.setNewState("+cmd");
+
+        String csv = export(AuditExportService.Format.CSV, entry);
+
+        assertThat(csv).contains(",'@SUM(A1),");
+        assertThat(csv).contains(",\"'=HYPERLINK(\"\"http://evil\"\",\"\"x\"\")\",'-2+3,'+cmd,");
+        assertThat(AuditExportService.csvField(-5L)).isEqualTo("-5");
+        assertThat(AuditExportService.csvField("\tx")).isEqualTo("'\tx");
+    }
+
+    @Test
+    @DisplayName("Should write one JSON object per line for NDJSON")
+    void export_Ndjson() throws Exception {
+        String ndjson = export(AuditExportService.Format.NDJSON, entry(1, "first"), entry(2, "second"));
+
+        String[] lines = ndjson.split("\n");
+        assertThat(lines).hasSize(2);
+        JsonNode second = objectMapper.readTree(lines[1]);
+        assertThat(second.get("id").asLong()).isEqualTo(2L);
+        assertThat(second.get("action").asText()).isEqualTo("NOTE_UPDATED");
+        assertThat(second.get("description").asText()).isEqualTo("second");
+        assertThat(second.get("previousState").isNull()).isTrue();
+        assertThat(ndjson).endsWith("}\n");
+    }
+
+    @Test
+    @DisplayName("Should close the cursor and audit the export with its row count")
+    void export_ClosesCursorAndAudits() {
+        AtomicBoolean closed = new AtomicBoolean();
+        when(auditLogRepository.streamByFilters(eq(7L), eq(AuditAction.NOTE_UPDATED), isNull(), isNull(), isNull()))
+                .thenReturn(Stream.of(entry(1, "a")).onClose(() -> closed.set(true)));
+
+        exportService.export(admin, 7L, AuditAction.NOTE_UPDATED, null, null, null,
+                AuditExportService.Format.CSV, new ByteArrayOutputStream());
+
+        assertThat(closed).isTrue();
+        verify(auditService).logAction(eq(AuditAction.AUDIT_LOGS_EXPORTED), eq(admin), eq("AuditLog"),
+                eq(AuditService.NO_TARGET_ID),
+                contains("Exported 1 audit logs as CSV"));
+    }
+
+    @Test
+    @DisplayName("Should reject unknown formats")
+    void format_Unknown() {
+        assertThat(AuditExportService.Format.fromParam(" NDJson ")).isEqualTo(AuditExportService.Format.NDJSON);
+        assertThatThrownBy(() -> AuditExportService.Format.fromParam("xlsx"))
+                .isInstanceOf(ValidationException.class);
+    }
+}
@@ -0,0 +1,186 @@
+package com.studentnotes.service;
+
+import com.studentnotes.dto.request.BulkNoteRequest;
+import com.studentnotes.dto.response.BulkOperationResponse;
+import com.studentnotes.exception.AccessDeniedException;
+import com.studentnotes.model.Note;
+import com.studentnotes.model.User;
+import com.studentnotes.model.enums.AuditAction;
+import com.studentnotes.model.enums.NoteStatus;
+import com.studentnotes.model.enums.Role;
+import com.studentnotes.model.enums.UserStatus;
+import com.studentnotes.repository.NoteRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for BulkNoteService.
+ * Covers partial success, per-folder permission memoization and batching.
+ */
+@ExtendWith(MockitoExtension.class)
+class BulkNoteServiceTest {
+
+    @Mock
+    private NoteRepository noteRepository;
+
+    @Mock
+    private PermissionService permissionService;
+
+    @Mock
+    private AuditService auditService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private CacheInvalidationService cacheInvalidationService;
+
+    @Mock
+    private FolderService folderService;
+
+    @InjectMocks
+    private BulkNoteService bulkNoteService;
+
+    private User teacher;
+    private User admin;
+
+    @BeforeEach
+    void setUp() {
+        teacher = User.builder()
+                .id(1L)
+                .publicId(UUID.randomUUID().toString())
+                .email("teacher@example.com")
+                .role(Role.ROLE_TEACHER.getValue())
+                .status(UserStatus.ACTIVE)
+                .build();
+
+        admin = User.builder()
+                .id(2L)
+                .publicId(UUID.randomUUID().toString())
+                .email("admin@example.com")
+                .role(Role.ROLE_ADMIN.getValue())
+                .status(UserStatus.ACTIVE)
+                .build();
+    }
+
+    private Note note(long id, NoteStatus status, Long ownerId, String subject) {
+        return Note.builder()
+                .id(id)
+                .publicId("note-" + id)
+                .title("Note " + id)
+                .department("it")
+                .year("year2")
+                .subject(subject)
+                .content("content")
+                .status(status)
+                .uploadedByUserId(ownerId)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    @Nested
+    @DisplayName("Bulk Publish")
+    class BulkPublishTests {
+
+        @Test
+        @DisplayName("should publish eligible notes and report the rest")
+        void shouldPublishEligibleAndReportFailures() {
+            Note draft = note(1, NoteStatus.DRAFT, teacher.getId(), "networks");
+            Note published = note(2, NoteStatus.PUBLISHED, teacher.getId(), "networks");
+            when(noteRepository.findByPublicIdIn(anyCollection())).thenReturn(List.of(draft, published));
+
+            BulkOperationResponse result = bulkNoteService.apply(teacher, BulkNoteRequest.builder()
+                    .action(BulkNoteRequest.Action.PUBLISH)
+                    .noteIds(List.of("note-1", "note-2", "missing"))
+                    .build());
+
+            assertThat(result.getSucceeded()).containsExactly("note-1");
+            assertThat(result.getFailed()).extracting(BulkOperationResponse.FailureDto::getPublicId)
+                    .containsExactly("note-2", "missing");
+            assertThat(draft.getStatus()).isEqualTo(NoteStatus.PUBLISHED);
+            assertThat(published.getStatus()).isEqualTo(NoteStatus.PUBLISHED);
+
+            verify(noteRepository, times(1)).saveAllAndFlush(List.of(draft));
+            verify(auditService, times(1)).logActions(eq(AuditAction.NOTE_PUBLISHED), eq(teacher), eq("Note"),
+                    argThat(entries -> entries.size() == 1));
+            verify(noteRepository, never()).save(any());
+        }
+    }
+
+    @Nested
+    @DisplayName("Bulk Archive")
+    class BulkArchiveTests {
+
+        @Test
+        @DisplayName("should check permission once per distinct folder")
+        void shouldMemoizePermissionPerFolder() {
+            Note a = note(1, NoteStatus.PUBLISHED, 99L, "networks");
+            Note b = note(2, NoteStatus.PUBLISHED, 99L, "networks");
+            Note c = note(3, NoteStatus.DRAFT, 99L, "databases");
+            when(noteRepository.findByPublicIdIn(anyCollection())).thenReturn(List.of(a, b, c));
+            when(permissionService.hasManagePermission(teacher, "it/year2/networks")).thenReturn(true);
+            when(permissionService.hasManagePermission(teacher, "it/year2/databases")).thenReturn(false);
+
+            BulkOperationResponse result = bulkNoteService.apply(teacher, BulkNoteRequest.builder()
+                    .action(BulkNoteRequest.Action.ARCHIVE)
+                    .noteIds(List.of("note-1", "note-2", "note-3"))
+                    .build());
+
+            assertThat(result.getSucceeded()).containsExactly("note-1", "note-2");
+            assertThat(result.getFailed()).hasSize(1);
+            verify(permissionService, times(1)).hasManagePermission(teacher, "it/year2/networks");
+            verify(permissionService, times(1)).hasManagePermission(teacher, "it/year2/databases");
+        }
+    }
+
+    @Nested
+    @DisplayName("Bulk Restore")
+    class BulkRestoreTests {
+
+        @Test
+        @DisplayName("should restore deleted notes for admins")
+        void shouldRestoreDeletedNotes() {
+            Note deleted = note(1, NoteStatus.DELETED, teacher.getId(), "networks");
+            deleted.setDeletedAt(LocalDateTime.now());
+            when(noteRepository.findByPublicIdIn(anyCollection())).thenReturn(List.of(deleted));
+            when(permissionService.hasManagePermission(eq(admin), anyString())).thenReturn(true);
+
+            BulkOperationResponse result = bulkNoteService.apply(admin, BulkNoteRequest.builder()
+                    .action(BulkNoteRequest.Action.RESTORE)
+                    .noteIds(List.of("note-1"))
+                    .build());
+
+            assertThat(result.getSucceeded()).containsExactly("note-1");
+            assertThat(deleted.getStatus()).isEqualTo(NoteStatus.PUBLISHED);
+            assertThat(deleted.getDeletedAt()).isNull();
+        }
+
+        @Test
+        @DisplayName("should reject restore by non-admin")
+        void shouldRejectRestoreByTeacher() {
+            assertThatThrownBy(() -> bulkNoteService.apply(teacher, BulkNoteRequest.builder()
+                    .action(BulkNoteRequest.Action.RESTORE)
+                    .noteIds(List.of("note-1"))
+                    .build()))
+                    .isInstanceOf(AccessDeniedException.class);
+
+            verifyNoInteractions(noteRepository);
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.studentnotes.service;
+
+import com.studentnotes.config.CacheNames;
+import com.studentnotes.event.CacheInvalidation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for CacheInvalidationService.
+ * Two instances share a loopback bus, each with its own cache manager.
+ */
+class CacheInvalidationServiceTest {
+
+    private RecordingBus bus;
+    private CacheManager cachesA;
+    private CacheManager cachesB;
+    private CacheInvalidationService instanceA;
+    private CacheInvalidationService instanceB;
+
+    /**
+     * Loopback bus that also keeps what was published.
+     */
+    private static class RecordingBus extends LoopbackInvalidationBus {
+        final List<CacheInvalidation> published = new ArrayList<>();
+
+        @Override
+        public void publish(CacheInvalidation invalidation) {
+            published.add(invalidation);
+            super.publish(invalidation);
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        bus = new RecordingBus();
+        cachesA = new ConcurrentMapCacheManager(CacheNames.PUBLIC_NOTE_TREE, CacheNames.ADMIN_OVERVIEW);
+        cachesB = new ConcurrentMapCacheManager(CacheNames.PUBLIC_NOTE_TREE, CacheNames.ADMIN_OVERVIEW);
+        instanceA = instance(cachesA);
+        instanceB = instance(cachesB);
+        for (CacheManager caches : List.of(cachesA, cachesB)) {
+            caches.getCache(CacheNames.PUBLIC_NOTE_TREE).put("tree", "cached");
+            caches.getCache(CacheNames.ADMIN_OVERVIEW).put("overview", "cached");
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private CacheInvalidationService instance(CacheManager caches) {
+        CacheInvalidationService service = new CacheInvalidationService();
+        ReflectionTestUtils.setField(service, "bus", bus);
+        ReflectionTestUtils.setField(service, "cacheManager", caches);
+        service.subscribe();
+        return service;
+    }
+
+    private static boolean cached(CacheManager caches, String cache, String key) {
+        return caches.getCache(cache).get(key) != null;
+    }
+
+    @Nested
+    @DisplayName("Propagation")
+    class PropagationTests {
+
+        @Test
+        @DisplayName("should evict on the sender and its peers")
+        void shouldEvictEverywhere() {
+            instanceA.invalidateNoteTree();
+
+            for (CacheManager caches : List.of(cachesA, cachesB)) {
+                assertThat(cached(caches, CacheNames.PUBLIC_NOTE_TREE, "tree")).isFalse();
+                assertThat(cached(caches, CacheNames.ADMIN_OVERVIEW, "overview")).isFalse();
+            }
+        }
+
+        @Test
+        @DisplayName("should route handler caches to the handler")
+        void shouldRouteToHandler() {
+            List<String> dropped = new ArrayList<>();
+            instanceB.registerHandler(CacheNames.DEPARTMENT_ARCHIVES, dropped::add);
+
+            instanceA.broadcast(CacheNames.DEPARTMENT_ARCHIVES, "it");
+
+            assertThat(dropped).containsExactly("it");
+        }
+
+        @Test
+        @DisplayName("should ignore a message older than one already applied")
+        void shouldIgnoreLateMessage() {
+            instanceB.onInvalidation(new CacheInvalidation("peer", 5, CacheNames.PUBLIC_NOTE_TREE, "tree"));
+            cachesB.getCache(CacheNames.PUBLIC_NOTE_TREE).put("tree", "rebuilt");
+
+            instanceB.onInvalidation(new CacheInvalidation("peer", 4, CacheNames.PUBLIC_NOTE_TREE, "tree"));
+
+            assertThat(cached(cachesB, CacheNames.PUBLIC_NOTE_TREE, "tree")).isTrue();
+        }
+
+        @Test
+        @DisplayName("should clear every cache when messages were lost")
+        void shouldClearOnLoss() {
+            List<String> dropped = new ArrayList<>();
+            instanceB.registerHandler(CacheNames.DEPARTMENT_ARCHIVES, dropped::add);
+
+            instanceB.onMessagesLost();
+
+            assertThat(cached(cachesB, CacheNames.PUBLIC_NOTE_TREE, "tree")).isFalse();
+            assertThat(cached(cachesB, CacheNames.ADMIN_OVERVIEW, "overview")).isFalse();
+            assertThat(dropped).containsExactly((String) null);
+        }
+    }
+
+    @Nested
+    @DisplayName("Transactions")
+    class TransactionTests {
+
+        @Test
+        @DisplayName("should send coalesced invalidations only after commit")
+        void shouldWaitForCommit() {
+            TransactionSynchronizationManager.initSynchronization();
+
+            instanceA.invalidateNoteTree();
+            instanceA.invalidateNoteTree();
+            instanceA.invalidate(CacheNames.ADMIN_OVERVIEW);
+
+            assertThat(bus.published).isEmpty();
+            assertThat(cached(cachesB, CacheNames.PUBLIC_NOTE_TREE, "tree")).isTrue();
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+            assertThat(bus.published).extracting(CacheInvalidation::cache)
+                    .containsExactly(CacheNames.PUBLIC_NOTE_TREE, CacheNames.ADMIN_OVERVIEW);
+            assertThat(cached(cachesA, CacheNames.PUBLIC_NOTE_TREE, "tree")).isFalse();
+            assertThat(cached(cachesB, CacheNames.PUBLIC_NOTE_TREE, "tree")).isFalse();
+        }
+
+        @Test
+        @DisplayName("should send nothing when the transaction rolls back")
+        void shouldDropOnRollback() {
+            TransactionSynchronizationManager.initSynchronization();
+
+            instanceA.invalidateNoteTree();
+            TransactionSynchronizationManager.getSynchronizations().forEach(
+                    s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+            assertThat(bus.published).isEmpty();
+            assertThat(cached(cachesA, CacheNames.PUBLIC_NOTE_TREE, "tree")).isTrue();
+        }
+    }
+}
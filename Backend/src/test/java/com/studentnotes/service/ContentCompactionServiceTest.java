@@ -0,0 +1,96 @@
+package com.studentnotes.service;
+
+import com.studentnotes.dto.response.CompactionReportResponse;
+import com.studentnotes.model.User;
+import com.studentnotes.model.enums.AuditAction;
+import com.studentnotes.util.ContentCodec;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ContentCompactionService.
+ * Covers which rows are rewritten and the space-saved report.
+ */
+@ExtendWith(MockitoExtension.class)
+class ContentCompactionServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private AuditService auditService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private ContentCompactionService compactionService;
+
+    private final User admin = User.builder().id(1L).email("admin@test.com").role("ADMIN").build();
+
+    /**
+     * A row as migrated from the TEXT column: plain tag, then UTF-8.
+     */
+    private static byte[] plain(String content) {
+        byte[] utf8 = content.getBytes(StandardCharsets.UTF_8);
+        byte[] stored = new byte[utf8.length + 1];
+        System.arraycopy(utf8, 0, stored, 1, utf8.length);
+        return stored;
+    }
+
+    @Test
+    @DisplayName("Should compress only plain rows and report the bytes saved")
+    @SuppressWarnings("unchecked")
+    void compactVersions() {
+        String body = "## Routing\n\nStatic routes are configured by hand on each router.\n\n".repeat(30);
+        byte[] legacy = plain(body);
+        byte[] alreadyCompressed = ContentCodec.encode(body);
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), eq(0L), anyInt(), anyInt()))
+                .thenReturn(List.of(
+                        new ContentCompactionService.StoredBody(3L, legacy),
+                        new ContentCompactionService.StoredBody(4L, alreadyCompressed)));
+
+        CompactionReportResponse report = compactionService.compactVersions(admin);
+
+        ArgumentCaptor<List<Object[]>> updates = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), updates.capture());
+        assertThat(updates.getValue()).hasSize(1);
+        assertThat(updates.getValue().get(0)[1]).isEqualTo(3L);
+        assertThat(ContentCodec.decode((byte[]) updates.getValue().get(0)[0])).isEqualTo(body);
+
+        assertThat(report.getRowsScanned()).isEqualTo(2);
+        assertThat(report.getRowsCompressed()).isEqualTo(1);
+        assertThat(report.getBytesBefore()).isEqualTo(legacy.length);
+        assertThat(report.getBytesAfter()).isLessThan(legacy.length / 4);
+        verify(auditService).logAction(eq(AuditAction.NOTE_VERSIONS_COMPACTED), eq(admin), eq("NoteVersion"),
+                eq(AuditService.NO_TARGET_ID), contains("Compressed 1 of 2"));
+    }
+
+    @Test
+    @DisplayName("Should write nothing when every row is already compressed")
+    @SuppressWarnings("unchecked")
+    void compactVersions_NothingToDo() {
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), anyLong(), anyInt(), anyInt()))
+                .thenReturn(List.of());
+
+        CompactionReportResponse report = compactionService.compactVersions(admin);
+
+        assertThat(report.getRowsScanned()).isZero();
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+    }
+}
@@ -1,7 +1,12 @@
 package com.studentnotes.service;
 
+import com.studentnotes.config.CorrelationIdFilter;
+import com.studentnotes.dto.request.BulkResolveDeletionRequest;
 import com.studentnotes.dto.request.CreateDeletionRequest;
+import com.studentnotes.dto.response.BulkResolutionResponse;
+import com.studentnotes.event.NoteChangedEvent;
 import com.studentnotes.exception.BusinessRuleViolationException;
+import com.studentnotes.exception.ConcurrentModificationException;
 import com.studentnotes.exception.ResourceNotFoundException;
 import com.studentnotes.model.DeletionRequest;
 import com.studentnotes.model.Note;
@@ -12,6 +17,7 @@ import com.studentnotes.model.enums.Role;
 import com.studentnotes.model.enums.UserStatus;
 import com.studentnotes.repository.DeletionRequestRepository;
 import com.studentnotes.repository.NoteRepository;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -20,8 +26,11 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.slf4j.MDC;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -46,6 +55,12 @@ class DeletionRequestServiceTest {
         @Mock
         private AuditService auditService;
 
+        @Mock
+        private ApplicationEventPublisher eventPublisher;
+
+        @Mock
+        private CacheInvalidationService cacheInvalidationService;
+
         @InjectMocks
         private DeletionRequestService deletionRequestService;
 
@@ -124,6 +139,10 @@ class DeletionRequestServiceTest {
 
                         verify(noteRepository).save(any(Note.class)); // Note status should be updated
                         verify(auditService).logAction(any(), eq(teacher), anyString(), any(), anyString());
+                        verify(eventPublisher).publishEvent(argThat((Object e) -> e instanceof NoteChangedEvent nce
+                                        && nce.getType() == NoteChangedEvent.ChangeType.UPDATED
+                                        && nce.getStatus() == NoteStatus.DELETE_PENDING));
+                        verify(cacheInvalidationService).invalidateNoteTree();
                 }
 
                 @Test
@@ -233,6 +252,9 @@ class DeletionRequestServiceTest {
 
                         verify(noteRepository).save(any(Note.class)); // Note soft deleted
                         verify(auditService).logAction(any(), eq(admin), anyString(), any(), anyString(), any(), any());
+                        verify(eventPublisher).publishEvent(argThat((Object e) -> e instanceof NoteChangedEvent nce
+                                        && nce.getType() == NoteChangedEvent.ChangeType.REMOVED
+                                        && nce.getPublicId().equals(publishedNote.getPublicId())));
                 }
 
                 @Test
@@ -311,6 +333,10 @@ class DeletionRequestServiceTest {
 
                         verify(noteRepository).save(any(Note.class)); // Note restored to published
                         verify(auditService).logAction(any(), eq(admin), anyString(), any(), anyString(), any(), any());
+                        verify(eventPublisher).publishEvent(argThat((Object e) -> e instanceof NoteChangedEvent nce
+                                        && nce.getType() == NoteChangedEvent.ChangeType.UPDATED
+                                        && nce.getStatus() == NoteStatus.PUBLISHED));
+                        verify(cacheInvalidationService).invalidateNoteTree();
                 }
 
                 @Test
@@ -333,4 +359,137 @@ class DeletionRequestServiceTest {
                                         .hasMessageContaining("already been resolved");
                 }
         }
+
+        @Nested
+        @DisplayName("Bulk Resolve Deletion Requests")
+        class BulkResolveTests {
+
+                private static final String CORRELATION_ID = "bulk-correlation-id";
+
+                private DeletionRequest pendingRequest;
+
+                @BeforeEach
+                void setUp() {
+                        MDC.put(CorrelationIdFilter.CORRELATION_ID_MDC_KEY, CORRELATION_ID);
+                        publishedNote.setStatus(NoteStatus.DELETE_PENDING);
+
+                        pendingRequest = DeletionRequest.builder()
+                                        .id(10L)
+                                        .publicId(UUID.randomUUID().toString())
+                                        .note(publishedNote)
+                                        .teacher(teacher)
+                                        .reason("Outdated content")
+                                        .status(DeletionRequestStatus.PENDING)
+                                        .requestedAt(LocalDateTime.now())
+                                        .build();
+                }
+
+                @AfterEach
+                void tearDown() {
+                        MDC.remove(CorrelationIdFilter.CORRELATION_ID_MDC_KEY);
+                }
+
+                private BulkResolveDeletionRequest approveAll(String... ids) {
+                        return BulkResolveDeletionRequest.builder()
+                                        .decision(BulkResolveDeletionRequest.Decision.APPROVE)
+                                        .requestIds(List.of(ids))
+                                        .build();
+                }
+
+                @Test
+                @DisplayName("should approve with set-based updates and one audit batch")
+                void shouldApproveWithSetBasedUpdates() {
+                        when(deletionRequestRepository.findWithDetailsByPublicIdIn(any()))
+                                        .thenReturn(List.of(pendingRequest));
+                        when(deletionRequestRepository.resolvePending(eq(List.of(10L)),
+                                        eq(DeletionRequestStatus.APPROVED), eq(admin), any(), isNull(),
+                                        eq(CORRELATION_ID))).thenReturn(1);
+                        when(noteRepository.markDeletedFromPending(eq(List.of(100L)), any())).thenReturn(1);
+
+                        BulkResolutionResponse result = deletionRequestService.resolveRequests(admin,
+                                        approveAll(pendingRequest.getPublicId(), "missing"));
+
+                        assertThat(result.getSucceeded()).containsExactly(pendingRequest.getPublicId());
+                        assertThat(result.getFailed()).hasSize(1);
+                        assertThat(publishedNote.getStatus()).isEqualTo(NoteStatus.DELETED);
+
+                        verify(deletionRequestRepository, never()).save(any());
+                        verify(noteRepository, never()).save(any());
+                        verify(auditService, never()).logAction(any(), any(), anyString(), any(), anyString(), any(),
+                                        any());
+                        verify(auditService).logActions(any(), eq(admin), eq("DeletionRequest"),
+                                        argThat(entries -> entries.size() == 1));
+                }
+
+                @Test
+                @DisplayName("should republish rejected notes and refresh their caches")
+                void shouldRepublishOnBulkReject() {
+                        when(deletionRequestRepository.findWithDetailsByPublicIdIn(any()))
+                                        .thenReturn(List.of(pendingRequest));
+                        when(deletionRequestRepository.resolvePending(eq(List.of(10L)),
+                                        eq(DeletionRequestStatus.REJECTED), eq(admin), any(), eq("Content is still relevant"),
+                                        eq(CORRELATION_ID))).thenReturn(1);
+                        when(noteRepository.republishFromPending(eq(List.of(100L)), any())).thenReturn(1);
+
+                        BulkResolutionResponse result = deletionRequestService.resolveRequests(admin,
+                                        BulkResolveDeletionRequest.builder()
+                                                        .decision(BulkResolveDeletionRequest.Decision.REJECT)
+                                                        .requestIds(List.of(pendingRequest.getPublicId()))
+                                                        .reason("Content is still relevant")
+                                                        .build());
+
+                        assertThat(result.getSucceeded()).containsExactly(pendingRequest.getPublicId());
+                        assertThat(publishedNote.getStatus()).isEqualTo(NoteStatus.PUBLISHED);
+                        verify(eventPublisher).publishEvent(argThat((Object e) -> e instanceof NoteChangedEvent nce
+                                        && nce.getType() == NoteChangedEvent.ChangeType.UPDATED
+                                        && nce.getStatus() == NoteStatus.PUBLISHED));
+                        verify(cacheInvalidationService).invalidateNoteTree();
+                }
+
+                @Test
+                @DisplayName("should treat requests resolved with the same key as succeeded")
+                void shouldKeepIdempotencyPerRequest() {
+                        DeletionRequest replayed = DeletionRequest.builder()
+                                        .id(11L)
+                                        .publicId("replayed")
+                                        .note(publishedNote)
+                                        .teacher(teacher)
+                                        .status(DeletionRequestStatus.APPROVED)
+                                        .resolutionIdempotencyKey(CORRELATION_ID)
+                                        .build();
+                        DeletionRequest otherAdmin = DeletionRequest.builder()
+                                        .id(12L)
+                                        .publicId("other")
+                                        .note(publishedNote)
+                                        .teacher(teacher)
+                                        .status(DeletionRequestStatus.APPROVED)
+                                        .resolutionIdempotencyKey("someone-else")
+                                        .build();
+                        when(deletionRequestRepository.findWithDetailsByPublicIdIn(any()))
+                                        .thenReturn(List.of(replayed, otherAdmin));
+
+                        BulkResolutionResponse result = deletionRequestService.resolveRequests(admin,
+                                        approveAll("replayed", "other"));
+
+                        assertThat(result.getSucceeded()).containsExactly("replayed");
+                        assertThat(result.getFailed()).extracting(f -> f.getPublicId()).containsExactly("other");
+                        verify(deletionRequestRepository, never()).resolvePending(any(), any(), any(), any(), any(),
+                                        any());
+                }
+
+                @Test
+                @DisplayName("should roll back when another admin resolves a request mid-flight")
+                void shouldFailOnLostRace() {
+                        when(deletionRequestRepository.findWithDetailsByPublicIdIn(any()))
+                                        .thenReturn(List.of(pendingRequest));
+                        when(deletionRequestRepository.resolvePending(any(), any(), any(), any(), any(), any()))
+                                        .thenReturn(0);
+
+                        assertThatThrownBy(() -> deletionRequestService.resolveRequests(admin,
+                                        approveAll(pendingRequest.getPublicId())))
+                                        .isInstanceOf(ConcurrentModificationException.class);
+
+                        verify(auditService, never()).logActions(any(), any(), any(), any());
+                }
+        }
 }
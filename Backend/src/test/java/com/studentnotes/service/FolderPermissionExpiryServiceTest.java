@@ -0,0 +1,98 @@
+package com.studentnotes.service;
+
+import com.studentnotes.model.FolderPermission;
+import com.studentnotes.model.enums.AuditAction;
+import com.studentnotes.repository.FolderPermissionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for FolderPermissionExpiryService.
+ * Covers chunking and audit batching; leases are covered in JobServiceTest.
+ */
+@ExtendWith(MockitoExtension.class)
+class FolderPermissionExpiryServiceTest {
+
+    @Mock
+    private FolderPermissionRepository folderPermissionRepository;
+
+    @Mock
+    private AuditService auditService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private FolderPermissionExpiryService expiryService;
+
+    private final LocalDateTime now = LocalDateTime.of(2026, 1, 1, 12, 0);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(expiryService, "chunkSize", 2);
+        ReflectionTestUtils.setField(expiryService, "maxChunksPerRun", 3);
+    }
+
+    private FolderPermission expired(long id) {
+        return FolderPermission.builder()
+                .id(id)
+                .userId(10L + id)
+                .folderPath("it/year2")
+                .grantedByUserId(1L)
+                .expiresAt(now.minusDays(1))
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should deactivate and audit in chunks until a short chunk")
+    void sweep_ProcessesChunksUntilExhausted() {
+        when(folderPermissionRepository.findExpired(eq(now), any(Pageable.class)))
+                .thenReturn(List.of(expired(1), expired(2)))
+                .thenReturn(List.of(expired(3)));
+
+        int count = expiryService.sweep(now);
+
+        assertThat(count).isEqualTo(3);
+        verify(folderPermissionRepository).deactivate(List.of(1L, 2L));
+        verify(folderPermissionRepository).deactivate(List.of(3L));
+        verify(auditService, times(2)).logActions(eq(AuditAction.FOLDER_PERMISSION_EXPIRED),
+                argThat(actor -> "system".equals(actor.getEmail())), eq("FolderPermission"), anyList());
+    }
+
+    @Test
+    @DisplayName("Should stop after the per-run chunk cap")
+    void sweep_StopsAtChunkCap() {
+        when(folderPermissionRepository.findExpired(eq(now), any(Pageable.class)))
+                .thenReturn(List.of(expired(1), expired(2)));
+
+        int count = expiryService.sweep(now);
+
+        assertThat(count).isEqualTo(6);
+        verify(folderPermissionRepository, times(3)).findExpired(eq(now), any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("Should do nothing when nothing has expired")
+    void sweep_NothingExpired() {
+        when(folderPermissionRepository.findExpired(eq(now), any(Pageable.class))).thenReturn(List.of());
+
+        assertThat(expiryService.sweep(now)).isZero();
+        verify(folderPermissionRepository, never()).deactivate(any());
+        verifyNoInteractions(auditService);
+    }
+}
@@ -0,0 +1,178 @@
+package com.studentnotes.service;
+
+import com.studentnotes.exception.ValidationException;
+import com.studentnotes.model.Folder;
+import com.studentnotes.model.Note;
+import com.studentnotes.repository.FolderRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for FolderService.
+ * Covers get-or-create of folder chains, the id cache and creation races.
+ */
+@ExtendWith(MockitoExtension.class)
+class FolderServiceTest {
+
+    @Mock
+    private FolderRepository folderRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private FolderService folderService;
+
+    // Rows the mocked repository holds
+    private final List<Folder> table = new ArrayList<>();
+
+    private Folder row(Integer parentId, String path) {
+        Folder folder = Folder.builder()
+                .id(table.size() + 1)
+                .parentId(parentId)
+                .depth(path.split("/").length)
+                .name(path.substring(path.lastIndexOf('/') + 1))
+                .path(path)
+                .build();
+        table.add(folder);
+        return folder;
+    }
+
+    private void givenRepositoryBackedByTable() {
+        lenient().when(folderRepository.findByPathIn(anyCollection())).thenAnswer(invocation -> {
+            Collection<String> paths = invocation.getArgument(0);
+            return table.stream().filter(f -> paths.contains(f.getPath())).toList();
+        });
+        lenient().when(folderRepository.saveAndFlush(any(Folder.class))).thenAnswer(invocation -> {
+            Folder folder = invocation.getArgument(0);
+            return row(folder.getParentId(), folder.getPath());
+        });
+    }
+
+    @Nested
+    @DisplayName("resolve")
+    class Resolve {
+
+        @Test
+        @DisplayName("creates the missing folders parents first")
+        void createsMissingChain() {
+            givenRepositoryBackedByTable();
+            Folder department = row(null, "it");
+
+            Folder folder = folderService.resolve(" /it//year2/networks/ ");
+
+            assertThat(folder.getPath()).isEqualTo("it/year2/networks");
+            assertThat(folder.getDepth()).isEqualTo(3);
+            assertThat(table).extracting(Folder::getPath).containsExactly("it", "it/year2", "it/year2/networks");
+            Folder year = table.get(1);
+            assertThat(year.getParentId()).isEqualTo(department.getId());
+            assertThat(folder.getParentId()).isEqualTo(year.getId());
+        }
+
+        @Test
+        @DisplayName("serves folders from memory once seen")
+        void cachesFolders() {
+            givenRepositoryBackedByTable();
+            row(null, "it");
+            row(1, "it/year2");
+
+            Folder first = folderService.resolve("it/year2");
+            Folder second = folderService.resolve("it/year2");
+
+            assertThat(second).isSameAs(first);
+            verify(folderRepository, times(1)).findByPathIn(anyCollection());
+            verify(folderRepository, never()).saveAndFlush(any());
+        }
+
+        @Test
+        @DisplayName("reads back a folder another caller created first")
+        void readsBackOnRace() {
+            givenRepositoryBackedByTable();
+            row(null, "it");
+            when(folderRepository.saveAndFlush(any(Folder.class))).thenAnswer(invocation -> {
+                // The other caller's row lands just before ours
+                row(1, "it/year2");
+                throw new DataIntegrityViolationException("duplicate key");
+            });
+
+            Folder folder = folderService.resolve("it/year2");
+
+            assertThat(folder.getId()).isEqualTo(2);
+            assertThat(table).hasSize(2);
+        }
+
+        @Test
+        @DisplayName("gives up after repeated conflicts")
+        void givesUpAfterRepeatedConflicts() {
+            when(folderRepository.findByPathIn(anyCollection())).thenReturn(List.of());
+            when(folderRepository.saveAndFlush(any(Folder.class)))
+                    .thenThrow(new DataIntegrityViolationException("duplicate key"));
+
+            assertThatThrownBy(() -> folderService.resolve("it"))
+                    .isInstanceOf(DataIntegrityViolationException.class);
+            verify(folderRepository, times(3)).saveAndFlush(any());
+        }
+
+        @Test
+        @DisplayName("rejects an empty path")
+        void rejectsEmptyPath() {
+            assertThatThrownBy(() -> folderService.resolve(" / "))
+                    .isInstanceOf(ValidationException.class);
+            verifyNoInteractions(folderRepository);
+        }
+
+        @Test
+        @DisplayName("placeNote points the note at its folder")
+        void placesNote() {
+            givenRepositoryBackedByTable();
+            Note note = Note.builder().department("it").year("year2").subject("os").build();
+
+            folderService.placeNote(note);
+
+            assertThat(note.getFolder().getPath()).isEqualTo("it/year2/os");
+        }
+    }
+
+    @Nested
+    @DisplayName("lookups")
+    class Lookups {
+
+        @Test
+        @DisplayName("selfAndAncestorIds lists existing folders root first and creates none")
+        void selfAndAncestorIds() {
+            givenRepositoryBackedByTable();
+            row(null, "it");
+            row(1, "it/year2");
+
+            assertThat(folderService.selfAndAncestorIds("it/year2/section-a/networks")).containsExactly(1, 2);
+            verify(folderRepository, never()).saveAndFlush(any());
+        }
+
+        @Test
+        @DisplayName("subtreeIds always asks the database")
+        void subtreeIds() {
+            when(folderRepository.findSubtreeIds("it")).thenReturn(List.of(1, 2, 3));
+
+            assertThat(folderService.subtreeIds("/it/")).containsExactly(1, 2, 3);
+            assertThat(folderService.subtreeIds("it")).containsExactly(1, 2, 3);
+            assertThat(folderService.subtreeIds("")).isEmpty();
+            verify(folderRepository, times(2)).findSubtreeIds("it");
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.studentnotes.service;
+
+import com.studentnotes.model.IdempotencyKey;
+import com.studentnotes.repository.IdempotencyKeyRepository;
+import com.studentnotes.service.IdempotencyService.Claim;
+import com.studentnotes.service.IdempotencyService.Outcome;
+import com.studentnotes.service.IdempotencyService.StoredResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for IdempotencyService.
+ * Covers claiming, replay from the table and the LRU, key reuse and expiry.
+ */
+@ExtendWith(MockitoExtension.class)
+class IdempotencyServiceTest {
+
+    @Mock
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private IdempotencyService idempotencyService;
+
+    private static final StoredResponse CREATED = new StoredResponse(201, "application/json",
+            Map.of("Location", "/api/teacher/notes/n1"), "{\"id\":\"n1\"}".getBytes(StandardCharsets.UTF_8));
+
+    private IdempotencyKey row(String requestHash, Integer status, LocalDateTime createdAt) {
+        return IdempotencyKey.builder()
+                .id("id")
+                .requestHash(requestHash)
+                .responseStatus(status)
+                .responseContentType(status != null ? CREATED.contentType() : null)
+                .responseHeaders(status != null ? "ETag: \"v3\"\nLocation: /api/teacher/notes/n1\n" : null)
+                .responseBody(status != null ? CREATED.body() : null)
+                .createdAt(createdAt)
+                .expiresAt(createdAt.plusHours(24))
+                .build();
+    }
+
+    @Nested
+    @DisplayName("Claim")
+    class ClaimTests {
+
+        @Test
+        @DisplayName("should claim a new key with a pending row")
+        void shouldClaimNewKey() {
+            when(idempotencyKeyRepository.findForUpdate(any())).thenReturn(Optional.empty());
+
+            Claim claim = idempotencyService.claim("teacher@school.edu", "k1", "hash");
+
+            assertThat(claim.outcome()).isEqualTo(Outcome.ACQUIRED);
+            verify(idempotencyKeyRepository).saveAndFlush(argThat(row -> !row.isCompleted()
+                    && "hash".equals(row.getRequestHash()) && claim.id().equals(row.getId())));
+        }
+
+        @Test
+        @DisplayName("should scope keys per caller")
+        void shouldScopePerCaller() {
+            when(idempotencyKeyRepository.findForUpdate(any())).thenReturn(Optional.empty());
+
+            String first = idempotencyService.claim("a@school.edu", "k1", "hash").id();
+            String second = idempotencyService.claim("b@school.edu", "k1", "hash").id();
+
+            assertThat(first).isNotEqualTo(second);
+        }
+
+        @Test
+        @DisplayName("should report a running request, or a different one, with the same key")
+        void shouldRejectConcurrentUse() {
+            when(idempotencyKeyRepository.findForUpdate(any()))
+                    .thenReturn(Optional.of(row("hash", null, LocalDateTime.now())));
+
+            assertThat(idempotencyService.claim("t", "k1", "hash").outcome()).isEqualTo(Outcome.IN_PROGRESS);
+            assertThat(idempotencyService.claim("t", "k1", "other").outcome()).isEqualTo(Outcome.MISMATCH);
+        }
+
+        @Test
+        @DisplayName("should treat a concurrent insert as in progress")
+        void shouldHandleInsertRace() {
+            when(idempotencyKeyRepository.findForUpdate(any())).thenReturn(Optional.empty());
+            when(idempotencyKeyRepository.saveAndFlush(any())).thenThrow(new DataIntegrityViolationException("dup"));
+
+            assertThat(idempotencyService.claim("t", "k1", "hash").outcome()).isEqualTo(Outcome.IN_PROGRESS);
+        }
+
+        @Test
+        @DisplayName("should reclaim an abandoned claim")
+        void shouldReclaimAbandoned() {
+            IdempotencyKey stale = row("old", null, LocalDateTime.now().minusMinutes(10));
+            when(idempotencyKeyRepository.findForUpdate(any())).thenReturn(Optional.of(stale));
+
+            assertThat(idempotencyService.claim("t", "k1", "hash").outcome()).isEqualTo(Outcome.ACQUIRED);
+            assertThat(stale.getRequestHash()).isEqualTo("hash");
+        }
+    }
+
+    @Nested
+    @DisplayName("Replay")
+    class ReplayTests {
+
+        @Test
+        @DisplayName("should replay a stored response, then serve it from memory")
+        void shouldReplay() {
+            when(idempotencyKeyRepository.findForUpdate(any()))
+                    .thenReturn(Optional.of(row("hash", 201, LocalDateTime.now())));
+
+            Claim first = idempotencyService.claim("t", "k1", "hash");
+            Claim second = idempotencyService.claim("t", "k1", "hash");
+
+            assertThat(first.outcome()).isEqualTo(Outcome.REPLAY);
+            assertThat(first.response().headers()).containsExactly(
+                    entry("ETag", "\"v3\""), entry("Location", "/api/teacher/notes/n1"));
+            assertThat(second.response().body()).isEqualTo(CREATED.body());
+            verify(idempotencyKeyRepository, times(1)).findForUpdate(any());
+        }
+
+        @Test
+        @DisplayName("should replay from memory once completed")
+        void shouldCacheCompleted() {
+            IdempotencyKey pending = row("hash", null, LocalDateTime.now());
+            when(idempotencyKeyRepository.findForUpdate(any())).thenReturn(Optional.empty());
+            Claim claim = idempotencyService.claim("t", "k1", "hash");
+            when(idempotencyKeyRepository.findById(claim.id())).thenReturn(Optional.of(pending));
+
+            idempotencyService.complete(claim, CREATED);
+
+            assertThat(pending.getResponseStatus()).isEqualTo(201);
+            assertThat(pending.getResponseHeaders()).isEqualTo("Location: /api/teacher/notes/n1\n");
+            assertThat(idempotencyService.claim("t", "k1", "hash").outcome()).isEqualTo(Outcome.REPLAY);
+            assertThat(idempotencyService.claim("t", "k1", "other").outcome()).isEqualTo(Outcome.MISMATCH);
+            verify(idempotencyKeyRepository, times(1)).findForUpdate(any());
+        }
+
+        @Test
+        @DisplayName("should release the claim of a failed write")
+        void shouldAbandon() {
+            Claim claim = new Claim(Outcome.ACQUIRED, "id", null);
+
+            idempotencyService.abandon(claim);
+
+            verify(idempotencyKeyRepository).deletePending("id");
+        }
+    }
+}
@@ -0,0 +1,316 @@
+package com.studentnotes.service;
+
+import com.studentnotes.exception.BusinessRuleViolationException;
+import com.studentnotes.exception.ResourceNotFoundException;
+import com.studentnotes.model.JobLease;
+import com.studentnotes.model.JobRun;
+import com.studentnotes.model.User;
+import com.studentnotes.model.enums.JobRunStatus;
+import com.studentnotes.repository.JobLeaseRepository;
+import com.studentnotes.repository.JobRunRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for JobService.
+ * Covers leases, run recording, failures and scheduling.
+ */
+@ExtendWith(MockitoExtension.class)
+class JobServiceTest {
+
+    @Mock
+    private JobRunRepository jobRunRepository;
+
+    @Mock
+    private LeaseService leaseService;
+
+    @Mock
+    private TaskScheduler taskScheduler;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private JobService jobService;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger sweeps = new AtomicInteger();
+    private final AtomicInteger flushes = new AtomicInteger();
+
+    private final ScheduledJob sweep = ScheduledJob.cluster("sweep", Duration.ofMinutes(5), Duration.ofMinutes(10),
+            () -> sweeps.incrementAndGet() * 3);
+    private final ScheduledJob flush = ScheduledJob.instance("flush", Duration.ofMinutes(1),
+            () -> flushes.incrementAndGet());
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(jobService, "definitions", List.of(sweep, flush));
+        ReflectionTestUtils.setField(jobService, "meterRegistry", meterRegistry);
+        jobService.register();
+    }
+
+    private User admin() {
+        return User.builder().id(1L).email("admin@school.edu").build();
+    }
+
+    private JobRun savedRun() {
+        ArgumentCaptor<JobRun> run = ArgumentCaptor.forClass(JobRun.class);
+        verify(jobRunRepository).save(run.capture());
+        return run.getValue();
+    }
+
+    @Nested
+    @DisplayName("Cluster jobs")
+    class ClusterTests {
+
+        @Test
+        @DisplayName("should run under the lease, record the run and hold the lease for the interval")
+        void shouldRunUnderLease() {
+            when(leaseService.tryAcquire("sweep", Duration.ofMinutes(10))).thenReturn(true);
+            when(leaseService.getInstanceId()).thenReturn("node-1");
+
+            assertThat(jobService.execute(sweep, null)).isPresent();
+
+            JobRun run = savedRun();
+            assertThat(run.getStatus()).isEqualTo(JobRunStatus.SUCCEEDED);
+            assertThat(run.getItemsProcessed()).isEqualTo(3);
+            assertThat(run.getInstanceId()).isEqualTo("node-1");
+            assertThat(run.getTriggeredBy()).isNull();
+            verify(leaseService).holdUntil("sweep", run.getStartedAt().plusMinutes(5));
+            assertThat(meterRegistry.timer("app.jobs.duration", "job", "sweep", "outcome", "succeeded").count())
+                    .isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("should skip the run when another instance holds the lease")
+        void shouldSkipWhenLeaseHeldElsewhere() {
+            when(leaseService.tryAcquire(eq("sweep"), any())).thenReturn(false);
+
+            assertThat(jobService.execute(sweep, null)).isEmpty();
+
+            assertThat(sweeps).hasValue(0);
+            verify(leaseService, never()).holdUntil(any(), any());
+            verifyNoInteractions(jobRunRepository);
+            assertThat(meterRegistry.counter("app.jobs.skipped", "job", "sweep").count()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("should record a failure and still hold the lease for the interval")
+        void shouldRecordFailure() {
+            ScheduledJob failing = ScheduledJob.cluster("failing", Duration.ofMinutes(5), Duration.ofMinutes(10),
+                    () -> {
+                        throw new IllegalStateException("boom");
+                    });
+            when(leaseService.tryAcquire(eq("failing"), any())).thenReturn(true);
+
+            assertThat(jobService.execute(failing, null)).isPresent();
+
+            JobRun run = savedRun();
+            assertThat(run.getStatus()).isEqualTo(JobRunStatus.FAILED);
+            assertThat(run.getError()).contains("boom");
+            verify(leaseService).holdUntil("failing", run.getStartedAt().plusMinutes(5));
+        }
+    }
+
+    @Nested
+    @DisplayName("Across instances")
+    class AcrossInstancesTests {
+
+        // The job_leases table both instances share
+        private final Map<String, JobLease> leases = new HashMap<>();
+
+        @Mock
+        private JobLeaseRepository jobLeaseRepository;
+
+        @BeforeEach
+        void setUpLeaseTable() {
+            lenient().when(jobLeaseRepository.tryAcquire(any(), any(), any(), any())).thenAnswer(invocation -> {
+                JobLease lease = leases.get(invocation.<String>getArgument(0));
+                String owner = invocation.getArgument(1);
+                LocalDateTime now = invocation.getArgument(2);
+                if (lease == null || !(lease.getLeasedUntil().isBefore(now) || lease.getOwner().equals(owner))) {
+                    return 0;
+                }
+                lease.setOwner(owner);
+                lease.setLeasedUntil(invocation.getArgument(3));
+                return 1;
+            });
+            lenient().when(jobLeaseRepository.existsById(any()))
+                    .thenAnswer(invocation -> leases.containsKey(invocation.<String>getArgument(0)));
+            lenient().when(jobLeaseRepository.saveAndFlush(any(JobLease.class))).thenAnswer(invocation -> {
+                JobLease lease = invocation.getArgument(0);
+                leases.put(lease.getName(), lease);
+                return lease;
+            });
+            lenient().when(jobLeaseRepository.holdUntil(any(), any(), any())).thenAnswer(invocation -> {
+                JobLease lease = leases.get(invocation.<String>getArgument(0));
+                if (lease == null || !lease.getOwner().equals(invocation.getArgument(1))) {
+                    return 0;
+                }
+                lease.setLeasedUntil(invocation.getArgument(2));
+                return 1;
+            });
+        }
+
+        private JobService instance() {
+            LeaseService leases = new LeaseService();
+            ReflectionTestUtils.setField(leases, "jobLeaseRepository", jobLeaseRepository);
+            ReflectionTestUtils.setField(leases, "transactionManager", transactionManager);
+
+            JobService instance = new JobService();
+            ReflectionTestUtils.setField(instance, "definitions", List.of(sweep));
+            ReflectionTestUtils.setField(instance, "jobRunRepository", jobRunRepository);
+            ReflectionTestUtils.setField(instance, "leaseService", leases);
+            ReflectionTestUtils.setField(instance, "taskScheduler", taskScheduler);
+            ReflectionTestUtils.setField(instance, "meterRegistry", new SimpleMeterRegistry());
+            ReflectionTestUtils.setField(instance, "transactionManager", transactionManager);
+            instance.register();
+            return instance;
+        }
+
+        @Test
+        @DisplayName("should skip on a second instance within the interval after the first finished")
+        void shouldRunOncePerInterval() {
+            JobService first = instance();
+            JobService second = instance();
+
+            assertThat(first.execute(sweep, null)).isPresent();
+            assertThat(second.execute(sweep, null)).isEmpty();
+            assertThat(sweeps).hasValue(1);
+            assertThat(leases.get("sweep").getLeasedUntil()).isAfter(LocalDateTime.now().plusMinutes(4));
+
+            // Once the interval has passed the next tick anywhere runs again
+            leases.get("sweep").setLeasedUntil(LocalDateTime.now().minusSeconds(1));
+            assertThat(second.execute(sweep, null)).isPresent();
+            assertThat(sweeps).hasValue(2);
+        }
+
+        @Test
+        @DisplayName("should free the lease at once when a run outlasts its interval")
+        void shouldFreeLeaseAfterLongRun() {
+            ScheduledJob slow = ScheduledJob.cluster("sweep", Duration.ofMillis(1), Duration.ofMinutes(10), () -> {
+                sweeps.incrementAndGet();
+                try {
+                    Thread.sleep(5);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return 0;
+            });
+            JobService first = instance();
+            JobService second = instance();
+
+            assertThat(first.execute(slow, null)).isPresent();
+
+            assertThat(leases.get("sweep").getLeasedUntil()).isBefore(LocalDateTime.now());
+            assertThat(second.execute(slow, null)).isPresent();
+        }
+    }
+
+    @Nested
+    @DisplayName("Instance jobs")
+    class InstanceTests {
+
+        @Test
+        @DisplayName("should run without a lease")
+        void shouldRunWithoutLease() {
+            jobService.execute(flush, null);
+
+            assertThat(flushes).hasValue(1);
+            verify(leaseService, never()).tryAcquire(any(), any());
+            assertThat(savedRun().getItemsProcessed()).isEqualTo(1);
+        }
+    }
+
+    @Nested
+    @DisplayName("Manual runs")
+    class ManualRunTests {
+
+        @Test
+        @DisplayName("should record the admin who started the run")
+        void shouldRecordTrigger() {
+            assertThat(jobService.runNow("flush", admin()).getTriggeredBy()).isEqualTo("admin@school.edu");
+        }
+
+        @Test
+        @DisplayName("should reject unknown jobs")
+        void shouldRejectUnknownJob() {
+            assertThatThrownBy(() -> jobService.runNow("nope", admin()))
+                    .isInstanceOf(ResourceNotFoundException.class);
+        }
+
+        @Test
+        @DisplayName("should not overlap a run already in progress here")
+        void shouldNotOverlap() {
+            AtomicReference<Exception> nested = new AtomicReference<>();
+            ScheduledJob reentrant = ScheduledJob.instance("reentrant", Duration.ofMinutes(1), () -> {
+                try {
+                    jobService.runNow("reentrant", admin());
+                } catch (Exception e) {
+                    nested.set(e);
+                }
+                return 0;
+            });
+            ReflectionTestUtils.setField(jobService, "definitions", List.of(reentrant));
+            ReflectionTestUtils.setField(jobService, "jobs", new ConcurrentHashMap<>());
+            jobService.register();
+
+            jobService.runNow("reentrant", admin());
+
+            assertThat(nested.get()).isInstanceOf(BusinessRuleViolationException.class);
+            verify(jobRunRepository, times(1)).save(any());
+        }
+    }
+
+    @Nested
+    @DisplayName("Scheduling")
+    class SchedulingTests {
+
+        @Test
+        @DisplayName("should schedule every job, including history retention")
+        void shouldScheduleAll() {
+            jobService.start();
+
+            verify(taskScheduler, times(3)).scheduleWithFixedDelay(any(Runnable.class), any(Instant.class),
+                    any(Duration.class));
+            verify(taskScheduler).scheduleWithFixedDelay(any(Runnable.class), any(Instant.class),
+                    eq(Duration.ofHours(6)));
+        }
+
+        @Test
+        @DisplayName("should schedule nothing when disabled")
+        void shouldHonourSwitch() {
+            ReflectionTestUtils.setField(jobService, "enabled", false);
+
+            jobService.start();
+
+            verifyNoInteractions(taskScheduler);
+        }
+    }
+}
@@ -0,0 +1,322 @@
+package com.studentnotes.service;
+
+import com.studentnotes.dto.request.CreateDeletionRequest;
+import com.studentnotes.event.NoteChangedEvent;
+import com.studentnotes.exception.ResourceNotFoundException;
+import com.studentnotes.model.DeletionRequest;
+import com.studentnotes.model.Folder;
+import com.studentnotes.model.Note;
+import com.studentnotes.model.User;
+import com.studentnotes.model.enums.NoteStatus;
+import com.studentnotes.repository.DeletionRequestRepository;
+import com.studentnotes.repository.NoteRepository;
+import com.studentnotes.util.FolderPaths;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for NoteArchiveService.
+ * Covers archive layout, keyset chunking and the per-department archive cache.
+ */
+@ExtendWith(MockitoExtension.class)
+class NoteArchiveServiceTest {
+
+    @Mock
+    private NoteRepository noteRepository;
+
+    @Mock
+    private FolderService folderService;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private CacheInvalidationService cacheInvalidationService;
+
+    @InjectMocks
+    private NoteArchiveService archiveService;
+
+    @TempDir
+    Path cacheDir;
+
+    // The folders the test notes live in, by path
+    private final Map<String, Folder> folders = new HashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(archiveService, "chunkSize", 2);
+        ReflectionTestUtils.setField(archiveService, "archiveCacheDir", cacheDir.toString());
+    }
+
+    private Note note(long id, String section, String subject, String title) {
+        return Note.builder()
+                .id(id)
+                .title(title)
+                .department("it")
+                .year("year2")
+                .section(section)
+                .subject(subject)
+                .folder(folder(Note.folderPathOf("it", "year2", section, subject)))
+                .content("# " + title)
+                .status(NoteStatus.PUBLISHED)
+                .build();
+    }
+
+    private Folder folder(String path) {
+        return folders.computeIfAbsent(path, p -> Folder.builder()
+                .id(folders.size() + 1)
+                .name(p.substring(p.lastIndexOf('/') + 1))
+                .path(p)
+                .build());
+    }
+
+    private void givenDepartmentNotes(Note... notes) {
+        when(folderService.subtreeIds(anyString())).thenAnswer(invocation -> folders.values().stream()
+                .filter(f -> FolderPaths.covers(invocation.getArgument(0), f.getPath()))
+                .map(Folder::getId)
+                .toList());
+        when(noteRepository.findExportChunk(anyCollection(), eq(NoteStatus.PUBLISHED), anyLong(), any(Pageable.class)))
+                .thenAnswer(invocation -> {
+                    Collection<Integer> folderIds = invocation.getArgument(0);
+                    long afterId = invocation.getArgument(2);
+                    Pageable page = invocation.getArgument(3);
+                    NoteStatus status = invocation.getArgument(1);
+                    return java.util.Arrays.stream(notes)
+                            .filter(n -> folderIds.contains(n.getFolder().getId()))
+                            .filter(n -> n.getStatus() == status)
+                            .filter(n -> n.getId() > afterId)
+                            .limit(page.getPageSize())
+                            .toList();
+                });
+    }
+
+    private Map<String, String> exportDepartment(String department) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        archiveService.export(department, out);
+        return unzip(out.toByteArray());
+    }
+
+    private static Map<String, String> unzip(byte[] archive) throws IOException {
+        Map<String, String> entries = new LinkedHashMap<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(archive), StandardCharsets.UTF_8)) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                entries.put(entry.getName(), new String(zip.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+        return entries;
+    }
+
+    @Nested
+    @DisplayName("Archive Layout")
+    class ArchiveLayout {
+
+        @Test
+        @DisplayName("Should lay notes out by folder, de-duplicating titles, across keyset chunks")
+        void writeArchive_Layout() throws IOException {
+            givenDepartmentNotes(
+                    note(1, "section-a", "networks", "Routing"),
+                    note(2, "section-a", "networks", "Routing"),
+                    note(3, null, "dbms", "Joins/Indexes"));
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+            int written = archiveService.writeArchive("it", out);
+
+            assertThat(written).isEqualTo(3);
+            assertThat(unzip(out.toByteArray())).containsExactly(
+                    Map.entry("it/year2/section-a/networks/Routing.md", "# Routing"),
+                    Map.entry("it/year2/section-a/networks/Routing (2).md", "# Routing"),
+                    Map.entry("it/year2/dbms/Joins-Indexes.md", "# Joins/Indexes"));
+            verify(noteRepository).findExportChunk(anyCollection(), eq(NoteStatus.PUBLISHED), eq(0L), any());
+            verify(noteRepository).findExportChunk(anyCollection(), eq(NoteStatus.PUBLISHED), eq(2L), any());
+            verify(entityManager, times(3)).detach(any(Note.class));
+        }
+
+        @Test
+        @DisplayName("Should only include notes under a sub-folder path")
+        void writeArchive_SubFolder() throws IOException {
+            givenDepartmentNotes(
+                    note(1, "section-a", "networks", "Routing"),
+                    note(2, "section-b", "networks", "Switching"));
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+            archiveService.export("it/year2/section-b", out);
+
+            assertThat(unzip(out.toByteArray())).containsOnlyKeys("it/year2/section-b/networks/Switching.md");
+            verify(folderService).subtreeIds("it/year2/section-b");
+        }
+
+        @Test
+        @DisplayName("Should neutralize traversal and reserved characters in names")
+        void safeName() {
+            assertThat(NoteArchiveService.safeName("../../etc/passwd")).isEqualTo("-..-etc-passwd");
+            assertThat(NoteArchiveService.safeName("..")).isEqualTo("untitled");
+            assertThat(NoteArchiveService.safeName("  ")).isEqualTo("untitled");
+            assertThat(NoteArchiveService.safeName("a:b*c?")).isEqualTo("a-b-c-");
+        }
+
+        @Test
+        @DisplayName("Should 404 when a folder has no published notes")
+        void resolveFolder_Empty() {
+            when(folderService.subtreeIds("cs")).thenReturn(List.of(7));
+            when(noteRepository.existsInFolders(List.of(7), NoteStatus.PUBLISHED)).thenReturn(false);
+
+            assertThatThrownBy(() -> archiveService.resolveFolder("/cs/"))
+                    .isInstanceOf(ResourceNotFoundException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Department Archive Cache")
+    class ArchiveCache {
+
+        @Test
+        @DisplayName("Should build a department archive once and serve it from disk")
+        void export_CachesDepartment() throws IOException {
+            givenDepartmentNotes(note(1, "section-a", "networks", "Routing"));
+
+            ByteArrayOutputStream first = new ByteArrayOutputStream();
+            ByteArrayOutputStream second = new ByteArrayOutputStream();
+            archiveService.export("it", first);
+            archiveService.export("it", second);
+
+            assertThat(second.toByteArray()).isEqualTo(first.toByteArray());
+            verify(noteRepository, times(1)).findExportChunk(any(), any(), anyLong(), any());
+            try (var files = Files.list(cacheDir)) {
+                assertThat(files).hasSize(1);
+            }
+        }
+
+        @Test
+        @DisplayName("Should rebuild after a change in the department and delete the stale file")
+        void onNoteChanged_Invalidates() throws IOException {
+            givenDepartmentNotes(note(1, "section-a", "networks", "Routing"));
+            archiveService.export("it", new ByteArrayOutputStream());
+
+            archiveService.onNoteChanged(NoteChangedEvent.updated(note(1, "section-a", "networks", "Routing")));
+
+            try (var files = Files.list(cacheDir)) {
+                assertThat(files).isEmpty();
+            }
+            archiveService.export("it", new ByteArrayOutputStream());
+            verify(noteRepository, times(2)).findExportChunk(any(), any(), anyLong(), any());
+        }
+
+        @Test
+        @DisplayName("Should also invalidate the department a note moved out of")
+        void onNoteChanged_Move() throws IOException {
+            givenDepartmentNotes(note(1, "section-a", "networks", "Routing"));
+            archiveService.export("it", new ByteArrayOutputStream());
+
+            Note moved = note(1, "section-a", "networks", "Routing");
+            moved.setDepartment("cs");
+            archiveService.onNoteChanged(NoteChangedEvent.updated(moved, "it"));
+
+            archiveService.export("it", new ByteArrayOutputStream());
+            verify(folderService, times(2)).subtreeIds("it");
+        }
+
+        @Test
+        @DisplayName("Should drop a note with a pending deletion and restore it when the request is rejected")
+        void deletionRequest_CreateThenReject() throws IOException {
+            Note routing = note(1, "section-a", "networks", "Routing");
+            routing.setPublicId("note-1");
+            givenDepartmentNotes(routing, note(2, "section-a", "networks", "Switching"));
+
+            DeletionRequestRepository deletionRequestRepository = mock(DeletionRequestRepository.class);
+            DeletionRequestService deletionRequestService = new DeletionRequestService();
+            ReflectionTestUtils.setField(deletionRequestService, "deletionRequestRepository",
+                    deletionRequestRepository);
+            ReflectionTestUtils.setField(deletionRequestService, "noteRepository", noteRepository);
+            ReflectionTestUtils.setField(deletionRequestService, "auditService", mock(AuditService.class));
+            ReflectionTestUtils.setField(deletionRequestService, "cacheInvalidationService",
+                    cacheInvalidationService);
+            // Deliver note changes straight to the archive listener, as the committed transaction would
+            ApplicationEventPublisher publisher = event -> {
+                if (event instanceof NoteChangedEvent noteChanged) {
+                    archiveService.onNoteChanged(noteChanged);
+                }
+            };
+            ReflectionTestUtils.setField(deletionRequestService, "eventPublisher", publisher);
+
+            User teacher = User.builder().id(1L).publicId("teacher-1").email("teacher@example.com")
+                    .name("Teacher").build();
+            User admin = User.builder().id(2L).publicId("admin-1").email("admin@example.com")
+                    .name("Admin").build();
+            when(noteRepository.findByPublicId("note-1")).thenReturn(Optional.of(routing));
+            when(deletionRequestRepository.save(any(DeletionRequest.class))).thenAnswer(invocation -> {
+                DeletionRequest request = invocation.getArgument(0);
+                request.setPublicId("request-1");
+                return request;
+            });
+
+            assertThat(exportDepartment("it")).hasSize(2);
+
+            DeletionRequest created = deletionRequestService.createRequest(teacher, "note-1",
+                    CreateDeletionRequest.builder().reason("Superseded by the new syllabus").build());
+
+            assertThat(exportDepartment("it").values()).containsExactly("# Switching");
+
+            when(deletionRequestRepository.findByPublicId("request-1")).thenReturn(Optional.of(created));
+            deletionRequestService.rejectRequest(admin, "request-1", "Still taught this term");
+
+            assertThat(exportDepartment("it").values()).containsExactlyInAnyOrder("# Routing", "# Switching");
+            verify(folderService, times(3)).subtreeIds("it");
+        }
+
+        @Test
+        @DisplayName("Should not install an archive that a concurrent change made stale")
+        void openDepartmentArchive_StaleBuild() throws IOException {
+            when(folderService.subtreeIds("it")).thenReturn(List.of(1));
+            when(noteRepository.findExportChunk(anyCollection(), any(), anyLong(), any()))
+                    .thenAnswer(invocation -> {
+                        // A change commits while the archive is being built
+                        archiveService.invalidate("it");
+                        return List.of();
+                    });
+
+            try (var stream = archiveService.openDepartmentArchive("it")) {
+                assertThat(unzip(stream.readAllBytes())).isEmpty();
+            }
+
+            try (var files = Files.list(cacheDir)) {
+                assertThat(files).isEmpty();
+            }
+        }
+    }
+}
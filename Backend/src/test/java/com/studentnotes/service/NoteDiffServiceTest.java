@@ -0,0 +1,170 @@
+package com.studentnotes.service;
+
+import com.studentnotes.dto.response.VersionDiffResponse;
+import com.studentnotes.dto.response.VersionDiffResponse.HunkDto;
+import com.studentnotes.dto.response.VersionDiffResponse.LineDto;
+import com.studentnotes.dto.response.VersionDiffResponse.LineType;
+import com.studentnotes.dto.response.VersionDiffResponse.SegmentDto;
+import com.studentnotes.exception.ResourceNotFoundException;
+import com.studentnotes.model.Note;
+import com.studentnotes.model.NoteVersion;
+import com.studentnotes.repository.NoteVersionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for NoteDiffService.
+ * Covers hunk layout, word segments, unified output and the content-hash diff cache.
+ */
+@ExtendWith(MockitoExtension.class)
+class NoteDiffServiceTest {
+
+    @Mock
+    private NoteVersionRepository noteVersionRepository;
+
+    @InjectMocks
+    private NoteDiffService diffService;
+
+    private final Note note = Note.builder().id(5L).publicId("pub-1").build();
+
+    @BeforeEach
+    void setUp() {
+        diffService.initCache();
+    }
+
+    private static String numberedLines(int count) {
+        return IntStream.rangeClosed(1, count).mapToObj(n -> "line " + n).collect(Collectors.joining("\n", "", "\n"));
+    }
+
+    private void givenVersion(int number, String hash, String content) {
+        lenient().when(noteVersionRepository.findContentHash(5L, number)).thenReturn(Optional.of(hash));
+        lenient().when(noteVersionRepository.findByNoteIdAndVersionNumber(5L, number))
+                .thenReturn(Optional.of(NoteVersion.builder().noteId(5L).versionNumber(number).content(content).build()));
+    }
+
+    @Nested
+    @DisplayName("Hunks")
+    class Hunks {
+
+        @Test
+        @DisplayName("Should return one hunk with context and word segments for a changed line")
+        void compute_SingleChange() {
+            String before = numberedLines(10).replace("line 5\n", "the quick fox\n");
+            String after = numberedLines(10).replace("line 5\n", "the slow fox\n");
+
+            NoteDiffService.CachedDiff diff = NoteDiffService.compute(before, after, 3);
+
+            assertThat(diff.linesAdded()).isEqualTo(1);
+            assertThat(diff.linesRemoved()).isEqualTo(1);
+            assertThat(diff.hunks()).hasSize(1);
+            HunkDto hunk = diff.hunks().get(0);
+            assertThat(List.of(hunk.getOldStart(), hunk.getOldLines(), hunk.getNewStart(), hunk.getNewLines()))
+                    .containsExactly(2, 7, 2, 7);
+            assertThat(hunk.getLines()).extracting(LineDto::getType).containsExactly(
+                    LineType.CONTEXT, LineType.CONTEXT, LineType.CONTEXT, LineType.REMOVED, LineType.ADDED,
+                    LineType.CONTEXT, LineType.CONTEXT, LineType.CONTEXT);
+            assertThat(hunk.getLines().get(3).getSegments()).containsExactly(
+                    new SegmentDto(false, "the "), new SegmentDto(true, "quick"), new SegmentDto(false, " fox"));
+            assertThat(hunk.getLines().get(4).getSegments()).containsExactly(
+                    new SegmentDto(false, "the "), new SegmentDto(true, "slow"), new SegmentDto(false, " fox"));
+            assertThat(hunk.getLines().get(0).getSegments()).isNull();
+        }
+
+        @Test
+        @DisplayName("Should split distant changes into separate hunks and merge close ones")
+        void compute_HunkGrouping() {
+            String before = numberedLines(40);
+            String distant = before.replace("line 3\n", "").replace("line 30\n", "line 30!\n");
+            String close = before.replace("line 3\n", "").replace("line 8\n", "line 8!\n");
+
+            assertThat(NoteDiffService.compute(before, distant, 3).hunks()).hasSize(2);
+            assertThat(NoteDiffService.compute(before, close, 3).hunks()).hasSize(1);
+            assertThat(NoteDiffService.compute(before, before, 3).hunks()).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should send only the changed hunks of a multi-megabyte note")
+        void compute_LargeNote() {
+            String before = numberedLines(200_000);
+            String after = before.replace("line 1000\n", "line 1000 edited\n") + "appended\n";
+
+            NoteDiffService.CachedDiff diff = NoteDiffService.compute(before, after, 3);
+
+            assertThat(before.length()).isGreaterThan(2_000_000);
+            assertThat(diff.hunks()).hasSize(2);
+            assertThat(diff.linesAdded()).isEqualTo(2);
+            assertThat(diff.linesRemoved()).isEqualTo(1);
+            assertThat(diff.hunks().get(1).getNewStart()).isEqualTo(199_998);
+        }
+    }
+
+    @Nested
+    @DisplayName("Versions And Cache")
+    class VersionsAndCache {
+
+        @Test
+        @DisplayName("Should write a unified diff")
+        void writeUnified() throws Exception {
+            givenVersion(1, "h1", "a\nb\nc\n");
+            givenVersion(2, "h2", "a\nB\nc\nd\n");
+            VersionDiffResponse diff = diffService.diff(note, 1, 2, 1);
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+            diffService.writeUnified(diff, out);
+
+            assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo("""
+                    --- pub-1 v1
+                    +++ pub-1 v2
+                    @@ -1,3 +1,4 @@
+                     a
+                    -b
+                    +B
+                     c
+                    +d
+                    """);
+        }
+
+        @Test
+        @DisplayName("Should serve a repeated diff from the cache without loading either version")
+        void diff_CacheHit() {
+            givenVersion(1, "h1", "a\n");
+            givenVersion(2, "h2", "b\n");
+
+            VersionDiffResponse first = diffService.diff(note, 1, 2, 3);
+            VersionDiffResponse second = diffService.diff(note, 1, 2, 3);
+
+            assertThat(second.getHunks()).isSameAs(first.getHunks());
+            assertThat(second.getFromContentHash()).isEqualTo("h1");
+            verify(noteVersionRepository, times(2)).findByNoteIdAndVersionNumber(eq(5L), anyInt());
+        }
+
+        @Test
+        @DisplayName("Should 404 for a version that does not exist")
+        void diff_UnknownVersion() {
+            givenVersion(1, "h1", "a\n");
+            when(noteVersionRepository.findContentHash(5L, 9)).thenReturn(Optional.empty());
+            when(noteVersionRepository.findByNoteIdAndVersionNumber(5L, 9)).thenReturn(Optional.empty());
+
+            assertThatThrownBy(() -> diffService.diff(note, 1, 9, 3))
+                    .isInstanceOf(ResourceNotFoundException.class);
+        }
+    }
+}
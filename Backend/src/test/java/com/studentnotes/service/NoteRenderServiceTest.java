@@ -0,0 +1,159 @@
+package com.studentnotes.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.studentnotes.dto.response.RenderedNoteResponse;
+import com.studentnotes.exception.ResourceNotFoundException;
+import com.studentnotes.model.Note;
+import com.studentnotes.model.RenderedNote;
+import com.studentnotes.model.enums.NoteStatus;
+import com.studentnotes.repository.NoteRepository;
+import com.studentnotes.repository.NoteVersionRepository;
+import com.studentnotes.repository.RenderedNoteRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for NoteRenderService.
+ * Covers HTML sanitizing, outline extraction and the content-hash render cache.
+ */
+@ExtendWith(MockitoExtension.class)
+class NoteRenderServiceTest {
+
+    @Mock
+    private RenderedNoteRepository renderedNoteRepository;
+
+    @Mock
+    private NoteRepository noteRepository;
+
+    @Mock
+    private NoteVersionRepository noteVersionRepository;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private NoteRenderService renderService;
+
+    @Nested
+    @DisplayName("Rendering")
+    class Rendering {
+
+        @Test
+        @DisplayName("Should extract an outline whose ids match the heading ids in the HTML")
+        void render_Outline() throws Exception {
+            RenderedNote rendered = renderService.render("h", """
+                    # Routing
+                    ## Static `ip route`
+                    text
+                    ## Static `ip route`
+                    """);
+
+            assertThat(rendered.getHtml())
+                    .contains("<h1 id=\"routing\">Routing</h1>")
+                    .contains("<h2 id=\"static-ip-route\">")
+                    .contains("<h2 id=\"static-ip-route-1\">");
+            RenderedNoteResponse.OutlineEntryDto[] outline = objectMapper.readValue(rendered.getOutline(),
+                    RenderedNoteResponse.OutlineEntryDto[].class);
+            assertThat(outline).extracting(RenderedNoteResponse.OutlineEntryDto::getId)
+                    .containsExactly("routing", "static-ip-route", "static-ip-route-1");
+            assertThat(outline[1].getLevel()).isEqualTo(2);
+            assertThat(outline[1].getText()).isEqualTo("Static ip route");
+        }
+
+        @Test
+        @DisplayName("Should escape raw HTML and drop unsafe link schemes")
+        void render_Sanitizes() {
+            RenderedNote rendered = renderService.render("h", """
+                    <script>alert(1)</script>
+
+                    [click](javascript:alert(1)) [docs](https://example.com)
+
+                    | a | b |
+                    |---|---|
+                    | 1 | 2 |
+                    """);
+
+            assertThat(rendered.getHtml())
+                    .doesNotContain("<script>")
+                    .contains("&lt;script&gt;")
+                    .doesNotContain("javascript:")
+                    .contains("rel=\"nofollow noopener noreferrer\" href=\"https://example.com\">docs</a>")
+                    .contains("<table>");
+            assertThat(rendered.getRendererVersion()).isEqualTo(NoteRenderService.RENDERER_VERSION);
+        }
+    }
+
+    @Nested
+    @DisplayName("Render Cache")
+    class RenderCache {
+
+        @Test
+        @DisplayName("Should serve a cached rendering without rendering or writing")
+        void getOrRender_Hit() {
+            RenderedNote cached = RenderedNote.builder()
+                    .contentHash("abc").rendererVersion(NoteRenderService.RENDERER_VERSION)
+                    .html("<p>cached</p>").outline("[]").build();
+            when(renderedNoteRepository.findById("abc")).thenReturn(Optional.of(cached));
+
+            assertThat(renderService.getOrRender("abc", "# ignored")).isSameAs(cached);
+            verify(renderedNoteRepository, never()).saveAndFlush(any());
+        }
+
+        @Test
+        @DisplayName("Should re-render and store rows from an older renderer")
+        void getOrRender_StaleRenderer() {
+            RenderedNote stale = RenderedNote.builder()
+                    .contentHash("abc").rendererVersion(NoteRenderService.RENDERER_VERSION - 1)
+                    .html("<p>old</p>").outline("[]").build();
+            when(renderedNoteRepository.findById("abc")).thenReturn(Optional.of(stale));
+
+            RenderedNote result = renderService.getOrRender("abc", "new *text*");
+
+            assertThat(result.getHtml()).isEqualTo("<p>new <em>text</em></p>\n");
+            verify(renderedNoteRepository).saveAndFlush(result);
+        }
+
+        @Test
+        @DisplayName("Should key the rendering by the current version's content hash")
+        void getRenderedNote_UsesVersionHash() {
+            Note note = Note.builder().id(5L).publicId("pub-1").title("T").content("# Hi")
+                    .status(NoteStatus.PUBLISHED).currentVersion(3).build();
+            when(noteRepository.findByPublicId("pub-1")).thenReturn(Optional.of(note));
+            when(noteVersionRepository.findCurrentContentHash(5L)).thenReturn(Optional.of("hash-v3"));
+            when(renderedNoteRepository.findById("hash-v3")).thenReturn(Optional.empty());
+
+            RenderedNoteResponse response = renderService.getRenderedNote("pub-1");
+
+            assertThat(response.getContentHash()).isEqualTo("hash-v3");
+            assertThat(response.getCurrentVersion()).isEqualTo(3);
+            assertThat(response.getOutline()).hasSize(1);
+        }
+
+        @Test
+        @DisplayName("Should 404 for deleted notes")
+        void getRenderedNote_Deleted() {
+            Note note = Note.builder().id(5L).publicId("pub-1").status(NoteStatus.DELETED).build();
+            when(noteRepository.findByPublicId("pub-1")).thenReturn(Optional.of(note));
+
+            assertThatThrownBy(() -> renderService.getRenderedNote("pub-1"))
+                    .isInstanceOf(ResourceNotFoundException.class);
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.studentnotes.service;
+
+import com.studentnotes.dto.request.UpdateNoteRequest;
+import com.studentnotes.event.NoteVotedEvent;
+import com.studentnotes.exception.ConcurrentModificationException;
+import com.studentnotes.exception.ResourceNotFoundException;
+import com.studentnotes.model.Note;
+import com.studentnotes.model.NoteVersion;
+import com.studentnotes.model.User;
+import com.studentnotes.model.enums.NoteStatus;
+import com.studentnotes.model.enums.Role;
+import com.studentnotes.model.enums.UserStatus;
+import com.studentnotes.repository.DepartmentRepository;
+import com.studentnotes.repository.NoteRepository;
+import com.studentnotes.repository.NoteVersionRepository;
+import com.studentnotes.repository.NoteVoteSnapshot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for NoteService.
+ * Covers optimistic concurrency on edits and atomic vote counting.
+ */
+@ExtendWith(MockitoExtension.class)
+class NoteServiceTest {
+
+    @Mock
+    private NoteRepository noteRepository;
+
+    @Mock
+    private NoteVersionRepository noteVersionRepository;
+
+    @Mock
+    private PermissionService permissionService;
+
+    @Mock
+    private AuditService auditService;
+
+    @Mock
+    private DepartmentRepository departmentRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private CacheInvalidationService cacheInvalidationService;
+
+    @Mock
+    private FolderService folderService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private NoteService noteService;
+
+    private User teacher;
+    private Note note;
+
+    @BeforeEach
+    void setUp() {
+        teacher = User.builder()
+                .id(1L)
+                .publicId(UUID.randomUUID().toString())
+                .email("teacher@example.com")
+                .name("Test Teacher")
+                .role(Role.ROLE_TEACHER.getValue())
+                .status(UserStatus.ACTIVE)
+                .build();
+
+        note = Note.builder()
+                .id(100L)
+                .publicId(UUID.randomUUID().toString())
+                .title("Test Note")
+                .department("it")
+                .year("year2")
+                .subject("networks")
+                .content("Original content")
+                .status(NoteStatus.PUBLISHED)
+                .currentVersion(3)
+                .version(5L)
+                .uploadedByUserId(teacher.getId())
+                .uploadedByEmail(teacher.getEmail())
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    @Nested
+    @DisplayName("Conditional Update")
+    class ConditionalUpdateTests {
+
+        private final UpdateNoteRequest request = UpdateNoteRequest.builder()
+                .content("Edited content")
+                .changeSummary("Edit")
+                .build();
+
+        @Test
+        @DisplayName("should apply update when If-Match version matches")
+        void shouldUpdateWhenVersionMatches() {
+            when(noteRepository.findByPublicId(note.getPublicId())).thenReturn(Optional.of(note));
+            when(noteRepository.saveAndFlush(any(Note.class))).thenAnswer(inv -> inv.getArgument(0));
+
+            Note result = noteService.updateNote(teacher, note.getPublicId(), request, 5L);
+
+            assertThat(result.getContent()).isEqualTo("Edited content");
+            assertThat(result.getCurrentVersion()).isEqualTo(4);
+            verify(noteVersionRepository).save(any(NoteVersion.class));
+        }
+
+        @Test
+        @DisplayName("should reject stale If-Match without writing")
+        void shouldRejectStaleVersion() {
+            when(noteRepository.findByPublicId(note.getPublicId())).thenReturn(Optional.of(note));
+
+            assertThatThrownBy(() -> noteService.updateNote(teacher, note.getPublicId(), request, 4L))
+                    .isInstanceOf(ConcurrentModificationException.class)
+                    .satisfies(e -> assertThat(((ConcurrentModificationException) e).getHttpStatus())
+                            .isEqualTo(412));
+
+            verify(noteRepository, never()).saveAndFlush(any());
+            verify(noteVersionRepository, never()).save(any());
+        }
+
+        @Test
+        @DisplayName("should translate lost race at flush into concurrent modification")
+        void shouldTranslateOptimisticLockFailure() {
+            when(noteRepository.findByPublicId(note.getPublicId())).thenReturn(Optional.of(note));
+            when(noteRepository.saveAndFlush(any(Note.class)))
+                    .thenThrow(new ObjectOptimisticLockingFailureException(Note.class, note.getId()));
+
+            assertThatThrownBy(() -> noteService.updateNote(teacher, note.getPublicId(), request, null))
+                    .isInstanceOf(ConcurrentModificationException.class);
+
+            verify(noteVersionRepository, never()).save(any());
+        }
+    }
+
+    @Nested
+    @DisplayName("Votes")
+    class VoteTests {
+
+        @Test
+        @DisplayName("should increment atomically and return new count")
+        void shouldIncrementLikes() {
+            when(noteRepository.incrementLikes(100L)).thenReturn(1);
+            when(noteRepository.findVoteSnapshot(100L)).thenReturn(Optional.of(new NoteVoteSnapshot(100L,
+                    "pub-100", "Routing", "it", "year2", null, "networks", NoteStatus.PUBLISHED, 8, 1)));
+
+            int likes = noteService.recordVote(100L, true);
+
+            assertThat(likes).isEqualTo(8);
+            verify(noteRepository, never()).save(any());
+            verify(eventPublisher).publishEvent(any(NoteVotedEvent.class));
+        }
+
+        @Test
+        @DisplayName("should throw not found for unknown note")
+        void shouldThrowForUnknownNote() {
+            when(noteRepository.incrementDislikes(999L)).thenReturn(0);
+
+            assertThatThrownBy(() -> noteService.recordVote(999L, false))
+                    .isInstanceOf(ResourceNotFoundException.class);
+        }
+    }
+}
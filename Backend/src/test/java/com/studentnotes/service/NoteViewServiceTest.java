@@ -0,0 +1,160 @@
+package com.studentnotes.service;
+
+import com.studentnotes.dto.response.TeacherDashboardResponse;
+import com.studentnotes.model.NoteViewStats;
+import com.studentnotes.repository.NoteIdentity;
+import com.studentnotes.repository.NoteReachRow;
+import com.studentnotes.repository.NoteRepository;
+import com.studentnotes.repository.NoteViewStatsRepository;
+import com.studentnotes.util.HyperLogLog;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for NoteViewService.
+ * Covers in-memory recording, merging into stored statistics and teacher reach.
+ */
+@ExtendWith(MockitoExtension.class)
+class NoteViewServiceTest {
+
+    @Mock
+    private NoteRepository noteRepository;
+
+    @Mock
+    private NoteViewStatsRepository noteViewStatsRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private NoteViewService noteViewService;
+
+    private static long viewer(String name) {
+        return HyperLogLog.hash64(name);
+    }
+
+    private static byte[] sketchOf(String... viewers) {
+        HyperLogLog sketch = new HyperLogLog();
+        for (String name : viewers) {
+            sketch.add(viewer(name));
+        }
+        return sketch.toBytes();
+    }
+
+    @SuppressWarnings("unchecked")
+    private NoteViewStats flushedRow() {
+        ArgumentCaptor<List<NoteViewStats>> rows = ArgumentCaptor.forClass(List.class);
+        verify(noteViewStatsRepository).saveAll(rows.capture());
+        assertThat(rows.getValue()).hasSize(1);
+        return rows.getValue().get(0);
+    }
+
+    @Nested
+    @DisplayName("Flush")
+    class FlushTests {
+
+        @Test
+        @DisplayName("should create stats for new notes and drop unknown ids")
+        void shouldCreateStats() {
+            noteViewService.recordView("pub-1", viewer("alice"));
+            noteViewService.recordView("pub-1", viewer("alice"));
+            noteViewService.recordView("pub-1", viewer("bob"));
+            noteViewService.recordView("made-up", viewer("mallory"));
+            when(noteRepository.findVisibleIdentities(anyCollection()))
+                    .thenReturn(List.of(new NoteIdentity(1L, "pub-1")));
+
+            assertThat(noteViewService.flush()).isEqualTo(1);
+
+            NoteViewStats row = flushedRow();
+            assertThat(row.getNoteId()).isEqualTo(1L);
+            assertThat(row.getTotalViews()).isEqualTo(3);
+            assertThat(HyperLogLog.fromBytes(row.getUniqueViewers()).estimate()).isEqualTo(2);
+            assertThat(row.getTrendingScore()).isEqualTo(3.0);
+            // Drained: nothing left for the next run
+            assertThat(noteViewService.flush()).isZero();
+        }
+
+        @Test
+        @DisplayName("should merge viewers and decay the trending score of existing stats")
+        void shouldMergeIntoExisting() {
+            LocalDateTime dayAgo = LocalDateTime.now().minusHours(24);
+            NoteViewStats stored = NoteViewStats.builder().noteId(1L).totalViews(10)
+                    .uniqueViewers(sketchOf("alice")).trendingScore(8).trendingAt(dayAgo).updatedAt(dayAgo).build();
+            noteViewService.recordView("pub-1", viewer("alice"));
+            noteViewService.recordView("pub-1", viewer("bob"));
+            when(noteRepository.findVisibleIdentities(anyCollection()))
+                    .thenReturn(List.of(new NoteIdentity(1L, "pub-1")));
+            when(noteViewStatsRepository.findAllForUpdate(anyCollection())).thenReturn(List.of(stored));
+
+            noteViewService.flush();
+
+            NoteViewStats row = flushedRow();
+            assertThat(row.getTotalViews()).isEqualTo(12);
+            assertThat(HyperLogLog.fromBytes(row.getUniqueViewers()).estimate()).isEqualTo(2);
+            // One half-life: 8 -> 4, plus the 2 new views
+            assertThat(row.getTrendingScore()).isCloseTo(6.0, within(0.01));
+        }
+
+        @Test
+        @DisplayName("should keep views of a failed chunk for the next flush")
+        void shouldRequeueOnFailure() {
+            noteViewService.recordView("pub-1", viewer("alice"));
+            when(noteRepository.findVisibleIdentities(anyCollection()))
+                    .thenThrow(new CannotAcquireLockException("lock timeout"))
+                    .thenReturn(List.of(new NoteIdentity(1L, "pub-1")));
+
+            assertThat(noteViewService.flush()).isZero();
+            noteViewService.recordView("pub-1", viewer("bob"));
+            assertThat(noteViewService.flush()).isEqualTo(1);
+
+            assertThat(flushedRow().getTotalViews()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("should stop tracking new notes once the pending cap is reached")
+        void shouldCapPendingNotes() {
+            ReflectionTestUtils.setField(noteViewService, "maxPendingNotes", 1);
+            noteViewService.recordView("pub-1", viewer("alice"));
+            noteViewService.recordView("pub-2", viewer("alice"));
+            noteViewService.recordView("pub-1", viewer("bob"));
+            when(noteRepository.findVisibleIdentities(anyCollection())).thenReturn(List.of());
+
+            noteViewService.flush();
+
+            verify(noteRepository).findVisibleIdentities(List.of("pub-1"));
+        }
+    }
+
+    @Test
+    @DisplayName("should count a reader of several notes once in the teacher's reach")
+    void shouldAggregateReach() {
+        LocalDateTime now = LocalDateTime.now();
+        when(noteViewStatsRepository.findReachByTeacher(7L)).thenReturn(List.of(
+                new NoteReachRow("pub-1", "Routing", 5, sketchOf("alice", "bob"), 2.0, now),
+                new NoteReachRow("pub-2", "Switching", 3, sketchOf("bob", "carol"), 3.0, now)));
+
+        TeacherDashboardResponse.Reach reach = noteViewService.getReach(7L);
+
+        assertThat(reach.getTotalViews()).isEqualTo(8);
+        assertThat(reach.getUniqueViewers()).isEqualTo(3);
+        assertThat(reach.getTrending()).extracting(TeacherDashboardResponse.NoteReach::getPublicId)
+                .containsExactly("pub-2", "pub-1");
+    }
+}
@@ -6,6 +6,7 @@ import com.studentnotes.model.User;
 import com.studentnotes.model.enums.Role;
 import com.studentnotes.model.enums.UserStatus;
 import com.studentnotes.repository.FolderPermissionRepository;
+import com.studentnotes.util.FolderPaths;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -23,7 +24,9 @@ import java.util.UUID;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.when;
 
 /**
@@ -36,6 +39,9 @@ class PermissionServiceTest {
     @Mock
     private FolderPermissionRepository folderPermissionRepository;
 
+    @Mock
+    private FolderService folderService;
+
     @InjectMocks
     private PermissionService permissionService;
 
@@ -45,6 +51,9 @@ class PermissionServiceTest {
 
     @BeforeEach
     void setUp() {
+        lenient().when(folderService.selfAndAncestorIds(anyString()))
+                .thenAnswer(invocation -> folderIds(invocation.getArgument(0)));
+
         admin = User.builder()
                 .id(1L)
                 .publicId(UUID.randomUUID().toString())
@@ -73,6 +82,11 @@ class PermissionServiceTest {
                 .build();
     }
 
+    // Stands in for the folder table: one id per path, the same on every call
+    private static List<Integer> folderIds(String path) {
+        return FolderPaths.selfAndAncestors(path).stream().map(String::hashCode).toList();
+    }
+
     @Nested
     @DisplayName("Admin Permissions")
     class AdminPermissionTests {
@@ -166,7 +180,7 @@ class PermissionServiceTest {
                     .grantedAt(LocalDateTime.now())
                     .build();
 
-            when(folderPermissionRepository.findCoveringPermissions(eq(cleanTeacher.getId()), eq("it/year2/networks"),
+            when(folderPermissionRepository.findCoveringPermissions(eq(cleanTeacher.getId()), eq(folderIds("it/year2/networks")),
                     any()))
                     .thenReturn(List.of(permission));
 
@@ -192,7 +206,7 @@ class PermissionServiceTest {
                     .build();
 
             when(folderPermissionRepository.findCoveringPermissions(
-                    eq(cleanTeacher.getId()), eq("it/year2/section-a/networks"), any()))
+                    eq(cleanTeacher.getId()), eq(folderIds("it/year2/section-a/networks")), any()))
                     .thenReturn(List.of(permission));
 
             // Should rely on FolderPermission, not Department
@@ -216,7 +230,7 @@ class PermissionServiceTest {
                     .build();
 
             when(folderPermissionRepository.findCoveringPermissions(
-                    eq(teacherWithDepartment.getId()), eq("it/year2/section-a/networks"), any()))
+                    eq(teacherWithDepartment.getId()), eq(folderIds("it/year2/section-a/networks")), any()))
                     .thenReturn(List.of(permission));
 
             assertThat(permissionService.hasWritePermission(teacherWithDepartment, "it/year2/section-a/networks"))
@@ -324,14 +338,14 @@ class PermissionServiceTest {
                     .grantedAt(LocalDateTime.now())
                     .build();
 
-            when(folderPermissionRepository.findCoveringPermissions(eq(teacherWithDepartment.getId()), eq("it/year2"),
+            when(folderPermissionRepository.findCoveringPermissions(eq(teacherWithDepartment.getId()), eq(folderIds("it/year2")),
                     any()))
                     .thenReturn(List.of(permission));
 
             assertThat(permissionService.hasWritePermission(teacherWithDepartment, "it/year2")).isTrue();
 
             // Simulate revocation
-            when(folderPermissionRepository.findCoveringPermissions(eq(teacherWithDepartment.getId()), eq("it/year2"),
+            when(folderPermissionRepository.findCoveringPermissions(eq(teacherWithDepartment.getId()), eq(folderIds("it/year2")),
                     any()))
                     .thenReturn(Collections.emptyList());
 
@@ -0,0 +1,164 @@
+package com.studentnotes.service;
+
+import com.studentnotes.dto.response.PopularNoteResponse;
+import com.studentnotes.event.NoteChangedEvent;
+import com.studentnotes.event.NoteVotedEvent;
+import com.studentnotes.exception.ValidationException;
+import com.studentnotes.model.Note;
+import com.studentnotes.model.enums.NoteStatus;
+import com.studentnotes.repository.NoteRepository;
+import com.studentnotes.repository.NoteVoteSnapshot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for PopularNotesService.
+ * Covers seeding, vote-driven ranking, bounded boards and removal refills.
+ */
+@ExtendWith(MockitoExtension.class)
+class PopularNotesServiceTest {
+
+    @Mock
+    private NoteRepository noteRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private PopularNotesService popularNotesService;
+
+    @BeforeEach
+    void setUp() {
+        // Serves 2 per scope, keeps 4 per board
+        ReflectionTestUtils.setField(popularNotesService, "size", 2);
+    }
+
+    private static NoteVoteSnapshot note(long id, String department, String subject, int likes) {
+        return new NoteVoteSnapshot(id, "pub-" + id, "Note " + id, department, "year2", null, subject,
+                NoteStatus.PUBLISHED, likes, 0);
+    }
+
+    private void seed(NoteVoteSnapshot... notes) {
+        when(noteRepository.streamVoteSnapshots()).thenReturn(Stream.of(notes));
+        popularNotesService.seed();
+    }
+
+    private List<String> popular(String department, String subject) {
+        return popularNotesService.getPopular(department, subject, 10).stream()
+                .map(PopularNoteResponse::getPublicId)
+                .toList();
+    }
+
+    @Nested
+    @DisplayName("Seeding")
+    class SeedTests {
+
+        @Test
+        @DisplayName("should rank each scope from one scan, ties by id")
+        void shouldRankEachScope() {
+            seed(note(1, "it", "networks", 5), note(2, "it", "databases", 9), note(3, "cs", "networks", 7),
+                    note(4, "it", "networks", 5));
+
+            assertThat(popularNotesService.isSeeded()).isTrue();
+            assertThat(popular(null, null)).containsExactly("pub-2", "pub-3");
+            assertThat(popular("it", null)).containsExactly("pub-2", "pub-1");
+            assertThat(popular("it", "networks")).containsExactly("pub-1", "pub-4");
+            assertThat(popular("cs", "databases")).isEmpty();
+            assertThat(popularNotesService.getPopular(null, null, 10).get(0).getRank()).isEqualTo(1);
+            verify(noteRepository, times(1)).streamVoteSnapshots();
+        }
+
+        @Test
+        @DisplayName("should require a department when filtering by subject")
+        void shouldRequireDepartmentForSubject() {
+            assertThatThrownBy(() -> popularNotesService.getPopular(null, "networks", 5))
+                    .isInstanceOf(ValidationException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Votes")
+    class VoteTests {
+
+        @Test
+        @DisplayName("should let a vote lift a note onto a full board")
+        void shouldPromoteVotedNote() {
+            seed(note(1, "it", "networks", 10), note(2, "it", "networks", 9), note(3, "it", "networks", 8),
+                    note(4, "it", "networks", 7), note(5, "it", "networks", 1));
+
+            popularNotesService.onNoteVoted(new NoteVotedEvent(note(5, "it", "networks", 11)));
+
+            assertThat(popular("it", "networks")).containsExactly("pub-5", "pub-1");
+            verifyNoMoreInteractions(noteRepository);
+        }
+
+        @Test
+        @DisplayName("should keep the higher count when votes arrive out of order")
+        void shouldIgnoreStaleVote() {
+            seed(note(1, "it", "networks", 3), note(2, "it", "networks", 4));
+
+            popularNotesService.onNoteVoted(new NoteVotedEvent(note(1, "it", "networks", 6)));
+            popularNotesService.onNoteVoted(new NoteVotedEvent(note(1, "it", "networks", 5)));
+
+            assertThat(popularNotesService.getPopular("it", null, 1).get(0).getLikes()).isEqualTo(6);
+        }
+    }
+
+    @Nested
+    @DisplayName("Note changes")
+    class ChangeTests {
+
+        @Test
+        @DisplayName("should drop removed notes and move relocated ones")
+        void shouldFollowChanges() {
+            seed(note(1, "it", "networks", 10), note(2, "it", "networks", 9), note(3, "cs", "compilers", 1));
+            Note removed = Note.builder().id(1L).publicId("pub-1").department("it").subject("networks")
+                    .status(NoteStatus.ARCHIVED).build();
+            Note moved = Note.builder().id(2L).publicId("pub-2").department("cs").subject("compilers")
+                    .status(NoteStatus.PUBLISHED).build();
+            when(noteRepository.findVoteSnapshot(2L)).thenReturn(Optional.of(note(2, "cs", "compilers", 9)));
+
+            popularNotesService.onNoteChanged(NoteChangedEvent.updated(removed));
+            popularNotesService.onNoteChanged(NoteChangedEvent.updated(moved, "it"));
+
+            assertThat(popular("it", null)).isEmpty();
+            assertThat(popular("cs", "compilers")).containsExactly("pub-2", "pub-3");
+            verify(noteRepository, never()).findVoteSnapshot(1L);
+        }
+
+        @Test
+        @DisplayName("should rebuild when a truncated board runs short")
+        void shouldRefillShortBoard() {
+            when(noteRepository.streamVoteSnapshots())
+                    .thenReturn(Stream.of(note(1, "it", "networks", 10), note(2, "it", "networks", 9),
+                            note(3, "it", "networks", 8), note(4, "it", "networks", 7),
+                            note(5, "it", "networks", 6)))
+                    .thenReturn(Stream.of(note(4, "it", "networks", 7), note(5, "it", "networks", 6)));
+            popularNotesService.seed();
+
+            for (long id = 1; id <= 3; id++) {
+                Note deleted = Note.builder().id(id).publicId("pub-" + id).status(NoteStatus.DELETED).build();
+                popularNotesService.onNoteChanged(NoteChangedEvent.removed(deleted));
+            }
+
+            assertThat(popular("it", "networks")).containsExactly("pub-4", "pub-5");
+            verify(noteRepository, times(2)).streamVoteSnapshots();
+        }
+    }
+}
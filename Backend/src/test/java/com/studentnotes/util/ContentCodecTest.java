@@ -0,0 +1,84 @@
+package com.studentnotes.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for ContentCodec.
+ * Stored bodies must always decode, whichever tag wrote them.
+ */
+class ContentCodecTest {
+
+    private static String lectureNote(int sections) {
+        StringBuilder markdown = new StringBuilder("# Lecture 7: Transport Layer\n\n");
+        for (int i = 1; i <= sections; i++) {
+            markdown.append("## ").append(i).append(". Congestion control, part ").append(i).append("\n\n")
+                    .append("**Definition:** the sender limits its window to cwnd = ").append(i * 2)
+                    .append(" segments, which is used to avoid overloading the network.\n\n")
+                    .append("- Slow start doubles the window every RTT\n")
+                    .append("- Congestion avoidance adds one segment per RTT\n\n")
+                    .append("```c\nfor (int i = 0; i < n; i++) { send(segment[i]); }\n```\n\n");
+        }
+        return markdown.toString();
+    }
+
+    @Test
+    @DisplayName("should round-trip plain, compressed, empty, null and non-ASCII bodies")
+    void shouldRoundTrip() {
+        String large = lectureNote(20) + "Ünïcode — 日本語 ✓\n";
+        for (String content : new String[] { null, "", "short note", large }) {
+            assertThat(ContentCodec.decode(ContentCodec.encode(content))).isEqualTo(content);
+        }
+        assertThat(ContentCodec.encode("short note")[0]).isEqualTo(ContentCodec.TAG_PLAIN);
+        assertThat(ContentCodec.encode(large)[0]).isEqualTo(ContentCodec.TAG_DEFLATE_MARKDOWN_V1);
+    }
+
+    @Test
+    @DisplayName("should compress mid-sized markdown better with the dictionary than without")
+    void shouldBenefitFromDictionary() {
+        byte[] utf8 = lectureNote(2).getBytes(StandardCharsets.UTF_8);
+
+        int withDictionary = ContentCodec.encode(lectureNote(2)).length;
+        int withoutDictionary = ContentCodec.deflate(utf8, ContentCodec.TAG_DEFLATE, null).length;
+
+        assertThat(utf8.length).isGreaterThan(ContentCodec.COMPRESSION_THRESHOLD);
+        assertThat(withDictionary).isLessThan(withoutDictionary).isLessThan(utf8.length / 2);
+    }
+
+    @Test
+    @DisplayName("should read rows migrated from TEXT and bodies deflated without a dictionary")
+    void shouldDecodeEveryTag() {
+        byte[] utf8 = lectureNote(5).getBytes(StandardCharsets.UTF_8);
+
+        assertThat(ContentCodec.decode(ContentCodec.plain(utf8))).isEqualTo(lectureNote(5));
+        assertThat(ContentCodec.decode(ContentCodec.deflate(utf8, ContentCodec.TAG_DEFLATE, null)))
+                .isEqualTo(lectureNote(5));
+        assertThat(ContentCodec.isCompressible(ContentCodec.plain(utf8))).isTrue();
+        assertThat(ContentCodec.isCompressible(ContentCodec.encode(lectureNote(5)))).isFalse();
+    }
+
+    @Test
+    @DisplayName("should reject unknown tags and truncated streams")
+    void shouldRejectCorruptData() {
+        byte[] compressed = ContentCodec.encode(lectureNote(20));
+        byte[] truncated = java.util.Arrays.copyOf(compressed, compressed.length / 2);
+
+        assertThatThrownBy(() -> ContentCodec.decode(new byte[] { 0x7f, 1, 2 }))
+                .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> ContentCodec.decode(truncated))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("should pin the dictionary checksum")
+    void shouldPinDictionary() {
+        // Changing the dictionary makes every row written with it unreadable; add a new tag instead
+        assertThat(ContentCodec.MARKDOWN_V1_SHA256)
+                .isEqualTo("28c911a86d56e264b2ae733fe13856ecac3211450cc8bc8a723309076be43a78");
+    }
+}
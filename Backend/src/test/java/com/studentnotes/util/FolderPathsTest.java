@@ -0,0 +1,39 @@
+package com.studentnotes.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for FolderPaths.
+ * Ancestor expansion backs the index-friendly covering-permission lookup.
+ */
+class FolderPathsTest {
+
+    @Test
+    @DisplayName("should expand a path into itself and its ancestors, root first")
+    void shouldExpandAncestors() {
+        assertThat(FolderPaths.selfAndAncestors("it/year2/section-a/networks"))
+                .containsExactly("it", "it/year2", "it/year2/section-a", "it/year2/section-a/networks");
+        assertThat(FolderPaths.selfAndAncestors("it")).containsExactly("it");
+        assertThat(FolderPaths.selfAndAncestors("")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should normalize stray separators and whitespace")
+    void shouldNormalize() {
+        assertThat(FolderPaths.normalize(" /it//year2/ ")).isEqualTo("it/year2");
+        assertThat(FolderPaths.selfAndAncestors("it/year2/")).containsExactly("it", "it/year2");
+    }
+
+    @Test
+    @DisplayName("should only cover on segment boundaries")
+    void shouldRespectSegmentBoundaries() {
+        assertThat(FolderPaths.covers("it", "it/year2")).isTrue();
+        assertThat(FolderPaths.covers("it", "it")).isTrue();
+        assertThat(FolderPaths.covers("it", "itx/year2")).isFalse();
+        assertThat(FolderPaths.covers("it/year2", "it")).isFalse();
+        assertThat(FolderPaths.selfAndAncestors("itx/year2")).doesNotContain("it");
+    }
+}
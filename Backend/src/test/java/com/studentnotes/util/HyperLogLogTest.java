@@ -0,0 +1,68 @@
+package com.studentnotes.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Unit tests for HyperLogLog.
+ * Estimates must stay within a few standard errors and merges must not double count.
+ */
+class HyperLogLogTest {
+
+    private static HyperLogLog sketchOf(int from, int to) {
+        HyperLogLog sketch = new HyperLogLog();
+        for (int i = from; i < to; i++) {
+            sketch.add(HyperLogLog.hash64("10.0.0." + i + "|Mozilla/5.0"));
+        }
+        return sketch;
+    }
+
+    @Test
+    @DisplayName("should estimate small and large cardinalities within the expected error")
+    void shouldEstimate() {
+        assertThat(new HyperLogLog().estimate()).isZero();
+        // Linear counting: exact unless two values share a register
+        assertThat((double) sketchOf(0, 10).estimate()).isCloseTo(10, within(1.0));
+        // 3.3% standard error at the default precision; allow three
+        assertThat((double) sketchOf(0, 100_000).estimate()).isCloseTo(100_000, within(10_000.0));
+    }
+
+    @Test
+    @DisplayName("should ignore repeated values")
+    void shouldIgnoreDuplicates() {
+        HyperLogLog sketch = sketchOf(0, 500);
+        long before = sketch.estimate();
+        for (int i = 0; i < 5; i++) {
+            sketch.merge(sketchOf(0, 500));
+        }
+        assertThat(sketch.estimate()).isEqualTo(before);
+    }
+
+    @Test
+    @DisplayName("should count overlapping viewers once when merging")
+    void shouldMergeUnion() {
+        HyperLogLog merged = sketchOf(0, 3_000);
+        merged.merge(sketchOf(2_000, 5_000));
+
+        assertThat((double) merged.estimate()).isCloseTo(5_000, within(500.0));
+    }
+
+    @Test
+    @DisplayName("should round-trip through bytes and reject corrupt input")
+    void shouldSerialize() {
+        HyperLogLog sketch = sketchOf(0, 1_000);
+
+        byte[] bytes = sketch.toBytes();
+
+        assertThat(bytes).hasSize((1 << HyperLogLog.DEFAULT_PRECISION) + 1);
+        assertThat(HyperLogLog.fromBytes(bytes).estimate()).isEqualTo(sketch.estimate());
+        assertThatThrownBy(() -> HyperLogLog.fromBytes(new byte[] { 10, 1, 2 }))
+                .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> sketch.merge(new HyperLogLog(12)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
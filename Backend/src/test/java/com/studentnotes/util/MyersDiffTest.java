@@ -0,0 +1,109 @@
+package com.studentnotes.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for MyersDiff.
+ * Every result must turn a into b; within budget it must also be minimal.
+ */
+class MyersDiffTest {
+
+    private static int[] tokens(String s) {
+        return s.chars().toArray();
+    }
+
+    private static int editCount(List<MyersDiff.Change> changes) {
+        return changes.stream().mapToInt(c -> (c.aEnd() - c.aStart()) + (c.bEnd() - c.bStart())).sum();
+    }
+
+    /**
+     * Applies the changes to a, checking that kept tokens really are equal.
+     */
+    private static int[] apply(int[] a, int[] b, List<MyersDiff.Change> changes) {
+        List<Integer> result = new ArrayList<>();
+        int i = 0;
+        int j = 0;
+        for (MyersDiff.Change change : changes) {
+            while (i < change.aStart()) {
+                assertThat(a[i]).isEqualTo(b[j]);
+                result.add(a[i++]);
+                j++;
+            }
+            for (int k = change.bStart(); k < change.bEnd(); k++) {
+                result.add(b[k]);
+            }
+            i = change.aEnd();
+            j = change.bEnd();
+        }
+        while (i < a.length) {
+            result.add(a[i++]);
+        }
+        return result.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private static int lcsLength(int[] a, int[] b) {
+        int[][] lcs = new int[a.length + 1][b.length + 1];
+        for (int i = 1; i <= a.length; i++) {
+            for (int j = 1; j <= b.length; j++) {
+                lcs[i][j] = a[i - 1] == b[j - 1] ? lcs[i - 1][j - 1] + 1 : Math.max(lcs[i - 1][j], lcs[i][j - 1]);
+            }
+        }
+        return lcs[a.length][b.length];
+    }
+
+    @Test
+    @DisplayName("should find the shortest edit script of the paper's example")
+    void shouldFindShortestEdit() {
+        int[] a = tokens("ABCABBA");
+        int[] b = tokens("CBABAC");
+
+        List<MyersDiff.Change> changes = MyersDiff.diff(a, b);
+
+        assertThat(editCount(changes)).isEqualTo(5);
+        assertThat(apply(a, b, changes)).isEqualTo(b);
+    }
+
+    @Test
+    @DisplayName("should produce minimal, correct diffs for random inputs")
+    void shouldMatchLcsOnRandomInputs() {
+        Random random = new Random(42);
+        for (int run = 0; run < 500; run++) {
+            int[] a = random.ints(random.nextInt(40), 0, 4).toArray();
+            int[] b = random.ints(random.nextInt(40), 0, 4).toArray();
+
+            List<MyersDiff.Change> changes = MyersDiff.diff(a, b);
+
+            assertThat(apply(a, b, changes)).isEqualTo(b);
+            assertThat(editCount(changes)).isEqualTo(a.length + b.length - 2 * lcsLength(a, b));
+        }
+    }
+
+    @Test
+    @DisplayName("should fall back to one replaced block when the budget runs out")
+    void shouldFallBackOnBudget() {
+        int[] a = tokens("xxABCDyy");
+        int[] b = tokens("xxDCBAyy");
+
+        List<MyersDiff.Change> changes = MyersDiff.diff(a, b, 0);
+
+        assertThat(changes).containsExactly(new MyersDiff.Change(2, 6, 2, 6));
+        assertThat(apply(a, b, changes)).isEqualTo(b);
+    }
+
+    @Test
+    @DisplayName("should give equal tokens the same id across both sides")
+    void shouldIntern() {
+        int[][] ids = MyersDiff.intern(List.of("a", "b", "a"), List.of("b", "c"));
+
+        assertThat(ids[0]).containsExactly(0, 1, 0);
+        assertThat(ids[1]).containsExactly(1, 2);
+        assertThat(MyersDiff.diff(new int[0], new int[0])).isEmpty();
+    }
+}
@@ -0,0 +1,112 @@
+package com.studentnotes.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for SingleFlightCache.
+ * One load per key under contention, stale reads during a reload, and failures.
+ */
+class SingleFlightCacheTest {
+
+    private final SingleFlightCache<String, String> cache = new SingleFlightCache<>();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    @DisplayName("should run one load for concurrent misses and share its result")
+    void shouldLoadOnce() throws Exception {
+        CountDownLatch loaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(pool.submit(() -> cache.get("tree", () -> {
+                    loaderStarted.countDown();
+                    await(release);
+                    return "v" + loads.incrementAndGet();
+                })));
+            }
+            assertThat(loaderStarted.await(5, TimeUnit.SECONDS)).isTrue();
+            // Give the other callers time to queue behind the load
+            Thread.sleep(100);
+            release.countDown();
+
+            for (Future<String> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("v1");
+            }
+            assertThat(loads).hasValue(1);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("should serve the stale value while one caller reloads")
+    void shouldServeStaleDuringReload() throws Exception {
+        cache.get("tree", () -> "old");
+        cache.invalidate("tree");
+
+        CountDownLatch loaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> reload = pool.submit(() -> cache.get("tree", () -> {
+                loaderStarted.countDown();
+                await(release);
+                return "new";
+            }));
+            assertThat(loaderStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+            assertThat(cache.get("tree", () -> "unexpected")).isEqualTo("old");
+
+            release.countDown();
+            assertThat(reload.get(5, TimeUnit.SECONDS)).isEqualTo("new");
+            assertThat(cache.get("tree", () -> "unexpected")).isEqualTo("new");
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("should reload again if invalidated while loading")
+    void shouldStayStaleIfInvalidatedDuringLoad() {
+        String first = cache.get("tree", () -> {
+            cache.invalidate("tree");
+            return "raced";
+        });
+
+        assertThat(first).isEqualTo("raced");
+        assertThat(cache.get("tree", () -> "fresh")).isEqualTo("fresh");
+    }
+
+    @Test
+    @DisplayName("should propagate a failed load and retry on the next call")
+    void shouldRetryAfterFailure() {
+        assertThatThrownBy(() -> cache.get("tree", () -> {
+            throw new IllegalStateException("db down");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(cache.get("tree", () -> "recovered")).isEqualTo("recovered");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}